@@ -0,0 +1,140 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parking.core.Car;
+import parking.core.HeapSpotStore;
+import parking.core.SpotLayout;
+import parking.core.SpotStore;
+import parking.core.Vehicle;
+import parking.management.AllocationPolicy;
+import parking.management.SpotPools;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation strategies under a steady arrival and departure trace.
+ * The lot is filled to the target occupancy, then each operation is one departure
+ * of a random parked vehicle followed by one arrival, so occupancy stays level the
+ * way it does in a busy garage. Besides the latency, the benchmark samples how
+ * fragmented the free spots are: the number of runs of adjacent free spots per
+ * free spot, from near 0 (one contiguous block) to 1 (no two free spots adjacent).
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+    @Param({"first-fit", "round-robin", "lru", "zone-balanced"})
+    public String policy;
+
+    @Param({"10000"})
+    public int spotCount;
+
+    @Param({"0.85"})
+    public double occupancy;
+
+    private SpotStore store;
+    private SpotPools pools;
+
+    /** The parked vehicles' spot IDs, in no particular order. */
+    private int[] parked;
+    private int parkedCount;
+
+    private Vehicle[] fleet;
+    private int nextVehicle;
+    private Random random;
+
+    /** Fragmentation is sampled once every this many operations, so the scan hardly shows in the latency. */
+    private static final int FRAGMENTATION_SAMPLE_MASK = (1 << 16) - 1;
+    private long operations;
+
+    /**
+     * The most recently sampled fragmentation of the free spots.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Fragmentation {
+        public double freeRunsPerFreeSpot;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int zone = spotCount / 4;
+        store = new HeapSpotStore(SpotLayout.parse("0:0:STANDARD:" + zone + ",0:1:STANDARD:" + zone
+                + ",0:2:STANDARD:" + zone + ",0:3:STANDARD:" + (spotCount - 3 * zone)));
+        pools = new SpotPools(store, AllocationPolicy.fromName(policy).createStrategy());
+        random = new Random(42);
+        fleet = new Vehicle[1024];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = new Car("BENCH" + i, "Owner", false, "Grey");
+        }
+        parked = new int[spotCount];
+        int target = (int) (spotCount * occupancy);
+        while (parkedCount < target) {
+            arrive();
+        }
+    }
+
+    /**
+     * Measures the fragmentation of the free spots after an iteration.
+     *
+     * @param fragmentation The counters to report it in.
+     */
+    private void measureFragmentation(Fragmentation fragmentation) {
+        int freeSpots = 0;
+        int freeRuns = 0;
+        boolean previousFree = false;
+        for (int spotId = 1; spotId <= spotCount; spotId++) {
+            boolean free = store.isAvailable(spotId);
+            if (free) {
+                freeSpots++;
+                if (!previousFree) {
+                    freeRuns++;
+                }
+            }
+            previousFree = free;
+        }
+        fragmentation.freeRunsPerFreeSpot = freeSpots > 0 ? (double) freeRuns / freeSpots : 0;
+    }
+
+    @Benchmark
+    public int departAndArrive(Fragmentation fragmentation) {
+        if ((++operations & FRAGMENTATION_SAMPLE_MASK) == 0) {
+            measureFragmentation(fragmentation);
+        }
+        int index = random.nextInt(parkedCount);
+        int spotId = parked[index];
+        parked[index] = parked[--parkedCount];
+        store.release(spotId);
+        pools.add(spotId);
+        return arrive();
+    }
+
+    private int arrive() {
+        Vehicle vehicle = fleet[nextVehicle++ & (fleet.length - 1)];
+        int spotId = pools.find(vehicle);
+        store.tryOccupy(spotId, vehicle);
+        pools.remove(spotId);
+        parked[parkedCount++] = spotId;
+        return spotId;
+    }
+}
@@ -0,0 +1,82 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import parking.patterns.observer.ParkingEventManager;
+import parking.patterns.observer.ParkingObserver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatching an entry, an exit and a status event to 1 to 64
+ * synchronous observers. Each observer hands its arguments to a blackhole, so
+ * the cost is the dispatch itself rather than the work of the observers.
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int observerCount;
+
+    private ParkingEventManager eventManager;
+
+    /**
+     * An observer that only consumes its arguments.
+     */
+    private static class ConsumingObserver implements ParkingObserver {
+        private final Blackhole blackhole;
+
+        ConsumingObserver(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onVehicleEntry(String licensePlate, int spotId) {
+            blackhole.consume(spotId);
+        }
+
+        @Override
+        public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+            blackhole.consume(payment);
+        }
+
+        @Override
+        public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+            blackhole.consume(availableSpots);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        eventManager = new ParkingEventManager("BENCH-EVENTS");
+        for (int i = 0; i < observerCount; i++) {
+            eventManager.addObserver(new ConsumingObserver(blackhole));
+        }
+    }
+
+    @Benchmark
+    public void entryExitAndStatus() {
+        eventManager.notifyVehicleEntry("EVT-1", 17);
+        eventManager.notifyVehicleExit("EVT-1", 17, 2.5, 18.0);
+        eventManager.notifyParkingStatusChange(120, 60, 60);
+    }
+}
@@ -0,0 +1,83 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.server.GateProtocolClient;
+import parking.server.GateProtocolServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures gate protocol messages per second over loopback: batches of park
+ * and exit requests pipelined on one connection, answered by the single
+ * selector thread of the server. Scores are messages, not batches.
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GateProtocolBenchmark {
+    private static final int BATCH = 500;
+
+    private GateProtocolServer server;
+    private GateProtocolClient client;
+    private String[] plates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ParkingSystemFacade facade = new ParkingSystemFacade("BENCH-GATE");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("BENCH-GATE");
+        lot.detachDisplays();
+        server = new GateProtocolServer(facade, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = new GateProtocolClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        plates = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            plates[i] = "GATE-" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2 * BATCH)
+    public int pipelinedParkAndExit() throws IOException {
+        for (String plate : plates) {
+            client.sendPark(plate, VehicleType.CAR, false, null);
+            client.sendExit(plate);
+        }
+        client.flush();
+        int ok = 0;
+        for (int i = 0; i < 2 * BATCH; i++) {
+            ok += client.receive().getStatus() == 0 ? 1 : 0;
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,105 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parking.config.ParkingConfig;
+import parking.core.Car;
+import parking.core.ParkingSession;
+import parking.core.Vehicle;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a vehicle entering and leaving a lot of 100, 10,000 and 1,000,000
+ * spots. The lot is half full, and each operation parks the next vehicle of
+ * the fleet and removes the one that has been parked longest, so occupancy
+ * stays level. A fresh lot is built for every iteration, since a lot keeps the
+ * history of its sessions.
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParkingLotBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int spotCount;
+
+    @Param({"0.5"})
+    public double occupancy;
+
+    private ParkingLot lot;
+
+    /** The vehicles, parked in turn; those from {@code oldest} to {@code next} are parked. */
+    private Vehicle[] fleet;
+    private int oldest;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpFleet() {
+        int parked = Math.max((int) (spotCount * occupancy), 1);
+        fleet = new Vehicle[Math.min(parked * 2, spotCount)];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = new Car("LOT" + i, "Owner", false, "Grey");
+        }
+    }
+
+    /**
+     * Builds a lot of exactly {@code spotCount} standard spots, from a layout
+     * configured only while the lot is created.
+     */
+    @Setup(Level.Iteration)
+    public void setUpLot() throws IOException {
+        String lotId = "BENCH-LOT-" + spotCount;
+        ParkingLotRegistry.getInstance().removeLot(lotId);
+        ParkingConfig config = ParkingConfig.getInstance();
+        Path file = Files.createTempFile("bench-lot", ".properties");
+        try {
+            Files.write(file, Collections.singletonList("parking.spots.layout=0:0:STANDARD:" + spotCount));
+            config.reload(file);
+            lot = ParkingLotRegistry.getInstance().getOrCreateLot(lotId);
+        } finally {
+            config.reload();
+            Files.delete(file);
+        }
+        if (lot.getTotalSpots() != spotCount) {
+            throw new IllegalStateException("Lot has " + lot.getTotalSpots() + " spots, not " + spotCount);
+        }
+        int parked = Math.max((int) (spotCount * occupancy), 1);
+        oldest = 0;
+        next = 0;
+        while (next < parked) {
+            lot.parkVehicle(fleet[next++]);
+        }
+    }
+
+    @Benchmark
+    public ParkingSession parkAndRemove() {
+        lot.parkVehicle(fleet[next]);
+        next = (next + 1) % fleet.length;
+        ParkingSession session = lot.removeVehicle(fleet[oldest].getLicensePlate());
+        oldest = (oldest + 1) % fleet.length;
+        return session;
+    }
+}
@@ -0,0 +1,67 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parking.core.Car;
+import parking.core.Motorcycle;
+import parking.core.ParkingSession;
+import parking.core.ParkingSpot;
+import parking.management.PricingCalculator;
+import parking.util.ManualClock;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the fee of one completed session. The sessions mix cars and
+ * motorcycles, regular and disabled drivers, and stays from inside the free
+ * period to a full day, so every branch of the calculation is taken.
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    private PricingCalculator calculator;
+    private ParkingSession[] sessions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        calculator = new PricingCalculator();
+        sessions = new ParkingSession[1024];
+        for (int i = 0; i < sessions.length; i++) {
+            boolean disabled = i % 7 == 0;
+            ManualClock clock = new ManualClock(0);
+            ParkingSession session = new ParkingSession(
+                    i % 3 == 0 ? new Motorcycle("PRICE" + i, "Owner", disabled, "Red")
+                               : new Car("PRICE" + i, "Owner", disabled, "Grey"),
+                    new ParkingSpot(i + 1, disabled), false, clock);
+            clock.advance(Duration.ofMinutes(15L * (i % 96)));
+            session.endSession();
+            sessions[i] = session;
+        }
+    }
+
+    @Benchmark
+    public double calculateFee() {
+        ParkingSession session = sessions[next];
+        next = (next + 1) & (sessions.length - 1);
+        return calculator.calculateFee(session);
+    }
+}
@@ -0,0 +1,68 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parking.patterns.builder.ParkingReport;
+import parking.patterns.builder.ParkingReportBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a report with a number of vehicle statistics, and
+ * rendering a built report as text.
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+    @Param({"2", "50"})
+    public int statisticCount;
+
+    private LocalDateTime generatedTime;
+    private ParkingReport report;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generatedTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        report = build();
+    }
+
+    @Benchmark
+    public ParkingReport build() {
+        ParkingReportBuilder builder = new ParkingReportBuilder()
+                .setTitle("Daily Report")
+                .setGeneratedTime(generatedTime)
+                .setTimePeriod("Today")
+                .setTotalEntries(1250)
+                .setTotalRevenue(18450.5)
+                .setCurrentOccupancy(72.5)
+                .setAverageDuration(2.75);
+        for (int i = 0; i < statisticCount; i++) {
+            builder.addVehicleStatistic("Type" + i, 100 + i, 1500.0 + i, 2.5, 8.0);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public String generateReport() {
+        return report.generateReport();
+    }
+}
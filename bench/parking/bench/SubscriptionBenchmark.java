@@ -0,0 +1,60 @@
+package parking.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import parking.management.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the subscription check at the gate with 1,000 to 1,000,000
+ * subscriptions on record. Lookups cycle through the known IDs, with one in
+ * eight an unknown ID, as when a visitor tries an expired card.
+ *
+ * @author Smart Parking System Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SubscriptionBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int subscriptionCount;
+
+    /** The IDs looked up, in a fixed shuffled order. */
+    private String[] lookups;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] ids = new String[subscriptionCount];
+        for (int i = 0; i < subscriptionCount; i++) {
+            ids[i] = Subscription.createSubscription("SUB" + i, "Subscriber", 12);
+        }
+        lookups = new String[4096];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = (i & 7) == 7 ? "SUB-UNKNOWN-" + i : ids[(int) ((i * 2654435761L) % subscriptionCount)];
+        }
+    }
+
+    @Benchmark
+    public boolean isValidSubscription() {
+        String id = lookups[next];
+        next = (next + 1) & (lookups.length - 1);
+        return Subscription.isValidSubscription(id);
+    }
+}
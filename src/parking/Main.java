@@ -1,23 +1,99 @@
 package parking;
 
 import parking.core.Vehicle;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.metrics.MetricsServer;
 import parking.patterns.facade.ParkingSystemFacade;
 import parking.patterns.factory.VehicleType;
 import parking.patterns.builder.ParkingReport;
 import parking.management.SubscriptionType;
+import parking.server.GateApiServer;
+import parking.server.GateProtocolServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 /**
- * The {@code Main} class provides a simple demonstration of the parking system.
+ * The {@code Main} class provides a simple demonstration of the parking system,
+ * or runs it headless behind the {@link GateApiServer}.
  *
  * @author Smart Parking System Team
  */
 public class Main {
     /**
-     * The entry point of the application.
+     * The entry point of the application. Without arguments it runs the demonstration;
+     * with {@code --server} it serves the gate API until the process is stopped.
+     * Server options, all optional: {@code --port=N} (default 8080), {@code --lot=ID},
+     * {@code --threads=N}, the pool size when virtual threads are not available, and
+     * {@code --gate-port=N} to also serve the binary gate protocol.
+     *
+     * @param args Command line arguments.
+     * @throws IOException if the server port cannot be bound.
+     * @throws InterruptedException if interrupted while serving.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Options take the form --name or --name=value: " + arg);
+            }
+            options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals),
+                    equals < 0 ? "" : arg.substring(equals + 1));
+        }
+        if (options.containsKey("server")) {
+            serve(options);
+        } else {
+            runDemo();
+        }
+    }
+
+    /**
+     * Serves the gate API until the process is stopped. Console displays are
+     * detached from the lot, since nobody watches them and they would print
+     * every gate event while holding the lot.
      *
-     * @param args Command line arguments (not used).
+     * @param options The command line options.
      */
-    public static void main(String[] args) {
+    private static void serve(Map<String, String> options) throws IOException, InterruptedException {
+        String lotId = options.getOrDefault("lot", ParkingLot.DEFAULT_LOT_ID);
+        ParkingSystemFacade facade = new ParkingSystemFacade(lotId);
+        ParkingLotRegistry.getInstance().getLot(lotId).detachDisplays();
+
+        MetricsServer metrics = MetricsServer.startIfConfigured();
+        GateApiServer server = new GateApiServer(facade,
+                new InetSocketAddress(Integer.parseInt(options.getOrDefault("port", "8080"))),
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(GateApiServer.DEFAULT_THREADS))));
+        server.start();
+        System.out.println("Serving lot " + lotId + " on port " + server.getPort()
+                + (server.usesVirtualThreads() ? " (virtual threads)" : ""));
+        GateProtocolServer gates = null;
+        if (options.containsKey("gate-port")) {
+            gates = new GateProtocolServer(facade, new InetSocketAddress(Integer.parseInt(options.get("gate-port"))));
+            gates.start();
+            System.out.println("Serving gate protocol on port " + gates.getPort());
+        }
+        GateProtocolServer gateServer = gates;
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            if (gateServer != null) {
+                gateServer.close();
+            }
+            if (metrics != null) {
+                metrics.close();
+            }
+            stopped.countDown();
+        }, "parking-shutdown"));
+        stopped.await();
+    }
+
+    private static void runDemo() {
         System.out.println("Smart Parking System");
         System.out.println("====================");
         System.out.println();
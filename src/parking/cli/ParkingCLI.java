@@ -2,6 +2,7 @@ package parking.cli;
 
 import parking.core.Vehicle;
 import parking.management.SubscriptionType;
+import parking.metrics.MetricsServer;
 import parking.patterns.builder.ParkingReport;
 import parking.patterns.facade.ParkingSystemFacade;
 import parking.patterns.factory.VehicleType;
@@ -279,6 +280,7 @@ public class ParkingCLI {
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
+        MetricsServer.startIfConfigured();
         ParkingCLI cli = new ParkingCLI();
         cli.start();
     }
@@ -0,0 +1,252 @@
+package parking.config;
+
+import java.util.Properties;
+
+/**
+ * The {@code ConfigSnapshot} class is an immutable view of the configuration at one
+ * point in time. {@link ParkingConfig} publishes a new snapshot on every reload, so
+ * a caller holding a snapshot always sees a consistent set of values, never a mix
+ * of old and new ones.
+ *
+ * @author Smart Parking System Team
+ */
+public final class ConfigSnapshot {
+    // Parking lot configuration
+    private final int regularSpots;
+    private final int disabledSpots;
+    private final String spotStore;
+    private final String spotLayout;
+    private final String spotAllocation;
+    private final boolean garbageFree;
+
+    // Pricing configuration
+    private final double carHourlyRate;
+    private final double carDisabledHourlyRate;
+    private final double motorcycleHourlyRate;
+    private final double motorcycleDisabledHourlyRate;
+    private final double freeHours;
+
+    // Subscription configuration
+    private final double standardSubscriptionDiscount;
+    private final double premiumSubscriptionDiscount;
+
+    /** The version of this snapshot; each reload increments it. */
+    private final long version;
+
+    /**
+     * Parses a snapshot from properties, using default values for missing or invalid entries.
+     *
+     * @param properties The configuration properties.
+     * @param version The version of the snapshot.
+     */
+    ConfigSnapshot(Properties properties, long version) {
+        this.regularSpots = getIntProperty(properties, "parking.spots.regular", 100);
+        this.disabledSpots = getIntProperty(properties, "parking.spots.disabled", 20);
+        this.spotStore = properties.getProperty("parking.spots.store", "heap").trim();
+        this.spotLayout = properties.getProperty("parking.spots.layout", "").trim();
+        this.spotAllocation = properties.getProperty("parking.spots.allocation", "first-fit").trim();
+        this.garbageFree = Boolean.parseBoolean(properties.getProperty("parking.garbage.free", "false").trim());
+
+        this.carHourlyRate = getDoubleProperty(properties, "pricing.car.hourly", 18.0);
+        this.carDisabledHourlyRate = getDoubleProperty(properties, "pricing.car.disabled.hourly", 8.0);
+        this.motorcycleHourlyRate = getDoubleProperty(properties, "pricing.motorcycle.hourly", 12.0);
+        this.motorcycleDisabledHourlyRate = getDoubleProperty(properties, "pricing.motorcycle.disabled.hourly", 8.0);
+        this.freeHours = getDoubleProperty(properties, "pricing.free.hours", 2.0);
+
+        this.standardSubscriptionDiscount = getDoubleProperty(properties, "subscription.standard.discount", 0.2);
+        this.premiumSubscriptionDiscount = getDoubleProperty(properties, "subscription.premium.discount", 0.4);
+        this.version = version;
+    }
+
+    /**
+     * Checks the settings present in the properties. Unlike the constructor, which
+     * falls back to defaults, this rejects a bad file outright: numbers must parse
+     * and must not be negative, discounts must lie between 0 and 1, and the spot
+     * store must be {@code heap} or {@code offheap}.
+     *
+     * @param properties The configuration properties.
+     * @throws IllegalArgumentException if a setting is invalid.
+     */
+    static void validate(Properties properties) {
+        checkRange(properties, "parking.spots.regular", Integer.MAX_VALUE, true);
+        checkRange(properties, "parking.spots.disabled", Integer.MAX_VALUE, true);
+        checkRange(properties, "pricing.car.hourly", Double.MAX_VALUE, false);
+        checkRange(properties, "pricing.car.disabled.hourly", Double.MAX_VALUE, false);
+        checkRange(properties, "pricing.motorcycle.hourly", Double.MAX_VALUE, false);
+        checkRange(properties, "pricing.motorcycle.disabled.hourly", Double.MAX_VALUE, false);
+        checkRange(properties, "pricing.free.hours", Double.MAX_VALUE, false);
+        checkRange(properties, "subscription.standard.discount", 1.0, false);
+        checkRange(properties, "subscription.premium.discount", 1.0, false);
+
+        String store = properties.getProperty("parking.spots.store");
+        if (store != null && !"heap".equalsIgnoreCase(store.trim()) && !"offheap".equalsIgnoreCase(store.trim())) {
+            throw new IllegalArgumentException("Invalid parking.spots.store: " + store);
+        }
+    }
+
+    /**
+     * Checks that a property, if present, is a number between 0 and a maximum.
+     *
+     * @param properties The configuration properties.
+     * @param key The property key.
+     * @param max The largest valid value.
+     * @param integer Whether the value must be an integer.
+     * @throws IllegalArgumentException if the value is invalid.
+     */
+    private static void checkRange(Properties properties, String key, double max, boolean integer) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return;
+        }
+        double number;
+        try {
+            number = integer ? Integer.parseInt(value.trim()) : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value, e);
+        }
+        if (!(number >= 0 && number <= max)) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Gets an integer property value.
+     *
+     * @param properties The configuration properties.
+     * @param key The property key.
+     * @param defaultValue The default value if not found.
+     * @return The property value.
+     */
+    private static int getIntProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Gets a double property value.
+     *
+     * @param properties The configuration properties.
+     * @param key The property key.
+     * @param defaultValue The default value if not found.
+     * @return The property value.
+     */
+    private static double getDoubleProperty(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value != null) {
+            try {
+                return Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    public int getRegularSpots() {
+        return regularSpots;
+    }
+
+    public int getDisabledSpots() {
+        return disabledSpots;
+    }
+
+    /**
+     * Gets the type of spot store: {@code heap} for one object per spot, or
+     * {@code offheap} for a compact table outside the Java heap.
+     *
+     * @return The spot store type.
+     */
+    public String getSpotStore() {
+        return spotStore;
+    }
+
+    /**
+     * Gets whether lots run in garbage-free mode: once warmed up, parking and
+     * removing vehicles through the facade creates no objects, at the cost of
+     * keeping no session history and no console display of events.
+     *
+     * @return true if lots run in garbage-free mode.
+     */
+    public boolean isGarbageFree() {
+        return garbageFree;
+    }
+
+    /**
+     * Gets the spot layout as {@code level:zone:category:count} ranges separated by
+     * commas, or an empty string to use the regular and disabled spot counts.
+     *
+     * @return The spot layout.
+     */
+    public String getSpotLayout() {
+        return spotLayout;
+    }
+
+    /**
+     * Gets the allocation strategy choosing among the free spots:
+     * {@code first-fit}, {@code round-robin}, {@code lru} or {@code zone-balanced}.
+     *
+     * @return The allocation strategy name.
+     */
+    public String getSpotAllocation() {
+        return spotAllocation;
+    }
+
+    public int getTotalSpots() {
+        return regularSpots + disabledSpots;
+    }
+
+    public double getCarHourlyRate() {
+        return carHourlyRate;
+    }
+
+    public double getCarDisabledHourlyRate() {
+        return carDisabledHourlyRate;
+    }
+
+    public double getMotorcycleHourlyRate() {
+        return motorcycleHourlyRate;
+    }
+
+    public double getMotorcycleDisabledHourlyRate() {
+        return motorcycleDisabledHourlyRate;
+    }
+
+    public double getFreeHours() {
+        return freeHours;
+    }
+
+    public double getStandardSubscriptionDiscount() {
+        return standardSubscriptionDiscount;
+    }
+
+    public double getPremiumSubscriptionDiscount() {
+        return premiumSubscriptionDiscount;
+    }
+
+    /**
+     * Gets the version of this snapshot. The first snapshot has version 1.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingConfig{" +
+                "regularSpots=" + regularSpots +
+                ", disabledSpots=" + disabledSpots +
+                ", carHourlyRate=" + carHourlyRate +
+                ", motorcycleHourlyRate=" + motorcycleHourlyRate +
+                ", freeHours=" + freeHours +
+                '}';
+    }
+}
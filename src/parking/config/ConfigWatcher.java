@@ -0,0 +1,169 @@
+package parking.config;
+
+import parking.util.ParkingLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The {@code ConfigWatcher} class reloads a configuration file whenever it changes.
+ * A daemon thread waits on a {@link WatchService} for the file's directory and
+ * calls {@link ParkingConfig#reload(Path)} when the file is created or modified.
+ * Writers often save a file in several steps, each firing an event, so the
+ * watcher waits until the file has settled: no further events, and the same
+ * modification time and size over {@link #SETTLE_MILLIS}. A file that fails to
+ * load or validate is logged and the previous snapshot stays in effect.
+ *
+ * @author Smart Parking System Team
+ */
+public class ConfigWatcher implements AutoCloseable {
+    /** How long, in milliseconds, the file must stay unchanged before it is reloaded. */
+    static final long SETTLE_MILLIS = 100;
+
+    /** The configuration to reload. */
+    private final ParkingConfig config;
+
+    /** The watched file. */
+    private final Path file;
+
+    /** The watch service for the file's directory. */
+    private final WatchService watchService;
+
+    /** The thread waiting for changes. */
+    private final Thread thread;
+
+    /**
+     * Constructs a new {@code ConfigWatcher}, loads the file once and starts watching it.
+     *
+     * @param config The configuration to reload.
+     * @param file The properties file.
+     * @throws IOException if the file's directory cannot be watched.
+     */
+    ConfigWatcher(ParkingConfig config, Path file) throws IOException {
+        this.config = config;
+        this.file = file.toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        reload();
+
+        this.thread = new Thread(this::run, "parking-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Gets the watched file.
+     *
+     * @return The file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = touchesFile(key);
+                if (!key.reset()) {
+                    return;
+                }
+                if (changed && awaitSettled()) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    /**
+     * Drains the events of a key.
+     *
+     * @param key The watch key.
+     * @return Whether any event concerns the watched file.
+     */
+    private boolean touchesFile(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && file.getFileName().equals(context)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Waits until the file has settled: one full interval with no events for it
+     * and no change in its modification time or size.
+     *
+     * @return Whether the file settled; false if it no longer exists.
+     * @throws InterruptedException if the watcher is closed while waiting.
+     */
+    private boolean awaitSettled() throws InterruptedException {
+        BasicFileAttributes before = attributes();
+        while (true) {
+            Thread.sleep(SETTLE_MILLIS);
+            boolean changed = false;
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                changed |= touchesFile(key);
+                key.reset();
+            }
+            BasicFileAttributes after = attributes();
+            if (after == null) {
+                return false;
+            }
+            if (!changed && before != null
+                    && before.lastModifiedTime().equals(after.lastModifiedTime())
+                    && before.size() == after.size()) {
+                return true;
+            }
+            before = after;
+        }
+    }
+
+    /**
+     * Reads the attributes of the file.
+     *
+     * @return The attributes, or null if the file cannot be read.
+     */
+    private BasicFileAttributes attributes() {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reload() {
+        try {
+            config.reload(file);
+        } catch (IOException | IllegalArgumentException e) {
+            ParkingLogger.getLogger(ConfigWatcher.class).warn("Could not reload configuration from " + file, e);
+        }
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        thread.interrupt();
+    }
+}
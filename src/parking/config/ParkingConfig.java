@@ -2,46 +2,38 @@ package parking.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The {@code ParkingConfig} class manages configuration settings for the parking system.
  * It loads settings from a properties file and provides default values if not found.
  * This follows the Singleton pattern for global configuration access.
+ * <p>
+ * The settings are held in an immutable {@link ConfigSnapshot}. A reload parses
+ * a complete new snapshot and publishes it with a single atomic swap, so readers
+ * never see a half-updated configuration and never take a lock. Callers that read
+ * several related values should take one snapshot with {@link #getSnapshot()}.
  *
  * @author Smart Parking System Team
  */
 public class ParkingConfig {
-    
+
     /** The singleton instance of this class. */
     private static ParkingConfig instance;
-    
-    /** The properties object holding all configuration. */
-    private final Properties properties;
-    
-    // Parking lot configuration
-    private int regularSpots;
-    private int disabledSpots;
-    
-    // Pricing configuration
-    private double carHourlyRate;
-    private double carDisabledHourlyRate;
-    private double motorcycleHourlyRate;
-    private double motorcycleDisabledHourlyRate;
-    private double freeHours;
-    
-    // Subscription configuration
-    private double standardSubscriptionDiscount;
-    private double premiumSubscriptionDiscount;
-    
+
+    /** The current configuration snapshot. */
+    private final AtomicReference<ConfigSnapshot> snapshot;
+
     /**
      * Private constructor to prevent instantiation from outside.
      */
     private ParkingConfig() {
-        this.properties = new Properties();
-        loadConfiguration();
+        this.snapshot = new AtomicReference<>(new ConfigSnapshot(loadClasspathProperties(), 1));
     }
-    
+
     /**
      * Gets the singleton instance of this class.
      *
@@ -53,11 +45,14 @@ public class ParkingConfig {
         }
         return instance;
     }
-    
+
     /**
-     * Loads configuration from the properties file or sets default values.
+     * Loads the properties file from the classpath, or no properties if it is missing.
+     *
+     * @return The loaded properties.
      */
-    private void loadConfiguration() {
+    private Properties loadClasspathProperties() {
+        Properties properties = new Properties();
         try (InputStream input = getClass().getClassLoader()
                 .getResourceAsStream("parking.properties")) {
             if (input != null) {
@@ -66,116 +61,135 @@ public class ParkingConfig {
         } catch (IOException e) {
             // Use default values if file not found
         }
-        
-        // Load values with defaults
-        regularSpots = getIntProperty("parking.spots.regular", 100);
-        disabledSpots = getIntProperty("parking.spots.disabled", 20);
-        
-        carHourlyRate = getDoubleProperty("pricing.car.hourly", 18.0);
-        carDisabledHourlyRate = getDoubleProperty("pricing.car.disabled.hourly", 8.0);
-        motorcycleHourlyRate = getDoubleProperty("pricing.motorcycle.hourly", 12.0);
-        motorcycleDisabledHourlyRate = getDoubleProperty("pricing.motorcycle.disabled.hourly", 6.0);
-        freeHours = getDoubleProperty("pricing.free.hours", 2.0);
-        
-        standardSubscriptionDiscount = getDoubleProperty("subscription.standard.discount", 0.2);
-        premiumSubscriptionDiscount = getDoubleProperty("subscription.premium.discount", 0.4);
-    }
-    
-    /**
-     * Gets an integer property value.
-     *
-     * @param key The property key.
-     * @param defaultValue The default value if not found.
-     * @return The property value.
-     */
-    private int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
-        if (value != null) {
-            try {
-                return Integer.parseInt(value.trim());
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
-        }
-        return defaultValue;
+        return properties;
     }
-    
+
     /**
-     * Gets a double property value.
+     * Gets the current configuration snapshot. This is a single volatile read.
      *
-     * @param key The property key.
-     * @param defaultValue The default value if not found.
-     * @return The property value.
+     * @return The current snapshot.
      */
-    private double getDoubleProperty(String key, double defaultValue) {
-        String value = properties.getProperty(key);
-        if (value != null) {
-            try {
-                return Double.parseDouble(value.trim());
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
-        }
-        return defaultValue;
+    public ConfigSnapshot getSnapshot() {
+        return snapshot.get();
     }
-    
+
     // Getters for configuration values
-    
+
     public int getRegularSpots() {
-        return regularSpots;
+        return snapshot.get().getRegularSpots();
     }
-    
+
     public int getDisabledSpots() {
-        return disabledSpots;
+        return snapshot.get().getDisabledSpots();
+    }
+
+    /**
+     * Gets the type of spot store: {@code heap} for one object per spot, or
+     * {@code offheap} for a compact table outside the Java heap.
+     *
+     * @return The spot store type.
+     */
+    public String getSpotStore() {
+        return snapshot.get().getSpotStore();
     }
-    
+
+    /**
+     * Gets whether lots run in garbage-free mode, see {@link ConfigSnapshot#isGarbageFree()}.
+     *
+     * @return true if lots run in garbage-free mode.
+     */
+    public boolean isGarbageFree() {
+        return snapshot.get().isGarbageFree();
+    }
+
     public int getTotalSpots() {
-        return regularSpots + disabledSpots;
+        return snapshot.get().getTotalSpots();
     }
-    
+
     public double getCarHourlyRate() {
-        return carHourlyRate;
+        return snapshot.get().getCarHourlyRate();
     }
-    
+
     public double getCarDisabledHourlyRate() {
-        return carDisabledHourlyRate;
+        return snapshot.get().getCarDisabledHourlyRate();
     }
-    
+
     public double getMotorcycleHourlyRate() {
-        return motorcycleHourlyRate;
+        return snapshot.get().getMotorcycleHourlyRate();
     }
-    
+
     public double getMotorcycleDisabledHourlyRate() {
-        return motorcycleDisabledHourlyRate;
+        return snapshot.get().getMotorcycleDisabledHourlyRate();
     }
-    
+
     public double getFreeHours() {
-        return freeHours;
+        return snapshot.get().getFreeHours();
     }
-    
+
     public double getStandardSubscriptionDiscount() {
-        return standardSubscriptionDiscount;
+        return snapshot.get().getStandardSubscriptionDiscount();
     }
-    
+
     public double getPremiumSubscriptionDiscount() {
-        return premiumSubscriptionDiscount;
+        return snapshot.get().getPremiumSubscriptionDiscount();
     }
-    
+
     /**
-     * Reloads configuration from file.
+     * Reloads configuration from the classpath.
      */
     public void reload() {
-        loadConfiguration();
+        publish(loadClasspathProperties());
+    }
+
+    /**
+     * Reloads configuration from a properties file on disk. The file is layered
+     * over the classpath properties, so settings it leaves out keep their
+     * classpath values. If the file cannot be read or holds an invalid setting,
+     * the current snapshot is kept.
+     *
+     * @param file The properties file.
+     * @return The new snapshot.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a setting in the file is invalid.
+     */
+    public ConfigSnapshot reload(Path file) throws IOException {
+        Properties properties = loadClasspathProperties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        }
+        ConfigSnapshot.validate(properties);
+        return publish(properties);
     }
-    
+
+    /**
+     * Watches a properties file and reloads it whenever it changes.
+     *
+     * @param file The properties file.
+     * @return The running watcher; close it to stop watching.
+     * @throws IOException if the file's directory cannot be watched.
+     */
+    public ConfigWatcher watch(Path file) throws IOException {
+        return new ConfigWatcher(this, file);
+    }
+
+    /**
+     * Parses properties into a new snapshot and swaps it in.
+     *
+     * @param properties The configuration properties.
+     * @return The new snapshot.
+     */
+    private ConfigSnapshot publish(Properties properties) {
+        while (true) {
+            ConfigSnapshot current = snapshot.get();
+            ConfigSnapshot next = new ConfigSnapshot(properties, current.getVersion() + 1);
+            if (snapshot.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
     @Override
     public String toString() {
-        return "ParkingConfig{" +
-                "regularSpots=" + regularSpots +
-                ", disabledSpots=" + disabledSpots +
-                ", carHourlyRate=" + carHourlyRate +
-                ", motorcycleHourlyRate=" + motorcycleHourlyRate +
-                ", freeHours=" + freeHours +
-                '}';
+        return snapshot.get().toString();
     }
 }
@@ -0,0 +1,227 @@
+package parking.core;
+
+import java.util.Arrays;
+
+/**
+ * The {@code HeapSpotStore} class keeps one {@link ParkingSpot} object per spot.
+ * It is the default store, suitable for single lots of ordinary size.
+ * Spots live in fixed-size pages, so adding a range of spots only allocates
+ * new pages and never copies the existing spots.
+ *
+ * @author Smart Parking System Team
+ */
+public class HeapSpotStore implements SpotStore {
+    /** The number of spots per page, as a power of two. */
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /** The pages of spots, indexed by spot ID minus one. */
+    private volatile ParkingSpot[][] pages;
+
+    /** The closed flags, paged like the spots. */
+    private volatile boolean[][] closedPages;
+
+    /** The number of spot IDs. */
+    private volatile int spotCount;
+
+    /** The number of occupied spots. */
+    private int occupiedCount;
+
+    /** The number of open, free spots. */
+    private int availableCount;
+
+    /** The number of open, free disabled spots. */
+    private int availableDisabledCount;
+
+    /**
+     * Constructs a new {@code HeapSpotStore}. Regular spots come first,
+     * followed by the disabled spots.
+     *
+     * @param regularSpots The number of regular spots.
+     * @param disabledSpots The number of disabled spots.
+     */
+    public HeapSpotStore(int regularSpots, int disabledSpots) {
+        this(SpotLayout.standard(regularSpots, disabledSpots));
+    }
+
+    /**
+     * Constructs a new {@code HeapSpotStore} with the spots of a layout.
+     *
+     * @param layout The layout.
+     */
+    public HeapSpotStore(SpotLayout layout) {
+        this.pages = new ParkingSpot[0][];
+        this.closedPages = new boolean[0][];
+        addSpots(layout);
+    }
+
+    @Override
+    public int getSpotCount() {
+        return spotCount;
+    }
+
+    @Override
+    public synchronized int getOccupiedCount() {
+        return occupiedCount;
+    }
+
+    @Override
+    public synchronized int getAvailableCount() {
+        return availableCount;
+    }
+
+    @Override
+    public synchronized int getAvailableDisabledCount() {
+        return availableDisabledCount;
+    }
+
+    @Override
+    public ParkingSpot getSpot(int spotId) {
+        checkSpotId(spotId);
+        return pages[(spotId - 1) >>> PAGE_SHIFT][(spotId - 1) & PAGE_MASK];
+    }
+
+    @Override
+    public boolean isOccupied(int spotId) {
+        return getSpot(spotId).isOccupied();
+    }
+
+    @Override
+    public boolean isDisabledSpot(int spotId) {
+        return getSpot(spotId).isDisabledSpot();
+    }
+
+    @Override
+    public SpotCategory getCategory(int spotId) {
+        return getSpot(spotId).getCategory();
+    }
+
+    @Override
+    public int getLevel(int spotId) {
+        return getSpot(spotId).getLevel();
+    }
+
+    @Override
+    public int getZone(int spotId) {
+        return getSpot(spotId).getZone();
+    }
+
+    @Override
+    public synchronized boolean isClosed(int spotId) {
+        checkSpotId(spotId);
+        return closedPages[(spotId - 1) >>> PAGE_SHIFT][(spotId - 1) & PAGE_MASK];
+    }
+
+    @Override
+    public synchronized boolean isAvailable(int spotId) {
+        return !isClosed(spotId) && !getSpot(spotId).isOccupied();
+    }
+
+    @Override
+    public synchronized boolean tryOccupy(int spotId, Vehicle vehicle) {
+        ParkingSpot spot = getSpot(spotId);
+        if (isClosed(spotId) || spot.isOccupied() || !spot.parkVehicle(vehicle)) {
+            return false;
+        }
+        occupiedCount++;
+        countAvailable(spot, -1);
+        return true;
+    }
+
+    @Override
+    public synchronized Vehicle release(int spotId) {
+        ParkingSpot spot = getSpot(spotId);
+        Vehicle vehicle = spot.removeVehicle();
+        if (vehicle != null) {
+            occupiedCount--;
+            if (!isClosed(spotId)) {
+                countAvailable(spot, 1);
+            }
+        }
+        return vehicle;
+    }
+
+    @Override
+    public synchronized void vacateAll() {
+        for (int spotId = 1; spotId <= spotCount; spotId++) {
+            release(spotId);
+        }
+    }
+
+    @Override
+    public synchronized int addSpots(int count, SpotCategory category, int level, int zone) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Spot count must be positive: " + count);
+        }
+        int firstSpotId = spotCount + 1;
+        int newCount = spotCount + count;
+        int pageCount = (newCount + PAGE_MASK) >>> PAGE_SHIFT;
+        if (pageCount > pages.length) {
+            ParkingSpot[][] grownPages = Arrays.copyOf(pages, pageCount);
+            boolean[][] grownClosed = Arrays.copyOf(closedPages, pageCount);
+            for (int page = pages.length; page < pageCount; page++) {
+                grownPages[page] = new ParkingSpot[PAGE_SIZE];
+                grownClosed[page] = new boolean[PAGE_SIZE];
+            }
+            closedPages = grownClosed;
+            pages = grownPages;
+        }
+        for (int spotId = firstSpotId; spotId <= newCount; spotId++) {
+            pages[(spotId - 1) >>> PAGE_SHIFT][(spotId - 1) & PAGE_MASK] =
+                    new ParkingSpot(spotId, category, level, zone);
+        }
+        spotCount = newCount;
+        availableCount += count;
+        if (category == SpotCategory.DISABLED) {
+            availableDisabledCount += count;
+        }
+        return firstSpotId;
+    }
+
+    @Override
+    public synchronized int closeSpots(int firstSpotId, int lastSpotId) {
+        return setClosed(firstSpotId, lastSpotId, true);
+    }
+
+    @Override
+    public synchronized int openSpots(int firstSpotId, int lastSpotId) {
+        return setClosed(firstSpotId, lastSpotId, false);
+    }
+
+    private int setClosed(int firstSpotId, int lastSpotId, boolean closed) {
+        checkSpotId(firstSpotId);
+        checkSpotId(lastSpotId);
+        if (firstSpotId > lastSpotId) {
+            throw new IllegalArgumentException("Invalid spot range: " + firstSpotId + "-" + lastSpotId);
+        }
+        int changed = 0;
+        for (int spotId = firstSpotId; spotId <= lastSpotId; spotId++) {
+            boolean[] page = closedPages[(spotId - 1) >>> PAGE_SHIFT];
+            int index = (spotId - 1) & PAGE_MASK;
+            if (page[index] == closed) {
+                continue;
+            }
+            page[index] = closed;
+            changed++;
+            ParkingSpot spot = getSpot(spotId);
+            if (!spot.isOccupied()) {
+                countAvailable(spot, closed ? -1 : 1);
+            }
+        }
+        return changed;
+    }
+
+    private void countAvailable(ParkingSpot spot, int delta) {
+        availableCount += delta;
+        if (spot.isDisabledSpot()) {
+            availableDisabledCount += delta;
+        }
+    }
+
+    private void checkSpotId(int spotId) {
+        if (spotId < 1 || spotId > spotCount) {
+            throw new IllegalArgumentException("Invalid spot ID: " + spotId);
+        }
+    }
+}
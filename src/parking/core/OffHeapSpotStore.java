@@ -0,0 +1,452 @@
+package parking.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@code OffHeapSpotStore} class keeps the state of every spot in direct
+ * {@link ByteBuffer}s, outside the Java heap, for very large facilities.
+ * Each spot is a fixed 16-byte record:
+ * <pre>
+ *   offset 0  int   state: bits 0-2 occupied, disabled, closed;
+ *                   bits 8-15 category; bits 16-31 level
+ *   offset 4  int   zone
+ *   offset 8  long  occupant ID (for a lot, the interned license plate ID)
+ * </pre>
+ * Records are grouped in fixed-size segments, each its own direct buffer, so
+ * adding a range of spots allocates new segments and never copies old ones.
+ * No object is kept per spot; {@link #getSpot(int)} returns a lightweight
+ * {@link ParkingSpot} view over the record. The occupying vehicle is not
+ * stored either: it is mapped to and from its occupant ID by the functions
+ * given to the constructor.
+ * State changes are atomic per spot; they are guarded by a small set of
+ * striped locks, since Java 8 offers no compare-and-set on buffer memory.
+ *
+ * @author Smart Parking System Team
+ */
+public class OffHeapSpotStore implements SpotStore {
+    /** State bit set while the spot is occupied. */
+    public static final int STATE_OCCUPIED = 1;
+
+    /** State bit set when the spot is designated for disabled persons. */
+    public static final int STATE_DISABLED = 2;
+
+    /** State bit set while the spot is closed. */
+    public static final int STATE_CLOSED = 4;
+
+    private static final int CATEGORY_SHIFT = 8;
+    private static final int LEVEL_SHIFT = 16;
+
+    private static final SpotCategory[] CATEGORIES = SpotCategory.values();
+
+    /** The occupant ID of a free spot. */
+    public static final long NO_OCCUPANT = -1L;
+
+    private static final int RECORD_SIZE = 16;
+    private static final int STATE_OFFSET = 0;
+    private static final int ZONE_OFFSET = 4;
+    private static final int OCCUPANT_OFFSET = 8;
+
+    /** The number of spots per segment, as a power of two. */
+    private static final int SEGMENT_SHIFT = 12;
+    private static final int SEGMENT_SPOTS = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SPOTS - 1;
+
+    /** The number of lock stripes; a power of two. */
+    private static final int LOCK_STRIPES = 64;
+
+    /** The segments of spot records. */
+    private volatile ByteBuffer[] segments;
+
+    /** The number of spot IDs. */
+    private volatile int spotCount;
+
+    /** The number of occupied spots. */
+    private final AtomicInteger occupiedCount;
+
+    /** The number of open, free spots. */
+    private final AtomicInteger availableCount;
+
+    /** The number of open, free disabled spots. */
+    private final AtomicInteger availableDisabledCount;
+
+    /** The locks guarding state changes, striped by spot ID. */
+    private final Object[] locks;
+
+    /** Maps a vehicle to the occupant ID stored in its spot. */
+    private final ToLongFunction<Vehicle> occupantIdOf;
+
+    /** Maps an occupant ID back to its vehicle. */
+    private final LongFunction<Vehicle> occupantResolver;
+
+    /**
+     * Constructs a new {@code OffHeapSpotStore}. Regular spots come first,
+     * followed by the disabled spots.
+     *
+     * @param regularSpots The number of regular spots.
+     * @param disabledSpots The number of disabled spots.
+     * @param occupantIdOf Maps a vehicle to its occupant ID.
+     * @param occupantResolver Maps an occupant ID back to its vehicle.
+     */
+    public OffHeapSpotStore(int regularSpots, int disabledSpots,
+                            ToLongFunction<Vehicle> occupantIdOf, LongFunction<Vehicle> occupantResolver) {
+        this(SpotLayout.standard(regularSpots, disabledSpots), occupantIdOf, occupantResolver);
+    }
+
+    /**
+     * Constructs a new {@code OffHeapSpotStore} with the spots of a layout.
+     *
+     * @param layout The layout.
+     * @param occupantIdOf Maps a vehicle to its occupant ID.
+     * @param occupantResolver Maps an occupant ID back to its vehicle.
+     */
+    public OffHeapSpotStore(SpotLayout layout,
+                            ToLongFunction<Vehicle> occupantIdOf, LongFunction<Vehicle> occupantResolver) {
+        this.segments = new ByteBuffer[0];
+        this.occupiedCount = new AtomicInteger();
+        this.availableCount = new AtomicInteger();
+        this.availableDisabledCount = new AtomicInteger();
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.occupantIdOf = occupantIdOf;
+        this.occupantResolver = occupantResolver;
+        addSpots(layout);
+    }
+
+    @Override
+    public int getSpotCount() {
+        return spotCount;
+    }
+
+    @Override
+    public int getOccupiedCount() {
+        return occupiedCount.get();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return availableCount.get();
+    }
+
+    @Override
+    public int getAvailableDisabledCount() {
+        return availableDisabledCount.get();
+    }
+
+    @Override
+    public ParkingSpot getSpot(int spotId) {
+        checkSpotId(spotId);
+        return new SpotView(spotId);
+    }
+
+    @Override
+    public boolean isOccupied(int spotId) {
+        return (getState(spotId) & STATE_OCCUPIED) != 0;
+    }
+
+    @Override
+    public boolean isDisabledSpot(int spotId) {
+        return (getState(spotId) & STATE_DISABLED) != 0;
+    }
+
+    @Override
+    public SpotCategory getCategory(int spotId) {
+        return CATEGORIES[(getState(spotId) >>> CATEGORY_SHIFT) & 0xFF];
+    }
+
+    @Override
+    public int getLevel(int spotId) {
+        return getState(spotId) >> LEVEL_SHIFT;
+    }
+
+    @Override
+    public boolean isClosed(int spotId) {
+        return (getState(spotId) & STATE_CLOSED) != 0;
+    }
+
+    @Override
+    public boolean isAvailable(int spotId) {
+        return isAvailableState(getState(spotId));
+    }
+
+    @Override
+    public boolean tryOccupy(int spotId, Vehicle vehicle) {
+        ByteBuffer segment = segment(spotId);
+        int offset = offset(spotId);
+        int state;
+        synchronized (lockFor(spotId)) {
+            state = segment.getInt(offset + STATE_OFFSET);
+            if ((state & (STATE_OCCUPIED | STATE_CLOSED)) != 0
+                    || !CATEGORIES[(state >>> CATEGORY_SHIFT) & 0xFF].accepts(vehicle)) {
+                return false;
+            }
+            segment.putLong(offset + OCCUPANT_OFFSET, occupantIdOf.applyAsLong(vehicle));
+            segment.putInt(offset + STATE_OFFSET, state | STATE_OCCUPIED);
+        }
+        adjustCounts(state, state | STATE_OCCUPIED);
+        return true;
+    }
+
+    @Override
+    public Vehicle release(int spotId) {
+        long occupantId = releaseOccupant(spotId);
+        return occupantId != NO_OCCUPANT ? occupantResolver.apply(occupantId) : null;
+    }
+
+    @Override
+    public void vacateAll() {
+        int count = spotCount;
+        for (int spotId = 1; spotId <= count; spotId++) {
+            releaseOccupant(spotId);
+        }
+    }
+
+    @Override
+    public synchronized int addSpots(int count, SpotCategory category, int level, int zone) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Spot count must be positive: " + count);
+        }
+        int firstSpotId = spotCount + 1;
+        int newCount = spotCount + count;
+        int segmentCount = (newCount + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        if (segmentCount > segments.length) {
+            ByteBuffer[] grown = Arrays.copyOf(segments, segmentCount);
+            for (int i = segments.length; i < segmentCount; i++) {
+                grown[i] = ByteBuffer.allocateDirect(SEGMENT_SPOTS * RECORD_SIZE).order(ByteOrder.nativeOrder());
+            }
+            segments = grown;
+        }
+        if (level < Short.MIN_VALUE || level > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Level out of range: " + level);
+        }
+        boolean disabled = category == SpotCategory.DISABLED;
+        int state = (level << LEVEL_SHIFT) | (category.ordinal() << CATEGORY_SHIFT) | (disabled ? STATE_DISABLED : 0);
+        for (int spotId = firstSpotId; spotId <= newCount; spotId++) {
+            ByteBuffer segment = segments[(spotId - 1) >>> SEGMENT_SHIFT];
+            int offset = offset(spotId);
+            segment.putInt(offset + ZONE_OFFSET, zone);
+            segment.putLong(offset + OCCUPANT_OFFSET, NO_OCCUPANT);
+            segment.putInt(offset + STATE_OFFSET, state);
+        }
+        spotCount = newCount;
+        availableCount.addAndGet(count);
+        if (disabled) {
+            availableDisabledCount.addAndGet(count);
+        }
+        return firstSpotId;
+    }
+
+    @Override
+    public int closeSpots(int firstSpotId, int lastSpotId) {
+        return setClosed(firstSpotId, lastSpotId, true);
+    }
+
+    @Override
+    public int openSpots(int firstSpotId, int lastSpotId) {
+        return setClosed(firstSpotId, lastSpotId, false);
+    }
+
+    /**
+     * Reads the state word of a spot: its flags, category and level.
+     *
+     * @param spotId The spot ID.
+     * @return The state word.
+     */
+    public int getState(int spotId) {
+        ByteBuffer segment = segment(spotId);
+        int offset = offset(spotId);
+        synchronized (lockFor(spotId)) {
+            return segment.getInt(offset + STATE_OFFSET);
+        }
+    }
+
+    /**
+     * Gets the occupant ID of a spot.
+     *
+     * @param spotId The spot ID.
+     * @return The occupant ID, or {@link #NO_OCCUPANT} if the spot is free.
+     */
+    public long getOccupantId(int spotId) {
+        ByteBuffer segment = segment(spotId);
+        int offset = offset(spotId);
+        synchronized (lockFor(spotId)) {
+            return segment.getLong(offset + OCCUPANT_OFFSET);
+        }
+    }
+
+    @Override
+    public int getZone(int spotId) {
+        ByteBuffer segment = segment(spotId);
+        int offset = offset(spotId);
+        synchronized (lockFor(spotId)) {
+            return segment.getInt(offset + ZONE_OFFSET);
+        }
+    }
+
+    /**
+     * Gets the size of the off-heap table.
+     *
+     * @return The number of bytes allocated for spot records.
+     */
+    public long getOffHeapBytes() {
+        return (long) segments.length * SEGMENT_SPOTS * RECORD_SIZE;
+    }
+
+    private long releaseOccupant(int spotId) {
+        ByteBuffer segment = segment(spotId);
+        int offset = offset(spotId);
+        long occupantId;
+        int state;
+        synchronized (lockFor(spotId)) {
+            state = segment.getInt(offset + STATE_OFFSET);
+            if ((state & STATE_OCCUPIED) == 0) {
+                return NO_OCCUPANT;
+            }
+            occupantId = segment.getLong(offset + OCCUPANT_OFFSET);
+            segment.putLong(offset + OCCUPANT_OFFSET, NO_OCCUPANT);
+            segment.putInt(offset + STATE_OFFSET, state & ~STATE_OCCUPIED);
+        }
+        adjustCounts(state, state & ~STATE_OCCUPIED);
+        return occupantId;
+    }
+
+    private int setClosed(int firstSpotId, int lastSpotId, boolean closed) {
+        checkSpotId(firstSpotId);
+        checkSpotId(lastSpotId);
+        if (firstSpotId > lastSpotId) {
+            throw new IllegalArgumentException("Invalid spot range: " + firstSpotId + "-" + lastSpotId);
+        }
+        int changed = 0;
+        for (int spotId = firstSpotId; spotId <= lastSpotId; spotId++) {
+            ByteBuffer segment = segment(spotId);
+            int offset = offset(spotId);
+            int state;
+            int update;
+            synchronized (lockFor(spotId)) {
+                state = segment.getInt(offset + STATE_OFFSET);
+                update = closed ? state | STATE_CLOSED : state & ~STATE_CLOSED;
+                if (update == state) {
+                    continue;
+                }
+                segment.putInt(offset + STATE_OFFSET, update);
+            }
+            adjustCounts(state, update);
+            changed++;
+        }
+        return changed;
+    }
+
+    private void adjustCounts(int oldState, int newState) {
+        if (oldState == newState) {
+            return;
+        }
+        int occupiedDelta = (newState & STATE_OCCUPIED) - (oldState & STATE_OCCUPIED);
+        if (occupiedDelta != 0) {
+            occupiedCount.addAndGet(occupiedDelta);
+        }
+        int availableDelta = availability(newState) - availability(oldState);
+        if (availableDelta != 0) {
+            availableCount.addAndGet(availableDelta);
+        }
+        int availableDisabledDelta = disabledAvailability(newState) - disabledAvailability(oldState);
+        if (availableDisabledDelta != 0) {
+            availableDisabledCount.addAndGet(availableDisabledDelta);
+        }
+    }
+
+    private static boolean isAvailableState(int state) {
+        return (state & (STATE_OCCUPIED | STATE_CLOSED)) == 0;
+    }
+
+    private static int availability(int state) {
+        return isAvailableState(state) ? 1 : 0;
+    }
+
+    private static int disabledAvailability(int state) {
+        return isAvailableState(state) && (state & STATE_DISABLED) != 0 ? 1 : 0;
+    }
+
+    private ByteBuffer segment(int spotId) {
+        checkSpotId(spotId);
+        return segments[(spotId - 1) >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int spotId) {
+        return ((spotId - 1) & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private void checkSpotId(int spotId) {
+        if (spotId < 1 || spotId > spotCount) {
+            throw new IllegalArgumentException("Invalid spot ID: " + spotId);
+        }
+    }
+
+    private Object lockFor(int spotId) {
+        return locks[spotId & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * A {@link ParkingSpot} view of one record in the table.
+     */
+    private final class SpotView extends ParkingSpot {
+
+        private SpotView(int spotId) {
+            super(spotId, false);
+        }
+
+        @Override
+        public boolean parkVehicle(Vehicle vehicle) {
+            if (OffHeapSpotStore.this.isOccupied(getSpotId())) {
+                throw new IllegalStateException("Parking spot " + getSpotId() + " is already occupied");
+            }
+            return tryOccupy(getSpotId(), vehicle);
+        }
+
+        @Override
+        public Vehicle removeVehicle() {
+            return release(getSpotId());
+        }
+
+        @Override
+        public void vacate() {
+            releaseOccupant(getSpotId());
+        }
+
+        @Override
+        public boolean isOccupied() {
+            return OffHeapSpotStore.this.isOccupied(getSpotId());
+        }
+
+        @Override
+        public boolean isDisabledSpot() {
+            return OffHeapSpotStore.this.isDisabledSpot(getSpotId());
+        }
+
+        @Override
+        public SpotCategory getCategory() {
+            return OffHeapSpotStore.this.getCategory(getSpotId());
+        }
+
+        @Override
+        public int getLevel() {
+            return OffHeapSpotStore.this.getLevel(getSpotId());
+        }
+
+        @Override
+        public int getZone() {
+            return OffHeapSpotStore.this.getZone(getSpotId());
+        }
+
+        @Override
+        public Vehicle getOccupyingVehicle() {
+            long occupantId = getOccupantId(getSpotId());
+            return occupantId != NO_OCCUPANT ? occupantResolver.apply(occupantId) : null;
+        }
+    }
+}
@@ -1,36 +1,80 @@
 package parking.core;
 
+import parking.util.ParkingClock;
+
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.Duration;
+import java.time.ZoneId;
 
 /**
  * The ParkingSession class represents a single parking session in a parking lot.
  * It tracks the vehicle, the spot, and the entry and exit times.
- * 
+ * Times are read from a {@link Clock} and stored as epoch milliseconds.
+ * Active sessions held by a {@link SessionTable} are handed out as flyweight
+ * views that read their state from the table.
+ *
  * @author Smart Parking System Team
  */
 public class ParkingSession {
+    /** The value of {@link #getExitTimeMillis()} while the session is active. */
+    public static final long NO_EXIT_TIME = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
     private final Vehicle vehicle;
     private final ParkingSpot parkingSpot;
-    private final LocalDateTime entryTime;
-    private LocalDateTime exitTime;
+    private final Clock clock;
+    private final long entryMillis;
+    private long exitMillis;
     private double amountPaid;
     private final boolean isSubscription;
 
     /**
-     * Constructs a new ParkingSession with the specified parameters.
+     * Constructs a new ParkingSession with the specified parameters,
+     * timed by the system-wide {@link ParkingClock}.
      *
      * @param vehicle The vehicle involved in this parking session.
      * @param parkingSpot The parking spot allocated for this session.
      * @param isSubscription Whether this session is for a subscriber.
      */
     public ParkingSession(Vehicle vehicle, ParkingSpot parkingSpot, boolean isSubscription) {
+        this(vehicle, parkingSpot, isSubscription, ParkingClock.getClock());
+    }
+
+    /**
+     * Constructs a new ParkingSession timed by the specified clock.
+     *
+     * @param vehicle The vehicle involved in this parking session.
+     * @param parkingSpot The parking spot allocated for this session.
+     * @param isSubscription Whether this session is for a subscriber.
+     * @param clock The clock used for the entry and exit times.
+     */
+    public ParkingSession(Vehicle vehicle, ParkingSpot parkingSpot, boolean isSubscription, Clock clock) {
+        this(vehicle, parkingSpot, isSubscription, clock, clock.millis(), NO_EXIT_TIME, 0.0);
+        this.vehicle.setEntryTimeMillis(entryMillis);
+    }
+
+    /**
+     * Constructs a session with all of its state given, e.g. when a session is
+     * copied out of a {@link SessionTable}.
+     *
+     * @param vehicle The vehicle involved in this parking session.
+     * @param parkingSpot The parking spot allocated for this session.
+     * @param isSubscription Whether this session is for a subscriber.
+     * @param clock The clock used for the exit time.
+     * @param entryMillis The entry time in epoch milliseconds.
+     * @param exitMillis The exit time in epoch milliseconds, or {@link #NO_EXIT_TIME}.
+     * @param amountPaid The amount paid.
+     */
+    ParkingSession(Vehicle vehicle, ParkingSpot parkingSpot, boolean isSubscription, Clock clock,
+                   long entryMillis, long exitMillis, double amountPaid) {
         this.vehicle = vehicle;
         this.parkingSpot = parkingSpot;
-        this.entryTime = LocalDateTime.now();
-        this.vehicle.setEntryTime(entryTime);
-        this.exitTime = null;
-        this.amountPaid = 0.0;
+        this.clock = clock;
+        this.entryMillis = entryMillis;
+        this.exitMillis = exitMillis;
+        this.amountPaid = amountPaid;
         this.isSubscription = isSubscription;
     }
 
@@ -38,8 +82,8 @@ public class ParkingSession {
      * Ends this parking session by setting the exit time to the current time.
      */
     public void endSession() {
-        if (exitTime == null) {
-            this.exitTime = LocalDateTime.now();
+        if (exitMillis == NO_EXIT_TIME) {
+            this.exitMillis = clock.millis();
         }
     }
 
@@ -50,9 +94,8 @@ public class ParkingSession {
      * @return The duration in hours.
      */
     public double getDurationHours() {
-        LocalDateTime end = exitTime != null ? exitTime : LocalDateTime.now();
-        Duration duration = Duration.between(entryTime, end);
-        return duration.toMinutes() / 60.0;
+        long end = exitMillis != NO_EXIT_TIME ? exitMillis : clock.millis();
+        return durationHours(entryMillis, end);
     }
 
     /**
@@ -70,7 +113,7 @@ public class ParkingSession {
      * @return true if the session is active, false otherwise.
      */
     public boolean isActive() {
-        return exitTime == null;
+        return exitMillis == NO_EXIT_TIME;
     }
 
     public Vehicle getVehicle() {
@@ -82,11 +125,19 @@ public class ParkingSession {
     }
 
     public LocalDateTime getEntryTime() {
-        return entryTime;
+        return toLocalDateTime(entryMillis);
     }
 
     public LocalDateTime getExitTime() {
-        return exitTime;
+        return exitMillis != NO_EXIT_TIME ? toLocalDateTime(exitMillis) : null;
+    }
+
+    public long getEntryTimeMillis() {
+        return entryMillis;
+    }
+
+    public long getExitTimeMillis() {
+        return exitMillis;
     }
 
     public double getAmountPaid() {
@@ -96,4 +147,16 @@ public class ParkingSession {
     public boolean isSubscription() {
         return isSubscription;
     }
-}
\ No newline at end of file
+
+    private LocalDateTime toLocalDateTime(long millis) {
+        return toLocalDateTime(millis, clock.getZone());
+    }
+
+    static LocalDateTime toLocalDateTime(long millis, ZoneId zone) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone);
+    }
+
+    static double durationHours(long entryMillis, long endMillis) {
+        return ((endMillis - entryMillis) / MILLIS_PER_MINUTE) / 60.0;
+    }
+}
@@ -2,32 +2,50 @@ package parking.core;
 
 /**
  * The ParkingSpot class represents a single parking spot in a parking lot.
- * It tracks whether the spot is occupied, and whether it is designated for disabled persons.
+ * It tracks whether the spot is occupied, its category, and where it is:
+ * its level and the zone within that level.
  * 
  * @author Smart Parking System Team
  */
 public class ParkingSpot {
     private final int spotId;
     private boolean isOccupied;
-    private final boolean isDisabledSpot;
+    private final SpotCategory category;
+    private final int level;
+    private final int zone;
     private Vehicle occupyingVehicle;
 
     /**
-     * Constructs a new ParkingSpot with the specified parameters.
+     * Constructs a new ParkingSpot on level 0, zone 0.
      *
      * @param spotId The unique identifier of this parking spot.
      * @param isDisabledSpot Whether this parking spot is designated for disabled persons.
      */
     public ParkingSpot(int spotId, boolean isDisabledSpot) {
+        this(spotId, isDisabledSpot ? SpotCategory.DISABLED : SpotCategory.STANDARD, 0, 0);
+    }
+
+    /**
+     * Constructs a new ParkingSpot with the specified parameters.
+     *
+     * @param spotId The unique identifier of this parking spot.
+     * @param category The category of the bay.
+     * @param level The level of the garage the spot is on.
+     * @param zone The zone within the level.
+     */
+    public ParkingSpot(int spotId, SpotCategory category, int level, int zone) {
         this.spotId = spotId;
         this.isOccupied = false;
-        this.isDisabledSpot = isDisabledSpot;
+        this.category = category;
+        this.level = level;
+        this.zone = zone;
         this.occupyingVehicle = null;
     }
 
     /**
      * Attempts to park a vehicle in this spot.
-     * Regular vehicles cannot park in spots designated for disabled persons.
+     * A vehicle can only park in a spot whose category accepts it; for example,
+     * regular vehicles cannot park in spots designated for disabled persons.
      *
      * @param vehicle The vehicle to park in this spot.
      * @return true if the parking was successful, false otherwise.
@@ -38,7 +56,7 @@ public class ParkingSpot {
             throw new IllegalStateException("Parking spot " + spotId + " is already occupied");
         }
 
-        if (isDisabledSpot && !vehicle.isDisabled()) {
+        if (!category.accepts(vehicle)) {
             return false;
         }
 
@@ -80,7 +98,19 @@ public class ParkingSpot {
     }
 
     public boolean isDisabledSpot() {
-        return isDisabledSpot;
+        return getCategory() == SpotCategory.DISABLED;
+    }
+
+    public SpotCategory getCategory() {
+        return category;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getZone() {
+        return zone;
     }
 
     public Vehicle getOccupyingVehicle() {
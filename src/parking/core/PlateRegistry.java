@@ -0,0 +1,355 @@
+package parking.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code PlateRegistry} class interns license plates into compact {@code int} IDs.
+ * Plates are normalized first, so {@code "12-345 67"} and {@code "1234567"} share an ID.
+ * Internal indexes key on these IDs, which turns every plate comparison into
+ * a single integer compare. IDs are dense, starting at 0.
+ * Every {@link #intern} holds a reference to the ID until it is given back with
+ * {@link #release}; once no references are left the plate is dropped and its
+ * ID reused, so the registry only holds plates that are in use somewhere.
+ * Lookups are lock-free, and so is interning a plate that is already held;
+ * adding or dropping a plate takes a lock.
+ * This follows the Singleton pattern so that IDs are the same across the system.
+ *
+ * @author Smart Parking System Team
+ */
+public class PlateRegistry {
+    /** The ID returned for plates that have not been interned. */
+    public static final int NO_ID = -1;
+
+    /** The number of IDs in a chunk; chunks are never copied, so their slots can be updated in place. */
+    private static final int CHUNK_SIZE = 1024;
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** The singleton instance of this class. */
+    private static PlateRegistry instance;
+
+    /** The current hash table; replaced as a whole when it is rebuilt. */
+    private volatile Table table;
+
+    /** The plates and reference counts by ID. */
+    private volatile Chunk[] chunks;
+
+    /** The IDs of dropped plates, for reuse. */
+    private int[] freeIds;
+
+    /** The number of free IDs. */
+    private int freeCount;
+
+    /** The next ID that has never been used. */
+    private int nextId;
+
+    /** The number of interned plates. */
+    private int size;
+
+    /**
+     * Private constructor to prevent instantiation from outside.
+     */
+    private PlateRegistry() {
+        this.table = new Table(1024);
+        this.chunks = new Chunk[] { new Chunk() };
+        this.freeIds = new int[64];
+    }
+
+    /**
+     * Gets the singleton instance of this class.
+     *
+     * @return The singleton instance.
+     */
+    public static synchronized PlateRegistry getInstance() {
+        if (instance == null) {
+            instance = new PlateRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Normalizes a license plate: surrounding whitespace, inner spaces and
+     * dashes are removed and letters are upper-cased. Plates that are already
+     * normalized are returned as-is, without allocating.
+     *
+     * @param licensePlate The plate to normalize.
+     * @return The normalized plate.
+     */
+    public static String normalize(String licensePlate) {
+        int length = licensePlate.length();
+        for (int i = 0; i < length; i++) {
+            char c = licensePlate.charAt(i);
+            if (c == '-' || Character.isWhitespace(c) || Character.isLowerCase(c)) {
+                return rebuild(licensePlate);
+            }
+        }
+        return licensePlate;
+    }
+
+    private static String rebuild(String licensePlate) {
+        StringBuilder builder = new StringBuilder(licensePlate.length());
+        for (int i = 0; i < licensePlate.length(); i++) {
+            char c = licensePlate.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                builder.append(Character.toUpperCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the ID of a plate, interning it if it is not held yet. The caller
+     * holds a reference to the ID until it calls {@link #release(int)}.
+     *
+     * @param licensePlate The plate.
+     * @return The ID of the plate.
+     * @throws IllegalArgumentException if the plate is null.
+     */
+    public int intern(String licensePlate) {
+        if (licensePlate == null) {
+            throw new IllegalArgumentException("License plate cannot be null");
+        }
+        String normalized = normalize(licensePlate);
+        int id = find(normalized);
+        return id != NO_ID && retain(id, normalized) ? id : internSlow(normalized);
+    }
+
+    /**
+     * Gets the ID of a plate without interning it or taking a reference.
+     * The ID is only stable while someone else holds a reference to it.
+     *
+     * @param licensePlate The plate.
+     * @return The ID of the plate, or {@link #NO_ID} if it is not interned.
+     */
+    public int lookup(String licensePlate) {
+        if (licensePlate == null) {
+            return NO_ID;
+        }
+        return find(normalize(licensePlate));
+    }
+
+    /**
+     * Gives back a reference taken by {@link #intern}. The plate is dropped
+     * when its last reference is released.
+     *
+     * @param id The plate ID.
+     * @throws IllegalStateException if the ID holds no references.
+     */
+    public void release(int id) {
+        Chunk chunk = chunk(id);
+        int index = id & CHUNK_MASK;
+        while (true) {
+            int references = chunk != null ? chunk.references.get(index) : 0;
+            if (references <= 0) {
+                throw new IllegalStateException("Plate ID " + id + " is not interned");
+            }
+            if (references == 1) {
+                releaseSlow(id);
+                return;
+            }
+            if (chunk.references.compareAndSet(index, references, references - 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of interned plates.
+     *
+     * @return The number of plates.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the ID of a normalized plate. The table and the chunks are read
+     * without a lock, so the ID is only returned if its chunk still maps it
+     * to the plate; an ID that was dropped and reused in between is not.
+     */
+    private int find(String normalized) {
+        int id = table.find(normalized);
+        if (id == NO_ID) {
+            return NO_ID;
+        }
+        Chunk chunk = chunk(id);
+        return chunk != null && normalized.equals(chunk.plates.get(id & CHUNK_MASK)) ? id : NO_ID;
+    }
+
+    /**
+     * Takes a reference to an ID that is held, without a lock.
+     *
+     * @return Whether the reference was taken; false if the ID has been dropped.
+     */
+    private boolean retain(int id, String normalized) {
+        Chunk chunk = chunk(id);
+        int index = id & CHUNK_MASK;
+        while (true) {
+            int references = chunk.references.get(index);
+            if (references <= 0) {
+                return false;
+            }
+            if (chunk.references.compareAndSet(index, references, references + 1)) {
+                if (normalized.equals(chunk.plates.get(index))) {
+                    return true;
+                }
+                // The ID was dropped and reused for another plate in between
+                release(id);
+                return false;
+            }
+        }
+    }
+
+    private synchronized int internSlow(String normalized) {
+        int id = find(normalized);
+        if (id != NO_ID) {
+            // Held plates always have a reference while the lock is free
+            chunk(id).references.incrementAndGet(id & CHUNK_MASK);
+            return id;
+        }
+        id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        Chunk[] current = chunks;
+        if ((id >> CHUNK_SHIFT) == current.length) {
+            Chunk[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = new Chunk();
+            chunks = grown;
+        }
+        Chunk chunk = chunk(id);
+        chunk.plates.set(id & CHUNK_MASK, normalized);
+        chunk.references.set(id & CHUNK_MASK, 1);
+        size++;
+        if (table.used() + 1 > table.capacity() / 2) {
+            rebuildTable();
+        }
+        table.insert(normalized, id);
+        return id;
+    }
+
+    private synchronized void releaseSlow(int id) {
+        Chunk chunk = chunk(id);
+        int index = id & CHUNK_MASK;
+        int references = chunk.references.decrementAndGet(index);
+        if (references < 0) {
+            chunk.references.incrementAndGet(index);
+            throw new IllegalStateException("Plate ID " + id + " is not interned");
+        }
+        if (references > 0) {
+            return;
+        }
+        table.remove(chunk.plates.get(index));
+        chunk.plates.set(index, null);
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        size--;
+    }
+
+    /**
+     * Replaces the table with one without removed entries, doubling the
+     * capacity if the plates alone would fill more than a quarter of it.
+     */
+    private void rebuildTable() {
+        Table old = table;
+        int capacity = size * 4 > old.capacity() ? old.capacity() * 2 : old.capacity();
+        Table rebuilt = new Table(capacity);
+        for (int i = 0; i < old.capacity(); i++) {
+            String key = old.keys.get(i);
+            if (key != null && key != Table.REMOVED) {
+                rebuilt.insert(key, old.ids[i]);
+            }
+        }
+        table = rebuilt;
+    }
+
+    private Chunk chunk(int id) {
+        Chunk[] current = chunks;
+        int chunkIndex = id >> CHUNK_SHIFT;
+        return id >= 0 && chunkIndex < current.length ? current[chunkIndex] : null;
+    }
+
+    /**
+     * The plates and reference counts of a range of IDs.
+     */
+    private static class Chunk {
+        private final AtomicReferenceArray<String> plates = new AtomicReferenceArray<>(CHUNK_SIZE);
+        private final AtomicIntegerArray references = new AtomicIntegerArray(CHUNK_SIZE);
+    }
+
+    /**
+     * An open-addressing table from normalized plate to ID. Removed entries
+     * leave a marker behind so probe chains stay intact, and their slots are
+     * reused by later inserts. The ID is written before the key is published,
+     * so readers never need a lock; since a slot can be reused, readers check
+     * the ID they find against its chunk.
+     */
+    private static class Table {
+        /** The key of removed entries, compared by identity. */
+        private static final String REMOVED = new String("");
+
+        private final AtomicReferenceArray<String> keys;
+        private final int[] ids;
+        private final int mask;
+
+        /** The number of slots that hold a plate or a removal marker. */
+        private int used;
+
+        private Table(int capacity) {
+            this.keys = new AtomicReferenceArray<>(capacity);
+            this.ids = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return ids.length;
+        }
+
+        private int used() {
+            return used;
+        }
+
+        private int find(String plate) {
+            int index = spread(plate.hashCode()) & mask;
+            String key;
+            while ((key = keys.get(index)) != null) {
+                if (key != REMOVED && key.equals(plate)) {
+                    return ids[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return NO_ID;
+        }
+
+        private void insert(String plate, int id) {
+            int index = spread(plate.hashCode()) & mask;
+            String key;
+            while ((key = keys.get(index)) != null && key != REMOVED) {
+                index = (index + 1) & mask;
+            }
+            if (key == null) {
+                used++;
+            }
+            ids[index] = id;
+            keys.set(index, plate);
+        }
+
+        private void remove(String plate) {
+            int index = spread(plate.hashCode()) & mask;
+            String key;
+            while ((key = keys.get(index)) != null) {
+                if (key != REMOVED && key.equals(plate)) {
+                    keys.set(index, REMOVED);
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private static int spread(int hash) {
+            int h = hash * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package parking.core;
+
+import parking.util.ParkingClock;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code SessionTable} class stores active parking sessions as a struct of arrays.
+ * Each session occupies a slot, and every attribute of the session lives in a
+ * primitive array indexed by that slot. Freed slots are reused, so a steady
+ * number of active sessions does not create garbage.
+ * {@link ParkingSession} objects are handed out on demand as flyweight views of a slot.
+ *
+ * @author Smart Parking System Team
+ */
+public class SessionTable {
+    /** The initial number of slots. */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** Flag set while the slot holds a session. */
+    private static final byte FLAG_IN_USE = 1;
+
+    /** Flag set when the session belongs to a subscriber. */
+    private static final byte FLAG_SUBSCRIPTION = 2;
+
+    /** Resolves a spot ID to its parking spot. */
+    private final IntFunction<ParkingSpot> spotResolver;
+
+    /** The clock used for exit times, or null to follow {@link ParkingClock}. */
+    private final Clock clock;
+
+    private Vehicle[] vehicles;
+    private int[] plateIds;
+    private int[] spotIds;
+    private long[] entryMillis;
+    private long[] exitMillis;
+    private double[] fees;
+    private byte[] flags;
+
+    /** Incremented each time a slot is released, so stale views can be detected. */
+    private int[] generations;
+
+    /** The view handed out by {@link #cursor(int)}, created on first use. */
+    private View cursor;
+
+    /** Stack of released slots available for reuse. */
+    private int[] freeSlots;
+    private int freeCount;
+
+    /** The number of slots that have ever been handed out. */
+    private int highWater;
+
+    /** The number of slots currently holding a session. */
+    private int activeCount;
+
+    /**
+     * Constructs a new {@code SessionTable} timed by the system-wide {@link ParkingClock}.
+     *
+     * @param spotResolver Resolves a spot ID to its parking spot.
+     */
+    public SessionTable(IntFunction<ParkingSpot> spotResolver) {
+        this(spotResolver, null, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code SessionTable} with the specified parameters.
+     *
+     * @param spotResolver Resolves a spot ID to its parking spot.
+     * @param clock The clock used for exit times, or null to follow {@link ParkingClock}.
+     * @param initialCapacity The initial number of slots.
+     */
+    public SessionTable(IntFunction<ParkingSpot> spotResolver, Clock clock, int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.spotResolver = spotResolver;
+        this.clock = clock;
+        this.vehicles = new Vehicle[capacity];
+        this.plateIds = new int[capacity];
+        this.spotIds = new int[capacity];
+        this.entryMillis = new long[capacity];
+        this.exitMillis = new long[capacity];
+        this.fees = new double[capacity];
+        this.flags = new byte[capacity];
+        this.generations = new int[capacity];
+        this.freeSlots = new int[capacity];
+    }
+
+    /**
+     * Opens a new session in a free slot, starting at the current time.
+     *
+     * @param vehicle The parked vehicle.
+     * @param plateId The interned plate ID of the vehicle, see {@link PlateRegistry}.
+     * @param spotId The ID of the allocated spot.
+     * @param subscription Whether the session belongs to a subscriber.
+     * @return The slot of the new session.
+     */
+    public int open(Vehicle vehicle, int plateId, int spotId, boolean subscription) {
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : nextNewSlot();
+        long now = clock().millis();
+        vehicles[slot] = vehicle;
+        plateIds[slot] = plateId;
+        spotIds[slot] = spotId;
+        entryMillis[slot] = now;
+        exitMillis[slot] = ParkingSession.NO_EXIT_TIME;
+        fees[slot] = 0.0;
+        flags[slot] = (byte) (FLAG_IN_USE | (subscription ? FLAG_SUBSCRIPTION : 0));
+        vehicle.setEntryTimeMillis(now);
+        activeCount++;
+        return slot;
+    }
+
+    /**
+     * Sets the exit time of a session to the current time, if not already set.
+     *
+     * @param slot The slot of the session.
+     */
+    public void end(int slot) {
+        checkInUse(slot);
+        if (exitMillis[slot] == ParkingSession.NO_EXIT_TIME) {
+            exitMillis[slot] = clock().millis();
+        }
+    }
+
+    /**
+     * Releases a slot for reuse and returns a standalone copy of its session.
+     * Views of the slot become stale.
+     *
+     * @param slot The slot to release.
+     * @return A detached copy of the session.
+     */
+    public ParkingSession release(int slot) {
+        ParkingSession detached = copy(slot);
+        discard(slot);
+        return detached;
+    }
+
+    /**
+     * Returns a standalone copy of the session in a slot. Unlike a view, the
+     * copy stays readable after the slot is released, but does not follow
+     * later changes to the slot.
+     *
+     * @param slot The slot of the session.
+     * @return A detached copy of the session.
+     */
+    public ParkingSession copy(int slot) {
+        checkInUse(slot);
+        return new ParkingSession(vehicles[slot], spotResolver.apply(spotIds[slot]),
+                (flags[slot] & FLAG_SUBSCRIPTION) != 0, clock(),
+                entryMillis[slot], exitMillis[slot], fees[slot]);
+    }
+
+    /**
+     * Releases a slot for reuse without copying its session.
+     * Views of the slot become stale.
+     *
+     * @param slot The slot to release.
+     */
+    public void discard(int slot) {
+        checkInUse(slot);
+        vehicles[slot] = null;
+        flags[slot] = 0;
+        generations[slot]++;
+        freeSlots[freeCount++] = slot;
+        activeCount--;
+    }
+
+    /**
+     * Returns a flyweight view of the session in a slot.
+     *
+     * @param slot The slot of the session.
+     * @return A view that reads and writes the table.
+     */
+    public ParkingSession view(int slot) {
+        checkInUse(slot);
+        return new View(slot, generations[slot]);
+    }
+
+    /**
+     * Returns the reusable view of this table, moved to a slot. The same view
+     * is returned by every call, so it only shows the slot until the next call;
+     * it is meant for callers that must not create garbage, such as fee
+     * calculation on the way out of the lot.
+     *
+     * @param slot The slot of the session.
+     * @return The reusable view.
+     */
+    public ParkingSession cursor(int slot) {
+        checkInUse(slot);
+        if (cursor == null) {
+            cursor = new View(slot, generations[slot]);
+        } else {
+            cursor.moveTo(slot, generations[slot]);
+        }
+        return cursor;
+    }
+
+    /**
+     * Returns views of all sessions in the table, in slot order.
+     *
+     * @return The list of views.
+     */
+    public List<ParkingSession> views() {
+        List<ParkingSession> result = new ArrayList<>(activeCount);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (flags[slot] != 0) {
+                result.add(new View(slot, generations[slot]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns detached copies of all sessions in the table, in slot order.
+     *
+     * @return The list of copies.
+     */
+    public List<ParkingSession> copies() {
+        List<ParkingSession> result = new ArrayList<>(activeCount);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (flags[slot] != 0) {
+                result.add(copy(slot));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Releases all slots.
+     */
+    public void clear() {
+        Arrays.fill(vehicles, 0, highWater, null);
+        Arrays.fill(flags, 0, highWater, (byte) 0);
+        for (int slot = 0; slot < highWater; slot++) {
+            generations[slot]++;
+        }
+        highWater = 0;
+        freeCount = 0;
+        activeCount = 0;
+    }
+
+    /**
+     * Gets the number of sessions in the table.
+     *
+     * @return The number of active sessions.
+     */
+    public int size() {
+        return activeCount;
+    }
+
+    /**
+     * Gets the number of slots that have ever been handed out. Every slot in use is below it.
+     *
+     * @return The high-water mark of the slots.
+     */
+    public int highWater() {
+        return highWater;
+    }
+
+    public boolean isInUse(int slot) {
+        return slot >= 0 && slot < highWater && flags[slot] != 0;
+    }
+
+    public Vehicle getVehicle(int slot) {
+        return vehicles[slot];
+    }
+
+    public int getPlateId(int slot) {
+        return plateIds[slot];
+    }
+
+    public int getSpotId(int slot) {
+        return spotIds[slot];
+    }
+
+    public long getEntryMillis(int slot) {
+        return entryMillis[slot];
+    }
+
+    public long getExitMillis(int slot) {
+        return exitMillis[slot];
+    }
+
+    /**
+     * Gets the duration of a session in hours, up to its exit time or, while it is active, up to now.
+     *
+     * @param slot The slot of the session.
+     * @return The duration in hours.
+     */
+    public double getDurationHours(int slot) {
+        long end = exitMillis[slot] != ParkingSession.NO_EXIT_TIME ? exitMillis[slot] : clock().millis();
+        return ParkingSession.durationHours(entryMillis[slot], end);
+    }
+
+    public double getFee(int slot) {
+        return fees[slot];
+    }
+
+    public void setFee(int slot, double fee) {
+        fees[slot] = fee;
+    }
+
+    public boolean isSubscription(int slot) {
+        return (flags[slot] & FLAG_SUBSCRIPTION) != 0;
+    }
+
+    private Clock clock() {
+        return clock != null ? clock : ParkingClock.getClock();
+    }
+
+    private void checkInUse(int slot) {
+        if (!isInUse(slot)) {
+            throw new IllegalStateException("Session slot " + slot + " is not in use");
+        }
+    }
+
+    /**
+     * Takes a never-used slot, growing the arrays when they are full.
+     *
+     * @return The new slot.
+     */
+    private int nextNewSlot() {
+        if (highWater == flags.length) {
+            int capacity = flags.length * 2;
+            vehicles = Arrays.copyOf(vehicles, capacity);
+            plateIds = Arrays.copyOf(plateIds, capacity);
+            spotIds = Arrays.copyOf(spotIds, capacity);
+            entryMillis = Arrays.copyOf(entryMillis, capacity);
+            exitMillis = Arrays.copyOf(exitMillis, capacity);
+            fees = Arrays.copyOf(fees, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return highWater++;
+    }
+
+    /**
+     * A flyweight {@link ParkingSession} backed by one slot of the table.
+     * Once the slot is released the view reports itself inactive and its
+     * other accessors throw {@link IllegalStateException}.
+     */
+    private final class View extends ParkingSession {
+        private int slot;
+        private int generation;
+
+        private View(int slot, int generation) {
+            super(null, null, false, null, 0L, NO_EXIT_TIME, 0.0);
+            this.slot = slot;
+            this.generation = generation;
+        }
+
+        private void moveTo(int slot, int generation) {
+            this.slot = slot;
+            this.generation = generation;
+        }
+
+        private int slot() {
+            if (generations[slot] != generation) {
+                throw new IllegalStateException("Parking session is no longer held by the table");
+            }
+            return slot;
+        }
+
+        @Override
+        public void endSession() {
+            end(slot());
+        }
+
+        @Override
+        public double getDurationHours() {
+            int current = slot();
+            long end = exitMillis[current] != NO_EXIT_TIME ? exitMillis[current] : clock().millis();
+            return durationHours(entryMillis[current], end);
+        }
+
+        @Override
+        public void recordPayment(double amount) {
+            fees[slot()] = amount;
+        }
+
+        @Override
+        public boolean isActive() {
+            return generations[slot] == generation && exitMillis[slot] == NO_EXIT_TIME;
+        }
+
+        @Override
+        public Vehicle getVehicle() {
+            return vehicles[slot()];
+        }
+
+        @Override
+        public ParkingSpot getParkingSpot() {
+            return spotResolver.apply(spotIds[slot()]);
+        }
+
+        @Override
+        public LocalDateTime getEntryTime() {
+            return toLocalDateTime(entryMillis[slot()], clock().getZone());
+        }
+
+        @Override
+        public LocalDateTime getExitTime() {
+            long exit = exitMillis[slot()];
+            return exit != NO_EXIT_TIME ? toLocalDateTime(exit, clock().getZone()) : null;
+        }
+
+        @Override
+        public long getEntryTimeMillis() {
+            return entryMillis[slot()];
+        }
+
+        @Override
+        public long getExitTimeMillis() {
+            return exitMillis[slot()];
+        }
+
+        @Override
+        public double getAmountPaid() {
+            return fees[slot()];
+        }
+
+        @Override
+        public boolean isSubscription() {
+            return (flags[slot()] & FLAG_SUBSCRIPTION) != 0;
+        }
+    }
+}
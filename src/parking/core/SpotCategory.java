@@ -0,0 +1,129 @@
+package parking.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code SpotCategory} enum represents the kinds of bays in a garage.
+ * Each category decides which vehicles it accepts, and each vehicle has an
+ * order of preference over the categories it may use.
+ *
+ * @author Smart Parking System Team
+ */
+public enum SpotCategory {
+    /** A regular bay for any vehicle. */
+    STANDARD,
+    /** A narrow bay for small cars and motorcycles. */
+    COMPACT,
+    /** A large bay for any vehicle; used last so it stays free for large vehicles. */
+    OVERSIZED,
+    /** A bay with a charger, reserved for electric vehicles. */
+    EV_CHARGING,
+    /** A bay reserved for motorcycles. */
+    MOTORCYCLE,
+    /** A bay designated for disabled persons. */
+    DISABLED;
+
+    /**
+     * The number of vehicle classes. Vehicles of one class, given by whether they
+     * are motorcycles, electric and driven by a disabled person, accept the same
+     * bays in the same order.
+     */
+    public static final int VEHICLE_CLASSES = 8;
+
+    /** The preferences of every vehicle class, indexed by {@link #vehicleClassOf(Vehicle)}. */
+    private static final SpotCategory[][] PREFERENCES = buildPreferences();
+
+    /**
+     * Checks whether a vehicle may park in a bay of this category.
+     *
+     * @param vehicle The vehicle.
+     * @return true if the vehicle is accepted.
+     */
+    public boolean accepts(Vehicle vehicle) {
+        switch (this) {
+            case DISABLED:
+                return vehicle.isDisabled();
+            case EV_CHARGING:
+                return vehicle.isElectric();
+            case MOTORCYCLE:
+                return vehicle instanceof Motorcycle;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Gets the categories a vehicle may use, most preferred first.
+     * Disabled persons prefer disabled bays, electric vehicles prefer charging
+     * bays, and motorcycles prefer motorcycle bays over compact and standard ones.
+     * The returned array is shared and must not be modified.
+     *
+     * @param vehicle The vehicle.
+     * @return The accepted categories in order of preference.
+     */
+    public static SpotCategory[] preferencesFor(Vehicle vehicle) {
+        return PREFERENCES[vehicleClassOf(vehicle)];
+    }
+
+    /**
+     * Gets the categories vehicles of a class may use, most preferred first.
+     * The returned array is shared and must not be modified.
+     *
+     * @param vehicleClass The vehicle class, see {@link #vehicleClassOf(Vehicle)}.
+     * @return The accepted categories in order of preference.
+     */
+    public static SpotCategory[] preferencesFor(int vehicleClass) {
+        return PREFERENCES[vehicleClass];
+    }
+
+    /**
+     * Gets the class of a vehicle, from 0 to {@link #VEHICLE_CLASSES} - 1.
+     *
+     * @param vehicle The vehicle.
+     * @return The vehicle class.
+     */
+    public static int vehicleClassOf(Vehicle vehicle) {
+        return vehicleClassOf(vehicle instanceof Motorcycle, vehicle.isElectric(), vehicle.isDisabled());
+    }
+
+    /**
+     * Gets the class of vehicles with the specified traits.
+     *
+     * @param motorcycle Whether the vehicles are motorcycles.
+     * @param electric Whether the vehicles are electric.
+     * @param disabled Whether the vehicles belong to disabled persons.
+     * @return The vehicle class.
+     */
+    public static int vehicleClassOf(boolean motorcycle, boolean electric, boolean disabled) {
+        return (motorcycle ? 4 : 0) | (electric ? 2 : 0) | (disabled ? 1 : 0);
+    }
+
+    private static SpotCategory[][] buildPreferences() {
+        SpotCategory[][] preferences = new SpotCategory[VEHICLE_CLASSES][];
+        for (int index = 0; index < preferences.length; index++) {
+            boolean motorcycle = (index & 4) != 0;
+            boolean electric = (index & 2) != 0;
+            boolean disabled = (index & 1) != 0;
+
+            List<SpotCategory> order = new ArrayList<>();
+            if (disabled) {
+                order.add(DISABLED);
+            }
+            if (electric) {
+                order.add(EV_CHARGING);
+            }
+            if (motorcycle) {
+                order.add(MOTORCYCLE);
+                order.add(COMPACT);
+                order.add(STANDARD);
+            } else {
+                order.add(STANDARD);
+                order.add(COMPACT);
+            }
+            order.add(OVERSIZED);
+            preferences[index] = order.toArray(new SpotCategory[0]);
+        }
+        return preferences;
+    }
+}
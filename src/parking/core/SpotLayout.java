@@ -0,0 +1,134 @@
+package parking.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code SpotLayout} class describes the physical layout of a garage as a list
+ * of ranges, each a number of bays of one category in one zone of one level.
+ * Spot IDs are assigned to the ranges in order.
+ * <p>
+ * A layout is written as comma-separated ranges of the form
+ * {@code level:zone:category:count}, for example
+ * {@code 0:0:DISABLED:20,0:0:STANDARD:80,-1:1:EV_CHARGING:10}.
+ *
+ * @author Smart Parking System Team
+ */
+public class SpotLayout {
+    /** The ranges of this layout, in spot ID order. */
+    private final List<Range> ranges;
+
+    /**
+     * Constructs a new {@code SpotLayout}.
+     *
+     * @param ranges The ranges, in spot ID order.
+     */
+    public SpotLayout(List<Range> ranges) {
+        this.ranges = Collections.unmodifiableList(new ArrayList<>(ranges));
+    }
+
+    /**
+     * Creates the classic single-level layout: regular spots followed by disabled spots.
+     *
+     * @param regularSpots The number of regular spots.
+     * @param disabledSpots The number of disabled spots.
+     * @return The layout.
+     */
+    public static SpotLayout standard(int regularSpots, int disabledSpots) {
+        List<Range> ranges = new ArrayList<>();
+        if (regularSpots > 0) {
+            ranges.add(new Range(0, 0, SpotCategory.STANDARD, regularSpots));
+        }
+        if (disabledSpots > 0) {
+            ranges.add(new Range(0, 0, SpotCategory.DISABLED, disabledSpots));
+        }
+        return new SpotLayout(ranges);
+    }
+
+    /**
+     * Parses a layout.
+     *
+     * @param text The layout, as {@code level:zone:category:count} ranges separated by commas.
+     * @return The layout.
+     * @throws IllegalArgumentException if the text is not a valid layout.
+     */
+    public static SpotLayout parse(String text) {
+        List<Range> ranges = new ArrayList<>();
+        for (String part : text.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Invalid layout range: " + part.trim());
+            }
+            try {
+                ranges.add(new Range(Integer.parseInt(fields[0].trim()), Integer.parseInt(fields[1].trim()),
+                        SpotCategory.valueOf(fields[2].trim().toUpperCase()), Integer.parseInt(fields[3].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid layout range: " + part.trim(), e);
+            }
+        }
+        return new SpotLayout(ranges);
+    }
+
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Gets the number of spots in this layout.
+     *
+     * @return The number of spots.
+     */
+    public int getSpotCount() {
+        int count = 0;
+        for (Range range : ranges) {
+            count += range.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * A number of bays of one category in one zone of one level.
+     */
+    public static class Range {
+        private final int level;
+        private final int zone;
+        private final SpotCategory category;
+        private final int count;
+
+        /**
+         * Constructs a new {@code Range}.
+         *
+         * @param level The level; 0 is the entrance level.
+         * @param zone The zone within the level.
+         * @param category The category of the bays.
+         * @param count The number of bays.
+         * @throws IllegalArgumentException if the count is not positive.
+         */
+        public Range(int level, int zone, SpotCategory category, int count) {
+            if (count <= 0) {
+                throw new IllegalArgumentException("Spot count must be positive: " + count);
+            }
+            this.level = level;
+            this.zone = zone;
+            this.category = category;
+            this.count = count;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public int getZone() {
+            return zone;
+        }
+
+        public SpotCategory getCategory() {
+            return category;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package parking.core;
+
+/**
+ * The {@code SpotStore} interface defines where the state of a lot's parking
+ * spots is kept. Spots are addressed by spot ID, from 1 to {@link #getSpotCount()}.
+ * Callers that only need one attribute use the primitive accessors; callers
+ * that need a {@link ParkingSpot} get one from {@link #getSpot(int)}.
+ * <p>
+ * Capacity can change while vehicles come and go: ranges of spots are added
+ * at the end, and existing ranges are closed or reopened. Spot IDs are never
+ * reused. A closed spot accepts no new vehicle, but a vehicle already in it
+ * stays until it leaves. The counters always reflect open, free spots only.
+ *
+ * @author Smart Parking System Team
+ */
+public interface SpotStore {
+    /**
+     * Gets the number of spot IDs in this store, including closed spots.
+     *
+     * @return The number of spots.
+     */
+    int getSpotCount();
+
+    /**
+     * Gets the number of occupied spots, without scanning.
+     *
+     * @return The number of occupied spots.
+     */
+    int getOccupiedCount();
+
+    /**
+     * Gets the number of open, free spots, without scanning.
+     *
+     * @return The number of available spots.
+     */
+    int getAvailableCount();
+
+    /**
+     * Gets the number of open, free spots designated for disabled persons, without scanning.
+     *
+     * @return The number of available disabled spots.
+     */
+    int getAvailableDisabledCount();
+
+    /**
+     * Gets a spot. Depending on the store this is either the stored object or a view of it.
+     *
+     * @param spotId The spot ID.
+     * @return The parking spot.
+     */
+    ParkingSpot getSpot(int spotId);
+
+    /**
+     * Checks whether a spot is occupied.
+     *
+     * @param spotId The spot ID.
+     * @return true if the spot is occupied.
+     */
+    boolean isOccupied(int spotId);
+
+    /**
+     * Checks whether a spot is designated for disabled persons.
+     *
+     * @param spotId The spot ID.
+     * @return true if the spot is a disabled spot.
+     */
+    boolean isDisabledSpot(int spotId);
+
+    /**
+     * Gets the category of a spot.
+     *
+     * @param spotId The spot ID.
+     * @return The category.
+     */
+    SpotCategory getCategory(int spotId);
+
+    /**
+     * Gets the level a spot is on.
+     *
+     * @param spotId The spot ID.
+     * @return The level.
+     */
+    int getLevel(int spotId);
+
+    /**
+     * Gets the zone of a spot within its level.
+     *
+     * @param spotId The spot ID.
+     * @return The zone.
+     */
+    int getZone(int spotId);
+
+    /**
+     * Checks whether a spot is closed.
+     *
+     * @param spotId The spot ID.
+     * @return true if the spot is closed.
+     */
+    boolean isClosed(int spotId);
+
+    /**
+     * Checks whether a spot is open and free.
+     *
+     * @param spotId The spot ID.
+     * @return true if a vehicle may park in the spot.
+     */
+    boolean isAvailable(int spotId);
+
+    /**
+     * Atomically parks a vehicle in a spot if the spot is open and free,
+     * and its category accepts the vehicle.
+     *
+     * @param spotId The spot ID.
+     * @param vehicle The vehicle to park.
+     * @return true if the vehicle was parked, false if the spot was taken or not allowed.
+     */
+    boolean tryOccupy(int spotId, Vehicle vehicle);
+
+    /**
+     * Frees a spot.
+     *
+     * @param spotId The spot ID.
+     * @return The vehicle that occupied the spot, or null if it was already free.
+     */
+    Vehicle release(int spotId);
+
+    /**
+     * Frees all spots. Closed spots stay closed.
+     */
+    void vacateAll();
+
+    /**
+     * Adds a range of open spots after the existing ones.
+     *
+     * @param count The number of spots to add.
+     * @param category The category of the new spots.
+     * @param level The level of the new spots.
+     * @param zone The zone of the new spots within their level.
+     * @return The ID of the first new spot.
+     * @throws IllegalArgumentException if the count is not positive.
+     */
+    int addSpots(int count, SpotCategory category, int level, int zone);
+
+    /**
+     * Adds a range of open standard or disabled spots on level 0, zone 0.
+     *
+     * @param count The number of spots to add.
+     * @param disabled Whether the new spots are designated for disabled persons.
+     * @return The ID of the first new spot.
+     * @throws IllegalArgumentException if the count is not positive.
+     */
+    default int addSpots(int count, boolean disabled) {
+        return addSpots(count, disabled ? SpotCategory.DISABLED : SpotCategory.STANDARD, 0, 0);
+    }
+
+    /**
+     * Adds the ranges of a layout after the existing spots.
+     *
+     * @param layout The layout.
+     */
+    default void addSpots(SpotLayout layout) {
+        for (SpotLayout.Range range : layout.getRanges()) {
+            addSpots(range.getCount(), range.getCategory(), range.getLevel(), range.getZone());
+        }
+    }
+
+    /**
+     * Closes a range of spots. Vehicles already parked there stay until they leave.
+     *
+     * @param firstSpotId The first spot ID of the range.
+     * @param lastSpotId The last spot ID of the range, inclusive.
+     * @return The number of spots that were open before.
+     * @throws IllegalArgumentException if the range is invalid.
+     */
+    int closeSpots(int firstSpotId, int lastSpotId);
+
+    /**
+     * Reopens a range of closed spots.
+     *
+     * @param firstSpotId The first spot ID of the range.
+     * @param lastSpotId The last spot ID of the range, inclusive.
+     * @return The number of spots that were closed before.
+     * @throws IllegalArgumentException if the range is invalid.
+     */
+    int openSpots(int firstSpotId, int lastSpotId);
+}
@@ -1,6 +1,8 @@
 package parking.core;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * The Vehicle class represents an individual vehicle in a parking lot.
@@ -10,10 +12,14 @@ import java.time.LocalDateTime;
  * @author Smart Parking System Team
  */
 public abstract class Vehicle implements Cloneable {
+    /** The value of {@link #getEntryTimeMillis()} while the vehicle is not parked. */
+    public static final long NO_ENTRY_TIME = Long.MIN_VALUE;
+
     private String licensePlate;
     private String ownerName;
     private boolean isDisabled;
-    private LocalDateTime entryTime;
+    private boolean isElectric;
+    private long entryTimeMillis;
     private String color;
 
     /**
@@ -29,7 +35,7 @@ public abstract class Vehicle implements Cloneable {
         this.ownerName = ownerName;
         this.isDisabled = isDisabled;
         this.color = color;
-        this.entryTime = null;
+        this.entryTimeMillis = NO_ENTRY_TIME;
     }
 
     /**
@@ -77,12 +83,38 @@ public abstract class Vehicle implements Cloneable {
         this.isDisabled = isDisabled;
     }
 
+    /**
+     * Checks whether this is an electric vehicle, which may use charging bays.
+     *
+     * @return true if the vehicle is electric.
+     */
+    public boolean isElectric() {
+        return isElectric;
+    }
+
+    public void setElectric(boolean isElectric) {
+        this.isElectric = isElectric;
+    }
+
     public LocalDateTime getEntryTime() {
-        return entryTime;
+        if (entryTimeMillis == NO_ENTRY_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(entryTimeMillis), ZoneId.systemDefault());
     }
 
     public void setEntryTime(LocalDateTime entryTime) {
-        this.entryTime = entryTime;
+        this.entryTimeMillis = entryTime != null
+                ? entryTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : NO_ENTRY_TIME;
+    }
+
+    public long getEntryTimeMillis() {
+        return entryTimeMillis;
+    }
+
+    public void setEntryTimeMillis(long entryTimeMillis) {
+        this.entryTimeMillis = entryTimeMillis;
     }
 
     public String getColor() {
@@ -3,6 +3,7 @@ package parking.gui;
 import parking.core.Vehicle;
 import parking.core.ParkingSession;
 import parking.management.ParkingLot;
+import parking.metrics.MetricsServer;
 import parking.patterns.facade.ParkingSystemFacade;
 import parking.patterns.factory.VehicleType;
 import parking.patterns.builder.ParkingReport;
@@ -581,6 +582,7 @@ public class ParkingGUI extends JFrame {
     }
     
     public static void main(String[] args) {
+        MetricsServer.startIfConfigured();
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
@@ -0,0 +1,213 @@
+package parking.load;
+
+import parking.core.Vehicle;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.observer.ParkingObserver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code LoadDriver} class replays a traffic trace against a
+ * {@link ParkingSystemFacade} from a number of threads, and records the
+ * throughput and the latency of every entry and exit.
+ * <p>
+ * Events are split among the threads by license plate, so that each vehicle's
+ * arrival and departure run on the same thread, in order. Vehicles and
+ * subscriptions are created before the clock starts, so only the gate calls are
+ * measured. The trace is replayed as fast as possible, or paced against the wall
+ * clock at a speedup factor, e.g. 3600 to play an hour of traffic per second.
+ * Console display observers are detached for the run, since printing every
+ * event would otherwise be what is measured, and attached again afterwards.
+ *
+ * @author Smart Parking System Team
+ */
+public class LoadDriver {
+    /** The facade driven. */
+    private final ParkingSystemFacade facade;
+
+    /** The number of threads calling the facade. */
+    private final int threads;
+
+    /** How many times faster than real time the trace is paced, or 0 for no pacing. */
+    private double speedup;
+
+    /**
+     * Constructs a new {@code LoadDriver}.
+     *
+     * @param facade The facade to drive.
+     * @param threads The number of threads calling the facade.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public LoadDriver(ParkingSystemFacade facade, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.facade = facade;
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the pacing of the replay.
+     *
+     * @param speedup How many times faster than real time to replay, or 0 to replay as fast as possible.
+     * @return This driver for chaining.
+     */
+    public LoadDriver setSpeedup(double speedup) {
+        this.speedup = Math.max(speedup, 0);
+        return this;
+    }
+
+    /**
+     * Replays a trace and waits until every event has been played.
+     *
+     * @param events The events, in time order.
+     * @return The result of the run.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    public LoadResult run(List<TrafficEvent> events) throws InterruptedException {
+        Vehicle[] vehicles = new Vehicle[events.size()];
+        Map<String, String> subscriptions = new HashMap<>();
+        List<List<Integer>> partitions = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < events.size(); i++) {
+            TrafficEvent event = events.get(i);
+            if (event.getKind() == TrafficEvent.Kind.ARRIVAL) {
+                vehicles[i] = facade.createVehicle(event.getVehicleType(), event.getLicensePlate(),
+                        "Load Test", event.isDisabled());
+                if (event.isSubscriber() && !subscriptions.containsKey(event.getLicensePlate())) {
+                    subscriptions.put(event.getLicensePlate(),
+                            facade.createSubscription(event.getLicensePlate(), "Load Test", 12));
+                }
+            }
+            partitions.get((event.getLicensePlate().hashCode() & Integer.MAX_VALUE) % threads).add(i);
+        }
+
+        LoadResult result = new LoadResult();
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot(facade.getLotId());
+        List<ParkingObserver> detached = lot.detachDisplays();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+            long[] startNanos = new long[1];
+            for (int t = 0; t < threads; t++) {
+                List<Integer> partition = partitions.get(t);
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int index : partition) {
+                            play(events.get(index), vehicles[index], subscriptions, startNanos[0], result);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }, "parking-load-" + t);
+                worker.setDaemon(true);
+                worker.start();
+            }
+            startNanos[0] = System.nanoTime();
+            start.countDown();
+            done.await();
+            result.setElapsedNanos(System.nanoTime() - startNanos[0]);
+        } finally {
+            attach(lot, detached);
+        }
+        return result;
+    }
+
+    private void play(TrafficEvent event, Vehicle vehicle, Map<String, String> subscriptions,
+                      long startNanos, LoadResult result) {
+        if (speedup > 0) {
+            long due = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(event.getTimeMillis()) / speedup);
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        try {
+            long begin = System.nanoTime();
+            if (event.getKind() == TrafficEvent.Kind.ARRIVAL) {
+                String subscriptionId = subscriptions.get(event.getLicensePlate());
+                boolean parked = subscriptionId != null
+                        ? facade.parkSubscriberVehicle(vehicle, subscriptionId)
+                        : facade.parkVehicle(vehicle);
+                result.recordEntry(parked, System.nanoTime() - begin);
+            } else {
+                double fee = facade.removeVehicle(event.getLicensePlate());
+                result.recordExit(fee >= 0, System.nanoTime() - begin);
+            }
+        } catch (RuntimeException e) {
+            result.recordError();
+        }
+    }
+
+    static void attach(ParkingLot lot, List<ParkingObserver> observers) {
+        for (ParkingObserver observer : observers) {
+            lot.addObserver(observer);
+        }
+    }
+
+    /**
+     * Runs a load test from the command line. Options, all optional:
+     * {@code --threads=N}, {@code --seed=N}, {@code --hours=H}, {@code --rate=N}
+     * (base arrivals per hour), {@code --speedup=X}, {@code --lot=ID}, {@code --spots=N}
+     * to grow the lot to at least N spots,
+     * {@code --record=FILE} to save the generated trace, and {@code --replay=FILE}
+     * to play a saved trace instead of generating one.
+     *
+     * @param args The command line arguments.
+     * @throws IOException if a trace file cannot be read or written.
+     * @throws InterruptedException if interrupted during the run.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                System.err.println("Ignoring argument: " + arg);
+                continue;
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        List<TrafficEvent> events;
+        if (options.containsKey("replay")) {
+            events = TrafficTrace.read(Paths.get(options.get("replay")));
+        } else {
+            TrafficProfile profile = new TrafficProfile()
+                    .setSeed(Long.parseLong(options.getOrDefault("seed", "42")))
+                    .setDurationHours(Double.parseDouble(options.getOrDefault("hours", "24")))
+                    .setBaseArrivalsPerHour(Double.parseDouble(options.getOrDefault("rate", "60")));
+            events = new TrafficGenerator(profile).generate();
+            if (options.containsKey("record")) {
+                Path file = Paths.get(options.get("record"));
+                TrafficTrace.write(file, events);
+                System.out.println("Recorded " + events.size() + " events to " + file);
+            }
+        }
+
+        ParkingSystemFacade facade = new ParkingSystemFacade(options.getOrDefault("lot", "LOAD-TEST"));
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot(facade.getLotId());
+        int spots = Integer.parseInt(options.getOrDefault("spots", "0"));
+        if (spots > lot.getTotalSpots()) {
+            lot.addSpots(spots - lot.getTotalSpots(), false);
+        }
+        LoadResult result = new LoadDriver(facade, Integer.parseInt(options.getOrDefault("threads", "4")))
+                .setSpeedup(Double.parseDouble(options.getOrDefault("speedup", "0")))
+                .run(events);
+        System.out.print(result);
+    }
+}
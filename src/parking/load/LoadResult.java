@@ -0,0 +1,136 @@
+package parking.load;
+
+import parking.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code LoadResult} class holds the outcome of a {@link LoadDriver} run:
+ * how many arrivals and departures succeeded, the throughput, and the latency
+ * of entries and exits as histograms. Workers record into it concurrently.
+ *
+ * @author Smart Parking System Team
+ */
+public class LoadResult {
+    private final LatencyHistogram entryLatency = new LatencyHistogram();
+    private final LatencyHistogram exitLatency = new LatencyHistogram();
+    private final LongAdder parked = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder departed = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long elapsedNanos;
+
+    void recordEntry(boolean success, long latencyNanos) {
+        entryLatency.record(latencyNanos);
+        (success ? parked : rejected).increment();
+    }
+
+    void recordExit(boolean found, long latencyNanos) {
+        exitLatency.record(latencyNanos);
+        (found ? departed : notFound).increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the latency of the entry calls in nanoseconds.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getEntryLatency() {
+        return entryLatency;
+    }
+
+    /**
+     * Gets the latency of the exit calls in nanoseconds.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getExitLatency() {
+        return exitLatency;
+    }
+
+    public long getParked() {
+        return parked.sum();
+    }
+
+    /**
+     * Gets the number of arrivals turned away, because the lot was full or the
+     * vehicle was already parked.
+     *
+     * @return The number of rejected arrivals.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getDeparted() {
+        return departed.sum();
+    }
+
+    /**
+     * Gets the number of departures of vehicles that were not parked, usually
+     * because their arrival was rejected.
+     *
+     * @return The number of departures not found.
+     */
+    public long getNotFound() {
+        return notFound.sum();
+    }
+
+    /**
+     * Gets the number of calls that threw an exception.
+     *
+     * @return The number of errors.
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of operations: every entry and exit call, successful or not.
+     *
+     * @return The number of operations.
+     */
+    public long getOperations() {
+        return entryLatency.getCount() + exitLatency.getCount() + getErrors();
+    }
+
+    /**
+     * Gets the throughput over the whole run.
+     *
+     * @return The operations per second.
+     */
+    public double getThroughput() {
+        return elapsedNanos > 0 ? getOperations() * 1e9 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Operations: %d in %.3f s (%.0f ops/s)%n", getOperations(), elapsedNanos / 1e9, getThroughput())
+                + String.format("Arrivals: %d parked, %d rejected%n", getParked(), getRejected())
+                + String.format("Departures: %d departed, %d not found%n", getDeparted(), getNotFound())
+                + String.format("Errors: %d%n", getErrors())
+                + formatLatency("Entry", entryLatency)
+                + formatLatency("Exit", exitLatency);
+    }
+
+    private static String formatLatency(String name, LatencyHistogram histogram) {
+        return String.format("%s latency (us): mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                name, histogram.getMean() / 1e3,
+                histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(90) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3);
+    }
+}
@@ -0,0 +1,140 @@
+package parking.load;
+
+/**
+ * The {@code SimulationResult} class holds the outcome of a
+ * {@link TrafficSimulation}: how many vehicles were parked and turned away, the
+ * revenue collected, and the occupancy of the lot over the simulated time.
+ *
+ * @author Smart Parking System Team
+ */
+public class SimulationResult {
+    private long parked;
+    private long rejected;
+    private long departed;
+    private long notFound;
+    private double revenue;
+    private int totalSpots;
+    private int peakOccupied;
+    private final long[] rejectedByHour = new long[24];
+
+    /** The sum of occupied spots times milliseconds, for the time-weighted average. */
+    private double occupiedMillis;
+    private long simulatedMillis;
+    private long wallNanos;
+
+    void recordEntry(boolean success, int hourOfDay) {
+        if (success) {
+            parked++;
+        } else {
+            rejected++;
+            rejectedByHour[hourOfDay]++;
+        }
+    }
+
+    void recordExit(double fee) {
+        if (fee >= 0) {
+            departed++;
+            revenue += fee;
+        } else {
+            notFound++;
+        }
+    }
+
+    void recordOccupancy(int occupied, int total, long elapsedMillis) {
+        occupiedMillis += (double) occupied * elapsedMillis;
+        simulatedMillis += elapsedMillis;
+        peakOccupied = Math.max(peakOccupied, occupied);
+        totalSpots = total;
+    }
+
+    void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    public long getParked() {
+        return parked;
+    }
+
+    /**
+     * Gets the number of arrivals turned away, usually because the lot was full.
+     *
+     * @return The number of rejected arrivals.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the number of arrivals turned away at each hour of the day.
+     *
+     * @return The counts, indexed by hour from 0 to 23.
+     */
+    public long[] getRejectedByHour() {
+        return rejectedByHour.clone();
+    }
+
+    public long getDeparted() {
+        return departed;
+    }
+
+    /**
+     * Gets the number of departures of vehicles that were not parked, because
+     * their arrival was rejected.
+     *
+     * @return The number of departures not found.
+     */
+    public long getNotFound() {
+        return notFound;
+    }
+
+    /**
+     * Gets the fees charged on departure.
+     *
+     * @return The revenue.
+     */
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public int getTotalSpots() {
+        return totalSpots;
+    }
+
+    public int getPeakOccupied() {
+        return peakOccupied;
+    }
+
+    /**
+     * Gets the number of occupied spots averaged over the simulated time.
+     *
+     * @return The average number of occupied spots.
+     */
+    public double getAverageOccupied() {
+        return simulatedMillis > 0 ? occupiedMillis / simulatedMillis : 0;
+    }
+
+    public long getSimulatedMillis() {
+        return simulatedMillis;
+    }
+
+    /**
+     * Gets the real time the simulation took.
+     *
+     * @return The wall-clock time in nanoseconds.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    @Override
+    public String toString() {
+        double days = simulatedMillis / 86_400_000.0;
+        return String.format("Simulated %.1f days in %.3f s%n", days, wallNanos / 1e9)
+                + String.format("Arrivals: %d parked, %d rejected (%.1f%%)%n", parked, rejected,
+                        parked + rejected > 0 ? 100.0 * rejected / (parked + rejected) : 0)
+                + String.format("Departures: %d departed, %d not found%n", departed, notFound)
+                + String.format("Revenue: %.2f (%.2f per day)%n", revenue, days > 0 ? revenue / days : 0)
+                + String.format("Occupancy: average %.1f, peak %d of %d spots%n",
+                        getAverageOccupied(), peakOccupied, totalSpots);
+    }
+}
@@ -0,0 +1,76 @@
+package parking.load;
+
+import parking.patterns.factory.VehicleType;
+
+/**
+ * The {@code TrafficEvent} class is one vehicle arriving at or leaving the lot
+ * in a traffic trace. Times are offsets from the start of the trace, so a trace
+ * can be replayed at any time and at any speed.
+ *
+ * @author Smart Parking System Team
+ */
+public final class TrafficEvent {
+    /**
+     * The kind of a traffic event.
+     */
+    public enum Kind {
+        ARRIVAL,
+        DEPARTURE
+    }
+
+    private final long timeMillis;
+    private final Kind kind;
+    private final String licensePlate;
+    private final VehicleType vehicleType;
+    private final boolean disabled;
+    private final boolean subscriber;
+
+    /**
+     * Constructs a new {@code TrafficEvent}.
+     *
+     * @param timeMillis The time of the event in milliseconds from the start of the trace.
+     * @param kind Whether the vehicle arrives or leaves.
+     * @param licensePlate The license plate of the vehicle.
+     * @param vehicleType The type of the vehicle.
+     * @param disabled Whether the driver holds a disabled permit.
+     * @param subscriber Whether the vehicle parks on a subscription.
+     */
+    public TrafficEvent(long timeMillis, Kind kind, String licensePlate, VehicleType vehicleType,
+                        boolean disabled, boolean subscriber) {
+        this.timeMillis = timeMillis;
+        this.kind = kind;
+        this.licensePlate = licensePlate;
+        this.vehicleType = vehicleType;
+        this.disabled = disabled;
+        this.subscriber = subscriber;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    public boolean isSubscriber() {
+        return subscriber;
+    }
+
+    @Override
+    public String toString() {
+        return timeMillis + " " + kind + " " + licensePlate;
+    }
+}
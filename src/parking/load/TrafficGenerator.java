@@ -0,0 +1,84 @@
+package parking.load;
+
+import parking.patterns.factory.VehicleType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code TrafficGenerator} class turns a {@link TrafficProfile} into a trace
+ * of arrivals and departures. Arrivals follow a Poisson process whose rate
+ * varies over the day, drawn by thinning: candidates come at the peak rate and
+ * each is kept with the ratio of the current rate to the peak rate. Each vehicle
+ * stays for a log-normal time and leaves then, if that is within the trace.
+ * <p>
+ * The generator is driven by a single seeded {@link Random}, so the same profile
+ * always yields the same trace.
+ *
+ * @author Smart Parking System Team
+ */
+public class TrafficGenerator {
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    /** The profile of the traffic. */
+    private final TrafficProfile profile;
+
+    /**
+     * Constructs a new {@code TrafficGenerator}.
+     *
+     * @param profile The profile of the traffic.
+     */
+    public TrafficGenerator(TrafficProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Generates a trace.
+     *
+     * @return The arrivals and departures, in time order.
+     */
+    public List<TrafficEvent> generate() {
+        Random random = new Random(profile.getSeed());
+        double maxRate = profile.getMaxArrivalRate();
+        double mu = Math.log(profile.getMedianDwellHours());
+        double sigma = profile.getDwellSigma();
+        double duration = profile.getDurationHours();
+        long endMillis = (long) (duration * MILLIS_PER_HOUR);
+        List<TrafficEvent> events = new ArrayList<>();
+        if (maxRate <= 0) {
+            return events;
+        }
+
+        int vehicleCount = 0;
+        double hours = 0;
+        while (true) {
+            hours += -Math.log(1 - random.nextDouble()) / maxRate;
+            if (hours >= duration) {
+                break;
+            }
+            double hourOfDay = (profile.getStartHour() + hours) % 24;
+            if (random.nextDouble() * maxRate > profile.getArrivalRate(hourOfDay)) {
+                continue;
+            }
+            VehicleType type = random.nextDouble() < profile.getMotorcycleShare()
+                    ? VehicleType.MOTORCYCLE : VehicleType.CAR;
+            boolean disabled = random.nextDouble() < profile.getDisabledShare();
+            boolean subscriber = random.nextDouble() < profile.getSubscriberShare();
+            double dwellHours = Math.exp(mu + sigma * random.nextGaussian());
+            String licensePlate = String.format("T%07d", vehicleCount++);
+
+            long arrivalMillis = (long) (hours * MILLIS_PER_HOUR);
+            long departureMillis = arrivalMillis + Math.max(1, (long) (dwellHours * MILLIS_PER_HOUR));
+            events.add(new TrafficEvent(arrivalMillis, TrafficEvent.Kind.ARRIVAL,
+                    licensePlate, type, disabled, subscriber));
+            if (departureMillis < endMillis) {
+                events.add(new TrafficEvent(departureMillis, TrafficEvent.Kind.DEPARTURE,
+                        licensePlate, type, disabled, subscriber));
+            }
+        }
+        events.sort(Comparator.comparingLong(TrafficEvent::getTimeMillis));
+        return events;
+    }
+}
@@ -0,0 +1,225 @@
+package parking.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code TrafficProfile} class describes the traffic of a garage for the
+ * {@link TrafficGenerator}: how often vehicles arrive over the day, how long they
+ * stay, and what kind of vehicles they are. The defaults resemble a city garage
+ * with a morning and an evening rush. Setters return this profile for chaining.
+ *
+ * @author Smart Parking System Team
+ */
+public class TrafficProfile {
+    private long seed = 42;
+    private double durationHours = 24;
+    private double startHour = 0;
+    private double baseArrivalsPerHour = 60;
+    private final List<Peak> peaks = new ArrayList<>();
+    private double medianDwellHours = 2;
+    private double dwellSigma = 0.8;
+    private double motorcycleShare = 0.15;
+    private double disabledShare = 0.05;
+    private double subscriberShare = 0.2;
+
+    /**
+     * Constructs a new {@code TrafficProfile} with a morning peak at 8:30 and an
+     * evening peak at 17:30.
+     */
+    public TrafficProfile() {
+        peaks.add(new Peak(8.5, 1.5, 4));
+        peaks.add(new Peak(17.5, 2, 3));
+    }
+
+    /**
+     * Gets the arrival rate at an hour of the day: the base rate, raised by each
+     * peak along a bell curve around its hour.
+     *
+     * @param hourOfDay The hour of the day, from 0 to 24.
+     * @return The arrivals per hour.
+     */
+    public double getArrivalRate(double hourOfDay) {
+        double factor = 1;
+        for (Peak peak : peaks) {
+            double distance = Math.abs(hourOfDay - peak.hour) % 24;
+            distance = Math.min(distance, 24 - distance);
+            double z = distance / peak.widthHours;
+            factor += (peak.multiplier - 1) * Math.exp(-0.5 * z * z);
+        }
+        return baseArrivalsPerHour * factor;
+    }
+
+    /**
+     * Gets the highest arrival rate of the day, which bounds {@link #getArrivalRate(double)}.
+     *
+     * @return The arrivals per hour.
+     */
+    public double getMaxArrivalRate() {
+        double factor = 1;
+        for (Peak peak : peaks) {
+            factor += Math.max(peak.multiplier - 1, 0);
+        }
+        return baseArrivalsPerHour * factor;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public TrafficProfile setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public double getDurationHours() {
+        return durationHours;
+    }
+
+    /**
+     * Sets how long a stretch of time to generate traffic for.
+     *
+     * @param durationHours The duration in hours.
+     * @return This profile for chaining.
+     */
+    public TrafficProfile setDurationHours(double durationHours) {
+        this.durationHours = durationHours;
+        return this;
+    }
+
+    public double getStartHour() {
+        return startHour;
+    }
+
+    /**
+     * Sets the hour of the day at which the trace starts.
+     *
+     * @param startHour The hour, from 0 to 24.
+     * @return This profile for chaining.
+     */
+    public TrafficProfile setStartHour(double startHour) {
+        this.startHour = startHour;
+        return this;
+    }
+
+    public double getBaseArrivalsPerHour() {
+        return baseArrivalsPerHour;
+    }
+
+    /**
+     * Sets the arrival rate outside the peaks.
+     *
+     * @param baseArrivalsPerHour The arrivals per hour.
+     * @return This profile for chaining.
+     */
+    public TrafficProfile setBaseArrivalsPerHour(double baseArrivalsPerHour) {
+        this.baseArrivalsPerHour = baseArrivalsPerHour;
+        return this;
+    }
+
+    public List<Peak> getPeaks() {
+        return Collections.unmodifiableList(peaks);
+    }
+
+    /**
+     * Adds a rush hour.
+     *
+     * @param hour The hour of the day of the peak.
+     * @param widthHours The width of the peak, as the standard deviation of its bell curve.
+     * @param multiplier How many times the base rate vehicles arrive at the top of the peak.
+     * @return This profile for chaining.
+     */
+    public TrafficProfile addPeak(double hour, double widthHours, double multiplier) {
+        peaks.add(new Peak(hour, widthHours, multiplier));
+        return this;
+    }
+
+    /**
+     * Removes all rush hours, for a constant arrival rate.
+     *
+     * @return This profile for chaining.
+     */
+    public TrafficProfile clearPeaks() {
+        peaks.clear();
+        return this;
+    }
+
+    public double getMedianDwellHours() {
+        return medianDwellHours;
+    }
+
+    /**
+     * Sets the log-normal distribution of how long vehicles stay.
+     *
+     * @param medianDwellHours The median stay in hours.
+     * @param dwellSigma The standard deviation of the logarithm of the stay; larger means a longer tail.
+     * @return This profile for chaining.
+     */
+    public TrafficProfile setDwell(double medianDwellHours, double dwellSigma) {
+        this.medianDwellHours = medianDwellHours;
+        this.dwellSigma = dwellSigma;
+        return this;
+    }
+
+    public double getDwellSigma() {
+        return dwellSigma;
+    }
+
+    public double getMotorcycleShare() {
+        return motorcycleShare;
+    }
+
+    public TrafficProfile setMotorcycleShare(double motorcycleShare) {
+        this.motorcycleShare = motorcycleShare;
+        return this;
+    }
+
+    public double getDisabledShare() {
+        return disabledShare;
+    }
+
+    public TrafficProfile setDisabledShare(double disabledShare) {
+        this.disabledShare = disabledShare;
+        return this;
+    }
+
+    public double getSubscriberShare() {
+        return subscriberShare;
+    }
+
+    public TrafficProfile setSubscriberShare(double subscriberShare) {
+        this.subscriberShare = subscriberShare;
+        return this;
+    }
+
+    /**
+     * The {@code Peak} class is one rush hour of a profile.
+     */
+    public static final class Peak {
+        private final double hour;
+        private final double widthHours;
+        private final double multiplier;
+
+        Peak(double hour, double widthHours, double multiplier) {
+            if (widthHours <= 0) {
+                throw new IllegalArgumentException("Peak width must be positive: " + widthHours);
+            }
+            this.hour = hour;
+            this.widthHours = widthHours;
+            this.multiplier = multiplier;
+        }
+
+        public double getHour() {
+            return hour;
+        }
+
+        public double getWidthHours() {
+            return widthHours;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+    }
+}
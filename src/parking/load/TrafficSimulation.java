@@ -0,0 +1,113 @@
+package parking.load;
+
+import parking.core.Vehicle;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.observer.ParkingObserver;
+import parking.util.Simulator;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The {@code TrafficSimulation} class plays a traffic trace against a lot in
+ * virtual time, with a {@link Simulator}. Every arrival and departure is an
+ * event in the simulator's queue, and the parking clock jumps from one to the
+ * next, so a month of traffic runs in seconds. Sessions, fees, statistics and
+ * subscriptions all see the simulated time, through the facade as in
+ * production, so the result reflects the configured capacity and tariff.
+ * <p>
+ * The same trace can be simulated against different lot sizes or tariffs to
+ * compare them; the trace's start time is the simulation's start time, which
+ * should match the profile's start hour. Console display observers are detached
+ * for the run.
+ *
+ * @author Smart Parking System Team
+ */
+public class TrafficSimulation {
+    /** The facade driven. */
+    private final ParkingSystemFacade facade;
+
+    /** The lot behind the facade. */
+    private final ParkingLot lot;
+
+    /** The virtual time at which the trace starts. */
+    private final long startMillis;
+
+    /**
+     * Constructs a new {@code TrafficSimulation}.
+     *
+     * @param facade The facade to drive.
+     * @param startMillis The virtual time at which the trace starts, in epoch milliseconds.
+     */
+    public TrafficSimulation(ParkingSystemFacade facade, long startMillis) {
+        this.facade = facade;
+        this.lot = ParkingLotRegistry.getInstance().getLot(facade.getLotId());
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Generates a trace from a profile and simulates it over the profile's duration.
+     *
+     * @param profile The traffic profile.
+     * @return The result of the simulation.
+     */
+    public SimulationResult run(TrafficProfile profile) {
+        return run(new TrafficGenerator(profile).generate(), (long) (profile.getDurationHours() * 3_600_000L));
+    }
+
+    /**
+     * Simulates a trace.
+     *
+     * @param events The events, in time order.
+     * @param durationMillis How long to simulate, from the start of the trace.
+     * @return The result of the simulation.
+     */
+    public SimulationResult run(List<TrafficEvent> events, long durationMillis) {
+        Simulator simulator = new Simulator(startMillis);
+        SimulationResult result = new SimulationResult();
+        long[] lastMillis = {startMillis};
+        for (TrafficEvent event : events) {
+            simulator.schedule(startMillis + event.getTimeMillis(), () -> {
+                sampleOccupancy(simulator, result, lastMillis);
+                play(event, simulator, result);
+            });
+        }
+
+        List<ParkingObserver> detached = lot.detachDisplays();
+        long begin = System.nanoTime();
+        try {
+            simulator.runUntil(startMillis + durationMillis);
+            sampleOccupancy(simulator, result, lastMillis);
+        } finally {
+            result.setWallNanos(System.nanoTime() - begin);
+            LoadDriver.attach(lot, detached);
+        }
+        return result;
+    }
+
+    private void sampleOccupancy(Simulator simulator, SimulationResult result, long[] lastMillis) {
+        long now = simulator.now();
+        result.recordOccupancy(lot.getOccupiedSpots(), lot.getTotalSpots(), now - lastMillis[0]);
+        lastMillis[0] = now;
+    }
+
+    private void play(TrafficEvent event, Simulator simulator, SimulationResult result) {
+        if (event.getKind() == TrafficEvent.Kind.DEPARTURE) {
+            result.recordExit(facade.removeVehicle(event.getLicensePlate()));
+            return;
+        }
+        Vehicle vehicle = facade.createVehicle(event.getVehicleType(), event.getLicensePlate(),
+                "Simulation", event.isDisabled());
+        boolean parked;
+        if (event.isSubscriber()) {
+            String subscriptionId = facade.createSubscription(event.getLicensePlate(), "Simulation", 1);
+            parked = facade.parkSubscriberVehicle(vehicle, subscriptionId);
+        } else {
+            parked = facade.parkVehicle(vehicle);
+        }
+        int hourOfDay = Instant.ofEpochMilli(simulator.now()).atZone(simulator.getClock().getZone()).getHour();
+        result.recordEntry(parked, hourOfDay);
+    }
+}
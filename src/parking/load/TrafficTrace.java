@@ -0,0 +1,90 @@
+package parking.load;
+
+import parking.patterns.factory.VehicleType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code TrafficTrace} class saves traffic traces to files and loads them
+ * back, so that a generated or recorded day of traffic can be replayed exactly.
+ * A trace file is CSV with a header line and one event per line:
+ * {@code timeMillis,kind,licensePlate,vehicleType,disabled,subscriber}.
+ *
+ * @author Smart Parking System Team
+ */
+public class TrafficTrace {
+    private static final String HEADER = "timeMillis,kind,licensePlate,vehicleType,disabled,subscriber";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TrafficTrace() {
+    }
+
+    /**
+     * Writes a trace to a file.
+     *
+     * @param file The file.
+     * @param events The events.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, List<TrafficEvent> events) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (TrafficEvent event : events) {
+                writer.write(event.getTimeMillis() + "," + event.getKind() + "," + event.getLicensePlate()
+                        + "," + event.getVehicleType() + "," + event.isDisabled() + "," + event.isSubscriber());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads a trace from a file. Blank lines are skipped.
+     *
+     * @param file The file.
+     * @return The events, in the order of the file.
+     * @throws IOException if the file cannot be read or a line is invalid.
+     */
+    public static List<TrafficEvent> read(Path file) throws IOException {
+        List<TrafficEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || (lineNumber == 1 && line.startsWith("timeMillis"))) {
+                    continue;
+                }
+                events.add(parse(line, file, lineNumber));
+            }
+        }
+        return events;
+    }
+
+    private static TrafficEvent parse(String line, Path file, int lineNumber) throws IOException {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 6) {
+            throw new IOException("Invalid trace line " + lineNumber + " in " + file + ": " + line);
+        }
+        try {
+            return new TrafficEvent(
+                    Long.parseLong(fields[0].trim()),
+                    TrafficEvent.Kind.valueOf(fields[1].trim()),
+                    fields[2].trim(),
+                    VehicleType.valueOf(fields[3].trim()),
+                    Boolean.parseBoolean(fields[4].trim()),
+                    Boolean.parseBoolean(fields[5].trim()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid trace line " + lineNumber + " in " + file + ": " + line, e);
+        }
+    }
+}
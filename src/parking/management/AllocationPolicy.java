@@ -0,0 +1,63 @@
+package parking.management;
+
+/**
+ * The AllocationPolicy enum names the built-in allocation strategies, as selected
+ * by the {@code parking.spots.allocation} property.
+ *
+ * @author Smart Parking System Team
+ */
+public enum AllocationPolicy {
+    FIRST_FIT("first-fit"),
+    ROUND_ROBIN("round-robin"),
+    LEAST_RECENTLY_USED("lru"),
+    ZONE_BALANCED("zone-balanced");
+
+    private final String configName;
+
+    /**
+     * Constructs an allocation policy.
+     *
+     * @param configName The name used in the configuration.
+     */
+    AllocationPolicy(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * Creates a new strategy of this policy. Strategies keep state per lot,
+     * so each lot needs its own instance.
+     *
+     * @return The strategy.
+     */
+    public AllocationStrategy createStrategy() {
+        switch (this) {
+            case ROUND_ROBIN:
+                return new RoundRobinStrategy();
+            case LEAST_RECENTLY_USED:
+                return new LeastRecentlyUsedStrategy();
+            case ZONE_BALANCED:
+                return new ZoneBalancedStrategy();
+            default:
+                return new FirstFitStrategy();
+        }
+    }
+
+    /**
+     * Gets the policy with a configuration name, or the enum constant name.
+     *
+     * @param name The name, case-insensitive.
+     * @return The policy, or {@link #FIRST_FIT} if the name is unknown.
+     */
+    public static AllocationPolicy fromName(String name) {
+        for (AllocationPolicy policy : values()) {
+            if (policy.configName.equalsIgnoreCase(name) || policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        return FIRST_FIT;
+    }
+}
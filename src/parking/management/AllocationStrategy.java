@@ -0,0 +1,48 @@
+package parking.management;
+
+/**
+ * The {@code AllocationStrategy} interface chooses which free spot a vehicle gets.
+ * {@link SpotPools} has already narrowed the choice to the vehicle's preferred
+ * category on the nearest level with a free spot; the strategy picks a spot from
+ * that {@link SpotPools.Pool}. Strategies that keep state are told about every
+ * spot entering or leaving a pool.
+ * <p>
+ * A strategy instance belongs to one lot and is called under that lot's lock,
+ * so implementations need not be thread-safe.
+ *
+ * @author Smart Parking System Team
+ */
+public interface AllocationStrategy {
+
+    /**
+     * Chooses a free spot from a pool, without taking it.
+     *
+     * @param pool The pool; it has at least one free spot.
+     * @return The spot ID.
+     */
+    int select(SpotPools.Pool pool);
+
+    /**
+     * Called when a spot enters a pool, because it was released, added or reopened.
+     *
+     * @param pool The pool.
+     * @param spotId The spot ID.
+     */
+    default void spotFreed(SpotPools.Pool pool, int spotId) {
+    }
+
+    /**
+     * Called when a spot leaves a pool, because it was taken or closed.
+     *
+     * @param pool The pool.
+     * @param spotId The spot ID.
+     */
+    default void spotTaken(SpotPools.Pool pool, int spotId) {
+    }
+
+    /**
+     * Called before the pools are rebuilt; the strategy forgets all spots.
+     */
+    default void reset() {
+    }
+}
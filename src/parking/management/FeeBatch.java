@@ -0,0 +1,117 @@
+package parking.management;
+
+import parking.core.Motorcycle;
+import parking.core.ParkingSession;
+import parking.core.Vehicle;
+import parking.patterns.factory.VehicleType;
+import parking.util.ParkingClock;
+
+import java.util.List;
+
+/**
+ * The {@code FeeBatch} class holds the input of a batch fee recomputation in
+ * columnar form: one primitive array per attribute, indexed by session.
+ * It is used by {@link PricingCalculator#calculateFees(FeeBatch)} for
+ * end-of-day settlement.
+ *
+ * @author Smart Parking System Team
+ */
+public class FeeBatch {
+    /** The entry times of the sessions, in epoch milliseconds. */
+    private final long[] entryMillis;
+
+    /** The exit times of the sessions, in epoch milliseconds. */
+    private final long[] exitMillis;
+
+    /** The vehicle type of each session. */
+    private final VehicleType[] vehicleTypes;
+
+    /** Whether each session belongs to a disabled person's vehicle. */
+    private final boolean[] disabled;
+
+    /** Whether each session is a subscription session. */
+    private final boolean[] subscription;
+
+    /**
+     * Constructs a new {@code FeeBatch} over the specified columns.
+     * All columns must have the same length.
+     *
+     * @param entryMillis The entry times, in epoch milliseconds.
+     * @param exitMillis The exit times, in epoch milliseconds.
+     * @param vehicleTypes The vehicle types.
+     * @param disabled The disability flags.
+     * @param subscription The subscription flags.
+     * @throws IllegalArgumentException if the columns differ in length.
+     */
+    public FeeBatch(long[] entryMillis, long[] exitMillis, VehicleType[] vehicleTypes,
+                    boolean[] disabled, boolean[] subscription) {
+        int size = entryMillis.length;
+        if (exitMillis.length != size || vehicleTypes.length != size
+                || disabled.length != size || subscription.length != size) {
+            throw new IllegalArgumentException("All fee batch columns must have the same length");
+        }
+        this.entryMillis = entryMillis;
+        this.exitMillis = exitMillis;
+        this.vehicleTypes = vehicleTypes;
+        this.disabled = disabled;
+        this.subscription = subscription;
+    }
+
+    /**
+     * Creates a batch from a list of parking sessions, such as the session history.
+     * Sessions that are still active are measured until the current time.
+     *
+     * @param sessions The sessions to convert.
+     * @return A new batch with one row per session.
+     */
+    public static FeeBatch fromSessions(List<ParkingSession> sessions) {
+        int size = sessions.size();
+        long[] entries = new long[size];
+        long[] exits = new long[size];
+        VehicleType[] types = new VehicleType[size];
+        boolean[] disabledFlags = new boolean[size];
+        boolean[] subscriptionFlags = new boolean[size];
+
+        long now = ParkingClock.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            ParkingSession session = sessions.get(i);
+            Vehicle vehicle = session.getVehicle();
+            entries[i] = session.getEntryTimeMillis();
+            exits[i] = session.isActive() ? now : session.getExitTimeMillis();
+            types[i] = vehicle instanceof Motorcycle ? VehicleType.MOTORCYCLE : VehicleType.CAR;
+            disabledFlags[i] = vehicle.isDisabled();
+            subscriptionFlags[i] = session.isSubscription();
+        }
+        return new FeeBatch(entries, exits, types, disabledFlags, subscriptionFlags);
+    }
+
+    /**
+     * Gets the number of sessions in this batch.
+     *
+     * @return The batch size.
+     */
+    public int size() {
+        return entryMillis.length;
+    }
+
+    long[] getEntryMillis() {
+        return entryMillis;
+    }
+
+    long[] getExitMillis() {
+        return exitMillis;
+    }
+
+    VehicleType[] getVehicleTypes() {
+        return vehicleTypes;
+    }
+
+    boolean[] getDisabled() {
+        return disabled;
+    }
+
+    boolean[] getSubscription() {
+        return subscription;
+    }
+}
+
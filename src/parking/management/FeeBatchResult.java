@@ -0,0 +1,102 @@
+package parking.management;
+
+/**
+ * The {@code FeeBatchResult} class holds the output of a batch fee recomputation:
+ * the fee of every session, indexed like the input {@link FeeBatch}, together
+ * with a settlement summary.
+ *
+ * @author Smart Parking System Team
+ */
+public class FeeBatchResult {
+    /** The computed fee of each session. */
+    private final double[] fees;
+
+    /** The sum of all fees. */
+    private final double totalRevenue;
+
+    /** The number of sessions that were charged a fee. */
+    private final int chargedSessions;
+
+    /** The number of non-subscription sessions within the free period. */
+    private final int freeSessions;
+
+    /** The number of subscription sessions. */
+    private final int subscriptionSessions;
+
+    /**
+     * Constructs a new {@code FeeBatchResult} with the specified parameters.
+     *
+     * @param fees The computed fee of each session.
+     * @param totalRevenue The sum of all fees.
+     * @param chargedSessions The number of sessions that were charged a fee.
+     * @param freeSessions The number of non-subscription sessions within the free period.
+     * @param subscriptionSessions The number of subscription sessions.
+     */
+    FeeBatchResult(double[] fees, double totalRevenue, int chargedSessions,
+                   int freeSessions, int subscriptionSessions) {
+        this.fees = fees;
+        this.totalRevenue = totalRevenue;
+        this.chargedSessions = chargedSessions;
+        this.freeSessions = freeSessions;
+        this.subscriptionSessions = subscriptionSessions;
+    }
+
+    /**
+     * Gets the fee of a single session.
+     *
+     * @param index The index of the session in the input batch.
+     * @return The fee of that session.
+     */
+    public double getFee(int index) {
+        return fees[index];
+    }
+
+    /**
+     * Gets a copy of all computed fees.
+     *
+     * @return The fees, indexed like the input batch.
+     */
+    public double[] getFees() {
+        return fees.clone();
+    }
+
+    public int size() {
+        return fees.length;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public int getChargedSessions() {
+        return chargedSessions;
+    }
+
+    public int getFreeSessions() {
+        return freeSessions;
+    }
+
+    public int getSubscriptionSessions() {
+        return subscriptionSessions;
+    }
+
+    /**
+     * Gets the average fee over the charged sessions.
+     *
+     * @return The average fee, or 0 if no session was charged.
+     */
+    public double getAverageChargedFee() {
+        return chargedSessions == 0 ? 0.0 : totalRevenue / chargedSessions;
+    }
+
+    @Override
+    public String toString() {
+        return "FeeBatchResult{" +
+                "sessions=" + fees.length +
+                ", totalRevenue=" + totalRevenue +
+                ", charged=" + chargedSessions +
+                ", free=" + freeSessions +
+                ", subscriptions=" + subscriptionSessions +
+                '}';
+    }
+}
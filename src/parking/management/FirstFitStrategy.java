@@ -0,0 +1,16 @@
+package parking.management;
+
+/**
+ * The {@code FirstFitStrategy} class always chooses the lowest free spot ID.
+ * It keeps no state and packs vehicles towards the start of each pool,
+ * which leaves the large free ranges at the end.
+ *
+ * @author Smart Parking System Team
+ */
+public class FirstFitStrategy implements AllocationStrategy {
+
+    @Override
+    public int select(SpotPools.Pool pool) {
+        return pool.nextFree(0);
+    }
+}
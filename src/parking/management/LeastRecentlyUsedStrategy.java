@@ -0,0 +1,81 @@
+package parking.management;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LeastRecentlyUsedStrategy} class chooses the spot that has been free
+ * the longest, spreading wear and cleaning evenly over the spots. The free spots of
+ * each pool form a queue in the order they became free, linked through arrays
+ * indexed by spot ID, so every operation is O(1) and allocates nothing once the
+ * arrays have grown to the number of spots.
+ *
+ * @author Smart Parking System Team
+ */
+public class LeastRecentlyUsedStrategy implements AllocationStrategy {
+    /** Marks the end of a queue; spot IDs start at 1. */
+    private static final int NONE = 0;
+
+    /** The previous and next spot in the queue of each free spot, indexed by spot ID. */
+    private int[] previous = new int[64];
+    private int[] next = new int[64];
+
+    /** The first and last spot of each pool's queue, indexed by pool index. */
+    private int[] heads = new int[8];
+    private int[] tails = new int[8];
+
+    @Override
+    public int select(SpotPools.Pool pool) {
+        return heads[pool.getIndex()];
+    }
+
+    @Override
+    public void spotFreed(SpotPools.Pool pool, int spotId) {
+        int index = pool.getIndex();
+        ensureCapacity(index, spotId);
+        int tail = tails[index];
+        previous[spotId] = tail;
+        next[spotId] = NONE;
+        if (tail == NONE) {
+            heads[index] = spotId;
+        } else {
+            next[tail] = spotId;
+        }
+        tails[index] = spotId;
+    }
+
+    @Override
+    public void spotTaken(SpotPools.Pool pool, int spotId) {
+        int index = pool.getIndex();
+        int before = previous[spotId];
+        int after = next[spotId];
+        if (before == NONE) {
+            heads[index] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after == NONE) {
+            tails[index] = before;
+        } else {
+            previous[after] = before;
+        }
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(tails, NONE);
+    }
+
+    private void ensureCapacity(int poolIndex, int spotId) {
+        if (poolIndex >= heads.length) {
+            int length = Math.max(heads.length * 2, poolIndex + 1);
+            heads = Arrays.copyOf(heads, length);
+            tails = Arrays.copyOf(tails, length);
+        }
+        if (spotId >= next.length) {
+            int length = Math.max(next.length * 2, spotId + 1);
+            previous = Arrays.copyOf(previous, length);
+            next = Arrays.copyOf(next, length);
+        }
+    }
+}
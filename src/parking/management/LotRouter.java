@@ -0,0 +1,298 @@
+package parking.management;
+
+import parking.core.SpotCategory;
+import parking.core.Vehicle;
+import parking.patterns.observer.ParkingObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code LotRouter} class sends arriving vehicles to the nearest lot that has
+ * a free spot of the right kind. Lots are ranked once, nearest first.
+ * <p>
+ * The router observes each lot and keeps a summary of the free spots each
+ * vehicle class may use, see {@link SpotCategory#vehicleClassOf(Vehicle)},
+ * updated as the lot changes, so no lot is ever polled. A car is never sent to
+ * a lot whose only free bays are for motorcycles or electric vehicles.
+ * Above the summaries sits a tree over the lots in rank order, where every
+ * node records, per vehicle class, whether any lot below it has a free spot
+ * for that class, and whether any has a free disabled bay.
+ * A route query descends the tree towards the nearest such lot in O(log lots).
+ * All reads and updates are lock-free: each tree node carries a version,
+ * and parents are recomputed from their children with compare-and-set.
+ * <p>
+ * A route is advice; the vehicle may still be turned away if the lot fills
+ * up before it arrives, in which case the caller asks again.
+ *
+ * @author Smart Parking System Team
+ */
+public class LotRouter {
+    /** Node bit set when some lot below the node has a free disabled bay; bit i is set for vehicle class i. */
+    private static final long HAS_DISABLED = 1L << SpotCategory.VEHICLE_CLASSES;
+
+    /** The node bits; the remaining bits of a node hold its version. */
+    private static final long BITS_MASK = (HAS_DISABLED << 1) - 1;
+
+    /** The class of regular cars, whose free spots are reported as regular spots. */
+    private static final int REGULAR_CLASS = SpotCategory.vehicleClassOf(false, false, false);
+
+    /** The increment that bumps the version of a node. */
+    private static final long VERSION_STEP = BITS_MASK + 1;
+
+    /** The number of times a query restarts after racing with an update. */
+    private static final int MAX_QUERY_ATTEMPTS = 3;
+
+    /** The routed lots, nearest first. */
+    private final List<ParkingLot> lots;
+
+    /** The observers registered with each lot. */
+    private final List<ParkingObserver> observers;
+
+    /** The free spots of each lot: regular in the high half, disabled in the low half. */
+    private final AtomicLongArray availability;
+
+    /** The free spots of each lot, of any category. */
+    private final AtomicIntegerArray totalAvailability;
+
+    /** The tree nodes, with the root at index 1 and the leaf of lot i at {@code leafBase + i}. */
+    private final AtomicLongArray nodes;
+
+    /** The index of the first leaf. */
+    private final int leafBase;
+
+    /**
+     * Constructs a new {@code LotRouter} and starts observing the lots.
+     *
+     * @param lotsByPreference The lots to route to, nearest first.
+     * @throws IllegalArgumentException if no lots are given.
+     */
+    public LotRouter(List<ParkingLot> lotsByPreference) {
+        if (lotsByPreference == null || lotsByPreference.isEmpty()) {
+            throw new IllegalArgumentException("At least one parking lot is required");
+        }
+        this.lots = Collections.unmodifiableList(new ArrayList<>(lotsByPreference));
+        this.observers = new ArrayList<>(lots.size());
+        this.availability = new AtomicLongArray(lots.size());
+        this.totalAvailability = new AtomicIntegerArray(lots.size());
+
+        int base = 1;
+        while (base < lots.size()) {
+            base <<= 1;
+        }
+        this.leafBase = base;
+        this.nodes = new AtomicLongArray(2 * base);
+
+        for (int i = 0; i < lots.size(); i++) {
+            ParkingObserver observer = new AvailabilityObserver(i);
+            observers.add(observer);
+            lots.get(i).addObserver(observer);
+            refresh(i);
+        }
+    }
+
+    /**
+     * Creates a router that ranks lots by their distance from the entry point.
+     *
+     * @param distances The distance of each lot.
+     * @return The router.
+     */
+    public static LotRouter byDistance(Map<ParkingLot, Double> distances) {
+        List<Map.Entry<ParkingLot, Double>> entries = new ArrayList<>(distances.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+        List<ParkingLot> ranked = new ArrayList<>(entries.size());
+        for (Map.Entry<ParkingLot, Double> entry : entries) {
+            ranked.add(entry.getKey());
+        }
+        return new LotRouter(ranked);
+    }
+
+    /**
+     * Finds the nearest lot with a free spot the vehicle may use. Disabled vehicles
+     * go to the nearest lot with a free disabled bay, or else to the nearest lot
+     * with any spot they accept, as {@link ParkingLot} itself prefers disabled bays.
+     *
+     * @param vehicle The arriving vehicle.
+     * @return The lot, or null if every lot is full for this vehicle.
+     */
+    public ParkingLot route(Vehicle vehicle) {
+        return route(SpotCategory.vehicleClassOf(vehicle));
+    }
+
+    /**
+     * Finds the nearest lot with a free spot for a car that is not electric.
+     *
+     * @param disabled Whether the car belongs to a disabled person.
+     * @return The lot, or null if every lot is full for this car.
+     */
+    public ParkingLot route(boolean disabled) {
+        return route(SpotCategory.vehicleClassOf(false, false, disabled));
+    }
+
+    private ParkingLot route(int vehicleClass) {
+        boolean disabled = SpotCategory.preferencesFor(vehicleClass)[0] == SpotCategory.DISABLED;
+        int index = disabled ? findFirst(HAS_DISABLED) : -1;
+        if (index < 0) {
+            index = findFirst(1L << vehicleClass);
+        }
+        return index >= 0 ? lots.get(index) : null;
+    }
+
+    /**
+     * Gets the routed lots, nearest first.
+     *
+     * @return The lots.
+     */
+    public List<ParkingLot> getLots() {
+        return lots;
+    }
+
+    /**
+     * Gets the number of free spots a regular car may use at a lot, as last reported by the lot.
+     *
+     * @param rank The rank of the lot, 0 being the nearest.
+     * @return The number of free regular spots.
+     */
+    public int getAvailableRegularSpots(int rank) {
+        return (int) (availability.get(rank) >>> 32);
+    }
+
+    /**
+     * Gets the number of free disabled spots of a lot, as last reported by the lot.
+     *
+     * @param rank The rank of the lot, 0 being the nearest.
+     * @return The number of free disabled spots.
+     */
+    public int getAvailableDisabledSpots(int rank) {
+        return (int) availability.get(rank);
+    }
+
+    /**
+     * Gets the number of free spots across all lots.
+     *
+     * @return The number of free spots.
+     */
+    public int getTotalAvailableSpots() {
+        int total = 0;
+        for (int i = 0; i < lots.size(); i++) {
+            total += totalAvailability.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Stops observing the lots.
+     */
+    public void detach() {
+        for (int i = 0; i < lots.size(); i++) {
+            lots.get(i).removeObserver(observers.get(i));
+        }
+    }
+
+    /**
+     * Reads the free spots of a lot into its summary and updates the tree.
+     * Called from within the lot's status notification, so the counts are consistent.
+     */
+    private void refresh(int rank) {
+        ParkingLot lot = lots.get(rank);
+        int disabled = lot.getAvailableSpots(SpotCategory.DISABLED);
+        long bits = disabled > 0 ? HAS_DISABLED : 0;
+        for (int vehicleClass = 0; vehicleClass < SpotCategory.VEHICLE_CLASSES; vehicleClass++) {
+            if (lot.getAvailableSpotsFor(vehicleClass) > 0) {
+                bits |= 1L << vehicleClass;
+            }
+        }
+        int regular = lot.getAvailableSpotsFor(REGULAR_CLASS);
+        availability.set(rank, ((long) regular << 32) | (disabled & 0xFFFFFFFFL));
+        totalAvailability.set(rank, lot.getAvailableSpots());
+
+        int node = leafBase + rank;
+        updateNode(node, bits);
+        for (node >>>= 1; node >= 1; node >>>= 1) {
+            recompute(node);
+        }
+    }
+
+    /**
+     * Sets the bits of a node, bumping its version.
+     */
+    private void updateNode(int node, long bits) {
+        while (true) {
+            long current = nodes.get(node);
+            if (nodes.compareAndSet(node, current, next(current, bits))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recomputes an inner node from its children. The node is read before its
+     * children, and the versioned compare-and-set fails if another update
+     * wrote the node in between, so a stale result can never overwrite a fresh one.
+     * The version is bumped even when the bits stay the same: an update racing
+     * with a stale one must still make the stale compare-and-set fail, and the
+     * whole path to the root is recomputed for the same reason.
+     */
+    private void recompute(int node) {
+        while (true) {
+            long current = nodes.get(node);
+            long bits = (nodes.get(2 * node) | nodes.get(2 * node + 1)) & BITS_MASK;
+            if (nodes.compareAndSet(node, current, next(current, bits))) {
+                return;
+            }
+        }
+    }
+
+    private static long next(long current, long bits) {
+        return ((current & ~BITS_MASK) + VERSION_STEP) | bits;
+    }
+
+    /**
+     * Finds the nearest lot whose leaf has the specified bit.
+     *
+     * @return The rank of the lot, or -1 if there is none.
+     */
+    private int findFirst(long bit) {
+        for (int attempt = 0; attempt < MAX_QUERY_ATTEMPTS; attempt++) {
+            if ((nodes.get(1) & bit) == 0) {
+                return -1;
+            }
+            int node = 1;
+            while (node < leafBase) {
+                node = (nodes.get(2 * node) & bit) != 0 ? 2 * node : 2 * node + 1;
+            }
+            if ((nodes.get(node) & bit) != 0) {
+                return node - leafBase;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Refreshes the summary of one lot whenever its status changes.
+     */
+    private class AvailabilityObserver implements ParkingObserver {
+        private final int rank;
+
+        private AvailabilityObserver(int rank) {
+            this.rank = rank;
+        }
+
+        @Override
+        public void onVehicleEntry(String licensePlate, int spotId) {
+        }
+
+        @Override
+        public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+        }
+
+        @Override
+        public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+            refresh(rank);
+        }
+    }
+}
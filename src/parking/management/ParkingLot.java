@@ -1,215 +1,1072 @@
 package parking.management;
 
+import parking.config.ConfigSnapshot;
+import parking.config.ParkingConfig;
+import parking.core.HeapSpotStore;
+import parking.core.OffHeapSpotStore;
 import parking.core.Vehicle;
-import parking.core.ParkingSpot;
 import parking.core.ParkingSession;
+import parking.core.PlateRegistry;
+import parking.core.SessionTable;
+import parking.core.SpotCategory;
+import parking.core.SpotLayout;
+import parking.core.SpotStore;
+import parking.metrics.Counter;
+import parking.metrics.MetricsRegistry;
+import parking.metrics.Timer;
+import parking.patterns.observer.EventRingBuffer;
+import parking.patterns.observer.Flow;
+import parking.patterns.observer.ObserverGuard;
 import parking.patterns.observer.ParkingEventManager;
 import parking.patterns.observer.ParkingObserver;
+import parking.patterns.observer.ParkingStatusEvent;
+import parking.patterns.observer.PaymentEvent;
 import parking.patterns.observer.StatisticsObserver;
 import parking.patterns.observer.DisplayObserver;
+import parking.patterns.observer.VehicleEntryEvent;
+import parking.patterns.observer.VehicleExitEvent;
 import parking.reports.ParkingStatistics;
+import parking.util.IntIntHashMap;
+import parking.util.ParkingClock;
+import parking.util.TimerWheel;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
- * The {@code ParkingLot} class manages the parking spots and vehicles.
- * It follows the Singleton design pattern to ensure that only one instance exists.
+ * The {@code ParkingLot} class manages the parking spots and vehicles of one lot.
+ * Each lot has its own spots, sessions, statistics and event manager, and is
+ * obtained from the {@link ParkingLotRegistry} by lot ID. Changes to a lot are
+ * serialized on the lot itself, so traffic at different lots never contends.
+ * {@link #getInstance()} returns the default lot, for single-lot deployments.
+ * <p>
+ * Spots can be held for pre-booked vehicles with {@link Reservation}s. A held spot
+ * counts as unavailable, and expires through a {@link TimerWheel} when the lot's
+ * next operation finds its deadline passed, or on {@link #expireReservations()}.
+ * <p>
+ * In garbage-free mode, set by {@code parking.garbage.free}, the lot keeps no
+ * session history and shows no events on the console, so that once warmed up,
+ * parking with {@link #parkVehicle(Vehicle, boolean)} and leaving with
+ * {@link #removeVehicle(String, PricingCalculator)} create no objects.
  * 
  * @author Smart Parking System Team
  */
 public class ParkingLot {
 
-    /** The singleton instance of this class. */
-    private static ParkingLot instance;
+    /** The ID of the lot returned by {@link #getInstance()}. */
+    public static final String DEFAULT_LOT_ID = "default";
 
-    /** The total number of regular spots in this parking lot. */
-    private static final int REGULAR_SPOTS = 100;
+    /** The ID of this parking lot. */
+    private final String lotId;
 
-    /** The total number of disabled spots in this parking lot. */
-    private static final int DISABLED_SPOTS = 20;
+    /** The store holding the state of all spots in this parking lot. */
+    private final SpotStore spots;
 
-    /** The list of all spots in this parking lot. */
-    private final List<ParkingSpot> spots;
+    /** The free spots, indexed by category and level. */
+    private final SpotPools pools;
 
-    /** The list of current parking sessions. */
-    private final List<ParkingSession> currentSessions;
+    /** The current parking sessions, stored as a struct of arrays. */
+    private final SessionTable currentSessions;
 
-    /** The history of all completed parking sessions. */
+    /** Maps the interned plate ID of each parked vehicle to its session slot. */
+    private final IntIntHashMap sessionSlots;
+
+    /** The registry used to intern license plates. */
+    private final PlateRegistry plates;
+
+    /** The history of all completed parking sessions, kept unless the lot is garbage-free. */
     private final List<ParkingSession> sessionHistory;
 
+    /** Whether the lot avoids creating objects while parking and removing vehicles. */
+    private final boolean garbageFree;
+
+    /** The active holds, by interned plate ID and by spot ID. */
+    private final Map<Integer, Reservation> reservationsByPlate;
+    private final Map<Integer, Reservation> reservationsBySpot;
+
+    /** The class of regular cars, whose free spots are reported as regular spots. */
+    private static final int REGULAR_CLASS = SpotCategory.vehicleClassOf(false, false, false);
+
+    /** The length of a tick of the hold wheel, in milliseconds. */
+    private static final long HOLD_TICK_MILLIS = 1000;
+
+    /** Advances the hold wheels of lots with pending holds, so holds lapse on idle lots too. */
+    private static final ScheduledExecutorService HOLD_TICKER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "parking-hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Expires holds at their deadlines. */
+    private final TimerWheel<Reservation> holdExpiry;
+
+    /** The task advancing the hold wheel while the lot has holds, or null. */
+    private ScheduledFuture<?> holdTicker;
+
+    /** The number of held spots, and of held disabled spots, counted out of the available spots. */
+    private volatile int heldSpots;
+    private volatile int heldDisabledSpots;
+
     /** The event manager for notifying observers about parking events. */
     private final ParkingEventManager eventManager;
 
     /** The parking statistics for tracking. */
     private ParkingStatistics statistics;
 
+    /** The time taken to park and remove vehicles, and the arrivals no spot could be found for. */
+    private final Timer parkTimer;
+    private final Timer removeTimer;
+    private final Counter allocationFailures;
+
     /**
-     * Private constructor to prevent instantiation from outside.
-     * This is part of the Singleton design pattern.
+     * Constructs a new {@code ParkingLot}. Lots are created by the {@link ParkingLotRegistry}.
+     *
+     * @param lotId The ID of the lot.
      */
-    private ParkingLot() {
-        this.spots = new ArrayList<>();
-        this.currentSessions = new ArrayList<>();
+    ParkingLot(String lotId) {
+        this.lotId = lotId;
+        this.plates = PlateRegistry.getInstance();
+        this.sessionSlots = new IntIntHashMap();
+        ConfigSnapshot config = ParkingConfig.getInstance().getSnapshot();
+        this.garbageFree = config.isGarbageFree();
+        this.spots = createSpotStore(config.getSpotStore(), layoutOf(config));
+        this.pools = new SpotPools(spots,
+                AllocationPolicy.fromName(config.getSpotAllocation()).createStrategy());
+        this.currentSessions = new SessionTable(spots::getSpot);
         this.sessionHistory = new ArrayList<>();
-        this.eventManager = new ParkingEventManager();
-        initializeSpots();
+        this.reservationsByPlate = new HashMap<>();
+        this.reservationsBySpot = new HashMap<>();
+        this.holdExpiry = new TimerWheel<>(HOLD_TICK_MILLIS, 512, ParkingClock.currentTimeMillis());
+        this.eventManager = new ParkingEventManager(lotId);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.parkTimer = metrics.timer("parking_lot_park_seconds", "Time to park a vehicle", "lot", lotId);
+        this.removeTimer = metrics.timer("parking_lot_remove_seconds", "Time to remove a vehicle", "lot", lotId);
+        this.allocationFailures = metrics.counter("parking_lot_allocation_failures_total",
+                "Arrivals for which no accepted spot was free", "lot", lotId);
+        metrics.gauge("parking_lot_occupied_spots", "Occupied spots", this::getOccupiedSpots, "lot", lotId);
+        metrics.gauge("parking_lot_available_spots", "Available spots", this::getAvailableSpots, "lot", lotId);
+        metrics.gauge("parking_lot_held_spots", "Spots held for reservations", this::getHeldSpots, "lot", lotId);
     }
 
     /**
-     * Gets the singleton instance of this class.
+     * Gets the default parking lot.
      * 
-     * @return The singleton instance.
+     * @return The lot registered under {@link #DEFAULT_LOT_ID}.
      */
-    public static synchronized ParkingLot getInstance() {
-        if (instance == null) {
-            instance = new ParkingLot();
-        }
-        return instance;
+    public static ParkingLot getInstance() {
+        return ParkingLotRegistry.getInstance().getOrCreateLot(DEFAULT_LOT_ID);
     }
 
-    public void initialize(ParkingStatistics statistics) {
+    /**
+     * Gets the ID of this parking lot.
+     *
+     * @return The lot ID.
+     */
+    public String getLotId() {
+        return lotId;
+    }
+
+    /**
+     * Initializes this lot with new statistics and the standard observers,
+     * unless it is initialized already.
+     *
+     * @return The statistics of this lot.
+     * @see #initialize(ParkingStatistics)
+     */
+    public synchronized ParkingStatistics initialize() {
+        return statistics != null ? statistics : initialize(new ParkingStatistics());
+    }
+
+    /**
+     * Initializes this lot with statistics and the standard observers, once.
+     * A lot is shared by every facade bound to it, so later calls change
+     * nothing and return the statistics the lot already has; all facades then
+     * report the same numbers, and each event is observed once.
+     *
+     * @param statistics The statistics to use if the lot is not initialized yet.
+     * @return The statistics of this lot.
+     */
+    public synchronized ParkingStatistics initialize(ParkingStatistics statistics) {
+        if (this.statistics != null) {
+            return this.statistics;
+        }
         this.statistics = statistics;
         eventManager.addObserver(new StatisticsObserver(statistics));
-        eventManager.addObserver(new DisplayObserver());
+        if (!garbageFree) {
+            eventManager.addObserver(new DisplayObserver());
+        }
         notifyStatusChange();
+        return statistics;
     }
 
-    private void initializeSpots() {
-        for (int i = 1; i <= REGULAR_SPOTS; i++) {
-            spots.add(new ParkingSpot(i, false));
+    /**
+     * Gets whether the lot runs in garbage-free mode.
+     *
+     * @return true if the lot keeps no session history and shows no events on the console.
+     */
+    public boolean isGarbageFree() {
+        return garbageFree;
+    }
+
+    /**
+     * Gets the statistics this lot was initialized with. They are updated while
+     * this lot's monitor is held, so readers on other threads should hold it too.
+     *
+     * @return The statistics, or null if the lot has not been initialized.
+     */
+    public synchronized ParkingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the configured layout: {@code parking.spots.layout} if set, otherwise
+     * the configured regular spots followed by the disabled spots.
+     *
+     * @param config The configuration snapshot.
+     * @return The layout.
+     */
+    private static SpotLayout layoutOf(ConfigSnapshot config) {
+        if (!config.getSpotLayout().isEmpty()) {
+            return SpotLayout.parse(config.getSpotLayout());
         }
-        for (int i = REGULAR_SPOTS + 1; i <= REGULAR_SPOTS + DISABLED_SPOTS; i++) {
-            spots.add(new ParkingSpot(i, true));
+        return SpotLayout.standard(config.getRegularSpots(), config.getDisabledSpots());
+    }
+
+    /**
+     * Creates the spot store of the configured type.
+     * The off-heap store records the interned plate ID of each occupant,
+     * which identifies its active session in this lot.
+     *
+     * @param storeType The store type, {@code heap} or {@code offheap}.
+     * @param layout The layout of the spots.
+     * @return The spot store.
+     */
+    private SpotStore createSpotStore(String storeType, SpotLayout layout) {
+        if ("offheap".equalsIgnoreCase(storeType)) {
+            return new OffHeapSpotStore(layout,
+                    vehicle -> plates.lookup(vehicle.getLicensePlate()),
+                    this::findParkedVehicle);
         }
+        return new HeapSpotStore(layout);
+    }
+
+    /**
+     * Finds the parked vehicle with the specified plate ID.
+     *
+     * @param plateId The interned plate ID.
+     * @return The vehicle, or null if it is not parked here.
+     */
+    private Vehicle findParkedVehicle(long plateId) {
+        int slot = sessionSlots.get((int) plateId);
+        return slot != IntIntHashMap.NO_VALUE ? currentSessions.getVehicle(slot) : null;
     }
 
     public boolean parkVehicle(Vehicle vehicle, boolean isSubscription) {
-        if (vehicle == null) return false;
+        long start = parkTimer.start();
+        int slot = parkAndGetSlot(vehicle, isSubscription);
+        parkTimer.stop(start);
+        return slot >= 0;
+    }
 
-        for (ParkingSession session : currentSessions) {
-            if (session.getVehicle().getLicensePlate().equals(vehicle.getLicensePlate())) return false;
+    /**
+     * Parks a vehicle without a subscription.
+     *
+     * @param vehicle The vehicle to park.
+     * @return A copy of the new session, taken when the vehicle parked, or null
+     *         if the vehicle could not be parked.
+     */
+    public ParkingSession parkVehicle(Vehicle vehicle) {
+        long start = parkTimer.start();
+        ParkingSession session = parkAndCopy(vehicle);
+        parkTimer.stop(start);
+        return session;
+    }
+
+    private synchronized ParkingSession parkAndCopy(Vehicle vehicle) {
+        int slot = parkAndGetSlot(vehicle, false);
+        return slot >= 0 ? currentSessions.copy(slot) : null;
+    }
+
+    /**
+     * Parks a vehicle and opens its session.
+     *
+     * @param vehicle The vehicle to park.
+     * @param isSubscription Whether the vehicle parks on a subscription.
+     * @return The session slot, or -1 if the vehicle could not be parked.
+     */
+    private synchronized int parkAndGetSlot(Vehicle vehicle, boolean isSubscription) {
+        int slot = park(vehicle, isSubscription);
+        if (slot >= 0) {
+            notifyStatusChange();
         }
+        return slot;
+    }
 
-        ParkingSpot spot = findAvailableSpot(vehicle.isDisabled());
-        if (spot == null || !spot.parkVehicle(vehicle)) return false;
+    /**
+     * Parks a group of vehicles, for example plate reads buffered by a gate controller.
+     * The lot is locked once for the whole group, each vehicle gets its entry event,
+     * and a single status event reports the lot after the group.
+     *
+     * @param vehicles The vehicles to park.
+     * @param isSubscription Whether the vehicles park on a subscription.
+     * @return A copy of the session of each vehicle, or null for a vehicle that could
+     *         not be parked, in the order of the input.
+     */
+    public synchronized List<ParkingSession> parkVehicles(List<? extends Vehicle> vehicles, boolean isSubscription) {
+        List<ParkingSession> sessions = new ArrayList<>(vehicles.size());
+        boolean changed = false;
+        for (Vehicle vehicle : vehicles) {
+            int slot = park(vehicle, isSubscription);
+            sessions.add(slot >= 0 ? currentSessions.copy(slot) : null);
+            changed |= slot >= 0;
+        }
+        if (changed) {
+            notifyStatusChange();
+        }
+        return sessions;
+    }
+
+    /**
+     * Parks a vehicle and opens its session, without a status event.
+     *
+     * @param vehicle The vehicle to park.
+     * @param isSubscription Whether the vehicle parks on a subscription.
+     * @return The session slot, or -1 if the vehicle could not be parked.
+     */
+    private int park(Vehicle vehicle, boolean isSubscription) {
+        if (vehicle == null || vehicle.getLicensePlate() == null) return -1;
 
-        ParkingSession session = new ParkingSession(vehicle, spot, isSubscription);
-        currentSessions.add(session);
+        // Rejected vehicles only look their plate up, so they leave nothing in the registry
+        int plateId = plates.lookup(vehicle.getLicensePlate());
+        if (plateId != PlateRegistry.NO_ID && sessionSlots.containsKey(plateId)) return -1;
+
+        expireHolds();
+        boolean held = plateId != PlateRegistry.NO_ID && reservationsByPlate.containsKey(plateId);
+        int spotId = held ? -1 : pools.find(vehicle);
+        if (!held && spotId < 0) {
+            allocationFailures.increment();
+            return -1;
+        }
+
+        // The session holds a reference to the plate ID until the vehicle leaves
+        plateId = plates.intern(vehicle.getLicensePlate());
+        boolean occupied = false;
+        if (held) {
+            spotId = claimHeldSpot(plateId, vehicle);
+            occupied = spotId >= 0;
+            if (!occupied) {
+                spotId = pools.find(vehicle);
+            }
+        }
+        if (!occupied && (spotId < 0 || !spots.tryOccupy(spotId, vehicle))) {
+            plates.release(plateId);
+            allocationFailures.increment();
+            return -1;
+        }
+        pools.remove(spotId);
+
+        int slot = currentSessions.open(vehicle, plateId, spotId, isSubscription);
+        sessionSlots.put(plateId, slot);
 
         if (statistics != null) {
             statistics.recordVehicleType(vehicle);
         }
 
-        eventManager.notifyVehicleEntry(vehicle.getLicensePlate(), spot.getSpotId());
-        notifyStatusChange();
+        eventManager.notifyVehicleEntry(vehicle.getLicensePlate(), spotId);
 
-        return true;
+        return slot;
     }
 
-    public ParkingSession parkVehicle(Vehicle vehicle) {
-        if (parkVehicle(vehicle, false)) {
-            for (ParkingSession session : currentSessions) {
-                if (session.getVehicle().getLicensePlate().equals(vehicle.getLicensePlate())) {
-                    return session;
-                }
-            }
-        }
-        return null;
+    /**
+     * Parks a vehicle in the spot held for it, if any, ending the hold.
+     * If the held spot cannot take the vehicle, the hold ends anyway and
+     * the vehicle is parked like any other.
+     *
+     * @param plateId The interned plate ID of the vehicle.
+     * @param vehicle The vehicle.
+     * @return The spot ID, or -1 if no spot was held for the vehicle or it could not be used.
+     */
+    private int claimHeldSpot(int plateId, Vehicle vehicle) {
+        if (reservationsByPlate.isEmpty()) return -1;
+        Reservation reservation = reservationsByPlate.get(plateId);
+        if (reservation == null) return -1;
+        endHold(reservation);
+        int spotId = reservation.getSpotId();
+        return spots.tryOccupy(spotId, vehicle) ? spotId : -1;
     }
 
     public ParkingSession removeVehicle(String licensePlate) {
-        ParkingSession sessionToRemove = null;
-        for (ParkingSession session : currentSessions) {
-            if (session.getVehicle().getLicensePlate().equals(licensePlate)) {
-                sessionToRemove = session;
-                break;
-            }
+        long start = removeTimer.start();
+        ParkingSession session = removeAndNotify(licensePlate);
+        removeTimer.stop(start);
+        return session;
+    }
+
+    /**
+     * Removes a vehicle and charges its session in one step. Unlike
+     * {@link #removeVehicle(String)} followed by {@link #recordPayment}, no
+     * completed session is handed out, so in garbage-free mode nothing is created.
+     * Observers see the same events: the exit, the status change, and then the
+     * payment of a vehicle that does not park on a subscription.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param pricingCalculator Calculates the fee of the session.
+     * @return The fee, 0 for subscribers, or -1 if the vehicle is not parked here.
+     */
+    public double removeVehicle(String licensePlate, PricingCalculator pricingCalculator) {
+        long start = removeTimer.start();
+        double fee = removeAndCharge(licensePlate, pricingCalculator);
+        removeTimer.stop(start);
+        return fee;
+    }
+
+    private synchronized double removeAndCharge(String licensePlate, PricingCalculator pricingCalculator) {
+        return charge(licensePlate, pricingCalculator, true);
+    }
+
+    /**
+     * Removes a group of vehicles and charges their sessions under a single lock.
+     * Each vehicle gets its exit event followed by its payment event, and a
+     * single status event reports the lot after the group.
+     *
+     * @param licensePlates The license plates of the vehicles to remove.
+     * @param pricingCalculator Calculates the fee of each session.
+     * @return The fee of each vehicle, 0 for subscribers, or -1 for a vehicle
+     *         that is not parked here, in the order of the input.
+     */
+    public synchronized double[] removeVehicles(List<String> licensePlates, PricingCalculator pricingCalculator) {
+        double[] fees = new double[licensePlates.size()];
+        boolean changed = false;
+        for (int i = 0; i < fees.length; i++) {
+            fees[i] = charge(licensePlates.get(i), pricingCalculator, false);
+            changed |= fees[i] >= 0;
+        }
+        if (changed) {
+            notifyStatusChange();
         }
+        return fees;
+    }
 
-        if (sessionToRemove == null) return null;
+    /**
+     * Removes a vehicle, charges its session and publishes its exit and payment.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param pricingCalculator Calculates the fee of the session.
+     * @param notifyStatus Whether to publish the status change between the exit and the payment.
+     * @return The fee, 0 for subscribers, or -1 if the vehicle is not parked here.
+     */
+    private double charge(String licensePlate, PricingCalculator pricingCalculator, boolean notifyStatus) {
+        int slot = close(licensePlate);
+        if (slot < 0) return -1;
 
-        sessionToRemove.endSession();
-        ParkingSpot spot = sessionToRemove.getParkingSpot();
-        Vehicle vehicle = spot.removeVehicle();
-        if (vehicle == null) return null;
+        int spotId = currentSessions.getSpotId(slot);
+        double durationHours = currentSessions.getDurationHours(slot);
+        boolean subscription = currentSessions.isSubscription(slot);
+        String paidPlate = currentSessions.getVehicle(slot).getLicensePlate();
+        double fee = 0; // Subscribers don't pay per session
+        if (!subscription) {
+            fee = pricingCalculator.calculateFee(currentSessions.cursor(slot));
+            currentSessions.setFee(slot, fee);
+        }
+        retire(slot);
 
-        currentSessions.remove(sessionToRemove);
-        sessionHistory.add(sessionToRemove);
+        eventManager.notifyVehicleExit(licensePlate, spotId, durationHours, fee);
+        if (notifyStatus) {
+            notifyStatusChange();
+        }
+        if (!subscription) {
+            eventManager.notifyPayment(paidPlate, spotId, fee);
+        }
+        return fee;
+    }
+
+    private synchronized ParkingSession removeAndNotify(String licensePlate) {
+        ParkingSession session = remove(licensePlate);
+        if (session != null) {
+            notifyStatusChange();
+        }
+        return session;
+    }
+
+    /**
+     * Removes a group of vehicles, closing their sessions under a single lock.
+     * Each vehicle gets its exit event, and a single status event reports the
+     * lot after the group.
+     *
+     * @param licensePlates The license plates of the vehicles to remove.
+     * @return The completed session of each vehicle, or null for a vehicle that
+     *         is not parked here, in the order of the input.
+     */
+    public synchronized List<ParkingSession> removeVehicles(List<String> licensePlates) {
+        List<ParkingSession> sessions = new ArrayList<>(licensePlates.size());
+        boolean changed = false;
+        for (String licensePlate : licensePlates) {
+            ParkingSession session = remove(licensePlate);
+            sessions.add(session);
+            changed |= session != null;
+        }
+        if (changed) {
+            notifyStatusChange();
+        }
+        return sessions;
+    }
+
+    /**
+     * Removes a vehicle and closes its session, without a status event.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @return The completed session, or null if the vehicle is not parked here.
+     */
+    private ParkingSession remove(String licensePlate) {
+        int slot = close(licensePlate);
+        if (slot < 0) return null;
+
+        int spotId = currentSessions.getSpotId(slot);
+        ParkingSession sessionToRemove = currentSessions.release(slot);
+        if (!garbageFree) {
+            sessionHistory.add(sessionToRemove);
+        }
 
         double durationHours = sessionToRemove.getDurationHours();
         double payment = sessionToRemove.getAmountPaid();
 
-        eventManager.notifyVehicleExit(licensePlate, spot.getSpotId(), durationHours, payment);
-        notifyStatusChange();
+        eventManager.notifyVehicleExit(licensePlate, spotId, durationHours, payment);
 
         return sessionToRemove;
     }
 
-    private ParkingSpot findAvailableSpot(boolean isDisabled) {
-        for (ParkingSpot spot : spots) {
-            if (!spot.isOccupied() && spot.isDisabledSpot() == isDisabled) return spot;
-        }
+    /**
+     * Frees the spot of a vehicle and ends its session. The session is only
+     * ended once the spot is released, so a failed release leaves it open.
+     * The slot still holds the session, for the caller to release.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @return The session slot, or -1 if the vehicle is not parked here.
+     */
+    private int close(String licensePlate) {
+        expireHolds();
+        int plateId = plates.lookup(licensePlate);
+        int slot = sessionSlots.get(plateId);
+        if (slot == IntIntHashMap.NO_VALUE) return -1;
 
-        if (isDisabled) {
-            for (ParkingSpot spot : spots) {
-                if (!spot.isOccupied() && !spot.isDisabledSpot()) return spot;
-            }
+        int spotId = currentSessions.getSpotId(slot);
+        Vehicle vehicle = spots.release(spotId);
+        if (vehicle == null) return -1;
+        currentSessions.end(slot);
+        if (spots.isAvailable(spotId)) {
+            pools.add(spotId);
         }
 
-        return null;
+        sessionSlots.remove(plateId);
+        plates.release(plateId);
+        return slot;
     }
 
-    public double getOccupancyPercentage() {
-        int totalSpots = spots.size();
-        int occupiedSpots = 0;
-        for (ParkingSpot spot : spots) {
-            if (spot.isOccupied()) occupiedSpots++;
+    /**
+     * Releases the slot of a closed session, adding the session to the history
+     * unless the lot is garbage-free.
+     *
+     * @param slot The session slot.
+     */
+    private void retire(int slot) {
+        if (garbageFree) {
+            currentSessions.discard(slot);
+        } else {
+            sessionHistory.add(currentSessions.release(slot));
         }
-        return (double) occupiedSpots / totalSpots * 100;
+    }
+
+    public double getOccupancyPercentage() {
+        int totalSpots = getTotalSpots();
+        return totalSpots > 0 ? (double) spots.getOccupiedCount() / totalSpots * 100 : 0;
+    }
+
+    /**
+     * Gets the number of spots in service: open spots, plus closed spots
+     * that are still occupied until their vehicles leave.
+     *
+     * @return The number of spots in service.
+     */
+    public int getTotalSpots() {
+        return spots.getAvailableCount() + spots.getOccupiedCount();
     }
 
     public int getAvailableSpots() {
-        int availableSpots = 0;
-        for (ParkingSpot spot : spots) {
-            if (!spot.isOccupied()) availableSpots++;
-        }
-        return availableSpots;
+        return spots.getAvailableCount() - heldSpots;
     }
 
     public int getOccupiedSpots() {
-        return spots.size() - getAvailableSpots();
+        return spots.getOccupiedCount();
+    }
+
+    /**
+     * Gets the number of free spots a regular car may park in, held spots excluded.
+     * Bays reserved for motorcycles, electric vehicles or disabled persons are not counted.
+     *
+     * @return The number of free regular spots.
+     */
+    public int getAvailableRegularSpots() {
+        return getAvailableSpotsFor(REGULAR_CLASS);
+    }
+
+    /**
+     * Gets the number of free spots designated for disabled persons, without scanning.
+     *
+     * @return The number of free disabled spots.
+     */
+    public int getAvailableDisabledSpots() {
+        return spots.getAvailableDisabledCount() - heldDisabledSpots;
+    }
+
+    /**
+     * Gets the number of spots held for reservations, without scanning.
+     *
+     * @return The number of held spots.
+     */
+    public int getHeldSpots() {
+        return heldSpots;
+    }
+
+    /**
+     * Holds a free spot of a category for a vehicle until a deadline.
+     * The spot is chosen like a spot for an arriving vehicle.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param category The category of the spot to hold.
+     * @param deadlineMillis The time the hold expires, in epoch milliseconds.
+     * @return The reservation, or null if no spot of the category is free, or the
+     *         vehicle is already parked or holds a spot.
+     */
+    public synchronized Reservation reserve(String licensePlate, SpotCategory category, long deadlineMillis) {
+        expireHolds();
+        if (!canReserve(licensePlate)) return null;
+        int spotId = pools.findIn(category);
+        return spotId >= 0 ? hold(licensePlate, spotId, deadlineMillis) : null;
+    }
+
+    /**
+     * Holds a specific spot for a vehicle until a deadline.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param spotId The spot to hold.
+     * @param deadlineMillis The time the hold expires, in epoch milliseconds.
+     * @return The reservation, or null if the spot is not free, or the vehicle
+     *         is already parked or holds a spot.
+     */
+    public synchronized Reservation reserveSpot(String licensePlate, int spotId, long deadlineMillis) {
+        expireHolds();
+        if (!canReserve(licensePlate) || spotId < 1 || spotId > spots.getSpotCount()
+                || !spots.isAvailable(spotId) || reservationsBySpot.containsKey(spotId)) {
+            return null;
+        }
+        return hold(licensePlate, spotId, deadlineMillis);
+    }
+
+    /**
+     * Gets the active reservation of a vehicle.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @return The reservation, or null if no spot is held for the vehicle.
+     */
+    public synchronized Reservation getReservation(String licensePlate) {
+        expireHolds();
+        return reservationsByPlate.get(plates.lookup(licensePlate));
+    }
+
+    /**
+     * Cancels the reservation of a vehicle and frees the held spot.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @return true if a reservation was cancelled.
+     */
+    public synchronized boolean cancelReservation(String licensePlate) {
+        expireHolds();
+        Reservation reservation = reservationsByPlate.get(plates.lookup(licensePlate));
+        if (reservation == null) return false;
+        endHold(reservation);
+        notifyStatusChange();
+        return true;
+    }
+
+    /**
+     * Frees the spots of all reservations whose deadline has passed.
+     * Lots also do this at the start of every operation and, while they
+     * hold spots, once per tick of the hold wheel in the background, so
+     * holds lapse and observers hear of it even when the lot sees no traffic.
+     *
+     * @return The number of expired reservations.
+     */
+    public synchronized int expireReservations() {
+        return expireHolds();
+    }
+
+    private boolean canReserve(String licensePlate) {
+        if (licensePlate == null) return false;
+        int plateId = plates.lookup(licensePlate);
+        return plateId == PlateRegistry.NO_ID
+                || !reservationsByPlate.containsKey(plateId) && !sessionSlots.containsKey(plateId);
+    }
+
+    private Reservation hold(String licensePlate, int spotId, long deadlineMillis) {
+        Reservation reservation = new Reservation(licensePlate, spotId, spots.getCategory(spotId), deadlineMillis);
+        reservation.setExpiry(holdExpiry.schedule(reservation, deadlineMillis));
+        if (holdTicker == null) {
+            holdTicker = HOLD_TICKER.scheduleWithFixedDelay(this::expireReservations,
+                    HOLD_TICK_MILLIS, HOLD_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        reservationsByPlate.put(plates.intern(licensePlate), reservation);
+        reservationsBySpot.put(spotId, reservation);
+        pools.remove(spotId);
+        heldSpots++;
+        if (reservation.getCategory() == SpotCategory.DISABLED) {
+            heldDisabledSpots++;
+        }
+        notifyStatusChange();
+        return reservation;
+    }
+
+    /**
+     * Ends a hold and returns its spot to the free pools if it is still open.
+     */
+    private void endHold(Reservation reservation) {
+        int spotId = reservation.getSpotId();
+        holdExpiry.cancel(reservation.getExpiry());
+        stopHoldTickerIfIdle();
+        int plateId = plates.lookup(reservation.getLicensePlate());
+        reservationsByPlate.remove(plateId);
+        plates.release(plateId);
+        reservationsBySpot.remove(spotId);
+        heldSpots--;
+        if (reservation.getCategory() == SpotCategory.DISABLED) {
+            heldDisabledSpots--;
+        }
+        if (spots.isAvailable(spotId)) {
+            pools.add(spotId);
+        }
+    }
+
+    private int expireHolds() {
+        if (holdExpiry.size() == 0) return 0;
+        int expired = holdExpiry.advance(ParkingClock.currentTimeMillis(), this::endHold);
+        if (expired > 0) {
+            notifyStatusChange();
+        }
+        return expired;
+    }
+
+    /**
+     * Stops advancing the hold wheel in the background once no holds are left.
+     */
+    private void stopHoldTickerIfIdle() {
+        if (holdTicker != null && holdExpiry.size() == 0) {
+            holdTicker.cancel(false);
+            holdTicker = null;
+        }
+    }
+
+    /**
+     * Gets the number of free spots of a category.
+     *
+     * @param category The category.
+     * @return The number of free spots.
+     */
+    public synchronized int getAvailableSpots(SpotCategory category) {
+        return pools.getAvailable(category);
     }
 
-    public List<ParkingSession> getCurrentSessions() {
-        return new ArrayList<>(currentSessions);
+    /**
+     * Gets the number of free spots a vehicle of a class may park in, held spots excluded.
+     *
+     * @param vehicleClass The vehicle class, see {@link SpotCategory#vehicleClassOf(Vehicle)}.
+     * @return The number of free spots accepted by the class.
+     */
+    public synchronized int getAvailableSpotsFor(int vehicleClass) {
+        int available = 0;
+        for (SpotCategory category : SpotCategory.preferencesFor(vehicleClass)) {
+            available += pools.getAvailable(category);
+        }
+        return available;
+    }
+
+    /**
+     * Gets the number of free spots a vehicle may park in, held spots excluded.
+     *
+     * @param vehicle The vehicle.
+     * @return The number of free spots accepted by the vehicle.
+     */
+    public int getAvailableSpots(Vehicle vehicle) {
+        return getAvailableSpotsFor(SpotCategory.vehicleClassOf(vehicle));
     }
 
-    public List<ParkingSession> getSessionHistory() {
+    /**
+     * Gets the number of free spots of a category on one level.
+     *
+     * @param category The category.
+     * @param level The level.
+     * @return The number of free spots.
+     */
+    public synchronized int getAvailableSpots(SpotCategory category, int level) {
+        return pools.getAvailable(category, level);
+    }
+
+    /**
+     * Gets the strategy choosing which free spot a vehicle gets.
+     *
+     * @return The allocation strategy.
+     */
+    public synchronized AllocationStrategy getAllocationStrategy() {
+        return pools.getStrategy();
+    }
+
+    /**
+     * Replaces the strategy choosing which free spot a vehicle gets.
+     * Parked vehicles are not moved.
+     *
+     * @param strategy The allocation strategy; it must not be shared with another lot.
+     */
+    public synchronized void setAllocationStrategy(AllocationStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Allocation strategy cannot be null");
+        }
+        pools.setStrategy(strategy);
+        for (int spotId : reservationsBySpot.keySet()) {
+            pools.remove(spotId);
+        }
+    }
+
+    /**
+     * Adds a range of spots, for example when a level opens.
+     *
+     * @param count The number of spots to add.
+     * @param disabled Whether the new spots are designated for disabled persons.
+     * @return The ID of the first new spot; the range is contiguous.
+     * @throws IllegalArgumentException if the count is not positive.
+     */
+    public int addSpots(int count, boolean disabled) {
+        return addSpots(count, disabled ? SpotCategory.DISABLED : SpotCategory.STANDARD, 0, 0);
+    }
+
+    /**
+     * Adds a range of spots of one category in one zone of a level.
+     *
+     * @param count The number of spots to add.
+     * @param category The category of the new spots.
+     * @param level The level of the new spots.
+     * @param zone The zone of the new spots within their level.
+     * @return The ID of the first new spot; the range is contiguous.
+     * @throws IllegalArgumentException if the count is not positive.
+     */
+    public synchronized int addSpots(int count, SpotCategory category, int level, int zone) {
+        int firstSpotId = spots.addSpots(count, category, level, zone);
+        for (int spotId = firstSpotId; spotId < firstSpotId + count; spotId++) {
+            pools.add(spotId);
+        }
+        notifyStatusChange();
+        return firstSpotId;
+    }
+
+    /**
+     * Takes a range of spots out of service, for example when a level closes.
+     * Vehicles parked there are not affected and can leave as usual;
+     * no new vehicle is parked in the range, and holds on spots in the range end.
+     *
+     * @param firstSpotId The first spot ID of the range.
+     * @param lastSpotId The last spot ID of the range, inclusive.
+     * @return The number of spots taken out of service.
+     * @throws IllegalArgumentException if the range is invalid.
+     */
+    public synchronized int removeSpots(int firstSpotId, int lastSpotId) {
+        int closed = spots.closeSpots(firstSpotId, lastSpotId);
+        for (int spotId = firstSpotId; spotId <= lastSpotId; spotId++) {
+            Reservation reservation = reservationsBySpot.isEmpty() ? null : reservationsBySpot.get(spotId);
+            if (reservation != null) {
+                endHold(reservation);
+            }
+            pools.remove(spotId);
+        }
+        notifyStatusChange();
+        return closed;
+    }
+
+    /**
+     * Puts a range of spots that was removed back into service.
+     *
+     * @param firstSpotId The first spot ID of the range.
+     * @param lastSpotId The last spot ID of the range, inclusive.
+     * @return The number of spots put back into service.
+     * @throws IllegalArgumentException if the range is invalid.
+     */
+    public synchronized int restoreSpots(int firstSpotId, int lastSpotId) {
+        int opened = spots.openSpots(firstSpotId, lastSpotId);
+        for (int spotId = firstSpotId; spotId <= lastSpotId; spotId++) {
+            if (spots.isAvailable(spotId) && !reservationsBySpot.containsKey(spotId)) {
+                pools.add(spotId);
+            }
+        }
+        notifyStatusChange();
+        return opened;
+    }
+
+    /**
+     * Gets the active sessions of this lot.
+     *
+     * @return Copies of the sessions, taken under the lot's lock, which stay
+     *         readable after the vehicles leave.
+     */
+    public synchronized List<ParkingSession> getCurrentSessions() {
+        return currentSessions.copies();
+    }
+
+    /**
+     * Gets the completed sessions of this lot.
+     *
+     * @return A copy of the history, which is empty if the lot is garbage-free.
+     */
+    public synchronized List<ParkingSession> getSessionHistory() {
         return new ArrayList<>(sessionHistory);
     }
 
-    public void addObserver(ParkingObserver observer) {
+    public synchronized void addObserver(ParkingObserver observer) {
         eventManager.addObserver(observer);
     }
 
-    public void removeObserver(ParkingObserver observer) {
+    /**
+     * Adds an observer that runs on its own thread, waiting at most a timeout
+     * for each call, so that a hung observer cannot stall the gate.
+     *
+     * @param observer The observer to add.
+     * @param timeoutMillis The timeout of each call in milliseconds.
+     */
+    public synchronized void addObserver(ParkingObserver observer, long timeoutMillis) {
+        eventManager.addObserver(observer, timeoutMillis);
+    }
+
+    public synchronized void removeObserver(ParkingObserver observer) {
         eventManager.removeObserver(observer);
     }
 
+    /**
+     * Removes the console display observers of this lot. Servers and load runs
+     * call this, since nobody watches the console and the displays would print
+     * every event while holding the lot.
+     *
+     * @return The removed observers, for adding back later.
+     */
+    public synchronized List<ParkingObserver> detachDisplays() {
+        List<ParkingObserver> detached = new ArrayList<>();
+        for (ObserverGuard guard : eventManager.getObserverGuards()) {
+            if (guard.getObserver() instanceof DisplayObserver) {
+                eventManager.removeObserver(guard.getObserver());
+                detached.add(guard.getObserver());
+            }
+        }
+        return detached;
+    }
+
+    /**
+     * Gets the guards of the observers of this lot, with their failure counts,
+     * timings and circuit state.
+     *
+     * @return The observer guards.
+     */
+    public synchronized List<ObserverGuard> getObserverGuards() {
+        return eventManager.getObserverGuards();
+    }
+
+    /**
+     * Gets the stream of vehicle entries at this lot. Subscribers are called
+     * asynchronously and never slow down parking.
+     *
+     * @return The publisher of entry events.
+     */
+    public Flow.Publisher<VehicleEntryEvent> getEntryEvents() {
+        return eventManager.getEntryEvents();
+    }
+
+    /**
+     * Gets the stream of vehicle exits at this lot.
+     *
+     * @return The publisher of exit events.
+     */
+    public Flow.Publisher<VehicleExitEvent> getExitEvents() {
+        return eventManager.getExitEvents();
+    }
+
+    /**
+     * Gets the stream of payments at this lot.
+     *
+     * @return The publisher of payment events.
+     */
+    public Flow.Publisher<PaymentEvent> getPaymentEvents() {
+        return eventManager.getPaymentEvents();
+    }
+
+    /**
+     * Starts copying every event of this lot into a ring buffer of preallocated
+     * slots, for a consumer that must not create garbage.
+     *
+     * @param capacity The number of slots.
+     * @return The ring buffer, for the consumer to drain.
+     */
+    public EventRingBuffer enableEventRingBuffer(int capacity) {
+        return eventManager.enableRingBuffer(capacity);
+    }
+
+    /**
+     * Records the payment of a completed session and publishes it.
+     *
+     * @param session The completed session.
+     * @param amount The amount paid.
+     */
+    public synchronized void recordPayment(ParkingSession session, double amount) {
+        session.recordPayment(amount);
+        eventManager.notifyPayment(session.getVehicle().getLicensePlate(),
+                session.getParkingSpot().getSpotId(), amount);
+    }
+
+    /**
+     * Gets the stream of status changes of this lot.
+     *
+     * @return The publisher of status events.
+     */
+    public Flow.Publisher<ParkingStatusEvent> getStatusEvents() {
+        return eventManager.getStatusEvents();
+    }
+
     private void notifyStatusChange() {
         eventManager.notifyParkingStatusChange(
-            spots.size(),
+            getTotalSpots(),
             getOccupiedSpots(),
             getAvailableSpots()
         );
     }
 
-    public void reset() {
-        currentSessions.clear();
-        for (ParkingSpot spot : spots) {
-            spot.vacate();
+    public synchronized void reset() {
+        for (int slot = 0; slot < currentSessions.highWater(); slot++) {
+            if (currentSessions.isInUse(slot) && currentSessions.getExitMillis(slot) == ParkingSession.NO_EXIT_TIME) {
+                plates.release(currentSessions.getPlateId(slot));
+            }
         }
+        for (int plateId : reservationsByPlate.keySet()) {
+            plates.release(plateId);
+        }
+        currentSessions.clear();
+        sessionSlots.clear();
+        holdExpiry.clear();
+        stopHoldTickerIfIdle();
+        reservationsByPlate.clear();
+        reservationsBySpot.clear();
+        heldSpots = 0;
+        heldDisabledSpots = 0;
+        spots.vacateAll();
+        pools.rebuild();
         notifyStatusChange();
     }
 }
@@ -0,0 +1,119 @@
+package parking.management;
+
+import parking.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@code ParkingLotRegistry} class holds the parking lots operated by this
+ * process, keyed by lot ID. Every lot is fully isolated: it has its own spots,
+ * sessions, statistics and event manager. Lookups are lock-free, and each lot
+ * serializes only its own changes, so throughput grows with the number of cores
+ * when traffic is spread across lots.
+ * This follows the Singleton design pattern.
+ *
+ * @author Smart Parking System Team
+ */
+public class ParkingLotRegistry {
+    /** The singleton instance of this class. */
+    private static ParkingLotRegistry instance;
+
+    /** The registered lots, keyed by lot ID. */
+    private final ConcurrentMap<String, ParkingLot> lots;
+
+    /**
+     * Private constructor to prevent instantiation from outside.
+     */
+    private ParkingLotRegistry() {
+        this.lots = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the singleton instance of this class.
+     *
+     * @return The singleton instance.
+     */
+    public static synchronized ParkingLotRegistry getInstance() {
+        if (instance == null) {
+            instance = new ParkingLotRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a lot, creating it if it does not exist yet.
+     *
+     * @param lotId The lot ID.
+     * @return The parking lot.
+     * @throws IllegalArgumentException if the lot ID is null or empty.
+     */
+    public ParkingLot getOrCreateLot(String lotId) {
+        ParkingLot lot = lots.get(checkLotId(lotId));
+        return lot != null ? lot : lots.computeIfAbsent(lotId, ParkingLot::new);
+    }
+
+    /**
+     * Gets an existing lot.
+     *
+     * @param lotId The lot ID.
+     * @return The parking lot, or null if no lot has this ID.
+     */
+    public ParkingLot getLot(String lotId) {
+        return lotId != null ? lots.get(lotId) : null;
+    }
+
+    /**
+     * Removes a lot from the registry, together with its metrics, whose gauges
+     * would otherwise keep the lot reachable.
+     *
+     * @param lotId The lot ID.
+     * @return The removed lot, or null if no lot had this ID.
+     */
+    public ParkingLot removeLot(String lotId) {
+        ParkingLot lot = lotId != null ? lots.remove(lotId) : null;
+        if (lot != null) {
+            MetricsRegistry.getInstance().removeByLabel("lot", lotId);
+        }
+        return lot;
+    }
+
+    /**
+     * Gets the IDs of all registered lots, in sorted order.
+     *
+     * @return The lot IDs.
+     */
+    public List<String> getLotIds() {
+        List<String> lotIds = new ArrayList<>(lots.keySet());
+        Collections.sort(lotIds);
+        return lotIds;
+    }
+
+    /**
+     * Gets all registered lots.
+     *
+     * @return The parking lots.
+     */
+    public List<ParkingLot> getLots() {
+        return new ArrayList<>(lots.values());
+    }
+
+    /**
+     * Gets the number of registered lots.
+     *
+     * @return The number of lots.
+     */
+    public int size() {
+        return lots.size();
+    }
+
+    private static String checkLotId(String lotId) {
+        if (lotId == null || lotId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Lot ID cannot be empty");
+        }
+        return lotId;
+    }
+}
@@ -1,16 +1,46 @@
 package parking.management;
 
+import parking.config.ConfigSnapshot;
+import parking.config.ParkingConfig;
+import parking.core.Motorcycle;
 import parking.core.ParkingSession;
+import parking.core.Vehicle;
+import parking.metrics.MetricsRegistry;
+import parking.metrics.Timer;
+import parking.patterns.factory.VehicleType;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * The {@code PricingCalculator} class calculates parking fees based on
  * duration, vehicle type, and disability status.
+ * Rates and free hours come from the current {@link ConfigSnapshot}, read once
+ * per calculation without locking, so a configuration reload takes effect on
+ * the next fee and a single fee never mixes old and new values.
  *
  * @author Smart Parking System Team
  */
 public class PricingCalculator {
-    /** The number of free hours at the beginning of parking. */
-    private static final double FREE_HOURS = 2.0;
+    /** The number of sessions below which a parallel batch is not split further. */
+    private static final int BATCH_SPLIT_THRESHOLD = 4096;
+
+    /** The configuration whose snapshots supply rates and free hours. */
+    private final ParkingConfig config;
+
+    /** The time taken per fee and per batch of fees. */
+    private final Timer feeTimer;
+    private final Timer batchTimer;
+
+    /**
+     * Constructs a new {@code PricingCalculator} that follows the global configuration.
+     */
+    public PricingCalculator() {
+        this.config = ParkingConfig.getInstance();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.feeTimer = metrics.timer("parking_pricing_fee_seconds", "Time to calculate the fee of a session");
+        this.batchTimer = metrics.timer("parking_pricing_batch_seconds", "Time to calculate a batch of fees");
+    }
 
     /**
      * Calculates the fee for a parking session.
@@ -19,19 +49,29 @@ public class PricingCalculator {
      * @return The calculated fee.
      */
     public double calculateFee(ParkingSession session) {
-        if (session == null || session.isSubscription()) {            return 0.0; // No fee for subscribers
+        long start = feeTimer.start();
+        double fee = fee(session);
+        feeTimer.stop(start);
+        return fee;
+    }
+
+    private double fee(ParkingSession session) {
+        if (session == null || session.isSubscription()) {
+            return 0.0; // No fee for subscribers
         }
 
+        ConfigSnapshot snapshot = config.getSnapshot();
         double durationHours = session.getDurationHours();
 
         // Apply free hours policy
-        durationHours -= FREE_HOURS;
+        durationHours -= snapshot.getFreeHours();
         if (durationHours <= 0) {
             return 0.0; // Within free period
         }
 
         // Calculate the base fee
-        double hourlyRate = session.getVehicle().getHourlyRate();
+        Vehicle vehicle = session.getVehicle();
+        double hourlyRate = hourlyRate(snapshot, typeOf(vehicle), vehicle.isDisabled());
 
         // Round up to nearest hour
         int chargableHours = (int) Math.ceil(durationHours);
@@ -62,7 +102,9 @@ public class PricingCalculator {
         double annualFee = typicalMonthlyUsage * 12 * 0.6; // 40% discount for annual subscription
 
         return annualFee;
-    }    /**
+    }
+
+    /**
      * Calculates the fee for a parking session with subscription discount.
      *
      * @param session The parking session to calculate the fee for.
@@ -86,4 +128,184 @@ public class PricingCalculator {
 
         return baseFee;
     }
-}
\ No newline at end of file
+
+    /**
+     * Recomputes the fees of a batch of sessions sequentially.
+     *
+     * @param batch The columnar session data.
+     * @return The per-session fees and a settlement summary.
+     */
+    public FeeBatchResult calculateFees(FeeBatch batch) {
+        return calculateFees(batch, false);
+    }
+
+    /**
+     * Recomputes the fees of a batch of sessions in a single pass over the columns.
+     * The fees follow the same rules as {@link #calculateFee(ParkingSession)}.
+     * When {@code parallel} is set, large batches are split across the common
+     * fork/join pool.
+     *
+     * @param batch The columnar session data.
+     * @param parallel Whether to compute the batch in parallel.
+     * @return The per-session fees and a settlement summary.
+     */
+    public FeeBatchResult calculateFees(FeeBatch batch, boolean parallel) {
+        long start = batchTimer.start();
+        double[] fees = new double[batch.size()];
+        Tariff tariff = new Tariff(config.getSnapshot());
+        FeeTotals totals;
+        if (parallel && batch.size() > BATCH_SPLIT_THRESHOLD) {
+            totals = ForkJoinPool.commonPool().invoke(new FeeTask(batch, tariff, fees, 0, batch.size()));
+        } else {
+            totals = computeFees(batch, tariff, fees, 0, batch.size());
+        }
+        batchTimer.stop(start);
+        return new FeeBatchResult(fees, totals.revenue, totals.charged, totals.free, totals.subscriptions);
+    }
+
+    /**
+     * Computes the fees of the sessions in the range [from, to) into {@code fees}.
+     *
+     * @param batch The columnar session data.
+     * @param tariff The rates and free hours to apply.
+     * @param fees The output array.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The totals of the range.
+     */
+    private static FeeTotals computeFees(FeeBatch batch, Tariff tariff, double[] fees, int from, int to) {
+        long[] entries = batch.getEntryMillis();
+        long[] exits = batch.getExitMillis();
+        VehicleType[] types = batch.getVehicleTypes();
+        boolean[] disabled = batch.getDisabled();
+        boolean[] subscription = batch.getSubscription();
+        double[] rates = tariff.rates;
+        double freeHours = tariff.freeHours;
+
+        FeeTotals totals = new FeeTotals();
+        for (int i = from; i < to; i++) {
+            if (subscription[i]) {
+                totals.subscriptions++;
+                continue;
+            }
+
+            // Whole minutes, matching the per-session calculation
+            double durationHours = ((exits[i] - entries[i]) / 60_000L) / 60.0 - freeHours;
+            if (durationHours <= 0) {
+                totals.free++;
+                continue;
+            }
+
+            double fee = rates[rateIndex(types[i], disabled[i])] * (int) Math.ceil(durationHours);
+            fees[i] = fee;
+            totals.revenue += fee;
+            totals.charged++;
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the position of a vehicle type's rate in the rate table.
+     *
+     * @param type The vehicle type.
+     * @param disabled Whether the vehicle belongs to a disabled person.
+     * @return The index into the rate table.
+     */
+    private static int rateIndex(VehicleType type, boolean disabled) {
+        return type.ordinal() * 2 + (disabled ? 1 : 0);
+    }
+
+    /**
+     * Gets the type of a vehicle.
+     *
+     * @param vehicle The vehicle.
+     * @return The vehicle type.
+     */
+    private static VehicleType typeOf(Vehicle vehicle) {
+        return vehicle instanceof Motorcycle ? VehicleType.MOTORCYCLE : VehicleType.CAR;
+    }
+
+    /**
+     * Gets the configured hourly rate of a vehicle type.
+     *
+     * @param snapshot The configuration snapshot.
+     * @param type The vehicle type.
+     * @param disabled Whether the vehicle belongs to a disabled person.
+     * @return The hourly rate.
+     */
+    private static double hourlyRate(ConfigSnapshot snapshot, VehicleType type, boolean disabled) {
+        if (type == VehicleType.MOTORCYCLE) {
+            return disabled ? snapshot.getMotorcycleDisabledHourlyRate() : snapshot.getMotorcycleHourlyRate();
+        }
+        return disabled ? snapshot.getCarDisabledHourlyRate() : snapshot.getCarHourlyRate();
+    }
+
+    /**
+     * The rates and free hours of one snapshot, laid out for batch computation.
+     */
+    private static class Tariff {
+        private final double[] rates;
+        private final double freeHours;
+
+        private Tariff(ConfigSnapshot snapshot) {
+            VehicleType[] types = VehicleType.values();
+            this.rates = new double[types.length * 2];
+            for (VehicleType type : types) {
+                rates[rateIndex(type, false)] = hourlyRate(snapshot, type, false);
+                rates[rateIndex(type, true)] = hourlyRate(snapshot, type, true);
+            }
+            this.freeHours = snapshot.getFreeHours();
+        }
+    }
+
+    /**
+     * Running totals of a batch computation.
+     */
+    private static class FeeTotals {
+        private double revenue;
+        private int charged;
+        private int free;
+        private int subscriptions;
+
+        private FeeTotals merge(FeeTotals other) {
+            revenue += other.revenue;
+            charged += other.charged;
+            free += other.free;
+            subscriptions += other.subscriptions;
+            return this;
+        }
+    }
+
+    /**
+     * Fork/join task that splits a batch range in halves until it is small
+     * enough to compute sequentially.
+     */
+    @SuppressWarnings("serial")
+    private static class FeeTask extends RecursiveTask<FeeTotals> {
+        private final FeeBatch batch;
+        private final Tariff tariff;
+        private final double[] fees;
+        private final int from;
+        private final int to;
+
+        private FeeTask(FeeBatch batch, Tariff tariff, double[] fees, int from, int to) {
+            this.batch = batch;
+            this.tariff = tariff;
+            this.fees = fees;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected FeeTotals compute() {
+            if (to - from <= BATCH_SPLIT_THRESHOLD) {
+                return computeFees(batch, tariff, fees, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            FeeTask left = new FeeTask(batch, tariff, fees, from, middle);
+            left.fork();
+            FeeTotals right = new FeeTask(batch, tariff, fees, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package parking.management;
+
+import parking.core.SpotCategory;
+import parking.util.TimerWheel;
+
+/**
+ * The {@code Reservation} class is a hold on a spot for a pre-booked vehicle.
+ * The spot is kept free for the vehicle until the deadline; when the vehicle
+ * arrives, parking it converts the hold into a session on the held spot.
+ * A hold that is not used by its deadline expires and the spot is freed.
+ *
+ * @author Smart Parking System Team
+ */
+public class Reservation {
+    /** The license plate of the vehicle the spot is held for. */
+    private final String licensePlate;
+
+    /** The held spot. */
+    private final int spotId;
+
+    /** The category of the held spot. */
+    private final SpotCategory category;
+
+    /** The time the hold expires, in epoch milliseconds. */
+    private final long deadlineMillis;
+
+    /** The pending expiry of this hold. */
+    private TimerWheel.Timeout<Reservation> expiry;
+
+    /**
+     * Constructs a new {@code Reservation}.
+     *
+     * @param licensePlate The license plate of the vehicle the spot is held for.
+     * @param spotId The held spot.
+     * @param category The category of the held spot.
+     * @param deadlineMillis The time the hold expires, in epoch milliseconds.
+     */
+    Reservation(String licensePlate, int spotId, SpotCategory category, long deadlineMillis) {
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+        this.category = category;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    public SpotCategory getCategory() {
+        return category;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    TimerWheel.Timeout<Reservation> getExpiry() {
+        return expiry;
+    }
+
+    void setExpiry(TimerWheel.Timeout<Reservation> expiry) {
+        this.expiry = expiry;
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation{" +
+                "licensePlate='" + licensePlate + '\'' +
+                ", spotId=" + spotId +
+                ", category=" + category +
+                ", deadlineMillis=" + deadlineMillis +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package parking.management;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RoundRobinStrategy} class chooses the next free spot after the one
+ * it chose last in the same pool, wrapping around at the end. Arrivals are spread
+ * along the aisle instead of piling up near the first spot.
+ *
+ * @author Smart Parking System Team
+ */
+public class RoundRobinStrategy implements AllocationStrategy {
+    /** The last spot ID chosen in each pool, indexed by pool index. */
+    private int[] cursors = new int[8];
+
+    @Override
+    public int select(SpotPools.Pool pool) {
+        int index = pool.getIndex();
+        if (index >= cursors.length) {
+            cursors = Arrays.copyOf(cursors, Math.max(cursors.length * 2, index + 1));
+        }
+        int spotId = pool.nextFree(cursors[index] + 1);
+        if (spotId < 0) {
+            spotId = pool.nextFree(0);
+        }
+        cursors[index] = spotId;
+        return spotId;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(cursors, 0);
+    }
+}
@@ -0,0 +1,338 @@
+package parking.management;
+
+import parking.core.SpotCategory;
+import parking.core.SpotStore;
+import parking.core.Vehicle;
+import parking.util.HierarchicalBitSet;
+
+/**
+ * The {@code SpotPools} class indexes the free spots of a lot by category and level,
+ * so that a spot honoring the vehicle's constraints and preferences is found
+ * without scanning. Each category keeps one pool of free spot IDs per level, and
+ * a summary of the levels that still have free spots. Levels are ranked nearest
+ * first: by distance from the entrance level 0, with ties going to the upper level.
+ * <p>
+ * Finding a spot walks the vehicle's preferred categories (a handful at most),
+ * takes the nearest level with a free spot in that category, and lets the
+ * {@link AllocationStrategy} pick a spot from the {@link Pool} of that level.
+ * Every step is a search in a {@link HierarchicalBitSet}, so the cost does not grow
+ * with the number of spots, levels or categories in use.
+ * <p>
+ * The pools mirror the spot store and must be told about every change:
+ * {@link #add(int)} when a spot becomes free and open, {@link #remove(int)} when it
+ * is taken or closed. This class is not thread-safe; the owning lot serializes access.
+ *
+ * @author Smart Parking System Team
+ */
+public class SpotPools {
+    private static final SpotCategory[] CATEGORIES = SpotCategory.values();
+
+    /** The spot store whose free spots are indexed. */
+    private final SpotStore spots;
+
+    /** The known levels, nearest first. */
+    private int[] levelsByRank;
+
+    /** The pools of each category on each level, indexed by category and level rank. */
+    private Pool[][] free;
+
+    /** The number of pools created so far. */
+    private int poolCount;
+
+    /** The strategy choosing a spot within a pool. */
+    private AllocationStrategy strategy;
+
+    /** The ranks of the levels with free spots, per category. */
+    private final HierarchicalBitSet[] levelsWithFree;
+
+    /** The number of free spots per category. */
+    private final int[] freeByCategory;
+
+    /**
+     * Constructs new {@code SpotPools} holding the currently free spots of a store,
+     * allocating first fit.
+     *
+     * @param spots The spot store.
+     */
+    public SpotPools(SpotStore spots) {
+        this(spots, new FirstFitStrategy());
+    }
+
+    /**
+     * Constructs new {@code SpotPools} holding the currently free spots of a store.
+     *
+     * @param spots The spot store.
+     * @param strategy The strategy choosing a spot within a pool.
+     */
+    public SpotPools(SpotStore spots, AllocationStrategy strategy) {
+        this.spots = spots;
+        this.strategy = strategy;
+        this.levelsByRank = new int[0];
+        this.free = new Pool[CATEGORIES.length][0];
+        this.levelsWithFree = new HierarchicalBitSet[CATEGORIES.length];
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            levelsWithFree[i] = new HierarchicalBitSet(64);
+        }
+        this.freeByCategory = new int[CATEGORIES.length];
+        rebuild();
+    }
+
+    /**
+     * Finds the best free spot for a vehicle, without taking it.
+     *
+     * @param vehicle The vehicle.
+     * @return The spot ID, or -1 if no accepted spot is free.
+     */
+    public int find(Vehicle vehicle) {
+        for (SpotCategory category : SpotCategory.preferencesFor(vehicle)) {
+            int spotId = findIn(category);
+            if (spotId > 0) {
+                return spotId;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the free spot of a category on the nearest level, without taking it.
+     *
+     * @param category The category.
+     * @return The spot ID, or -1 if no spot of the category is free.
+     */
+    public int findIn(SpotCategory category) {
+        int c = category.ordinal();
+        if (freeByCategory[c] == 0) {
+            return -1;
+        }
+        int rank = levelsWithFree[c].nextSetBit(0);
+        return strategy.select(free[c][rank]);
+    }
+
+    /**
+     * Records that a spot is free and open.
+     *
+     * @param spotId The spot ID.
+     */
+    public void add(int spotId) {
+        int c = spots.getCategory(spotId).ordinal();
+        int rank = rankOf(spots.getLevel(spotId));
+        Pool pool = free[c][rank];
+        if (pool == null) {
+            pool = new Pool(poolCount++, CATEGORIES[c], levelsByRank[rank], spotId + 1);
+            free[c][rank] = pool;
+        }
+        if (pool.spotIds.set(spotId)) {
+            freeByCategory[c]++;
+            levelsWithFree[c].set(rank);
+            strategy.spotFreed(pool, spotId);
+        }
+    }
+
+    /**
+     * Records that a spot is taken or closed.
+     *
+     * @param spotId The spot ID.
+     */
+    public void remove(int spotId) {
+        int c = spots.getCategory(spotId).ordinal();
+        int rank = rankOf(spots.getLevel(spotId));
+        Pool pool = free[c][rank];
+        if (pool != null && pool.spotIds.clear(spotId)) {
+            freeByCategory[c]--;
+            if (pool.spotIds.isEmpty()) {
+                levelsWithFree[c].clear(rank);
+            }
+            strategy.spotTaken(pool, spotId);
+        }
+    }
+
+    /**
+     * Re-indexes all spots from the store.
+     */
+    public void rebuild() {
+        strategy.reset();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            for (Pool pool : free[c]) {
+                if (pool != null) {
+                    pool.spotIds.clear();
+                }
+            }
+            levelsWithFree[c].clear();
+            freeByCategory[c] = 0;
+        }
+        int spotCount = spots.getSpotCount();
+        for (int spotId = 1; spotId <= spotCount; spotId++) {
+            if (spots.isAvailable(spotId)) {
+                add(spotId);
+            }
+        }
+    }
+
+    /**
+     * Gets the strategy choosing a spot within a pool.
+     *
+     * @return The strategy.
+     */
+    public AllocationStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Replaces the strategy choosing a spot within a pool, and re-indexes all spots
+     * so that the new strategy sees every free spot.
+     *
+     * @param strategy The strategy.
+     */
+    public void setStrategy(AllocationStrategy strategy) {
+        this.strategy = strategy;
+        rebuild();
+    }
+
+    /**
+     * Gets the number of free spots of a category.
+     *
+     * @param category The category.
+     * @return The number of free spots.
+     */
+    public int getAvailable(SpotCategory category) {
+        return freeByCategory[category.ordinal()];
+    }
+
+    /**
+     * Gets the number of free spots of a category on one level.
+     *
+     * @param category The category.
+     * @param level The level.
+     * @return The number of free spots.
+     */
+    public int getAvailable(SpotCategory category, int level) {
+        int rank = indexOfLevel(level);
+        Pool pool = rank >= 0 ? free[category.ordinal()][rank] : null;
+        return pool != null ? pool.getAvailable() : 0;
+    }
+
+    /**
+     * Gets the known levels, nearest first.
+     *
+     * @return The levels.
+     */
+    public int[] getLevels() {
+        return levelsByRank.clone();
+    }
+
+    private int indexOfLevel(int level) {
+        for (int rank = 0; rank < levelsByRank.length; rank++) {
+            if (levelsByRank[rank] == level) {
+                return rank;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the rank of a level, registering it if it is new.
+     * Levels are few, and a new level is rare, so both are done by a scan.
+     */
+    private int rankOf(int level) {
+        int rank = indexOfLevel(level);
+        return rank >= 0 ? rank : insertLevel(level);
+    }
+
+    private int insertLevel(int level) {
+        int rank = 0;
+        while (rank < levelsByRank.length && isNearer(levelsByRank[rank], level)) {
+            rank++;
+        }
+        int[] levels = new int[levelsByRank.length + 1];
+        System.arraycopy(levelsByRank, 0, levels, 0, rank);
+        levels[rank] = level;
+        System.arraycopy(levelsByRank, rank, levels, rank + 1, levelsByRank.length - rank);
+        levelsByRank = levels;
+
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            Pool[] pools = new Pool[levels.length];
+            System.arraycopy(free[c], 0, pools, 0, rank);
+            System.arraycopy(free[c], rank, pools, rank + 1, free[c].length - rank);
+            free[c] = pools;
+
+            levelsWithFree[c].clear();
+            for (int r = 0; r < pools.length; r++) {
+                if (pools[r] != null && !pools[r].spotIds.isEmpty()) {
+                    levelsWithFree[c].set(r);
+                }
+            }
+        }
+        return rank;
+    }
+
+    private static boolean isNearer(int level, int other) {
+        int distance = Math.abs(level);
+        int otherDistance = Math.abs(other);
+        return distance < otherDistance || (distance == otherDistance && level > other);
+    }
+
+    /**
+     * The {@code Pool} class holds the free spots of one category on one level.
+     * Allocation strategies pick their spot from a pool; each pool has a small,
+     * stable index that strategies can use to keep state per pool in arrays.
+     */
+    public final class Pool {
+        private final int index;
+        private final SpotCategory category;
+        private final int level;
+        private final HierarchicalBitSet spotIds;
+
+        private Pool(int index, SpotCategory category, int level, int capacity) {
+            this.index = index;
+            this.category = category;
+            this.level = level;
+            this.spotIds = new HierarchicalBitSet(capacity);
+        }
+
+        /**
+         * Gets the index of this pool, from 0 up to the number of pools created.
+         *
+         * @return The index.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public SpotCategory getCategory() {
+            return category;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        /**
+         * Gets the number of free spots in this pool.
+         *
+         * @return The number of free spots.
+         */
+        public int getAvailable() {
+            return spotIds.cardinality();
+        }
+
+        /**
+         * Finds the lowest free spot ID at or after a spot ID.
+         *
+         * @param fromSpotId The spot ID to start from, inclusive.
+         * @return The spot ID, or -1 if there is none.
+         */
+        public int nextFree(int fromSpotId) {
+            return spotIds.nextSetBit(fromSpotId);
+        }
+
+        /**
+         * Gets the zone of a spot.
+         *
+         * @param spotId The spot ID.
+         * @return The zone.
+         */
+        public int getZone(int spotId) {
+            return spots.getZone(spotId);
+        }
+    }
+}
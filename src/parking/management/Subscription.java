@@ -1,8 +1,14 @@
 package parking.management;
 
+import parking.core.PlateRegistry;
+import parking.util.IntIntHashMap;
+import parking.util.ParkingClock;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The Subscription class manages parking subscriptions.
@@ -31,6 +37,12 @@ public class Subscription {
     /** The list of all current subscriptions. */
     private static final List<Subscription> subscriptions = new ArrayList<>();
 
+    /** Index of all subscriptions by subscription ID. */
+    private static final Map<String, Subscription> subscriptionsById = new HashMap<>();
+
+    /** Maps interned plate ID to the position of its latest subscription in {@link #subscriptions}. */
+    private static final IntIntHashMap latestByPlate = new IntIntHashMap();
+
     /**
      * Constructs a new {@code Subscription} with the specified parameters.
      *
@@ -61,26 +73,27 @@ public class Subscription {
      * @param subscriptionType The type of subscription.
      * @return The subscription ID.
      */
-    public static String createSubscription(String licensePlate, String subscriberName, int months, SubscriptionType subscriptionType) {
+    public static synchronized String createSubscription(String licensePlate, String subscriberName, int months, SubscriptionType subscriptionType) {
         // Check if the vehicle already has an active subscription
-        for (Subscription sub : subscriptions) {
-            if (sub.licensePlate.equals(licensePlate) && sub.isActive()) {
-                sub.deactivate(); // Deactivate the old subscription
-                break;
-            }
+        int plateId = PlateRegistry.getInstance().intern(licensePlate);
+        int latest = latestByPlate.get(plateId);
+        if (latest != IntIntHashMap.NO_VALUE && subscriptions.get(latest).isActive()) {
+            subscriptions.get(latest).deactivate(); // Deactivate the old subscription
         }
 
         // Generate a unique subscription ID
         String subscriptionId = generateSubscriptionId(licensePlate);
 
         // Calculate dates
-        LocalDate startDate = LocalDate.now();
+        LocalDate startDate = LocalDate.now(ParkingClock.getClock());
         LocalDate endDate = startDate.plusMonths(months);
 
         // Create and store the new subscription
         Subscription subscription = new Subscription(
                 subscriptionId, licensePlate, subscriberName, startDate, endDate, subscriptionType);
         subscriptions.add(subscription);
+        subscriptionsById.put(subscriptionId, subscription);
+        latestByPlate.put(plateId, subscriptions.size() - 1);
 
         return subscriptionId;
     }
@@ -103,16 +116,15 @@ public class Subscription {
      * @param subscriptionId The subscription ID to check.
      * @return true if the subscription is valid, false otherwise.
      */
-    public static boolean isValidSubscription(String subscriptionId) {
-        for (Subscription sub : subscriptions) {
-            if (sub.subscriptionId.equals(subscriptionId) && sub.isActive()) {
-                // Check if the subscription has expired
-                if (LocalDate.now().isAfter(sub.endDate)) {
-                    sub.deactivate();
-                    return false;
-                }
-                return true;
+    public static synchronized boolean isValidSubscription(String subscriptionId) {
+        Subscription sub = subscriptionsById.get(subscriptionId);
+        if (sub != null && sub.isActive()) {
+            // Check if the subscription has expired
+            if (LocalDate.now(ParkingClock.getClock()).isAfter(sub.endDate)) {
+                sub.deactivate();
+                return false;
             }
+            return true;
         }
         return false;
     }
@@ -130,7 +142,7 @@ public class Subscription {
      * @return true if the subscription is active, false otherwise.
      */
     public boolean isActive() {
-        return active && !LocalDate.now().isAfter(endDate);
+        return active && !LocalDate.now(ParkingClock.getClock()).isAfter(endDate);
     }
 
     /**
@@ -0,0 +1,83 @@
+package parking.management;
+
+import parking.util.HierarchicalBitSet;
+
+import java.util.Arrays;
+
+/**
+ * The {@code ZoneBalancedStrategy} class chooses a spot in the zone of the pool with
+ * the most free spots, and the lowest free spot ID within that zone. Vehicles are
+ * spread over the zones of a level, which keeps traffic in the aisles even.
+ * Each pool keeps a free-spot set per zone; zones per level are few, so the
+ * emptiest zone is found by a scan over them.
+ *
+ * @author Smart Parking System Team
+ */
+public class ZoneBalancedStrategy implements AllocationStrategy {
+    /** The zones seen in each pool, indexed by pool index, then zone slot. */
+    private int[][] zones = new int[8][];
+
+    /** The free spots of each zone, indexed like {@link #zones}. */
+    private HierarchicalBitSet[][] freeByZone = new HierarchicalBitSet[8][];
+
+    @Override
+    public int select(SpotPools.Pool pool) {
+        HierarchicalBitSet[] pools = freeByZone[pool.getIndex()];
+        HierarchicalBitSet emptiest = pools[0];
+        for (int slot = 1; slot < pools.length; slot++) {
+            if (pools[slot].cardinality() > emptiest.cardinality()) {
+                emptiest = pools[slot];
+            }
+        }
+        return emptiest.nextSetBit(0);
+    }
+
+    @Override
+    public void spotFreed(SpotPools.Pool pool, int spotId) {
+        zonePool(pool, pool.getZone(spotId)).set(spotId);
+    }
+
+    @Override
+    public void spotTaken(SpotPools.Pool pool, int spotId) {
+        zonePool(pool, pool.getZone(spotId)).clear(spotId);
+    }
+
+    @Override
+    public void reset() {
+        for (HierarchicalBitSet[] pools : freeByZone) {
+            if (pools != null) {
+                for (HierarchicalBitSet zonePool : pools) {
+                    zonePool.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the free-spot set of a zone in a pool, registering the zone if it is new.
+     */
+    private HierarchicalBitSet zonePool(SpotPools.Pool pool, int zone) {
+        int index = pool.getIndex();
+        if (index >= zones.length) {
+            int length = Math.max(zones.length * 2, index + 1);
+            zones = Arrays.copyOf(zones, length);
+            freeByZone = Arrays.copyOf(freeByZone, length);
+        }
+        int[] known = zones[index];
+        if (known == null) {
+            known = new int[0];
+            freeByZone[index] = new HierarchicalBitSet[0];
+        }
+        for (int slot = 0; slot < known.length; slot++) {
+            if (known[slot] == zone) {
+                return freeByZone[index][slot];
+            }
+        }
+        int slot = known.length;
+        zones[index] = Arrays.copyOf(known, slot + 1);
+        zones[index][slot] = zone;
+        freeByZone[index] = Arrays.copyOf(freeByZone[index], slot + 1);
+        freeByZone[index][slot] = new HierarchicalBitSet(64);
+        return freeByZone[index][slot];
+    }
+}
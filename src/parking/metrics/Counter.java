@@ -0,0 +1,53 @@
+package parking.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code Counter} class is a metric that only goes up, such as the number
+ * of failed allocations. Increments are striped across cells, so threads
+ * counting at the same time do not contend, and are skipped while metrics are
+ * disabled.
+ *
+ * @author Smart Parking System Team
+ */
+public class Counter extends Metric {
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String help, String[] labels) {
+        super(name, help, labels);
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.COUNTER;
+    }
+
+    /**
+     * Adds one.
+     */
+    public void increment() {
+        if (MetricsRegistry.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Adds an amount.
+     *
+     * @param amount The amount, which should not be negative.
+     */
+    public void add(long amount) {
+        if (MetricsRegistry.isEnabled()) {
+            count.add(amount);
+        }
+    }
+
+    /**
+     * Gets the count.
+     *
+     * @return The count.
+     */
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,32 @@
+package parking.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * The {@code Gauge} class is a metric that is read when asked for, such as the
+ * number of occupied spots. It costs nothing until it is read.
+ *
+ * @author Smart Parking System Team
+ */
+public class Gauge extends Metric {
+    private final DoubleSupplier value;
+
+    Gauge(String name, String help, DoubleSupplier value, String[] labels) {
+        super(name, help, labels);
+        this.value = value;
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.GAUGE;
+    }
+
+    /**
+     * Reads the current value.
+     *
+     * @return The value.
+     */
+    public double get() {
+        return value.getAsDouble();
+    }
+}
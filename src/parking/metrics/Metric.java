@@ -0,0 +1,103 @@
+package parking.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The {@code Metric} class is the base of the metrics held by the
+ * {@link MetricsRegistry}. A metric has a name, a help text and optional labels
+ * given as name and value pairs, e.g. {@code lot=A}; the name and labels
+ * together identify it in the registry.
+ *
+ * @author Smart Parking System Team
+ */
+public abstract class Metric {
+    private final String name;
+    private final String help;
+    private final String[] labels;
+
+    /**
+     * Constructs a new {@code Metric}.
+     *
+     * @param name The name.
+     * @param help The help text.
+     * @param labels The label names and values, alternating.
+     * @throws IllegalArgumentException if the labels do not come in pairs.
+     */
+    Metric(String name, String help, String[] labels) {
+        checkLabels(labels);
+        this.name = name;
+        this.help = help;
+        this.labels = labels.clone();
+    }
+
+    /**
+     * Gets the type of this metric.
+     *
+     * @return The type.
+     */
+    public abstract MetricType getType();
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Gets the labels of this metric.
+     *
+     * @return The label names and values, alternating.
+     */
+    public String[] getLabels() {
+        return labels.clone();
+    }
+
+    /**
+     * Checks whether this metric carries a label.
+     *
+     * @param labelName The label name.
+     * @param labelValue The label value.
+     * @return true if the label is set to the value.
+     */
+    public boolean hasLabel(String labelName, String labelValue) {
+        for (int i = 0; i < labels.length; i += 2) {
+            if (labels[i].equals(labelName) && labels[i + 1].equals(labelValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the key identifying this metric in the registry: the name followed by
+     * the labels in braces, e.g. {@code parking_lot_park_seconds{lot=A}}.
+     *
+     * @return The key.
+     */
+    public String getKey() {
+        return keyOf(name, labels);
+    }
+
+    static String keyOf(String name, String[] labels) {
+        checkLabels(labels);
+        if (labels.length == 0) {
+            return name;
+        }
+        StringBuilder key = new StringBuilder(name).append('{');
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(labels[i]).append('=').append(labels[i + 1]);
+        }
+        return key.append('}').toString();
+    }
+
+    private static void checkLabels(String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name and value pairs: " + Arrays.toString(labels));
+        }
+    }
+}
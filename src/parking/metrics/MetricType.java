@@ -0,0 +1,12 @@
+package parking.metrics;
+
+/**
+ * The {@code MetricType} enum represents the kinds of metrics in the {@link MetricsRegistry}.
+ *
+ * @author Smart Parking System Team
+ */
+public enum MetricType {
+    COUNTER,
+    GAUGE,
+    TIMER
+}
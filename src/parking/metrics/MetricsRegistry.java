@@ -0,0 +1,177 @@
+package parking.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The {@code MetricsRegistry} class holds the counters, gauges and timers of
+ * the parking system, keyed by name and labels, for exporters to read.
+ * Components look their metrics up once, when they are created, and keep them
+ * in fields, so the hot paths never search the registry.
+ * <p>
+ * Metrics are disabled by default, or enabled at startup with the system
+ * property {@code parking.metrics.enabled=true}. While disabled, counters and
+ * timers skip recording after a single volatile read; gauges are only read
+ * when exported anyway.
+ * This follows the Singleton design pattern.
+ *
+ * @author Smart Parking System Team
+ */
+public class MetricsRegistry {
+    /** The singleton instance of this class. */
+    private static MetricsRegistry instance;
+
+    /** Whether metrics are recorded. */
+    private static volatile boolean enabled = Boolean.getBoolean("parking.metrics.enabled");
+
+    /** The registered metrics, by key. */
+    private final ConcurrentMap<String, Metric> metrics;
+
+    /**
+     * Private constructor to prevent instantiation from outside.
+     */
+    private MetricsRegistry() {
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the singleton instance of this class.
+     *
+     * @return The singleton instance.
+     */
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether metrics are recorded.
+     *
+     * @return true if metrics are enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Values recorded so far are kept.
+     *
+     * @param enabled Whether to record metrics.
+     */
+    public static void setEnabled(boolean enabled) {
+        MetricsRegistry.enabled = enabled;
+    }
+
+    /**
+     * Gets a counter, registering it if it does not exist yet.
+     *
+     * @param name The name.
+     * @param help The help text.
+     * @param labels The label names and values, alternating.
+     * @return The counter.
+     * @throws IllegalArgumentException if a metric of another type has the same name and labels.
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return register(Counter.class, Metric.keyOf(name, labels), () -> new Counter(name, help, labels));
+    }
+
+    /**
+     * Registers a gauge. A gauge registered again under the same name and labels
+     * replaces the previous one, e.g. when a lot is recreated.
+     *
+     * @param name The name.
+     * @param help The help text.
+     * @param value The function reading the value.
+     * @param labels The label names and values, alternating.
+     * @return The gauge.
+     * @throws IllegalArgumentException if a metric of another type has the same name and labels.
+     */
+    public Gauge gauge(String name, String help, DoubleSupplier value, String... labels) {
+        Gauge gauge = new Gauge(name, help, value, labels);
+        Metric previous = metrics.put(gauge.getKey(), gauge);
+        if (previous != null && !(previous instanceof Gauge)) {
+            metrics.put(gauge.getKey(), previous);
+            throw new IllegalArgumentException("Metric " + gauge.getKey() + " is a " + previous.getType());
+        }
+        return gauge;
+    }
+
+    /**
+     * Gets a timer, registering it if it does not exist yet.
+     *
+     * @param name The name.
+     * @param help The help text.
+     * @param labels The label names and values, alternating.
+     * @return The timer.
+     * @throws IllegalArgumentException if a metric of another type has the same name and labels.
+     */
+    public Timer timer(String name, String help, String... labels) {
+        return register(Timer.class, Metric.keyOf(name, labels), () -> new Timer(name, help, labels));
+    }
+
+    /**
+     * Gets a metric by key.
+     *
+     * @param key The key, as returned by {@link Metric#getKey()}.
+     * @return The metric, or null if none is registered under the key.
+     */
+    public Metric get(String key) {
+        return metrics.get(key);
+    }
+
+    /**
+     * Gets all registered metrics, sorted by key.
+     *
+     * @return The metrics.
+     */
+    public List<Metric> getMetrics() {
+        List<Metric> result = new ArrayList<>(metrics.values());
+        result.sort(Comparator.comparing(Metric::getKey));
+        return result;
+    }
+
+    /**
+     * Removes a metric, e.g. when the component it measures goes away.
+     *
+     * @param metric The metric.
+     */
+    public void remove(Metric metric) {
+        metrics.remove(metric.getKey(), metric);
+    }
+
+    /**
+     * Removes every metric carrying a label, e.g. all metrics of a lot that is
+     * taken out of service.
+     *
+     * @param labelName The label name.
+     * @param labelValue The label value.
+     * @return The number of metrics removed.
+     */
+    public int removeByLabel(String labelName, String labelValue) {
+        int removed = 0;
+        for (Metric metric : metrics.values()) {
+            if (metric.hasLabel(labelName, labelValue) && metrics.remove(metric.getKey(), metric)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private <T extends Metric> T register(Class<T> type, String key, Supplier<T> factory) {
+        Metric metric = metrics.get(key);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(key, k -> factory.get());
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + key + " is a " + metric.getType());
+        }
+        return type.cast(metric);
+    }
+}
@@ -0,0 +1,406 @@
+package parking.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.reports.ParkingStatistics;
+import parking.util.Json;
+import parking.util.LatencyHistogram;
+import parking.util.ParkingClock;
+import parking.util.ParkingLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code MetricsServer} class serves the metrics of the parking system over
+ * HTTP, for monitoring systems to scrape without the GUI or the CLI:
+ * <ul>
+ *   <li>{@code /metrics} - every registered metric in the Prometheus text format;
+ *       timers are exported as summaries in seconds.</li>
+ *   <li>{@code /status} - a JSON view of each lot: spot counts, occupancy,
+ *       today's entries and revenue, request rates and park latencies.</li>
+ * </ul>
+ * Both responses are rendered on a background thread every refresh interval
+ * and kept as bytes, so a scrape only copies the latest snapshot and never
+ * waits on a lot. Starting the server enables metrics recording.
+ * <p>
+ * The server can be started from the CLI and the GUI by setting the system
+ * property {@code parking.metrics.port}.
+ *
+ * @author Smart Parking System Team
+ */
+public class MetricsServer implements AutoCloseable {
+    /** The system property holding the port to serve metrics on. */
+    public static final String PORT_PROPERTY = "parking.metrics.port";
+
+    /** The default time between snapshots, in milliseconds. */
+    public static final long DEFAULT_REFRESH_MILLIS = 1000;
+
+    private static final String METRICS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String STATUS_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService refresher;
+    private final long refreshMillis;
+
+    /** The latest rendered responses. */
+    private volatile Snapshot snapshot;
+
+    /** The request counts of each lot at the previous snapshot, for rates; guarded by this. */
+    private final Map<String, long[]> previousCounts;
+    private long previousNanos;
+
+    /**
+     * Constructs a new {@code MetricsServer} on all interfaces, refreshed every second.
+     *
+     * @param port The port, or 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public MetricsServer(int port) throws IOException {
+        this(new InetSocketAddress(port), DEFAULT_REFRESH_MILLIS);
+    }
+
+    /**
+     * Constructs a new {@code MetricsServer}. The server is bound, but does not
+     * answer until it is started.
+     *
+     * @param address The address to bind.
+     * @param refreshMillis The time between snapshots in milliseconds.
+     * @throws IOException if the address cannot be bound.
+     * @throws IllegalArgumentException if the refresh interval is not positive.
+     */
+    public MetricsServer(InetSocketAddress address, long refreshMillis) throws IOException {
+        if (refreshMillis <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive: " + refreshMillis);
+        }
+        this.refreshMillis = refreshMillis;
+        this.previousCounts = new HashMap<>();
+        this.snapshot = new Snapshot(new byte[0], "{}".getBytes(StandardCharsets.UTF_8));
+        this.server = HttpServer.create(address, 0);
+        this.handlers = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-metrics-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/metrics", exchange -> serve(exchange, METRICS_CONTENT_TYPE, snapshot.metrics));
+        server.createContext("/status", exchange -> serve(exchange, STATUS_CONTENT_TYPE, snapshot.status));
+    }
+
+    /**
+     * Starts a server on the port given by the system property
+     * {@value #PORT_PROPERTY}, if it is set.
+     *
+     * @return The started server, or null if the property is not set or the server could not start.
+     */
+    public static MetricsServer startIfConfigured() {
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port == null || port.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            MetricsServer server = new MetricsServer(Integer.parseInt(port.trim()));
+            server.start();
+            return server;
+        } catch (IOException | IllegalArgumentException e) {
+            ParkingLogger.getLogger(MetricsServer.class).error("Cannot serve metrics on port " + port, e);
+            return null;
+        }
+    }
+
+    /**
+     * Enables metrics, renders the first snapshot and starts answering requests.
+     */
+    public void start() {
+        MetricsRegistry.setEnabled(true);
+        refresh();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        server.start();
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Renders a new snapshot now, rather than waiting for the next refresh.
+     */
+    public synchronized void refresh() {
+        long now = System.nanoTime();
+        String metrics = renderMetrics(MetricsRegistry.getInstance().getMetrics());
+        String status = renderStatus(now);
+        previousNanos = now;
+        snapshot = new Snapshot(metrics.getBytes(StandardCharsets.UTF_8), status.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the latest {@code /metrics} response.
+     *
+     * @return The metrics in the Prometheus text format.
+     */
+    public String getMetricsText() {
+        return new String(snapshot.metrics, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the latest {@code /status} response.
+     *
+     * @return The status as JSON.
+     */
+    public String getStatusJson() {
+        return new String(snapshot.status, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stops answering requests and refreshing snapshots. Metrics stay enabled.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        refresher.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            ParkingLogger.getLogger(MetricsServer.class).warn("Cannot refresh metrics snapshot: " + e.getMessage());
+        }
+    }
+
+    private static void serve(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Renders metrics in the Prometheus text exposition format, version 0.0.4.
+     *
+     * @param metrics The metrics.
+     * @return The text.
+     */
+    static String renderMetrics(List<Metric> metrics) {
+        Map<String, List<Metric>> byName = new LinkedHashMap<>();
+        List<Metric> sorted = new ArrayList<>(metrics);
+        sorted.sort(Comparator.comparing(Metric::getName));
+        for (Metric metric : sorted) {
+            byName.computeIfAbsent(metric.getName(), name -> new ArrayList<>()).add(metric);
+        }
+
+        StringBuilder out = new StringBuilder(metrics.size() * 96);
+        for (List<Metric> family : byName.values()) {
+            Metric first = family.get(0);
+            out.append("# HELP ").append(first.getName()).append(' ')
+                    .append(escapeHelp(first.getHelp())).append('\n');
+            out.append("# TYPE ").append(first.getName()).append(' ').append(typeOf(first)).append('\n');
+            for (Metric metric : family) {
+                String[] labels = metric.getLabels();
+                switch (metric.getType()) {
+                    case COUNTER:
+                        sample(out, metric.getName(), labels, null, ((Counter) metric).get());
+                        break;
+                    case GAUGE:
+                        sample(out, metric.getName(), labels, null, ((Gauge) metric).get());
+                        break;
+                    case TIMER:
+                        LatencyHistogram histogram = ((Timer) metric).getHistogram();
+                        for (double quantile : QUANTILES) {
+                            sample(out, metric.getName(), labels, formatValue(quantile),
+                                    histogram.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND);
+                        }
+                        sample(out, metric.getName() + "_sum", labels, null, histogram.getSum() / NANOS_PER_SECOND);
+                        sample(out, metric.getName() + "_count", labels, null, histogram.getCount());
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private String renderStatus(long now) {
+        double elapsedSeconds = previousNanos == 0 ? 0 : (now - previousNanos) / NANOS_PER_SECOND;
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        StringBuilder out = new StringBuilder(512);
+        out.append("{\"generatedAt\":");
+        Json.appendString(out, Instant.ofEpochMilli(ParkingClock.currentTimeMillis()).toString());
+        out.append(",\"metricsEnabled\":").append(MetricsRegistry.isEnabled());
+        out.append(",\"lots\":[");
+
+        List<ParkingLot> lots = ParkingLotRegistry.getInstance().getLots();
+        lots.sort(Comparator.comparing(ParkingLot::getLotId));
+        Map<String, long[]> counts = new HashMap<>();
+        for (int i = 0; i < lots.size(); i++) {
+            ParkingLot lot = lots.get(i);
+            String lotId = lot.getLotId();
+            Timer park = (Timer) registry.get(Metric.keyOf("parking_lot_park_seconds", new String[] {"lot", lotId}));
+            Timer remove = (Timer) registry.get(Metric.keyOf("parking_lot_remove_seconds", new String[] {"lot", lotId}));
+            Counter failures = (Counter) registry.get(
+                    Metric.keyOf("parking_lot_allocation_failures_total", new String[] {"lot", lotId}));
+            long[] current = {
+                    park != null ? park.getHistogram().getCount() : 0,
+                    remove != null ? remove.getHistogram().getCount() : 0,
+                    failures != null ? failures.get() : 0
+            };
+            counts.put(lotId, current);
+            long[] previous = previousCounts.get(lotId);
+
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append("{\"lotId\":");
+            Json.appendString(out, lotId);
+            field(out, "totalSpots", lot.getTotalSpots());
+            field(out, "occupiedSpots", lot.getOccupiedSpots());
+            field(out, "availableSpots", lot.getAvailableSpots());
+            field(out, "heldSpots", lot.getHeldSpots());
+            field(out, "occupancyPercentage", lot.getOccupancyPercentage());
+            synchronized (lot) {
+                ParkingStatistics statistics = lot.getStatistics();
+                if (statistics != null) {
+                    field(out, "dailyEntries", statistics.getDailyEntries());
+                    field(out, "dailyRevenue", statistics.getDailyRevenue());
+                    field(out, "monthlyRevenue", statistics.getMonthlyRevenue());
+                    field(out, "averageDurationHours", statistics.getAverageDuration());
+                }
+            }
+            field(out, "parkRequestsPerSecond", rate(current, previous, 0, elapsedSeconds));
+            field(out, "exitRequestsPerSecond", rate(current, previous, 1, elapsedSeconds));
+            field(out, "allocationFailuresPerSecond", rate(current, previous, 2, elapsedSeconds));
+            if (park != null) {
+                field(out, "parkLatencyP50Micros", park.getHistogram().getValueAtPercentile(50) / 1000.0);
+                field(out, "parkLatencyP99Micros", park.getHistogram().getValueAtPercentile(99) / 1000.0);
+            }
+            out.append('}');
+        }
+        out.append("]}");
+        previousCounts.clear();
+        previousCounts.putAll(counts);
+        return out.toString();
+    }
+
+    private static double rate(long[] current, long[] previous, int index, double elapsedSeconds) {
+        if (previous == null || elapsedSeconds <= 0) {
+            return 0;
+        }
+        return Math.max(0, current[index] - previous[index]) / elapsedSeconds;
+    }
+
+    private static String typeOf(Metric metric) {
+        switch (metric.getType()) {
+            case COUNTER:
+                return "counter";
+            case GAUGE:
+                return "gauge";
+            case TIMER:
+                return "summary";
+            default:
+                return "untyped";
+        }
+    }
+
+    private static void sample(StringBuilder out, String name, String[] labels, String quantile, double value) {
+        out.append(name);
+        if (labels.length > 0 || quantile != null) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"").append(escapeLabel(labels[i + 1])).append('"');
+            }
+            if (quantile != null) {
+                out.append(labels.length > 0 ? "," : "").append("quantile=\"").append(quantile).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void field(StringBuilder out, String name, double value) {
+        out.append(",\"").append(name).append("\":");
+        Json.appendNumber(out, value);
+    }
+
+    /**
+     * The rendered responses of one refresh.
+     */
+    private static final class Snapshot {
+        private final byte[] metrics;
+        private final byte[] status;
+
+        Snapshot(byte[] metrics, byte[] status) {
+            this.metrics = metrics;
+            this.status = status;
+        }
+    }
+}
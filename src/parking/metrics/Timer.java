@@ -0,0 +1,70 @@
+package parking.metrics;
+
+import parking.util.LatencyHistogram;
+
+/**
+ * The {@code Timer} class is a metric recording how long an operation takes,
+ * in a lock-free {@link LatencyHistogram} of nanoseconds. It is used as
+ * <pre>
+ *     long start = timer.start();
+ *     ...
+ *     timer.stop(start);
+ * </pre>
+ * While metrics are disabled, {@link #start()} returns 0 without reading the
+ * clock and {@link #stop(long)} does nothing, so an idle timer costs one
+ * volatile read.
+ *
+ * @author Smart Parking System Team
+ */
+public class Timer extends Metric {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    Timer(String name, String help, String[] labels) {
+        super(name, help, labels);
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.TIMER;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The start time to pass to {@link #stop(long)}, or 0 if metrics are disabled.
+     */
+    public long start() {
+        return MetricsRegistry.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Stops timing an operation and records its duration.
+     *
+     * @param start The value returned by {@link #start()}.
+     */
+    public void stop(long start) {
+        if (start != 0L) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration measured elsewhere.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (MetricsRegistry.isEnabled()) {
+            histogram.record(nanos);
+        }
+    }
+
+    /**
+     * Gets the recorded durations in nanoseconds.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+}
@@ -1,5 +1,7 @@
 package parking.patterns.builder;
 
+import parking.util.ParkingClock;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,7 +18,7 @@ public class ParkingReportBuilder {
     private String title = "Parking Lot Report";
 
     /** The time when the report was generated. */
-    private LocalDateTime generatedTime = LocalDateTime.now();
+    private LocalDateTime generatedTime = LocalDateTime.now(ParkingClock.getClock());
 
     /** The time period that the report covers. */
     private String timePeriod = "Today";
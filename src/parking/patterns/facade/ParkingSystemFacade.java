@@ -3,6 +3,7 @@ package parking.patterns.facade;
 import parking.core.Vehicle;
 import parking.core.ParkingSession;
 import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
 import parking.management.PricingCalculator;
 import parking.management.Subscription;
 import parking.management.SubscriptionType;
@@ -12,9 +13,11 @@ import parking.patterns.factory.VehicleFactory;
 import parking.patterns.factory.VehicleFactoryProvider;
 import parking.patterns.factory.VehicleType;
 import parking.reports.ParkingStatistics;
+import parking.util.ParkingClock;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * The {@code ParkingSystemFacade} class provides a simplified interface to the complex
@@ -33,15 +36,28 @@ public class ParkingSystemFacade {
     private final ParkingStatistics statistics;
 
     /**
-     * Constructs a new {@code ParkingSystemFacade} with the specified parameters.
+     * Constructs a new {@code ParkingSystemFacade} bound to the default lot.
      */
     public ParkingSystemFacade() {
-        this.parkingLot = ParkingLot.getInstance();
+        this(ParkingLot.DEFAULT_LOT_ID);
+    }
+
+    /**
+     * Constructs a new {@code ParkingSystemFacade} bound to the specified lot.
+     * The lot is created in the {@link ParkingLotRegistry} if it does not exist yet.
+     *
+     * @param lotId The ID of the lot.
+     */
+    public ParkingSystemFacade(String lotId) {
+        this.parkingLot = ParkingLotRegistry.getInstance().getOrCreateLot(lotId);
         this.pricingCalculator = new PricingCalculator();
-        this.statistics = new ParkingStatistics();
 
-        // Initialize the parking lot with observers
-        this.parkingLot.initialize(statistics);
+        // Initialize the parking lot with observers, or share those of an earlier facade
+        this.statistics = parkingLot.initialize();
+    }
+
+    public String getLotId() {
+        return parkingLot.getLotId();
     }
 
     public Vehicle createVehicle(VehicleType type, String licensePlate, String ownerName, boolean isDisabled, String color) {
@@ -64,17 +80,36 @@ public class ParkingSystemFacade {
         return false;
     }
 
-    public double removeVehicle(String licensePlate) {
-        ParkingSession session = parkingLot.removeVehicle(licensePlate);
-        if (session == null) {
-            return -1;
-        }
-        if (!session.isSubscription()) {
-            double fee = pricingCalculator.calculateFee(session);
-            session.recordPayment(fee);
-            return fee;
+    /**
+     * Parks a group of vehicles in one pass, for gate controllers that buffer plate reads.
+     * Observers see one entry event per vehicle and a single status event for the group.
+     *
+     * @param vehicles The vehicles to park.
+     * @return Whether each vehicle was parked, in the order of the input.
+     */
+    public boolean[] parkVehicles(List<? extends Vehicle> vehicles) {
+        List<ParkingSession> sessions = parkingLot.parkVehicles(vehicles, false);
+        boolean[] parked = new boolean[sessions.size()];
+        for (int i = 0; i < parked.length; i++) {
+            parked[i] = sessions.get(i) != null;
         }
-        return 0; // Subscribers don't pay per session
+        return parked;
+    }
+
+    public double removeVehicle(String licensePlate) {
+        return parkingLot.removeVehicle(licensePlate, pricingCalculator);
+    }
+
+    /**
+     * Removes a group of vehicles in one pass, for gate controllers that buffer plate reads.
+     * Observers see one exit event per vehicle and a single status event for the group.
+     *
+     * @param licensePlates The license plates of the vehicles to remove.
+     * @return The fee of each vehicle as returned by {@link #removeVehicle(String)},
+     *         in the order of the input.
+     */
+    public double[] removeVehicles(List<String> licensePlates) {
+        return parkingLot.removeVehicles(licensePlates, pricingCalculator);
     }
 
     public String createSubscription(String licensePlate, String ownerName, int months) {
@@ -93,8 +128,31 @@ public class ParkingSystemFacade {
         return parkingLot.getAvailableSpots();
     }
 
+    /**
+     * Generates the report for today. The statistics are read while holding the
+     * lot's monitor, as gates may be parking and removing vehicles meanwhile.
+     *
+     * @return The daily report.
+     */
     public ParkingReport generateDailyReport() {
-        LocalDate today = LocalDate.now();
+        synchronized (parkingLot) {
+            return buildDailyReport();
+        }
+    }
+
+    /**
+     * Generates the report for the current month, like {@link #generateDailyReport()}.
+     *
+     * @return The monthly report.
+     */
+    public ParkingReport generateMonthlyReport() {
+        synchronized (parkingLot) {
+            return buildMonthlyReport();
+        }
+    }
+
+    private ParkingReport buildDailyReport() {
+        LocalDate today = LocalDate.now(ParkingClock.getClock());
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         ParkingReportBuilder builder = new ParkingReportBuilder()
@@ -124,8 +182,8 @@ public class ParkingSystemFacade {
         return builder.build();
     }
 
-    public ParkingReport generateMonthlyReport() {
-        LocalDate today = LocalDate.now();
+    private ParkingReport buildMonthlyReport() {
+        LocalDate today = LocalDate.now(ParkingClock.getClock());
         String month = today.getMonth().toString() + " " + today.getYear();
 
         ParkingReportBuilder builder = new ParkingReportBuilder()
@@ -0,0 +1,16 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code EventHandler} interface consumes the events of an {@link EventRingBuffer}.
+ *
+ * @author Smart Parking System Team
+ */
+public interface EventHandler {
+    /**
+     * Called for each event, in sequence order. The slot is reused once this method
+     * returns; use {@link EventSlot#toEvent()} to keep the event.
+     *
+     * @param event The slot holding the event.
+     */
+    void onEvent(EventSlot event);
+}
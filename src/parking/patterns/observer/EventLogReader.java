@@ -0,0 +1,327 @@
+package parking.patterns.observer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code EventLogReader} class replays the event log written by an
+ * {@link EventLogSink}, from any sequence number, and keeps the offset of each
+ * named consumer so that it can resume where it left off. Readers only read the
+ * segment files and may run in other processes while the log is written.
+ * <p>
+ * Each segment file is named after the sequence number of its first record and
+ * starts with a header: a magic number, the base sequence number and the lot ID as
+ * a length-prefixed UTF-8 string. Records follow, each a length and a CRC-32 of
+ * the body, then the body: sequence number, timestamp, event type, spot ID,
+ * duration, amount, total, occupied and available spots, and the license plate.
+ * All numbers are big-endian. A record that is incomplete or fails its checksum
+ * ends the segment.
+ *
+ * @author Smart Parking System Team
+ */
+public class EventLogReader {
+    /** The magic number at the start of every segment. */
+    static final int MAGIC = 0x50454C47;
+
+    /** The size of the fixed part of the segment header: magic, base sequence and lot ID length. */
+    static final int SEGMENT_HEADER_BYTES = 4 + 8 + 2;
+
+    /** The maximum length of the lot ID in a segment header. */
+    static final int MAX_LOT_ID_BYTES = 256;
+
+    /** The size of the record header: body length and checksum. */
+    static final int RECORD_HEADER_BYTES = 4 + 4;
+
+    /** The size of the fixed part of a record body. */
+    private static final int RECORD_FIXED_BYTES = 8 + 8 + 1 + 4 + 8 + 8 + 4 + 4 + 4 + 2;
+
+    /** The maximum length of a license plate in a record. */
+    private static final int MAX_PLATE_BYTES = 1024;
+
+    /** The maximum size of a record, header included. */
+    static final int MAX_RECORD_BYTES = RECORD_HEADER_BYTES + RECORD_FIXED_BYTES + MAX_PLATE_BYTES;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.seg");
+    private static final Pattern CONSUMER_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final EventType[] TYPES = EventType.values();
+
+    /** The directory of the log. */
+    private final Path directory;
+
+    /**
+     * Constructs a new {@code EventLogReader}.
+     *
+     * @param directory The directory of the log.
+     */
+    public EventLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads events from a sequence number on.
+     *
+     * @param fromSequence The sequence number of the first event to read.
+     * @param maxEvents The maximum number of events to read.
+     * @return The events in sequence order; empty if there are no events from there on yet.
+     * @throws IOException if the log cannot be read.
+     */
+    public List<ParkingEvent> read(long fromSequence, int maxEvents) throws IOException {
+        List<ParkingEvent> events = new ArrayList<>();
+        List<Path> segments = listSegments(directory);
+        int first = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (baseSequenceOf(segments.get(i)) <= fromSequence) {
+                first = i;
+            }
+        }
+        for (int i = first; i < segments.size() && events.size() < maxEvents; i++) {
+            readSegment(segments.get(i), fromSequence, maxEvents, events);
+        }
+        return events;
+    }
+
+    /**
+     * Gets the offset a consumer has committed: the sequence number of the next
+     * event it wants to read.
+     *
+     * @param consumer The consumer name, made of letters, digits, dots, dashes and underscores.
+     * @return The committed offset, or 0 if the consumer has not committed one.
+     * @throws IOException if the offset cannot be read.
+     */
+    public long getCommittedOffset(String consumer) throws IOException {
+        Path file = offsetFile(consumer);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * Commits the offset of a consumer, replacing the file atomically.
+     *
+     * @param consumer The consumer name, made of letters, digits, dots, dashes and underscores.
+     * @param nextSequence The sequence number of the next event the consumer wants to read.
+     * @throws IOException if the offset cannot be written.
+     */
+    public void commitOffset(String consumer, long nextSequence) throws IOException {
+        Path file = offsetFile(consumer);
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, Long.toString(nextSequence).getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path offsetFile(String consumer) {
+        if (consumer == null || !CONSUMER_NAME.matcher(consumer).matches()) {
+            throw new IllegalArgumentException("Invalid consumer name: " + consumer);
+        }
+        return directory.resolve("offsets").resolve(consumer + ".offset");
+    }
+
+    private static void readSegment(Path path, long fromSequence, int maxEvents, List<ParkingEvent> events)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            String lotId = readHeader(buffer);
+            if (lotId == null) {
+                return;
+            }
+            CRC32 crc = new CRC32();
+            while (events.size() < maxEvents) {
+                ByteBuffer body = nextRecord(buffer, crc);
+                if (body == null) {
+                    return;
+                }
+                if (body.getLong(0) >= fromSequence) {
+                    events.add(decode(body, lotId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a segment header.
+     *
+     * @return The lot ID, empty if none, or null if the header is invalid.
+     */
+    private static String readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < SEGMENT_HEADER_BYTES || buffer.getInt() != MAGIC) {
+            return null;
+        }
+        buffer.getLong();
+        int length = buffer.getShort();
+        if (length < 0 || length > buffer.remaining()) {
+            return null;
+        }
+        byte[] lot = new byte[length];
+        buffer.get(lot);
+        return new String(lot, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next record, checking its length and checksum.
+     *
+     * @return The record body, or null at the end of the valid records.
+     */
+    private static ByteBuffer nextRecord(ByteBuffer buffer, CRC32 crc) {
+        if (buffer.remaining() < RECORD_HEADER_BYTES) {
+            return null;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length < RECORD_FIXED_BYTES || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+            buffer.position(start);
+            return null;
+        }
+        ByteBuffer body = buffer.slice();
+        body.limit(length);
+        crc.reset();
+        for (int i = 0; i < length; i++) {
+            crc.update(body.get(i));
+        }
+        if ((int) crc.getValue() != checksum) {
+            buffer.position(start);
+            return null;
+        }
+        buffer.position(buffer.position() + length);
+        return body;
+    }
+
+    private static ParkingEvent decode(ByteBuffer body, String lotId) {
+        long sequence = body.getLong();
+        long timestamp = body.getLong();
+        EventType type = TYPES[body.get()];
+        int spotId = body.getInt();
+        double durationHours = body.getDouble();
+        double amount = body.getDouble();
+        int totalSpots = body.getInt();
+        int occupiedSpots = body.getInt();
+        int availableSpots = body.getInt();
+        String licensePlate = getString(body);
+        String lot = lotId.isEmpty() ? null : lotId;
+        switch (type) {
+            case ENTRY:
+                return new VehicleEntryEvent(lot, sequence, timestamp, licensePlate, spotId);
+            case EXIT:
+                return new VehicleExitEvent(lot, sequence, timestamp, licensePlate, spotId, durationHours, amount);
+            case PAYMENT:
+                return new PaymentEvent(lot, sequence, timestamp, licensePlate, spotId, amount);
+            default:
+                return new ParkingStatusEvent(lot, sequence, timestamp, totalSpots, occupiedSpots, availableSpots);
+        }
+    }
+
+    /**
+     * Writes a string as a length and UTF-8 bytes; null is written as length -1.
+     */
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_PLATE_BYTES);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lists the segments of a log, in sequence order.
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static String segmentName(long baseSequence) {
+        return String.format("%020d.seg", baseSequence);
+    }
+
+    private static long baseSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - ".seg".length()));
+    }
+
+    /**
+     * Scans a segment for its valid records.
+     */
+    static SegmentScan scan(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long nextSequence = baseSequenceOf(path);
+            if (readHeader(buffer) == null) {
+                throw new IOException("Invalid event log segment: " + path);
+            }
+            CRC32 crc = new CRC32();
+            long records = 0;
+            ByteBuffer body;
+            while ((body = nextRecord(buffer, crc)) != null) {
+                nextSequence = body.getLong(0) + 1;
+                records++;
+            }
+            return new SegmentScan(buffer.position(), nextSequence, records);
+        }
+    }
+
+    /**
+     * The {@code SegmentScan} class holds the valid extent of a segment.
+     */
+    static final class SegmentScan {
+        private final long validBytes;
+        private final long nextSequence;
+        private final long recordCount;
+
+        SegmentScan(long validBytes, long nextSequence, long recordCount) {
+            this.validBytes = validBytes;
+            this.nextSequence = nextSequence;
+            this.recordCount = recordCount;
+        }
+
+        long getValidBytes() {
+            return validBytes;
+        }
+
+        long getNextSequence() {
+            return nextSequence;
+        }
+
+        long getRecordCount() {
+            return recordCount;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package parking.patterns.observer;
+
+import parking.util.ParkingClock;
+import parking.util.ParkingLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code EventLogSink} class is an observer that appends every parking event
+ * to a durable log of segment files, for external consumers such as billing and
+ * BI systems to replay with an {@link EventLogReader}.
+ * <p>
+ * The observer callbacks only copy the event into an {@link EventRingBuffer}; a
+ * writer thread appends the records and forces them to disk in batches, after a
+ * number of records or when it runs idle for the sync interval. The gate never
+ * waits for the disk. If the writer falls a full ring behind, events are dropped
+ * and counted rather than blocking the gate.
+ * <p>
+ * Every record gets the next sequence number of the log, starting at 0, which is
+ * the offset consumers replay from. A segment holds the records from its base
+ * sequence, which is also its file name, until it reaches the segment size; then
+ * a new segment starts. On opening an existing log, a torn record at the end of
+ * the last segment is cut off and the sequence continues after the last good one.
+ * A record whose write fails is cut off the same way at once, or, if the segment
+ * cannot be cut, a new segment starts, so later records are never written after
+ * a torn one. See {@link EventLogReader} for the file format.
+ *
+ * @author Smart Parking System Team
+ */
+public class EventLogSink implements ParkingObserver, AutoCloseable {
+    /** The default size at which a new segment starts. */
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    /** How long the writer sleeps when there is nothing to write. */
+    private static final long IDLE_PARK_NANOS = 200_000L;
+
+    private final Path directory;
+    private final String lotId;
+    private final int segmentBytes;
+    private final int syncEveryRecords;
+    private final long syncIntervalNanos;
+
+    /** The events waiting to be written. */
+    private final EventRingBuffer ring;
+
+    /** The segment being appended to; only touched by the writer thread after construction. */
+    private FileChannel segment;
+    private long segmentSize;
+    private long segmentRecords;
+    private final ByteBuffer record;
+    private final CRC32 crc;
+
+    /** The sequence number of the next record. */
+    private volatile long nextSequence;
+
+    /** The number of records written since the last sync, and the time of the last sync. */
+    private int unsynced;
+    private long lastSyncNanos;
+
+    /** The number of flushes requested, and the number completed. */
+    private final AtomicLong flushRequests = new AtomicLong();
+    private volatile long flushesDone;
+
+    private final AtomicLong writeErrors = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running;
+
+    /**
+     * Opens or creates a log with default settings: 64 MB segments, forced to disk
+     * every 256 records or after 50 ms idle, and room for 65536 pending events.
+     *
+     * @param directory The directory of the log.
+     * @param lotId The ID of the lot whose events are logged, or null.
+     * @throws IOException if the log cannot be opened.
+     */
+    public EventLogSink(Path directory, String lotId) throws IOException {
+        this(directory, lotId, DEFAULT_SEGMENT_BYTES, 256, 50, 65536);
+    }
+
+    /**
+     * Opens or creates a log.
+     *
+     * @param directory The directory of the log.
+     * @param lotId The ID of the lot whose events are logged, or null.
+     * @param segmentBytes The size at which a new segment starts.
+     * @param syncEveryRecords The number of records after which the segment is forced to disk.
+     * @param syncIntervalMillis How long the writer may run idle with unforced records.
+     * @param capacity The number of events that may wait for the writer.
+     * @throws IOException if the log cannot be opened.
+     */
+    public EventLogSink(Path directory, String lotId, int segmentBytes, int syncEveryRecords,
+                        long syncIntervalMillis, int capacity) throws IOException {
+        this.directory = directory;
+        this.lotId = lotId;
+        this.segmentBytes = segmentBytes;
+        this.syncEveryRecords = Math.max(syncEveryRecords, 1);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.ring = new EventRingBuffer(capacity);
+        this.record = ByteBuffer.allocate(EventLogReader.MAX_RECORD_BYTES);
+        this.crc = new CRC32();
+        Files.createDirectories(directory);
+        recover();
+
+        this.running = true;
+        this.lastSyncNanos = System.nanoTime();
+        this.writer = new Thread(this::run, "parking-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void onVehicleEntry(String licensePlate, int spotId) {
+        ring.publish(EventType.ENTRY, lotId, 0, ParkingClock.currentTimeMillis(),
+                licensePlate, spotId, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+        ring.publish(EventType.EXIT, lotId, 0, ParkingClock.currentTimeMillis(),
+                licensePlate, spotId, durationHours, payment, 0, 0, 0);
+    }
+
+    @Override
+    public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+        ring.publish(EventType.STATUS, lotId, 0, ParkingClock.currentTimeMillis(),
+                null, 0, 0, 0, totalSpots, occupiedSpots, availableSpots);
+    }
+
+    @Override
+    public void onPayment(String licensePlate, int spotId, double amount) {
+        ring.publish(EventType.PAYMENT, lotId, 0, ParkingClock.currentTimeMillis(),
+                licensePlate, spotId, 0, amount, 0, 0, 0);
+    }
+
+    /**
+     * Gets the sequence number the next record will get.
+     *
+     * @return The next sequence number.
+     */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Gets the number of events dropped because the writer fell behind.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        return ring.getDroppedCount();
+    }
+
+    public long getWriteErrors() {
+        return writeErrors.get();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Waits until every event received so far is written and forced to disk.
+     *
+     * @param timeoutMillis The maximum time to wait in milliseconds.
+     * @return true if the events were flushed in time.
+     */
+    public boolean flush(long timeoutMillis) {
+        long ticket = flushRequests.incrementAndGet();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (flushesDone < ticket) {
+            if (!writer.isAlive() || System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the remaining events, forces them to disk and closes the log.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running || ring.getBacklog() > 0) {
+            int written = ring.drain(this::append, 1024);
+            long requested = flushRequests.get();
+            if (unsynced > 0 && (unsynced >= syncEveryRecords
+                    || (written == 0 && System.nanoTime() - lastSyncNanos >= syncIntervalNanos))) {
+                sync();
+            }
+            if (flushesDone < requested && ring.getBacklog() == 0) {
+                sync();
+                flushesDone = requested;
+            }
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        sync();
+        flushesDone = flushRequests.get();
+        try {
+            segment.close();
+        } catch (IOException e) {
+            writeErrors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Appends one event as a record, starting a new segment first if it would not fit.
+     */
+    private void append(EventSlot event) {
+        record.clear();
+        record.position(EventLogReader.RECORD_HEADER_BYTES);
+        record.putLong(nextSequence);
+        record.putLong(event.getTimestampMillis());
+        record.put((byte) event.getType().ordinal());
+        record.putInt(event.getSpotId());
+        record.putDouble(event.getDurationHours());
+        record.putDouble(event.getAmount());
+        record.putInt(event.getTotalSpots());
+        record.putInt(event.getOccupiedSpots());
+        record.putInt(event.getAvailableSpots());
+        EventLogReader.putString(record, event.getLicensePlate());
+        int length = record.position() - EventLogReader.RECORD_HEADER_BYTES;
+        crc.reset();
+        crc.update(record.array(), EventLogReader.RECORD_HEADER_BYTES, length);
+        record.putInt(0, length);
+        record.putInt(4, (int) crc.getValue());
+        record.flip();
+        long committed = segmentSize;
+        try {
+            if (segmentRecords > 0 && segmentSize + record.remaining() > segmentBytes) {
+                sync();
+                segment.close();
+                openSegment(nextSequence);
+                committed = segmentSize;
+            }
+            while (record.hasRemaining()) {
+                segmentSize += segment.write(record);
+            }
+            nextSequence++;
+            segmentRecords++;
+            unsynced++;
+        } catch (IOException e) {
+            writeErrors.incrementAndGet();
+            ParkingLogger.getLogger(EventLogSink.class).error("Could not append to event log " + directory, e);
+            discardTornRecord(committed);
+        }
+    }
+
+    /**
+     * Cuts the segment back to the end of its last complete record after a failed
+     * write. If the segment is closed or cannot be cut, a new segment starts at the
+     * next sequence instead; if that fails too, the next append tries again.
+     *
+     * @param committed The size of the segment before the failed record.
+     */
+    private void discardTornRecord(long committed) {
+        try {
+            if (segment.isOpen()) {
+                segment.truncate(committed);
+                segment.position(committed);
+                segmentSize = committed;
+                return;
+            }
+        } catch (IOException e) {
+            writeErrors.incrementAndGet();
+        }
+        try {
+            segment.close();
+            openSegment(nextSequence);
+        } catch (IOException e) {
+            writeErrors.incrementAndGet();
+            ParkingLogger.getLogger(EventLogSink.class).error("Could not start a new segment in " + directory, e);
+        }
+    }
+
+    private void sync() {
+        if (unsynced == 0) {
+            return;
+        }
+        try {
+            segment.force(false);
+        } catch (IOException e) {
+            writeErrors.incrementAndGet();
+        }
+        unsynced = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    /**
+     * Opens the last segment for appending, cutting off a torn record at its end,
+     * or starts the first segment of a new log.
+     */
+    private void recover() throws IOException {
+        List<Path> segments = EventLogReader.listSegments(directory);
+        if (segments.isEmpty()) {
+            openSegment(0);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        EventLogReader.SegmentScan scan = EventLogReader.scan(last);
+        segment = openChannel(last, StandardOpenOption.WRITE);
+        segment.truncate(scan.getValidBytes());
+        segment.position(scan.getValidBytes());
+        segmentSize = scan.getValidBytes();
+        segmentRecords = scan.getRecordCount();
+        nextSequence = scan.getNextSequence();
+    }
+
+    private void openSegment(long baseSequence) throws IOException {
+        Path path = directory.resolve(EventLogReader.segmentName(baseSequence));
+        segment = openChannel(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(EventLogReader.SEGMENT_HEADER_BYTES + EventLogReader.MAX_LOT_ID_BYTES);
+        header.putInt(EventLogReader.MAGIC);
+        header.putLong(baseSequence);
+        byte[] lot = lotId != null ? lotId.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        header.putShort((short) Math.min(lot.length, EventLogReader.MAX_LOT_ID_BYTES));
+        header.put(lot, 0, Math.min(lot.length, EventLogReader.MAX_LOT_ID_BYTES));
+        header.flip();
+        segmentSize = 0;
+        segmentRecords = 0;
+        try {
+            while (header.hasRemaining()) {
+                segmentSize += segment.write(header);
+            }
+        } catch (IOException e) {
+            segment.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the file of a segment. Subclasses may wrap the channel, for example
+     * to inject write failures in tests.
+     *
+     * @param path The segment file.
+     * @param options The options to open it with.
+     * @return The channel.
+     * @throws IOException if the file cannot be opened.
+     */
+    protected FileChannel openChannel(Path path, OpenOption... options) throws IOException {
+        return FileChannel.open(path, options);
+    }
+}
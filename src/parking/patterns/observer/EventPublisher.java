@@ -0,0 +1,282 @@
+package parking.patterns.observer;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code EventPublisher} class is a {@link Flow.Publisher} that hands each
+ * subscriber its items asynchronously, as fast as the subscriber requests them.
+ * Every subscriber has its own bounded buffer. Publishing never blocks and never
+ * runs subscriber code: an item that does not fit in a slow subscriber's buffer is
+ * dropped for that subscriber and counted, and the other subscribers are unaffected.
+ * Delivery to each subscriber runs on the executor, one task at a time.
+ *
+ * @param <T> The type of the items.
+ * @author Smart Parking System Team
+ */
+public class EventPublisher<T> implements Flow.Publisher<T> {
+    /** The executor delivering items to subscribers. */
+    private final Executor executor;
+
+    /** The capacity of each subscriber's buffer. */
+    private final int bufferCapacity;
+
+    /** The active subscriptions. */
+    private final CopyOnWriteArrayList<BufferedSubscription<T>> subscriptions;
+
+    /** Whether this publisher has been closed. */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code EventPublisher}.
+     *
+     * @param executor The executor delivering items to subscribers.
+     * @param bufferCapacity The capacity of each subscriber's buffer, rounded up to a power of two.
+     */
+    public EventPublisher(Executor executor, int bufferCapacity) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive: " + bufferCapacity);
+        }
+        this.executor = executor;
+        this.bufferCapacity = bufferCapacity;
+        this.subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        BufferedSubscription<T> subscription = new BufferedSubscription<>(this, subscriber, bufferCapacity);
+        if (closed) {
+            subscriber.onSubscribe(subscription);
+            subscription.complete();
+            return;
+        }
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Checks whether anyone is subscribed, so that callers can skip creating
+     * items nobody would receive.
+     *
+     * @return true if there is at least one active subscription.
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Gets the number of active subscriptions.
+     *
+     * @return The number of subscriptions.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Offers an item to every subscriber, without blocking.
+     *
+     * @param item The item.
+     * @return The number of subscribers that dropped the item because their buffer was full.
+     */
+    public int submit(T item) {
+        if (item == null) {
+            throw new NullPointerException("Item cannot be null");
+        }
+        int dropped = 0;
+        for (BufferedSubscription<T> subscription : subscriptions) {
+            if (!subscription.offer(item)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Completes all subscriptions once their buffered items are delivered.
+     * Later subscribers are completed at once.
+     */
+    public void close() {
+        closed = true;
+        for (BufferedSubscription<T> subscription : subscriptions) {
+            subscriptions.remove(subscription);
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Gets the number of items dropped for all active subscribers.
+     *
+     * @return The number of dropped items.
+     */
+    public long getDroppedCount() {
+        long total = 0;
+        for (BufferedSubscription<T> subscription : subscriptions) {
+            total += subscription.getDropped();
+        }
+        return total;
+    }
+
+    /**
+     * A subscription with its own ring buffer and demand counter.
+     */
+    private static final class BufferedSubscription<T> implements Flow.Subscription, Runnable {
+        private final EventPublisher<T> publisher;
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /** The buffered items; guarded by this subscription. */
+        private final Object[] buffer;
+        private final int mask;
+        private long head;
+        private long tail;
+
+        /** The number of items requested and not yet delivered. */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** The number of pending delivery signals; a task runs while it is positive. */
+        private final AtomicInteger work = new AtomicInteger();
+
+        /** The number of items dropped because the buffer was full. */
+        private final AtomicLong dropped = new AtomicLong();
+
+        private volatile boolean cancelled;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        /** Whether a terminal signal was delivered; only touched by the delivery task. */
+        private boolean done;
+
+        BufferedSubscription(EventPublisher<T> publisher, Flow.Subscriber<? super T> subscriber, int capacity) {
+            int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+            this.buffer = new Object[size];
+            this.mask = size - 1;
+        }
+
+        boolean offer(T item) {
+            synchronized (this) {
+                if (cancelled || completed) {
+                    return true;
+                }
+                if (tail - head == buffer.length) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                buffer[(int) (tail++ & mask)] = item;
+            }
+            signal();
+            return true;
+        }
+
+        void complete() {
+            completed = true;
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested a non-positive number of items: " + n);
+                cancelDelivery();
+                signal();
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = demand.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!demand.compareAndSet(current, next));
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelDelivery();
+            signal();
+        }
+
+        private void cancelDelivery() {
+            cancelled = true;
+            publisher.subscriptions.remove(this);
+        }
+
+        private void signal() {
+            if (work.getAndIncrement() == 0) {
+                publisher.executor.execute(this);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T poll() {
+            synchronized (this) {
+                if (head == tail) {
+                    return null;
+                }
+                int index = (int) (head++ & mask);
+                T item = (T) buffer[index];
+                buffer[index] = null;
+                return item;
+            }
+        }
+
+        private boolean isEmpty() {
+            synchronized (this) {
+                return head == tail;
+            }
+        }
+
+        /**
+         * Delivers buffered items while there is demand, until no signal is pending.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    deliver();
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            if (error != null) {
+                done = true;
+                subscriber.onError(error);
+                return;
+            }
+            while (!cancelled && demand.get() > 0) {
+                T item = poll();
+                if (item == null) {
+                    break;
+                }
+                demand.decrementAndGet();
+                try {
+                    subscriber.onNext(item);
+                } catch (RuntimeException e) {
+                    cancelDelivery();
+                    done = true;
+                    subscriber.onError(e);
+                    return;
+                }
+            }
+            if (cancelled) {
+                done = true;
+            } else if (completed && isEmpty()) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        long getDropped() {
+            return dropped.get();
+        }
+    }
+}
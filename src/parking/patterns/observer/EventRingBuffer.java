@@ -0,0 +1,172 @@
+package parking.patterns.observer;
+
+import parking.util.ParkingLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code EventRingBuffer} class carries parking events to a single consumer
+ * without allocating. All {@link EventSlot}s are created up front; publishing an
+ * event fills the next slot and advances a cursor, and the consumer reads the slots
+ * behind the cursor in place. Publishing never blocks: when the consumer has not
+ * caught up and the ring is full, the event is dropped and counted.
+ * <p>
+ * Events are consumed either by calling {@link #drain(EventHandler, int)} from one
+ * thread, or by a daemon thread started with {@link #startConsumer(EventHandler)}.
+ *
+ * @author Smart Parking System Team
+ */
+public class EventRingBuffer implements AutoCloseable {
+    /** How long the consumer thread sleeps when the ring is empty. */
+    private static final long IDLE_PARK_NANOS = 100_000L;
+
+    private final EventSlot[] slots;
+    private final int mask;
+
+    /** The number of events published; written only by the producer. */
+    private final AtomicLong published = new AtomicLong();
+
+    /** The number of events consumed; written only by the consumer. */
+    private final AtomicLong consumed = new AtomicLong();
+
+    /** The number of events dropped because the ring was full. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** The consumer thread, or null if none was started. */
+    private volatile Thread consumerThread;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new {@code EventRingBuffer}.
+     *
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    public EventRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new EventSlot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new EventSlot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publishes an event into the next slot. Producers are serialized, so events
+     * keep their order.
+     *
+     * @return true if the event was published, false if it was dropped.
+     */
+    synchronized boolean publish(EventType type, String lotId, long sequence, long timestampMillis,
+                                 String licensePlate, int spotId, double durationHours, double amount,
+                                 int totalSpots, int occupiedSpots, int availableSpots) {
+        long next = published.get();
+        if (next - consumed.get() == slots.length) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        slots[(int) (next & mask)].set(type, lotId, sequence, timestampMillis, licensePlate, spotId,
+                durationHours, amount, totalSpots, occupiedSpots, availableSpots);
+        published.lazySet(next + 1);
+        return true;
+    }
+
+    /**
+     * Hands the published events to a handler, in order. Must not be called
+     * concurrently, nor while a consumer thread is running.
+     *
+     * @param handler The handler.
+     * @param maxEvents The maximum number of events to consume.
+     * @return The number of events consumed.
+     */
+    public int drain(EventHandler handler, int maxEvents) {
+        long next = consumed.get();
+        long available = published.get();
+        int count = 0;
+        while (next < available && count < maxEvents) {
+            handler.onEvent(slots[(int) (next & mask)]);
+            next++;
+            count++;
+            consumed.lazySet(next);
+        }
+        return count;
+    }
+
+    /**
+     * Starts a daemon thread handing every event to a handler. A handler that
+     * throws is logged and the thread moves on to the next event.
+     *
+     * @param handler The handler.
+     * @throws IllegalStateException if a consumer thread is already running.
+     */
+    public synchronized void startConsumer(EventHandler handler) {
+        if (consumerThread != null) {
+            throw new IllegalStateException("A consumer is already running");
+        }
+        running = true;
+        consumerThread = new Thread(() -> consume(handler), "parking-event-consumer");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
+
+    private void consume(EventHandler handler) {
+        EventHandler guarded = event -> {
+            try {
+                handler.onEvent(event);
+            } catch (RuntimeException e) {
+                ParkingLogger.getLogger(EventRingBuffer.class).warn("Event handler failed on " + event.getType(), e);
+            }
+        };
+        while (running) {
+            if (drain(guarded, slots.length) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain(guarded, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the number of events published and not yet consumed.
+     *
+     * @return The backlog.
+     */
+    public int getBacklog() {
+        return (int) (published.get() - consumed.get());
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the number of events dropped because the ring was full.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops the consumer thread after it has handed over the remaining events.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            thread = consumerThread;
+            running = false;
+            consumerThread = null;
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
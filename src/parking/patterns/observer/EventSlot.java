@@ -0,0 +1,115 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code EventSlot} class is one preallocated entry of an {@link EventRingBuffer}.
+ * The ring buffer overwrites its slots as events are published, so the consumer
+ * sees a slot only for the duration of {@link EventHandler#onEvent(EventSlot)};
+ * a consumer that needs to keep the event calls {@link #toEvent()} to copy it
+ * into an immutable {@link ParkingEvent}. Fields that do not apply to the event
+ * type are zero or null.
+ *
+ * @author Smart Parking System Team
+ */
+public final class EventSlot {
+    private EventType type;
+    private String lotId;
+    private long sequence;
+    private long timestampMillis;
+    private String licensePlate;
+    private int spotId;
+    private double durationHours;
+    private double amount;
+    private int totalSpots;
+    private int occupiedSpots;
+    private int availableSpots;
+
+    EventSlot() {
+    }
+
+    /**
+     * Fills this slot, resetting every field.
+     */
+    void set(EventType type, String lotId, long sequence, long timestampMillis, String licensePlate, int spotId,
+             double durationHours, double amount, int totalSpots, int occupiedSpots, int availableSpots) {
+        this.type = type;
+        this.lotId = lotId;
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+        this.durationHours = durationHours;
+        this.amount = amount;
+        this.totalSpots = totalSpots;
+        this.occupiedSpots = occupiedSpots;
+        this.availableSpots = availableSpots;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    public double getDurationHours() {
+        return durationHours;
+    }
+
+    /**
+     * Gets the amount paid, for exit and payment events.
+     *
+     * @return The amount.
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    public int getTotalSpots() {
+        return totalSpots;
+    }
+
+    public int getOccupiedSpots() {
+        return occupiedSpots;
+    }
+
+    public int getAvailableSpots() {
+        return availableSpots;
+    }
+
+    /**
+     * Copies this slot into an immutable event.
+     *
+     * @return The event.
+     */
+    public ParkingEvent toEvent() {
+        switch (type) {
+            case ENTRY:
+                return new VehicleEntryEvent(lotId, sequence, timestampMillis, licensePlate, spotId);
+            case EXIT:
+                return new VehicleExitEvent(lotId, sequence, timestampMillis, licensePlate, spotId,
+                        durationHours, amount);
+            case PAYMENT:
+                return new PaymentEvent(lotId, sequence, timestampMillis, licensePlate, spotId, amount);
+            default:
+                return new ParkingStatusEvent(lotId, sequence, timestampMillis,
+                        totalSpots, occupiedSpots, availableSpots);
+        }
+    }
+}
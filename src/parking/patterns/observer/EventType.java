@@ -0,0 +1,13 @@
+package parking.patterns.observer;
+
+/**
+ * The EventType enum represents the kinds of parking events.
+ *
+ * @author Smart Parking System Team
+ */
+public enum EventType {
+    ENTRY,
+    EXIT,
+    STATUS,
+    PAYMENT
+}
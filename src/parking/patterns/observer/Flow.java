@@ -0,0 +1,84 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code Flow} class holds the interfaces of reactive event streams with
+ * demand-driven backpressure. They have the same shape and contract as
+ * {@code java.util.concurrent.Flow}, which is not available on the Java 8
+ * target of this project; a subscriber written against them adapts to the JDK
+ * interfaces one-for-one.
+ *
+ * @author Smart Parking System Team
+ */
+public final class Flow {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Flow() {
+    }
+
+    /**
+     * A producer of items that subscribers receive as they request them.
+     *
+     * @param <T> The type of the items.
+     */
+    public interface Publisher<T> {
+        /**
+         * Adds a subscriber. The subscriber first receives
+         * {@link Subscriber#onSubscribe(Subscription)}.
+         *
+         * @param subscriber The subscriber.
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * A receiver of items. The methods of one subscriber are never called concurrently.
+     *
+     * @param <T> The type of the items.
+     */
+    public interface Subscriber<T> {
+        /**
+         * Called once, before any other method, with the subscription to request items from.
+         *
+         * @param subscription The subscription.
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called with the next item, at most as many times as items were requested.
+         *
+         * @param item The item.
+         */
+        void onNext(T item);
+
+        /**
+         * Called when the subscription fails; no further methods are called.
+         *
+         * @param throwable The failure.
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called when the publisher has no more items; no further methods are called.
+         */
+        void onComplete();
+    }
+
+    /**
+     * The link between a publisher and one subscriber.
+     */
+    public interface Subscription {
+        /**
+         * Adds to the number of items the subscriber is ready to receive.
+         *
+         * @param n The number of items; a non-positive number fails the subscription.
+         */
+        void request(long n);
+
+        /**
+         * Stops the delivery of items.
+         */
+        void cancel();
+    }
+}
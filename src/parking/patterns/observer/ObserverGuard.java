@@ -0,0 +1,388 @@
+package parking.patterns.observer;
+
+import parking.util.ParkingLogger;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ObserverGuard} class runs one observer in isolation from the others
+ * and from the caller. Anything the observer throws is caught and counted, except
+ * a {@link VirtualMachineError}, which is passed on, and the time spent in it is measured.
+ * <p>
+ * An observer added with a timeout runs on its own daemon thread, and the caller
+ * waits for it at most that long; a call that takes longer is cancelled, counts
+ * as a failure, and the caller moves on. While a call is still running on that
+ * thread, for example because the observer ignores the interrupt, new calls fail
+ * at once instead of queueing up behind it, so calls never pile up or run late.
+ * An observer without a timeout runs on the caller's thread, which costs nothing
+ * extra but cannot protect against a hung observer; a call that takes longer
+ * than {@link #SLOW_CALL_MILLIS} counts as a failure once it returns, so an
+ * observer that keeps stalling the caller is still switched off.
+ * <p>
+ * After {@link #FAILURE_THRESHOLD} consecutive failures the circuit opens and the
+ * observer is skipped for {@link #OPEN_MILLIS}. Then exactly one trial call is let
+ * through, and the others are skipped while it runs: if it succeeds the circuit
+ * closes, otherwise it stays open for another period.
+ *
+ * @author Smart Parking System Team
+ */
+public class ObserverGuard implements ParkingObserver {
+    /** The number of consecutive failures that opens the circuit. */
+    public static final int FAILURE_THRESHOLD = 5;
+
+    /** How long an open circuit skips the observer before a trial call. */
+    public static final long OPEN_MILLIS = 30_000L;
+
+    /** How long a call on the caller's thread may take before it counts as a failure. */
+    public static final long SLOW_CALL_MILLIS = 100L;
+
+    /** Circuit states: calls pass, calls are skipped, or one trial call is running. */
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    /** The guarded observer. */
+    private final ParkingObserver observer;
+
+    /** The timeout of each call in milliseconds, or 0 to call on the caller's thread. */
+    private final long timeoutMillis;
+
+    /** The thread running the observer when a timeout applies, or null. */
+    private final ExecutorService executor;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong slowCalls = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /** Whether a call is running on the observer's thread. */
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+
+    /** The state of the circuit. */
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+
+    /** The number of failures since the last success. */
+    private volatile int consecutiveFailures;
+
+    /** The time the open circuit allows a trial call, in {@link System#nanoTime()} units. */
+    private volatile long openUntilNanos;
+
+    /**
+     * Constructs a new {@code ObserverGuard}.
+     *
+     * @param observer The observer to guard.
+     * @param timeoutMillis The timeout of each call in milliseconds, or 0 to call
+     *                      the observer on the caller's thread without a timeout.
+     */
+    public ObserverGuard(ParkingObserver observer, long timeoutMillis) {
+        if (observer == null) {
+            throw new IllegalArgumentException("Observer cannot be null");
+        }
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout cannot be negative: " + timeoutMillis);
+        }
+        this.observer = observer;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = timeoutMillis > 0 ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "parking-observer-" + observer.getClass().getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Override
+    public void onVehicleEntry(String licensePlate, int spotId) {
+        if (!allowCall()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (executor == null) {
+                observer.onVehicleEntry(licensePlate, spotId);
+            } else {
+                await(() -> observer.onVehicleEntry(licensePlate, spotId));
+            }
+            recordSuccess(start);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            recordFailure(start, e);
+        }
+    }
+
+    @Override
+    public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+        if (!allowCall()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (executor == null) {
+                observer.onVehicleExit(licensePlate, spotId, durationHours, payment);
+            } else {
+                await(() -> observer.onVehicleExit(licensePlate, spotId, durationHours, payment));
+            }
+            recordSuccess(start);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            recordFailure(start, e);
+        }
+    }
+
+    @Override
+    public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+        if (!allowCall()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (executor == null) {
+                observer.onParkingStatusChange(totalSpots, occupiedSpots, availableSpots);
+            } else {
+                await(() -> observer.onParkingStatusChange(totalSpots, occupiedSpots, availableSpots));
+            }
+            recordSuccess(start);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            recordFailure(start, e);
+        }
+    }
+
+    @Override
+    public void onPayment(String licensePlate, int spotId, double amount) {
+        if (!allowCall()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (executor == null) {
+                observer.onPayment(licensePlate, spotId, amount);
+            } else {
+                await(() -> observer.onPayment(licensePlate, spotId, amount));
+            }
+            recordSuccess(start);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            recordFailure(start, e);
+        }
+    }
+
+    /**
+     * Runs a call on the observer's thread and waits for it, cancelling it on timeout.
+     *
+     * @throws RejectedExecutionException if an earlier call is still running.
+     */
+    private void await(Runnable task) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!inFlight.compareAndSet(false, true)) {
+            throw new RejectedExecutionException("Observer " + getName() + " is still busy with an earlier call");
+        }
+        // Whichever of the call and the timeout claims this first frees the thread
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> call;
+        try {
+            call = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    inFlight.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.set(false);
+            throw e;
+        }
+        try {
+            call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof VirtualMachineError) {
+                throw (VirtualMachineError) e.getCause();
+            }
+            throw e;
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                inFlight.set(false);
+            }
+            timeouts.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether the circuit lets a call through. Once the open period has
+     * passed, the first caller to switch the circuit to half-open makes the trial call.
+     */
+    private boolean allowCall() {
+        int current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        if (current == OPEN && System.nanoTime() - openUntilNanos >= 0
+                && state.compareAndSet(OPEN, HALF_OPEN)) {
+            return true;
+        }
+        skipped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Records a call that returned normally. A call on the caller's thread that
+     * took longer than {@link #SLOW_CALL_MILLIS} is recorded as a failure instead.
+     */
+    private void recordSuccess(long start) {
+        long elapsed = recordTime(start);
+        if (executor == null && elapsed > TimeUnit.MILLISECONDS.toNanos(SLOW_CALL_MILLIS)) {
+            slowCalls.incrementAndGet();
+            recordFailed(new TimeoutException("Observer " + getName() + " took "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms"));
+            return;
+        }
+        consecutiveFailures = 0;
+        state.set(CLOSED);
+    }
+
+    private void recordFailure(long start, Throwable e) {
+        recordTime(start);
+        recordFailed(e);
+    }
+
+    private void recordFailed(Throwable e) {
+        failures.incrementAndGet();
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        int failed = ++consecutiveFailures;
+        if (failed >= FAILURE_THRESHOLD) {
+            openUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(OPEN_MILLIS);
+            state.set(OPEN);
+            if (failed == FAILURE_THRESHOLD) {
+                ParkingLogger.getLogger(ObserverGuard.class).warn("Disabled observer " + getName()
+                        + " after " + failed + " consecutive failures", e);
+            }
+        }
+    }
+
+    private long recordTime(long start) {
+        long elapsed = System.nanoTime() - start;
+        calls.incrementAndGet();
+        totalNanos.addAndGet(elapsed);
+        long max;
+        while (elapsed > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, elapsed)) {
+            // Retry
+        }
+        return elapsed;
+    }
+
+    public ParkingObserver getObserver() {
+        return observer;
+    }
+
+    /**
+     * Gets the name of the guarded observer's class.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return observer.getClass().getSimpleName();
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Checks whether the circuit is open, so that calls are skipped.
+     *
+     * @return true if the observer is currently disabled.
+     */
+    public boolean isOpen() {
+        int current = state.get();
+        return current == HALF_OPEN || (current == OPEN && System.nanoTime() - openUntilNanos < 0);
+    }
+
+    /**
+     * Gets the number of calls made to the observer, failed or not.
+     *
+     * @return The number of calls.
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * Gets the number of calls that threw, timed out, or ran on the caller's
+     * thread for longer than {@link #SLOW_CALL_MILLIS}.
+     *
+     * @return The number of failures.
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Gets the number of calls on the caller's thread that took longer than {@link #SLOW_CALL_MILLIS}.
+     *
+     * @return The number of slow calls.
+     */
+    public long getSlowCalls() {
+        return slowCalls.get();
+    }
+
+    /**
+     * Gets the number of events not delivered because the circuit was open.
+     *
+     * @return The number of skipped events.
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Gets the total time spent in calls to the observer.
+     *
+     * @return The total time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * Gets the longest time spent in one call to the observer.
+     *
+     * @return The longest time in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Stops the observer's thread, if it has one.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
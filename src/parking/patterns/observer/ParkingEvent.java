@@ -0,0 +1,52 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code ParkingEvent} class is the base of the immutable events published
+ * by {@link ParkingEventManager} streams. Every event carries the lot it happened
+ * at, a sequence number that increases by one with each event of that lot,
+ * whatever its type, and its time.
+ *
+ * @author Smart Parking System Team
+ */
+public abstract class ParkingEvent {
+    /** The ID of the lot, or null if the event manager is not bound to a lot. */
+    private final String lotId;
+
+    /** The sequence number of the event within its lot. */
+    private final long sequence;
+
+    /** The time of the event in epoch milliseconds. */
+    private final long timestampMillis;
+
+    /**
+     * Constructs an event.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     * @param sequence The sequence number of the event within its lot.
+     * @param timestampMillis The time of the event in epoch milliseconds.
+     */
+    protected ParkingEvent(String lotId, long sequence, long timestampMillis) {
+        this.lotId = lotId;
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Gets the kind of this event.
+     *
+     * @return The event type.
+     */
+    public abstract EventType getType();
+
+    public String getLotId() {
+        return lotId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
@@ -2,33 +2,191 @@ package parking.patterns.observer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import parking.metrics.MetricsRegistry;
+import parking.metrics.Timer;
+import parking.util.ParkingClock;
 
 /**
  * The {@code ParkingEventManager} class manages observers of parking events
  * and notifies them when events occur.
  * This is part of the Observer design pattern.
+ * <p>
+ * Each observer runs inside an {@link ObserverGuard}, so an observer that throws
+ * does not keep the others from seeing the event, and an observer that keeps
+ * failing or hangs past its timeout is disabled by a circuit breaker.
+ * <p>
+ * Besides the synchronous observers, the events are published as typed
+ * {@link Flow.Publisher} streams. Stream subscribers are called asynchronously
+ * with per-subscriber demand, and a subscriber that falls behind has events
+ * dropped instead of slowing down the caller. No event object is created for
+ * a stream without subscribers. For a garbage-free path, an {@link EventRingBuffer}
+ * receives every event in preallocated slots instead.
  *
  * @author Smart Parking System Team
  */
 public class ParkingEventManager {
-    /** The list of observers to be notified of parking events. */
-    private final List<ParkingObserver> observers;
+    /** The guarded observers to be notified of parking events. */
+    private final List<ObserverGuard> observers;
+
+    /** The default capacity of each stream subscriber's buffer. */
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+
+    /** The ID of the lot the events happen at, or null if unknown. */
+    private final String lotId;
+
+    /** The sequence number of the last event. */
+    private final AtomicLong sequence;
+
+    /** The streams of entry, exit, status and payment events. */
+    private final EventPublisher<VehicleEntryEvent> entryEvents;
+    private final EventPublisher<VehicleExitEvent> exitEvents;
+    private final EventPublisher<ParkingStatusEvent> statusEvents;
+    private final EventPublisher<PaymentEvent> paymentEvents;
+
+    /** The ring buffer receiving every event, or null if not enabled. */
+    private volatile EventRingBuffer ringBuffer;
+
+    /** The time taken to call the observers for each kind of event. */
+    private final Timer entryDispatch;
+    private final Timer exitDispatch;
+    private final Timer statusDispatch;
+    private final Timer paymentDispatch;
 
     /**
-     * Constructs a new {@code ParkingEventManager}.
+     * Constructs a new {@code ParkingEventManager} that is not bound to a lot,
+     * delivering stream events on the common fork-join pool.
      */
     public ParkingEventManager() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new {@code ParkingEventManager} for a lot, delivering stream
+     * events on the common fork-join pool.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     */
+    public ParkingEventManager(String lotId) {
+        this(lotId, ForkJoinPool.commonPool(), DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code ParkingEventManager}.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     * @param executor The executor delivering stream events to subscribers.
+     * @param bufferCapacity The capacity of each stream subscriber's buffer.
+     */
+    public ParkingEventManager(String lotId, Executor executor, int bufferCapacity) {
         this.observers = new ArrayList<>();
+        this.lotId = lotId;
+        this.sequence = new AtomicLong();
+        this.entryEvents = new EventPublisher<>(executor, bufferCapacity);
+        this.exitEvents = new EventPublisher<>(executor, bufferCapacity);
+        this.statusEvents = new EventPublisher<>(executor, bufferCapacity);
+        this.paymentEvents = new EventPublisher<>(executor, bufferCapacity);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        String lot = lotId != null ? lotId : "";
+        String help = "Time to call the observers of an event";
+        this.entryDispatch = metrics.timer("parking_observer_dispatch_seconds", help, "lot", lot, "event", "entry");
+        this.exitDispatch = metrics.timer("parking_observer_dispatch_seconds", help, "lot", lot, "event", "exit");
+        this.statusDispatch = metrics.timer("parking_observer_dispatch_seconds", help, "lot", lot, "event", "status");
+        this.paymentDispatch = metrics.timer("parking_observer_dispatch_seconds", help, "lot", lot, "event", "payment");
+    }
+
+    /**
+     * Gets the stream of vehicle entries.
+     *
+     * @return The publisher of entry events.
+     */
+    public EventPublisher<VehicleEntryEvent> getEntryEvents() {
+        return entryEvents;
+    }
+
+    /**
+     * Gets the stream of vehicle exits.
+     *
+     * @return The publisher of exit events.
+     */
+    public EventPublisher<VehicleExitEvent> getExitEvents() {
+        return exitEvents;
+    }
+
+    /**
+     * Gets the stream of parking lot status changes.
+     *
+     * @return The publisher of status events.
+     */
+    public EventPublisher<ParkingStatusEvent> getStatusEvents() {
+        return statusEvents;
+    }
+
+    /**
+     * Gets the stream of payments.
+     *
+     * @return The publisher of payment events.
+     */
+    public EventPublisher<PaymentEvent> getPaymentEvents() {
+        return paymentEvents;
     }
 
     /**
-     * Adds an observer to be notified of parking events.
+     * Starts copying every event into a ring buffer of preallocated slots,
+     * replacing any previous ring buffer.
+     *
+     * @param capacity The number of slots.
+     * @return The ring buffer, for the consumer to drain.
+     */
+    public EventRingBuffer enableRingBuffer(int capacity) {
+        EventRingBuffer buffer = new EventRingBuffer(capacity);
+        ringBuffer = buffer;
+        return buffer;
+    }
+
+    /**
+     * Gets the ring buffer receiving every event.
+     *
+     * @return The ring buffer, or null if not enabled.
+     */
+    public EventRingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * Gets the sequence number of the last event.
+     *
+     * @return The sequence number, or 0 before the first event.
+     */
+    public long getLastSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Adds an observer to be notified of parking events on the caller's thread.
      *
      * @param observer The observer to add.
      */
     public void addObserver(ParkingObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
+        addObserver(observer, 0);
+    }
+
+    /**
+     * Adds an observer to be notified of parking events, waiting at most a timeout
+     * for each call. The observer runs on its own thread, so that a hung observer
+     * cannot stall the caller.
+     *
+     * @param observer The observer to add.
+     * @param timeoutMillis The timeout of each call in milliseconds, or 0 to call
+     *                      the observer on the caller's thread.
+     */
+    public void addObserver(ParkingObserver observer, long timeoutMillis) {
+        if (indexOf(observer) < 0) {
+            observers.add(new ObserverGuard(observer, timeoutMillis));
         }
     }
 
@@ -38,7 +196,28 @@ public class ParkingEventManager {
      * @param observer The observer to remove.
      */
     public void removeObserver(ParkingObserver observer) {
-        observers.remove(observer);
+        int index = indexOf(observer);
+        if (index >= 0) {
+            observers.remove(index).shutdown();
+        }
+    }
+
+    /**
+     * Gets the guards of all observers, with their failure counts, timings and circuit state.
+     *
+     * @return The observer guards, in the order the observers were added.
+     */
+    public List<ObserverGuard> getObserverGuards() {
+        return new ArrayList<>(observers);
+    }
+
+    private int indexOf(ParkingObserver observer) {
+        for (int i = 0; i < observers.size(); i++) {
+            if (observers.get(i).getObserver().equals(observer)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -48,8 +227,21 @@ public class ParkingEventManager {
      * @param spotId The ID of the spot where the vehicle parked.
      */
     public void notifyVehicleEntry(String licensePlate, int spotId) {
-        for (ParkingObserver observer : observers) {
-            observer.onVehicleEntry(licensePlate, spotId);
+        long start = entryDispatch.start();
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).onVehicleEntry(licensePlate, spotId);
+        }
+        entryDispatch.stop(start);
+        long seq = sequence.incrementAndGet();
+        EventRingBuffer buffer = ringBuffer;
+        if (buffer != null || entryEvents.hasSubscribers()) {
+            long now = ParkingClock.currentTimeMillis();
+            if (buffer != null) {
+                buffer.publish(EventType.ENTRY, lotId, seq, now, licensePlate, spotId, 0, 0, 0, 0, 0);
+            }
+            if (entryEvents.hasSubscribers()) {
+                entryEvents.submit(new VehicleEntryEvent(lotId, seq, now, licensePlate, spotId));
+            }
         }
     }
 
@@ -62,8 +254,21 @@ public class ParkingEventManager {
      * @param payment The amount paid for the parking.
      */
     public void notifyVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
-        for (ParkingObserver observer : observers) {
-            observer.onVehicleExit(licensePlate, spotId, durationHours, payment);
+        long start = exitDispatch.start();
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).onVehicleExit(licensePlate, spotId, durationHours, payment);
+        }
+        exitDispatch.stop(start);
+        long seq = sequence.incrementAndGet();
+        EventRingBuffer buffer = ringBuffer;
+        if (buffer != null || exitEvents.hasSubscribers()) {
+            long now = ParkingClock.currentTimeMillis();
+            if (buffer != null) {
+                buffer.publish(EventType.EXIT, lotId, seq, now, licensePlate, spotId, durationHours, payment, 0, 0, 0);
+            }
+            if (exitEvents.hasSubscribers()) {
+                exitEvents.submit(new VehicleExitEvent(lotId, seq, now, licensePlate, spotId, durationHours, payment));
+            }
         }
     }
 
@@ -75,8 +280,49 @@ public class ParkingEventManager {
      * @param availableSpots The number of currently available spots.
      */
     public void notifyParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
-        for (ParkingObserver observer : observers) {
-            observer.onParkingStatusChange(totalSpots, occupiedSpots, availableSpots);
+        long start = statusDispatch.start();
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).onParkingStatusChange(totalSpots, occupiedSpots, availableSpots);
+        }
+        statusDispatch.stop(start);
+        long seq = sequence.incrementAndGet();
+        EventRingBuffer buffer = ringBuffer;
+        if (buffer != null || statusEvents.hasSubscribers()) {
+            long now = ParkingClock.currentTimeMillis();
+            if (buffer != null) {
+                buffer.publish(EventType.STATUS, lotId, seq, now, null, 0, 0, 0,
+                        totalSpots, occupiedSpots, availableSpots);
+            }
+            if (statusEvents.hasSubscribers()) {
+                statusEvents.submit(new ParkingStatusEvent(lotId, seq, now, totalSpots, occupiedSpots, availableSpots));
+            }
+        }
+    }
+
+    /**
+     * Notifies all observers that a parking session was paid for, and publishes
+     * the payment to the payment stream and the ring buffer.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param spotId The ID of the spot of the session.
+     * @param amount The amount paid.
+     */
+    public void notifyPayment(String licensePlate, int spotId, double amount) {
+        long start = paymentDispatch.start();
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).onPayment(licensePlate, spotId, amount);
+        }
+        paymentDispatch.stop(start);
+        long seq = sequence.incrementAndGet();
+        EventRingBuffer buffer = ringBuffer;
+        if (buffer != null || paymentEvents.hasSubscribers()) {
+            long now = ParkingClock.currentTimeMillis();
+            if (buffer != null) {
+                buffer.publish(EventType.PAYMENT, lotId, seq, now, licensePlate, spotId, 0, amount, 0, 0, 0);
+            }
+            if (paymentEvents.hasSubscribers()) {
+                paymentEvents.submit(new PaymentEvent(lotId, seq, now, licensePlate, spotId, amount));
+            }
         }
     }
 }
\ No newline at end of file
@@ -34,4 +34,15 @@ public interface ParkingObserver {
      * @param availableSpots The number of currently available spots.
      */
     void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots);
+
+    /**
+     * Called when a parking session is paid for, after the vehicle has exited.
+     * Observers that do not track payments can leave this empty.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param spotId The ID of the spot of the session.
+     * @param amount The amount paid.
+     */
+    default void onPayment(String licensePlate, int spotId, double amount) {
+    }
 }
\ No newline at end of file
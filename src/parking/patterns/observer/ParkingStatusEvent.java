@@ -0,0 +1,53 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code ParkingStatusEvent} class reports the occupancy of the parking lot after a change.
+ *
+ * @author Smart Parking System Team
+ */
+public final class ParkingStatusEvent extends ParkingEvent {
+    private final int totalSpots;
+    private final int occupiedSpots;
+    private final int availableSpots;
+
+    /**
+     * Constructs a new {@code ParkingStatusEvent}.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     * @param sequence The sequence number of the event within its lot.
+     * @param timestampMillis The time of the event in epoch milliseconds.
+     * @param totalSpots The total number of spots in the parking lot.
+     * @param occupiedSpots The number of currently occupied spots.
+     * @param availableSpots The number of currently available spots.
+     */
+    public ParkingStatusEvent(String lotId, long sequence, long timestampMillis,
+                              int totalSpots, int occupiedSpots, int availableSpots) {
+        super(lotId, sequence, timestampMillis);
+        this.totalSpots = totalSpots;
+        this.occupiedSpots = occupiedSpots;
+        this.availableSpots = availableSpots;
+    }
+
+    public int getTotalSpots() {
+        return totalSpots;
+    }
+
+    public int getOccupiedSpots() {
+        return occupiedSpots;
+    }
+
+    public int getAvailableSpots() {
+        return availableSpots;
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.STATUS;
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingStatusEvent{sequence=" + getSequence() + ", totalSpots=" + totalSpots
+                + ", occupiedSpots=" + occupiedSpots + ", availableSpots=" + availableSpots + '}';
+    }
+}
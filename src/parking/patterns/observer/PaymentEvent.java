@@ -0,0 +1,53 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code PaymentEvent} class reports that a parking session was paid for.
+ *
+ * @author Smart Parking System Team
+ */
+public final class PaymentEvent extends ParkingEvent {
+    private final String licensePlate;
+    private final int spotId;
+    private final double amount;
+
+    /**
+     * Constructs a new {@code PaymentEvent}.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     * @param sequence The sequence number of the event within its lot.
+     * @param timestampMillis The time of the event in epoch milliseconds.
+     * @param licensePlate The license plate of the vehicle.
+     * @param spotId The ID of the spot of the session.
+     * @param amount The amount paid.
+     */
+    public PaymentEvent(String lotId, long sequence, long timestampMillis,
+                        String licensePlate, int spotId, double amount) {
+        super(lotId, sequence, timestampMillis);
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+        this.amount = amount;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.PAYMENT;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentEvent{sequence=" + getSequence() + ", licensePlate='" + licensePlate
+                + "', spotId=" + spotId + ", amount=" + amount + '}';
+    }
+}
@@ -36,7 +36,7 @@ public class StatisticsObserver implements ParkingObserver {
 
     /**
      * Called when a vehicle exits the parking lot.
-     * Updates the exit statistics and financials.
+     * Updates the exit statistics; the revenue is counted from the payment.
      *
      * @param licensePlate The license plate of the vehicle that exited.
      * @param spotId The ID of the spot that the vehicle vacated.
@@ -45,7 +45,20 @@ public class StatisticsObserver implements ParkingObserver {
      */
     @Override
     public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
-        statistics.recordExit(licensePlate, durationHours, payment);
+        statistics.recordExit(licensePlate, durationHours);
+    }
+
+    /**
+     * Called when a parking session is paid for.
+     * Updates the financials.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param spotId The ID of the spot of the session.
+     * @param amount The amount paid.
+     */
+    @Override
+    public void onPayment(String licensePlate, int spotId, double amount) {
+        statistics.recordPayment(licensePlate, amount);
     }
 
     /**
@@ -0,0 +1,46 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code VehicleEntryEvent} class reports that a vehicle entered the parking lot.
+ *
+ * @author Smart Parking System Team
+ */
+public final class VehicleEntryEvent extends ParkingEvent {
+    private final String licensePlate;
+    private final int spotId;
+
+    /**
+     * Constructs a new {@code VehicleEntryEvent}.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     * @param sequence The sequence number of the event within its lot.
+     * @param timestampMillis The time of the event in epoch milliseconds.
+     * @param licensePlate The license plate of the vehicle that entered.
+     * @param spotId The ID of the spot where the vehicle parked.
+     */
+    public VehicleEntryEvent(String lotId, long sequence, long timestampMillis,
+                             String licensePlate, int spotId) {
+        super(lotId, sequence, timestampMillis);
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.ENTRY;
+    }
+
+    @Override
+    public String toString() {
+        return "VehicleEntryEvent{sequence=" + getSequence() + ", licensePlate='" + licensePlate
+                + "', spotId=" + spotId + '}';
+    }
+}
@@ -0,0 +1,60 @@
+package parking.patterns.observer;
+
+/**
+ * The {@code VehicleExitEvent} class reports that a vehicle left the parking lot.
+ *
+ * @author Smart Parking System Team
+ */
+public final class VehicleExitEvent extends ParkingEvent {
+    private final String licensePlate;
+    private final int spotId;
+    private final double durationHours;
+    private final double payment;
+
+    /**
+     * Constructs a new {@code VehicleExitEvent}.
+     *
+     * @param lotId The ID of the lot, or null if unknown.
+     * @param sequence The sequence number of the event within its lot.
+     * @param timestampMillis The time of the event in epoch milliseconds.
+     * @param licensePlate The license plate of the vehicle that exited.
+     * @param spotId The ID of the spot that the vehicle vacated.
+     * @param durationHours The duration of the parking in hours.
+     * @param payment The amount paid for the parking.
+     */
+    public VehicleExitEvent(String lotId, long sequence, long timestampMillis,
+                            String licensePlate, int spotId, double durationHours, double payment) {
+        super(lotId, sequence, timestampMillis);
+        this.licensePlate = licensePlate;
+        this.spotId = spotId;
+        this.durationHours = durationHours;
+        this.payment = payment;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public int getSpotId() {
+        return spotId;
+    }
+
+    public double getDurationHours() {
+        return durationHours;
+    }
+
+    public double getPayment() {
+        return payment;
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.EXIT;
+    }
+
+    @Override
+    public String toString() {
+        return "VehicleExitEvent{sequence=" + getSequence() + ", licensePlate='" + licensePlate
+                + "', spotId=" + spotId + ", durationHours=" + durationHours + ", payment=" + payment + '}';
+    }
+}
@@ -2,14 +2,19 @@ package parking.reports;
 
 import parking.core.Car;
 import parking.core.Motorcycle;
+import parking.core.PlateRegistry;
 import parking.core.Vehicle;
+import parking.util.IntIntHashMap;
+import parking.util.ParkingClock;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -19,43 +24,78 @@ import java.util.Set;
  * @author Smart Parking System Team
  */
 public class ParkingStatistics {
-    /** Maps date to revenue for historical tracking. */
-    private final Map<LocalDate, Double> dailyRevenue;
+    /** Type code of a plate whose vehicle type is not known. */
+    private static final byte TYPE_UNKNOWN = 0;
 
-    /** Maps date to entry count for historical tracking. */
-    private final Map<LocalDate, Integer> dailyEntries;
+    /** Type code of a car. */
+    private static final byte TYPE_CAR = 1;
 
-    /** Maps date to car count for historical tracking. */
-    private final Map<LocalDate, Integer> dailyCarCount;
+    /** Type code of a motorcycle. */
+    private static final byte TYPE_MOTORCYCLE = 2;
 
-    /** Maps date to motorcycle count for historical tracking. */
-    private final Map<LocalDate, Integer> dailyMotorcycleCount;
+    /** The totals of each day, for historical tracking. */
+    private final Map<LocalDate, DayTotals> days;
 
-    /** Maps date to car revenue for historical tracking. */
-    private final Map<LocalDate, Double> dailyCarRevenue;
+    /**
+     * The totals of the current day, and the window of epoch milliseconds and
+     * the zone they belong to, so that recording an event only needs the date
+     * when the day changes.
+     */
+    private DayTotals today;
+    private long todayStartMillis;
+    private long todayEndMillis;
+    private ZoneId todayZone;
+
+    /** The registry that interns license plates. */
+    private final PlateRegistry plates;
+
+    /**
+     * Maps the plate ID of each vehicle seen since its entry to its index in the
+     * arrays below. Indexes are freed when the vehicle exits and reused, so the
+     * arrays grow with the vehicles parked here, not with every plate ever interned.
+     */
+    private final IntIntHashMap indexByPlate;
+
+    /** Freed indexes available for reuse. */
+    private int[] freeIndexes;
+    private int freeCount;
+
+    /** The number of indexes that have ever been handed out. */
+    private int indexCount;
 
-    /** Maps date to motorcycle revenue for historical tracking. */
-    private final Map<LocalDate, Double> dailyMotorcycleRevenue;
+    /** Entry time in epoch milliseconds, indexed by plate index. */
+    private long[] entryMillisByPlate;
 
-    /** Maps license plate to entry time for duration calculation. */
-    private final Map<String, LocalDateTime> vehicleEntryTimes;
+    /** Vehicle type code ({@link #TYPE_CAR}, {@link #TYPE_MOTORCYCLE}), indexed by plate index. */
+    private byte[] vehicleTypeByPlate;
 
-    /** Maps license plate to vehicle type for statistics. */
-    private final Map<String, String> vehicleTypes;    /** Maps license plate to disabled status for statistics. */
-    private final Map<String, Boolean> vehicleDisabledStatus;    /** Maps license plate to vehicle color for statistics. */
-    private final Map<String, String> vehicleColors;
+    /** Disabled status, indexed by plate index. */
+    private boolean[] disabledByPlate;
 
-    /** Counts vehicles by color for statistics. */
-    private final Map<String, Integer> colorCounts;
+    /** Vehicle color, indexed by plate index. */
+    private String[] colorByPlate;
 
-    /** Stores all parking durations for average calculation. */
-    private final List<Double> parkingDurations;
+    /**
+     * The plate and type code of the vehicle that exited last, whose index is
+     * already freed, so that the payment following its exit is counted by type.
+     */
+    private String lastExitPlate;
+    private byte lastExitType;
 
-    /** Stores car parking durations for average calculation. */
-    private final List<Double> carParkingDurations;
+    /** Counts vehicles by color for statistics, in one-element arrays updated in place. */
+    private final Map<String, int[]> colorCounts;
 
-    /** Stores motorcycle parking durations for average calculation. */
-    private final List<Double> motorcycleParkingDurations;
+    /** The sum and number of all parking durations, for average calculation. */
+    private double durationSum;
+    private int durationCount;
+
+    /** The sum and number of car parking durations, for average calculation. */
+    private double carDurationSum;
+    private int carDurationCount;
+
+    /** The sum and number of motorcycle parking durations, for average calculation. */
+    private double motorcycleDurationSum;
+    private int motorcycleDurationCount;
 
     /** Stores disabled vehicle count for statistics. */
     private int disabledVehicleCount;
@@ -77,24 +117,34 @@ public class ParkingStatistics {
     private int occupiedSpots;
     private int availableSpots;
 
+    /** The clock used to date the statistics, or null to follow {@link ParkingClock}. */
+    private final Clock clock;
+
     /**
-     * Constructs a new {@code ParkingStatistics}.
+     * Constructs a new {@code ParkingStatistics} dated by the system-wide {@link ParkingClock}.
      */
     public ParkingStatistics() {
-        this.dailyRevenue = new HashMap<>();
-        this.dailyEntries = new HashMap<>();
-        this.dailyCarCount = new HashMap<>();
-        this.dailyMotorcycleCount = new HashMap<>();
-        this.dailyCarRevenue = new HashMap<>();
-        this.dailyMotorcycleRevenue = new HashMap<>();
-        this.vehicleEntryTimes = new HashMap<>();
-        this.vehicleTypes = new HashMap<>();
-        this.vehicleDisabledStatus = new HashMap<>();
-        this.vehicleColors = new HashMap<>();
+        this(null);
+    }
+
+    /**
+     * Constructs a new {@code ParkingStatistics} dated by the specified clock.
+     *
+     * @param clock The clock to use, or null to follow {@link ParkingClock}.
+     */
+    public ParkingStatistics(Clock clock) {
+        this.clock = clock;
+        this.days = new HashMap<>();
+        this.todayStartMillis = Long.MAX_VALUE;
+        this.todayEndMillis = Long.MIN_VALUE;
+        this.plates = PlateRegistry.getInstance();
+        this.indexByPlate = new IntIntHashMap();
+        this.freeIndexes = new int[0];
+        this.entryMillisByPlate = new long[0];
+        this.vehicleTypeByPlate = new byte[0];
+        this.disabledByPlate = new boolean[0];
+        this.colorByPlate = new String[0];
         this.colorCounts = new HashMap<>();
-        this.parkingDurations = new ArrayList<>();
-        this.carParkingDurations = new ArrayList<>();
-        this.motorcycleParkingDurations = new ArrayList<>();
         this.disabledVehicleCount = 0;
         this.disabledCarCount = 0;
         this.disabledMotorcycleCount = 0;
@@ -111,48 +161,85 @@ public class ParkingStatistics {
      * @param licensePlate The license plate of the vehicle.
      */
     public void recordEntry(String licensePlate) {
-        LocalDate today = LocalDate.now();
-        LocalDateTime now = LocalDateTime.now();
+        int index = ensurePlate(licensePlate);
 
         // Record entry time
-        vehicleEntryTimes.put(licensePlate, now);
+        entryMillisByPlate[index] = clock().millis();
 
         // Increment daily entries
-        dailyEntries.put(today, dailyEntries.getOrDefault(today, 0) + 1);
+        today().entries++;
     }
 
     /**
-     * Records a vehicle exit and collects statistics.
+     * Records a vehicle exit that was paid for, and collects statistics.
      *
      * @param licensePlate The license plate of the vehicle.
      * @param durationHours The duration of the parking in hours.
      * @param payment The amount paid for the parking.
      */
     public void recordExit(String licensePlate, double durationHours, double payment) {
-        LocalDate today = LocalDate.now();
-
-        // Record revenue
-        dailyRevenue.put(today, dailyRevenue.getOrDefault(today, 0.0) + payment);
+        recordExit(licensePlate, durationHours);
+        recordPayment(licensePlate, payment);
+    }
 
+    /**
+     * Records a vehicle exit and collects statistics. The payment, if any, is
+     * recorded separately with {@link #recordPayment}.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param durationHours The duration of the parking in hours.
+     */
+    public void recordExit(String licensePlate, double durationHours) {
         // Record duration
-        parkingDurations.add(durationHours);
+        durationSum += durationHours;
+        durationCount++;
 
         // Record vehicle-specific statistics
-        String vehicleType = vehicleTypes.get(licensePlate);
-        boolean isDisabled = vehicleDisabledStatus.getOrDefault(licensePlate, false);
-
-        if (vehicleType != null) {
-            if (vehicleType.equals("Car")) {
-                carParkingDurations.add(durationHours);
-                dailyCarRevenue.put(today, dailyCarRevenue.getOrDefault(today, 0.0) + payment);
-            } else if (vehicleType.equals("Motorcycle")) {
-                motorcycleParkingDurations.add(durationHours);
-                dailyMotorcycleRevenue.put(today, dailyMotorcycleRevenue.getOrDefault(today, 0.0) + payment);
-            }
+        int plateId = plates.lookup(licensePlate);
+        int index = plateId >= 0 ? indexByPlate.get(plateId) : IntIntHashMap.NO_VALUE;
+        byte vehicleType = index != IntIntHashMap.NO_VALUE ? vehicleTypeByPlate[index] : TYPE_UNKNOWN;
+
+        if (vehicleType == TYPE_CAR) {
+            carDurationSum += durationHours;
+            carDurationCount++;
+        } else if (vehicleType == TYPE_MOTORCYCLE) {
+            motorcycleDurationSum += durationHours;
+            motorcycleDurationCount++;
         }
+        lastExitPlate = licensePlate;
+        lastExitType = vehicleType;
 
         // Clean up
-        vehicleEntryTimes.remove(licensePlate);
+        if (index != IntIntHashMap.NO_VALUE) {
+            releasePlate(plateId, index);
+        }
+    }
+
+    /**
+     * Records the payment of a parking session as revenue of the current day.
+     * The revenue is counted by vehicle type if the vehicle is still tracked
+     * or is the one that exited last, as it is when the lot charges on exit.
+     *
+     * @param licensePlate The license plate of the vehicle.
+     * @param amount The amount paid.
+     */
+    public void recordPayment(String licensePlate, double amount) {
+        DayTotals today = today();
+        today.revenue += amount;
+
+        byte vehicleType = TYPE_UNKNOWN;
+        int plateId = plates.lookup(licensePlate);
+        int index = plateId >= 0 ? indexByPlate.get(plateId) : IntIntHashMap.NO_VALUE;
+        if (index != IntIntHashMap.NO_VALUE) {
+            vehicleType = vehicleTypeByPlate[index];
+        } else if (licensePlate != null && licensePlate.equals(lastExitPlate)) {
+            vehicleType = lastExitType;
+        }
+        if (vehicleType == TYPE_CAR) {
+            today.carRevenue += amount;
+        } else if (vehicleType == TYPE_MOTORCYCLE) {
+            today.motorcycleRevenue += amount;
+        }
     }
 
     /**
@@ -161,11 +248,11 @@ public class ParkingStatistics {
      * @param vehicle The vehicle to record.
      */
     public void recordVehicleType(Vehicle vehicle) {
-        String licensePlate = vehicle.getLicensePlate();
+        int index = ensurePlate(vehicle.getLicensePlate());
         boolean isDisabled = vehicle.isDisabled();
 
         if (vehicle instanceof Car) {
-            vehicleTypes.put(licensePlate, "Car");
+            vehicleTypeByPlate[index] = TYPE_CAR;
             totalCarCount++;
             if (isDisabled) {
                 disabledCarCount++;
@@ -173,10 +260,9 @@ public class ParkingStatistics {
             }
 
             // Update daily car count
-            LocalDate today = LocalDate.now();
-            dailyCarCount.put(today, dailyCarCount.getOrDefault(today, 0) + 1);
+            today().carCount++;
         } else if (vehicle instanceof Motorcycle) {
-            vehicleTypes.put(licensePlate, "Motorcycle");
+            vehicleTypeByPlate[index] = TYPE_MOTORCYCLE;
             totalMotorcycleCount++;
             if (isDisabled) {
                 disabledMotorcycleCount++;
@@ -184,15 +270,15 @@ public class ParkingStatistics {
             }
 
             // Update daily motorcycle count
-            LocalDate today = LocalDate.now();
-            dailyMotorcycleCount.put(today, dailyMotorcycleCount.getOrDefault(today, 0) + 1);
-        }        vehicleDisabledStatus.put(licensePlate, isDisabled);
+            today().motorcycleCount++;
+        }
+        disabledByPlate[index] = isDisabled;
 
         // Record vehicle color
         String color = vehicle.getColor();
         if (color != null && !color.trim().isEmpty()) {
-            vehicleColors.put(licensePlate, color);
-            colorCounts.put(color, colorCounts.getOrDefault(color, 0) + 1);
+            colorByPlate[index] = color;
+            colorCounts.computeIfAbsent(color, key -> new int[1])[0]++;
         }
     }
 
@@ -215,7 +301,7 @@ public class ParkingStatistics {
      * @return The daily revenue.
      */
     public double getDailyRevenue() {
-        return dailyRevenue.getOrDefault(LocalDate.now(), 0.0);
+        return today().revenue;
     }
 
     /**
@@ -224,7 +310,7 @@ public class ParkingStatistics {
      * @return The daily entries.
      */
     public int getDailyEntries() {
-        return dailyEntries.getOrDefault(LocalDate.now(), 0);
+        return today().entries;
     }
 
     /**
@@ -233,15 +319,15 @@ public class ParkingStatistics {
      * @return The monthly revenue.
      */
     public double getMonthlyRevenue() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock());
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         double total = 0.0;
-        for (Map.Entry<LocalDate, Double> entry : dailyRevenue.entrySet()) {
+        for (Map.Entry<LocalDate, DayTotals> entry : days.entrySet()) {
             LocalDate date = entry.getKey();
             if (date.getMonthValue() == currentMonth && date.getYear() == currentYear) {
-                total += entry.getValue();
+                total += entry.getValue().revenue;
             }
         }
 
@@ -254,15 +340,15 @@ public class ParkingStatistics {
      * @return The monthly entries.
      */
     public int getMonthlyEntries() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock());
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         int total = 0;
-        for (Map.Entry<LocalDate, Integer> entry : dailyEntries.entrySet()) {
+        for (Map.Entry<LocalDate, DayTotals> entry : days.entrySet()) {
             LocalDate date = entry.getKey();
             if (date.getMonthValue() == currentMonth && date.getYear() == currentYear) {
-                total += entry.getValue();
+                total += entry.getValue().entries;
             }
         }
 
@@ -275,16 +361,11 @@ public class ParkingStatistics {
      * @return The average duration, or 0 if no data is available.
      */
     public double getAverageDuration() {
-        if (parkingDurations.isEmpty()) {
+        if (durationCount == 0) {
             return 0.0;
         }
 
-        double sum = 0.0;
-        for (double duration : parkingDurations) {
-            sum += duration;
-        }
-
-        return sum / parkingDurations.size();
+        return durationSum / durationCount;
     }
 
     /**
@@ -293,16 +374,11 @@ public class ParkingStatistics {
      * @return The average duration, or 0 if no data is available.
      */
     public double getAverageCarDuration() {
-        if (carParkingDurations.isEmpty()) {
+        if (carDurationCount == 0) {
             return 0.0;
         }
 
-        double sum = 0.0;
-        for (double duration : carParkingDurations) {
-            sum += duration;
-        }
-
-        return sum / carParkingDurations.size();
+        return carDurationSum / carDurationCount;
     }
 
     /**
@@ -311,16 +387,11 @@ public class ParkingStatistics {
      * @return The average duration, or 0 if no data is available.
      */
     public double getAverageMotorcycleDuration() {
-        if (motorcycleParkingDurations.isEmpty()) {
+        if (motorcycleDurationCount == 0) {
             return 0.0;
         }
 
-        double sum = 0.0;
-        for (double duration : motorcycleParkingDurations) {
-            sum += duration;
-        }
-
-        return sum / motorcycleParkingDurations.size();
+        return motorcycleDurationSum / motorcycleDurationCount;
     }
 
     /**
@@ -369,7 +440,7 @@ public class ParkingStatistics {
      * @return The daily car count.
      */
     public int getDailyCarCount() {
-        return dailyCarCount.getOrDefault(LocalDate.now(), 0);
+        return today().carCount;
     }
 
     /**
@@ -378,7 +449,7 @@ public class ParkingStatistics {
      * @return The daily motorcycle count.
      */
     public int getDailyMotorcycleCount() {
-        return dailyMotorcycleCount.getOrDefault(LocalDate.now(), 0);
+        return today().motorcycleCount;
     }
 
     /**
@@ -387,7 +458,7 @@ public class ParkingStatistics {
      * @return The daily car revenue.
      */
     public double getDailyCarRevenue() {
-        return dailyCarRevenue.getOrDefault(LocalDate.now(), 0.0);
+        return today().carRevenue;
     }
 
     /**
@@ -396,7 +467,7 @@ public class ParkingStatistics {
      * @return The daily motorcycle revenue.
      */
     public double getDailyMotorcycleRevenue() {
-        return dailyMotorcycleRevenue.getOrDefault(LocalDate.now(), 0.0);
+        return today().motorcycleRevenue;
     }
 
     /**
@@ -405,15 +476,15 @@ public class ParkingStatistics {
      * @return The monthly car count.
      */
     public int getMonthlyCarCount() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock());
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         int total = 0;
-        for (Map.Entry<LocalDate, Integer> entry : dailyCarCount.entrySet()) {
+        for (Map.Entry<LocalDate, DayTotals> entry : days.entrySet()) {
             LocalDate date = entry.getKey();
             if (date.getMonthValue() == currentMonth && date.getYear() == currentYear) {
-                total += entry.getValue();
+                total += entry.getValue().carCount;
             }
         }
 
@@ -426,15 +497,15 @@ public class ParkingStatistics {
      * @return The monthly motorcycle count.
      */
     public int getMonthlyMotorcycleCount() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock());
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         int total = 0;
-        for (Map.Entry<LocalDate, Integer> entry : dailyMotorcycleCount.entrySet()) {
+        for (Map.Entry<LocalDate, DayTotals> entry : days.entrySet()) {
             LocalDate date = entry.getKey();
             if (date.getMonthValue() == currentMonth && date.getYear() == currentYear) {
-                total += entry.getValue();
+                total += entry.getValue().motorcycleCount;
             }
         }
 
@@ -447,15 +518,15 @@ public class ParkingStatistics {
      * @return The monthly car revenue.
      */
     public double getMonthlyCarRevenue() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock());
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         double total = 0.0;
-        for (Map.Entry<LocalDate, Double> entry : dailyCarRevenue.entrySet()) {
+        for (Map.Entry<LocalDate, DayTotals> entry : days.entrySet()) {
             LocalDate date = entry.getKey();
             if (date.getMonthValue() == currentMonth && date.getYear() == currentYear) {
-                total += entry.getValue();
+                total += entry.getValue().carRevenue;
             }
         }
 
@@ -468,15 +539,15 @@ public class ParkingStatistics {
      * @return The monthly motorcycle revenue.
      */
     public double getMonthlyMotorcycleRevenue() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock());
         int currentMonth = now.getMonthValue();
         int currentYear = now.getYear();
 
         double total = 0.0;
-        for (Map.Entry<LocalDate, Double> entry : dailyMotorcycleRevenue.entrySet()) {
+        for (Map.Entry<LocalDate, DayTotals> entry : days.entrySet()) {
             LocalDate date = entry.getKey();
             if (date.getMonthValue() == currentMonth && date.getYear() == currentYear) {
-                total += entry.getValue();
+                total += entry.getValue().motorcycleRevenue;
             }
         }
 
@@ -492,7 +563,7 @@ public class ParkingStatistics {
         }
 
         return colorCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
+                .max(Comparator.comparingInt(entry -> entry.getValue()[0]))
                 .map(Map.Entry::getKey)
                 .orElse("Unknown");
     }    /**
@@ -502,7 +573,8 @@ public class ParkingStatistics {
      * @return The count for the color.
      */
     public int getColorCount(String color) {
-        return colorCounts.getOrDefault(color, 0);
+        int[] count = colorCounts.get(color);
+        return count != null ? count[0] : 0;
     }
 
     /**
@@ -513,4 +585,99 @@ public class ParkingStatistics {
     public Set<String> getAllColors() {
         return new HashSet<>(colorCounts.keySet());
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the index of a plate in the per-plate arrays, assigning one if needed.
+     * A tracked plate holds one reference to its ID until the vehicle exits.
+     *
+     * @param licensePlate The license plate.
+     * @return The plate index.
+     */
+    private int ensurePlate(String licensePlate) {
+        int plateId = plates.lookup(licensePlate);
+        int index = plateId != PlateRegistry.NO_ID ? indexByPlate.get(plateId) : IntIntHashMap.NO_VALUE;
+        if (index != IntIntHashMap.NO_VALUE) {
+            return index;
+        }
+        plateId = plates.intern(licensePlate);
+        index = freeCount > 0 ? freeIndexes[--freeCount] : indexCount++;
+        if (index >= vehicleTypeByPlate.length) {
+            int capacity = Math.max(16, vehicleTypeByPlate.length * 2);
+            entryMillisByPlate = Arrays.copyOf(entryMillisByPlate, capacity);
+            vehicleTypeByPlate = Arrays.copyOf(vehicleTypeByPlate, capacity);
+            disabledByPlate = Arrays.copyOf(disabledByPlate, capacity);
+            colorByPlate = Arrays.copyOf(colorByPlate, capacity);
+            freeIndexes = Arrays.copyOf(freeIndexes, capacity);
+        }
+        indexByPlate.put(plateId, index);
+        return index;
+    }
+
+    /**
+     * Frees the index of a plate whose vehicle has left, for reuse by another plate.
+     *
+     * @param plateId The plate ID.
+     * @param index The plate index.
+     */
+    private void releasePlate(int plateId, int index) {
+        indexByPlate.remove(plateId);
+        plates.release(plateId);
+        entryMillisByPlate[index] = 0L;
+        vehicleTypeByPlate[index] = TYPE_UNKNOWN;
+        disabledByPlate[index] = false;
+        colorByPlate[index] = null;
+        freeIndexes[freeCount++] = index;
+    }
+
+    /**
+     * Gets the number of vehicles that entered and have not exited yet, whose
+     * type and entry time are kept for their exit.
+     *
+     * @return The number of tracked vehicles.
+     */
+    public int getTrackedVehicleCount() {
+        return indexByPlate.size();
+    }
+
+    /**
+     * Gets the totals of the current day. The date is only worked out when the
+     * clock leaves the day of the previous call, so recording an event normally
+     * creates no garbage.
+     *
+     * @return The totals of today.
+     */
+    private DayTotals today() {
+        Clock clock = clock();
+        long now = clock.millis();
+        ZoneId zone = clock.getZone();
+        if (now < todayStartMillis || now >= todayEndMillis || !zone.equals(todayZone)) {
+            LocalDate date = Instant.ofEpochMilli(now).atZone(zone).toLocalDate();
+            today = days.computeIfAbsent(date, key -> new DayTotals());
+            todayStartMillis = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            todayEndMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            todayZone = zone;
+        }
+        return today;
+    }
+
+    /**
+     * Gets the clock used to date the statistics.
+     *
+     * @return The clock.
+     */
+    private Clock clock() {
+        return clock != null ? clock : ParkingClock.getClock();
+    }
+
+    /**
+     * The totals of one day, updated in place.
+     */
+    private static final class DayTotals {
+        private int entries;
+        private int carCount;
+        private int motorcycleCount;
+        private double revenue;
+        private double carRevenue;
+        private double motorcycleRevenue;
+    }
+}
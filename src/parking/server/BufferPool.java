@@ -0,0 +1,62 @@
+package parking.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * The {@code BufferPool} class recycles direct buffers of one size, so that
+ * connections coming and going do not allocate and free native memory each
+ * time. Direct buffers let the socket read and write them without an extra
+ * copy through the heap. This class is not thread-safe: a pool belongs to the
+ * selector thread that uses it.
+ *
+ * @author Smart Parking System Team
+ */
+final class BufferPool {
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ArrayDeque<ByteBuffer> free;
+
+    /**
+     * Constructs a new {@code BufferPool}.
+     *
+     * @param bufferSize The size of each buffer in bytes.
+     * @param maxPooled The most released buffers kept for reuse.
+     */
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+        this.free = new ArrayDeque<>();
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, allocating one if the pool is empty.
+     *
+     * @return The buffer.
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns a buffer to the pool.
+     *
+     * @param buffer The buffer, which must not be used afterwards.
+     */
+    void release(ByteBuffer buffer) {
+        if (free.size() < maxPooled) {
+            buffer.clear();
+            free.push(buffer);
+        }
+    }
+
+    /**
+     * Gets the number of buffers waiting for reuse.
+     *
+     * @return The number of pooled buffers.
+     */
+    int getPooledCount() {
+        return free.size();
+    }
+}
@@ -0,0 +1,384 @@
+package parking.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import parking.core.Vehicle;
+import parking.management.Subscription;
+import parking.management.SubscriptionType;
+import parking.patterns.builder.ParkingReport;
+import parking.patterns.builder.VehicleStatistic;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.util.Json;
+import parking.util.ParkingLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code GateApiServer} class exposes a {@link ParkingSystemFacade} over
+ * HTTP with JSON bodies, so gates, kiosks and back offices can call the system
+ * at the same time without an operator at the CLI or the GUI:
+ * <ul>
+ *   <li>{@code POST /park} - {@code licensePlate}, optional {@code type}
+ *       ({@code CAR} or {@code MOTORCYCLE}), {@code owner}, {@code disabled},
+ *       {@code color} and {@code subscriptionId}; answers 200 if the vehicle was
+ *       parked and 409 if it was not.</li>
+ *   <li>{@code POST /exit} - {@code licensePlate}; answers the fee, or 404 if
+ *       the vehicle is not parked.</li>
+ *   <li>{@code POST /subscriptions} - {@code licensePlate}, {@code owner},
+ *       {@code months} and optional {@code type}; answers 201 with the ID.</li>
+ *   <li>{@code GET /subscriptions/{id}} - whether the subscription is valid.</li>
+ *   <li>{@code GET /reports/daily} and {@code GET /reports/monthly}.</li>
+ *   <li>{@code GET /status} - occupancy and available spots.</li>
+ * </ul>
+ * Errors are answered as {@code {"error": "..."}} with a 4xx status.
+ * <p>
+ * Each request is handled on its own virtual thread when the JDK has them
+ * (Java 21 and later), which keeps a request cheap while it waits on the
+ * network. Waiting for a lot gains nothing: lots are guarded by their monitor,
+ * and up to Java 23 a virtual thread blocked on a {@code synchronized} lock
+ * pins its carrier thread, so requests queued on a busy lot hold as many
+ * carriers as a platform pool would hold threads. On older JDKs requests run
+ * on a bounded pool of platform threads, and when its queue is full the
+ * accepting thread runs requests itself, which slows down accepting rather
+ * than dropping requests.
+ *
+ * @author Smart Parking System Team
+ */
+public class GateApiServer implements AutoCloseable {
+    /** The default number of platform threads when virtual threads are not available. */
+    public static final int DEFAULT_THREADS = 64;
+
+    /** The largest request body accepted, in bytes. */
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final ParkingSystemFacade facade;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Constructs a new {@code GateApiServer}. The server is bound, but does not
+     * answer until it is started.
+     *
+     * @param facade The facade to serve.
+     * @param address The address to bind.
+     * @param threads The number of platform threads if virtual threads are not available.
+     * @throws IOException if the address cannot be bound.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public GateApiServer(ParkingSystemFacade facade, InetSocketAddress address, int threads) throws IOException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.facade = facade;
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newBoundedExecutor(threads);
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/park", handler("POST", this::park));
+        server.createContext("/exit", handler("POST", this::exit));
+        server.createContext("/subscriptions", this::subscriptions);
+        server.createContext("/reports/daily", handler("GET", exchange -> report(facade.generateDailyReport())));
+        server.createContext("/reports/monthly", handler("GET", exchange -> report(facade.generateMonthlyReport())));
+        server.createContext("/status", handler("GET", exchange -> status()));
+    }
+
+    /**
+     * Starts answering requests.
+     */
+    public void start() {
+        server.start();
+        ParkingLogger.getLogger(GateApiServer.class).info("Gate API for lot " + facade.getLotId()
+                + " listening on port " + getPort() + (virtualThreads ? " with virtual threads" : ""));
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Checks whether requests are handled on virtual threads.
+     *
+     * @return true on virtual threads, false on the bounded pool.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops answering requests, letting requests in progress finish for up to a second.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private Response park(HttpExchange exchange) throws IOException {
+        Map<String, Object> request = readBody(exchange);
+        String licensePlate = requiredString(request, "licensePlate");
+        VehicleType type = VehicleType.valueOf(optionalString(request, "type", "CAR").toUpperCase(Locale.ROOT));
+        Vehicle vehicle = facade.createVehicle(type, licensePlate, optionalString(request, "owner", "Unknown"),
+                optionalBoolean(request, "disabled"), optionalString(request, "color", "Unknown"));
+        String subscriptionId = optionalString(request, "subscriptionId", null);
+        boolean parked = subscriptionId != null
+                ? facade.parkSubscriberVehicle(vehicle, subscriptionId)
+                : facade.parkVehicle(vehicle);
+
+        StringBuilder body = new StringBuilder("{\"licensePlate\":");
+        Json.appendString(body, licensePlate);
+        body.append(",\"parked\":").append(parked).append('}');
+        return new Response(parked ? 200 : 409, body.toString());
+    }
+
+    private Response exit(HttpExchange exchange) throws IOException {
+        String licensePlate = requiredString(readBody(exchange), "licensePlate");
+        double fee = facade.removeVehicle(licensePlate);
+        if (fee < 0) {
+            return Response.error(404, "Vehicle not found: " + licensePlate);
+        }
+        StringBuilder body = new StringBuilder("{\"licensePlate\":");
+        Json.appendString(body, licensePlate);
+        body.append(",\"fee\":");
+        Json.appendNumber(body, fee);
+        return new Response(200, body.append('}').toString());
+    }
+
+    private void subscriptions(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("/subscriptions".equals(path)) {
+            handler("POST", this::createSubscription).handle(exchange);
+            return;
+        }
+        String subscriptionId = path.substring("/subscriptions/".length());
+        handler("GET", e -> {
+            StringBuilder body = new StringBuilder("{\"subscriptionId\":");
+            Json.appendString(body, subscriptionId);
+            body.append(",\"valid\":").append(Subscription.isValidSubscription(subscriptionId)).append('}');
+            return new Response(200, body.toString());
+        }).handle(exchange);
+    }
+
+    private Response createSubscription(HttpExchange exchange) throws IOException {
+        Map<String, Object> request = readBody(exchange);
+        String licensePlate = requiredString(request, "licensePlate");
+        String owner = requiredString(request, "owner");
+        Object months = request.get("months");
+        if (!(months instanceof Double) || (Double) months != Math.rint((Double) months) || (Double) months < 1) {
+            throw new IllegalArgumentException("months must be a positive whole number");
+        }
+        SubscriptionType type = SubscriptionType.valueOf(
+                optionalString(request, "type", "STANDARD").toUpperCase(Locale.ROOT));
+        String subscriptionId = facade.createSubscription(licensePlate, owner, ((Double) months).intValue(), type);
+
+        StringBuilder body = new StringBuilder("{\"subscriptionId\":");
+        Json.appendString(body, subscriptionId);
+        return new Response(201, body.append('}').toString());
+    }
+
+    private static Response report(ParkingReport report) {
+        StringBuilder body = new StringBuilder(512).append("{\"title\":");
+        Json.appendString(body, report.getTitle());
+        body.append(",\"generatedTime\":");
+        Json.appendString(body, report.getGeneratedTime().toString());
+        body.append(",\"timePeriod\":");
+        Json.appendString(body, report.getTimePeriod());
+        body.append(",\"totalEntries\":").append(report.getTotalEntries());
+        body.append(",\"totalRevenue\":");
+        Json.appendNumber(body, report.getTotalRevenue());
+        body.append(",\"currentOccupancy\":");
+        Json.appendNumber(body, report.getCurrentOccupancy());
+        body.append(",\"averageDuration\":");
+        Json.appendNumber(body, report.getAverageDuration());
+        body.append(",\"vehicleStatistics\":[");
+        boolean first = true;
+        for (VehicleStatistic statistic : report.getVehicleStatistics()) {
+            body.append(first ? "" : ",").append("{\"vehicleType\":");
+            Json.appendString(body, statistic.getVehicleType());
+            body.append(",\"count\":").append(statistic.getCount());
+            body.append(",\"revenue\":");
+            Json.appendNumber(body, statistic.getRevenue());
+            body.append(",\"averageDuration\":");
+            Json.appendNumber(body, statistic.getAverageDuration());
+            body.append(",\"disabledPercentage\":");
+            Json.appendNumber(body, statistic.getDisabledPercentage());
+            body.append('}');
+            first = false;
+        }
+        return new Response(200, body.append("]}").toString());
+    }
+
+    private Response status() {
+        StringBuilder body = new StringBuilder("{\"lotId\":");
+        Json.appendString(body, facade.getLotId());
+        body.append(",\"availableSpots\":").append(facade.getAvailableSpots());
+        body.append(",\"occupancyPercentage\":");
+        Json.appendNumber(body, facade.getOccupancyPercentage());
+        return new Response(200, body.append('}').toString());
+    }
+
+    /**
+     * Wraps an endpoint: checks the method, turns bad input into 400 answers
+     * and writes the response.
+     */
+    private static HttpHandler handler(String method, Endpoint endpoint) {
+        return exchange -> {
+            Response response;
+            try {
+                if (!method.equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    response = Response.error(405, "Method not allowed: " + exchange.getRequestMethod());
+                } else {
+                    response = endpoint.handle(exchange);
+                }
+            } catch (RequestTooLargeException e) {
+                response = Response.error(413, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                response = Response.error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                ParkingLogger.getLogger(GateApiServer.class).error("Request to "
+                        + exchange.getRequestURI() + " failed", e);
+                response = Response.error(500, "Internal error");
+            }
+            try {
+                byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+                exchange.sendResponseHeaders(response.status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        try (InputStream in = exchange.getRequestBody()) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                if (body.size() + n > MAX_BODY_BYTES) {
+                    throw new RequestTooLargeException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+                }
+                body.write(buffer, 0, n);
+            }
+        }
+        return Json.parseObject(new String(body.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String requiredString(Map<String, Object> request, String name) {
+        String value = optionalString(request, name, null);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String optionalString(Map<String, Object> request, String name, String defaultValue) {
+        Object value = request.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static boolean optionalBoolean(Map<String, Object> request, String name) {
+        Object value = request.get(name);
+        if (value != null && !(value instanceof Boolean)) {
+            throw new IllegalArgumentException(name + " must be true or false");
+        }
+        return Boolean.TRUE.equals(value);
+    }
+
+    /**
+     * Creates an executor running each task on a new virtual thread, found by
+     * reflection so the system still builds and runs on Java 8.
+     *
+     * @return The executor, or null if the JDK has no virtual threads.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newBoundedExecutor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16), runnable -> {
+                    Thread thread = new Thread(runnable, "parking-gate-api-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * An endpoint computing the response to a request.
+     */
+    private interface Endpoint {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * A status code and JSON body.
+     */
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response error(int status, String message) {
+            StringBuilder body = new StringBuilder("{\"error\":");
+            Json.appendString(body, message);
+            return new Response(status, body.append('}').toString());
+        }
+    }
+
+    /**
+     * Thrown when a request body is larger than accepted.
+     */
+    private static final class RequestTooLargeException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        RequestTooLargeException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package parking.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code GateProtocol} class defines the binary protocol spoken between
+ * barrier controllers and the {@link GateProtocolServer}. Every message is a
+ * frame: a 4-byte big-endian length, then that many bytes of payload.
+ * <p>
+ * A request payload is an opcode byte, a 4-byte request ID chosen by the
+ * client, and a body:
+ * <ul>
+ *   <li>{@link #PARK} - vehicle type byte ({@link #CAR} or {@link #MOTORCYCLE}),
+ *       flags byte ({@link #FLAG_DISABLED}), license plate, subscription ID
+ *       (empty for none).</li>
+ *   <li>{@link #EXIT} - license plate.</li>
+ *   <li>{@link #STATUS} and {@link #PING} - no body.</li>
+ * </ul>
+ * Strings are a length byte followed by up to 255 bytes of UTF-8.
+ * <p>
+ * A response payload is the opcode of the request, a status byte, the request
+ * ID, and, if the status is {@link #OK}, a body: the fee as an 8-byte double for
+ * {@link #EXIT}, and the available spots as a 4-byte int followed by the
+ * occupancy percentage as an 8-byte double for {@link #STATUS}.
+ * <p>
+ * Clients may send any number of requests without waiting for responses;
+ * responses on a connection come back in the order of the requests.
+ *
+ * @author Smart Parking System Team
+ */
+public final class GateProtocol {
+    /** The size of the length prefix of a frame. */
+    public static final int LENGTH_BYTES = 4;
+
+    /** The largest frame payload accepted; longer frames close the connection. */
+    public static final int MAX_FRAME_BYTES = 1024;
+
+    /** The largest response frame, length prefix included. */
+    public static final int MAX_RESPONSE_BYTES = LENGTH_BYTES + 6 + 12;
+
+    /** Opcode parking a vehicle. */
+    public static final byte PARK = 1;
+
+    /** Opcode removing a vehicle and charging its fee. */
+    public static final byte EXIT = 2;
+
+    /** Opcode reading the available spots and occupancy. */
+    public static final byte STATUS = 3;
+
+    /** Opcode doing nothing, to check the connection. */
+    public static final byte PING = 4;
+
+    /** Status of a request that succeeded. */
+    public static final byte OK = 0;
+
+    /** Status of a park request refused: no free spot, already parked or invalid subscription. */
+    public static final byte REJECTED = 1;
+
+    /** Status of an exit request for a vehicle that is not parked. */
+    public static final byte NOT_FOUND = 2;
+
+    /** Status of a malformed request or unknown opcode. */
+    public static final byte BAD_REQUEST = 3;
+
+    /** Status of a request that failed inside the server. */
+    public static final byte ERROR = 4;
+
+    /** Vehicle type code of a car. */
+    public static final byte CAR = 0;
+
+    /** Vehicle type code of a motorcycle. */
+    public static final byte MOTORCYCLE = 1;
+
+    /** Flag of a vehicle of a disabled person. */
+    public static final byte FLAG_DISABLED = 1;
+
+    /** The longest string, in bytes. */
+    static final int MAX_STRING_BYTES = 255;
+
+    private GateProtocol() {
+    }
+
+    /**
+     * Writes a string as a length byte followed by its UTF-8 bytes.
+     *
+     * @param buffer The buffer to write to.
+     * @param value The string, or null for an empty string.
+     * @throws IllegalArgumentException if the string is longer than 255 bytes.
+     */
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String longer than " + MAX_STRING_BYTES + " bytes: " + value);
+        }
+        buffer.put((byte) bytes.length).put(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #putString(ByteBuffer, String)}.
+     *
+     * @param buffer The buffer to read from.
+     * @param scratch A buffer of at least 255 bytes to copy the string through.
+     * @return The string.
+     * @throws java.nio.BufferUnderflowException if the buffer ends inside the string.
+     */
+    static String getString(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.get() & 0xFF;
+        buffer.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
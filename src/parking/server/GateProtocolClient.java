@@ -0,0 +1,277 @@
+package parking.server;
+
+import parking.patterns.factory.VehicleType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * The {@code GateProtocolClient} class speaks the {@link GateProtocol} to a
+ * {@link GateProtocolServer} over a blocking socket. Requests are buffered by
+ * the {@code send} methods and written by {@link #flush()}, so a controller can
+ * pipeline many requests and then read their responses in order with
+ * {@link #receive()}; the plain methods such as {@link #park} send one request
+ * and wait for its answer. This class is not thread-safe.
+ *
+ * @author Smart Parking System Team
+ */
+public class GateProtocolClient implements AutoCloseable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out;
+    private final ByteBuffer in;
+    private int nextRequestId;
+
+    /**
+     * Constructs a new {@code GateProtocolClient} connected to a server.
+     *
+     * @param address The address of the server.
+     * @throws IOException if the connection fails.
+     */
+    public GateProtocolClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.out = ByteBuffer.allocate(BUFFER_BYTES);
+        this.in = ByteBuffer.allocate(BUFFER_BYTES);
+        in.flip();
+    }
+
+    /**
+     * Buffers a request to park a vehicle.
+     *
+     * @param licensePlate The license plate.
+     * @param type The vehicle type.
+     * @param disabled Whether the vehicle belongs to a disabled person.
+     * @param subscriptionId The subscription ID, or null for none.
+     * @return The request ID.
+     * @throws IOException if the buffer is full and cannot be flushed.
+     */
+    public int sendPark(String licensePlate, VehicleType type, boolean disabled, String subscriptionId) throws IOException {
+        int start = begin(GateProtocol.PARK);
+        out.put(type == VehicleType.MOTORCYCLE ? GateProtocol.MOTORCYCLE : GateProtocol.CAR);
+        out.put(disabled ? GateProtocol.FLAG_DISABLED : 0);
+        GateProtocol.putString(out, licensePlate);
+        GateProtocol.putString(out, subscriptionId);
+        return end(start);
+    }
+
+    /**
+     * Buffers a request to remove a vehicle.
+     *
+     * @param licensePlate The license plate.
+     * @return The request ID.
+     * @throws IOException if the buffer is full and cannot be flushed.
+     */
+    public int sendExit(String licensePlate) throws IOException {
+        int start = begin(GateProtocol.EXIT);
+        GateProtocol.putString(out, licensePlate);
+        return end(start);
+    }
+
+    /**
+     * Buffers a request for the status of the lot.
+     *
+     * @return The request ID.
+     * @throws IOException if the buffer is full and cannot be flushed.
+     */
+    public int sendStatus() throws IOException {
+        return end(begin(GateProtocol.STATUS));
+    }
+
+    /**
+     * Buffers a ping.
+     *
+     * @return The request ID.
+     * @throws IOException if the buffer is full and cannot be flushed.
+     */
+    public int sendPing() throws IOException {
+        return end(begin(GateProtocol.PING));
+    }
+
+    /**
+     * Writes all buffered requests.
+     *
+     * @throws IOException if the write fails.
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Reads the next response, flushing buffered requests first.
+     *
+     * @return The response.
+     * @throws IOException if the read fails or the server closed the connection.
+     */
+    public Response receive() throws IOException {
+        if (out.position() > 0) {
+            flush();
+        }
+        fill(GateProtocol.LENGTH_BYTES);
+        int length = in.getInt(in.position());
+        if (length < 6 || length > GateProtocol.MAX_RESPONSE_BYTES - GateProtocol.LENGTH_BYTES) {
+            throw new IOException("Invalid response length " + length);
+        }
+        fill(GateProtocol.LENGTH_BYTES + length);
+        in.getInt();
+        byte opcode = in.get();
+        byte status = in.get();
+        int requestId = in.getInt();
+        double fee = -1;
+        int availableSpots = -1;
+        double occupancy = -1;
+        if (status == GateProtocol.OK && opcode == GateProtocol.EXIT) {
+            fee = in.getDouble();
+        } else if (status == GateProtocol.OK && opcode == GateProtocol.STATUS) {
+            availableSpots = in.getInt();
+            occupancy = in.getDouble();
+        }
+        return new Response(opcode, status, requestId, fee, availableSpots, occupancy);
+    }
+
+    /**
+     * Parks a vehicle and waits for the answer.
+     *
+     * @param licensePlate The license plate.
+     * @param type The vehicle type.
+     * @param disabled Whether the vehicle belongs to a disabled person.
+     * @param subscriptionId The subscription ID, or null for none.
+     * @return The response.
+     * @throws IOException if the connection fails.
+     */
+    public Response park(String licensePlate, VehicleType type, boolean disabled, String subscriptionId) throws IOException {
+        sendPark(licensePlate, type, disabled, subscriptionId);
+        return receive();
+    }
+
+    /**
+     * Removes a vehicle and waits for the answer.
+     *
+     * @param licensePlate The license plate.
+     * @return The response.
+     * @throws IOException if the connection fails.
+     */
+    public Response exit(String licensePlate) throws IOException {
+        sendExit(licensePlate);
+        return receive();
+    }
+
+    /**
+     * Reads the status of the lot.
+     *
+     * @return The response.
+     * @throws IOException if the connection fails.
+     */
+    public Response status() throws IOException {
+        sendStatus();
+        return receive();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int begin(byte opcode) throws IOException {
+        if (out.remaining() < GateProtocol.LENGTH_BYTES + GateProtocol.MAX_FRAME_BYTES) {
+            flush();
+        }
+        int start = out.position();
+        out.position(start + GateProtocol.LENGTH_BYTES);
+        out.put(opcode);
+        out.putInt(nextRequestId);
+        return start;
+    }
+
+    private int end(int start) {
+        out.putInt(start, out.position() - start - GateProtocol.LENGTH_BYTES);
+        return nextRequestId++;
+    }
+
+    private void fill(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        in.compact();
+        while (in.position() < bytes) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+        }
+        in.flip();
+    }
+
+    /**
+     * The answer to one request.
+     */
+    public static final class Response {
+        private final byte opcode;
+        private final byte status;
+        private final int requestId;
+        private final double fee;
+        private final int availableSpots;
+        private final double occupancy;
+
+        Response(byte opcode, byte status, int requestId, double fee, int availableSpots, double occupancy) {
+            this.opcode = opcode;
+            this.status = status;
+            this.requestId = requestId;
+            this.fee = fee;
+            this.availableSpots = availableSpots;
+            this.occupancy = occupancy;
+        }
+
+        public byte getOpcode() {
+            return opcode;
+        }
+
+        /**
+         * Gets the status, one of the status constants of {@link GateProtocol}.
+         *
+         * @return The status.
+         */
+        public byte getStatus() {
+            return status;
+        }
+
+        public int getRequestId() {
+            return requestId;
+        }
+
+        /**
+         * Gets the fee charged by a successful exit.
+         *
+         * @return The fee, or -1 for other responses.
+         */
+        public double getFee() {
+            return fee;
+        }
+
+        /**
+         * Gets the available spots reported by a successful status request.
+         *
+         * @return The available spots, or -1 for other responses.
+         */
+        public int getAvailableSpots() {
+            return availableSpots;
+        }
+
+        /**
+         * Gets the occupancy percentage reported by a successful status request.
+         *
+         * @return The occupancy, or -1 for other responses.
+         */
+        public double getOccupancy() {
+            return occupancy;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package parking.server;
+
+import parking.core.Vehicle;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.util.ParkingLogger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * The {@code GateProtocolServer} class serves the binary {@link GateProtocol}
+ * to barrier controllers. One thread runs a {@link Selector} over all
+ * connections: it reads whatever bytes have arrived, answers every complete
+ * frame in the read buffer straight from the {@link ParkingSystemFacade}, and
+ * writes the answers back in one go, so a controller that pipelines requests
+ * gets a batch of responses per round trip.
+ * <p>
+ * Each connection reads and writes through a pair of pooled direct buffers.
+ * When a client does not read its responses fast enough for the output buffer
+ * to drain, the server stops reading from it until it does, so a slow client
+ * cannot make the server buffer without bound.
+ *
+ * @author Smart Parking System Team
+ */
+public class GateProtocolServer implements AutoCloseable {
+    /** The size of the read and write buffer of each connection. */
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    /** The most idle buffers kept for new connections. */
+    private static final int MAX_POOLED_BUFFERS = 256;
+
+    private final ParkingSystemFacade facade;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final BufferPool buffers;
+    private final Thread thread;
+
+    /** The buffer license plates and subscription IDs are decoded through. */
+    private final byte[] scratch;
+
+    private volatile boolean running;
+    private volatile long messages;
+    private volatile int connections;
+
+    /**
+     * Constructs a new {@code GateProtocolServer}. The server is bound, but does
+     * not accept connections until it is started.
+     *
+     * @param facade The facade to serve.
+     * @param address The address to bind.
+     * @throws IOException if the address cannot be bound.
+     */
+    public GateProtocolServer(ParkingSystemFacade facade, InetSocketAddress address) throws IOException {
+        this.facade = facade;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.buffers = new BufferPool(BUFFER_BYTES, MAX_POOLED_BUFFERS);
+        this.scratch = new byte[GateProtocol.MAX_STRING_BYTES];
+        this.thread = new Thread(this::run, "parking-gate-protocol");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+        ParkingLogger.getLogger(GateProtocolServer.class).info("Gate protocol for lot "
+                + facade.getLotId() + " listening on port " + getPort());
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of requests answered so far.
+     *
+     * @return The number of requests.
+     */
+    public long getMessageCount() {
+        return messages;
+    }
+
+    /**
+     * Gets the number of open connections.
+     *
+     * @return The number of connections.
+     */
+    public int getConnectionCount() {
+        return connections;
+    }
+
+    /**
+     * Stops the server and closes all connections.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeAll();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isWritable()) {
+                            serve(key, connection);
+                        } else if (key.isReadable()) {
+                            if (connection.channel.read(connection.in) < 0) {
+                                close(key);
+                            } else {
+                                serve(key, connection);
+                            }
+                        }
+                    } catch (IOException | ProtocolException e) {
+                        close(key);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (running) {
+                ParkingLogger.getLogger(GateProtocolServer.class).error("Gate protocol server stopped", e);
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection(channel, buffers.acquire(), buffers.acquire()));
+        connections++;
+    }
+
+    /**
+     * Answers the complete frames read so far and writes the answers, until
+     * either the input runs out of frames or the socket will not take more output.
+     */
+    private void serve(SelectionKey key, Connection connection) throws IOException {
+        while (true) {
+            boolean outputFull = answer(connection);
+            ByteBuffer out = connection.out;
+            out.flip();
+            connection.channel.write(out);
+            boolean drained = !out.hasRemaining();
+            out.compact();
+            if (!drained) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            if (!outputFull) {
+                key.interestOps(SelectionKey.OP_READ);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answers the complete frames in the input buffer while the output buffer has room.
+     *
+     * @return true if it stopped because the output buffer is full.
+     */
+    private boolean answer(Connection connection) {
+        ByteBuffer in = connection.in;
+        ByteBuffer out = connection.out;
+        in.flip();
+        try {
+            while (in.remaining() >= GateProtocol.LENGTH_BYTES) {
+                if (out.remaining() < GateProtocol.MAX_RESPONSE_BYTES) {
+                    return true;
+                }
+                int length = in.getInt(in.position());
+                if (length < 5 || length > GateProtocol.MAX_FRAME_BYTES) {
+                    throw new ProtocolException("Invalid frame length " + length);
+                }
+                if (in.remaining() < GateProtocol.LENGTH_BYTES + length) {
+                    break;
+                }
+                int frameEnd = in.position() + GateProtocol.LENGTH_BYTES + length;
+                int limit = in.limit();
+                in.position(in.position() + GateProtocol.LENGTH_BYTES);
+                in.limit(frameEnd);
+                handle(in, out);
+                in.limit(limit);
+                in.position(frameEnd);
+                messages++;
+            }
+            return false;
+        } finally {
+            in.compact();
+        }
+    }
+
+    /**
+     * Answers one request, whose payload lies between the position and the limit of the input.
+     */
+    private void handle(ByteBuffer in, ByteBuffer out) {
+        byte opcode = in.get();
+        int requestId = in.getInt();
+        int start = out.position();
+        out.position(start + GateProtocol.LENGTH_BYTES + 6);
+        byte status;
+        try {
+            status = execute(opcode, in, out);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            status = GateProtocol.BAD_REQUEST;
+        } catch (RuntimeException e) {
+            ParkingLogger.getLogger(GateProtocolServer.class).error("Gate request " + opcode + " failed", e);
+            status = GateProtocol.ERROR;
+        }
+        if (status != GateProtocol.OK) {
+            out.position(start + GateProtocol.LENGTH_BYTES + 6);
+        }
+        out.putInt(start, out.position() - start - GateProtocol.LENGTH_BYTES);
+        out.put(start + GateProtocol.LENGTH_BYTES, opcode);
+        out.put(start + GateProtocol.LENGTH_BYTES + 1, status);
+        out.putInt(start + GateProtocol.LENGTH_BYTES + 2, requestId);
+    }
+
+    /**
+     * Runs a request against the facade and writes the body of a successful answer.
+     *
+     * @return The status.
+     */
+    private byte execute(byte opcode, ByteBuffer in, ByteBuffer out) {
+        switch (opcode) {
+            case GateProtocol.PARK: {
+                byte type = in.get();
+                byte flags = in.get();
+                String licensePlate = GateProtocol.getString(in, scratch);
+                String subscriptionId = GateProtocol.getString(in, scratch);
+                if (in.hasRemaining() || licensePlate.isEmpty()
+                        || (type != GateProtocol.CAR && type != GateProtocol.MOTORCYCLE)) {
+                    return GateProtocol.BAD_REQUEST;
+                }
+                Vehicle vehicle = facade.createVehicle(
+                        type == GateProtocol.CAR ? VehicleType.CAR : VehicleType.MOTORCYCLE,
+                        licensePlate, "Unknown", (flags & GateProtocol.FLAG_DISABLED) != 0, "Unknown");
+                boolean parked = subscriptionId.isEmpty()
+                        ? facade.parkVehicle(vehicle)
+                        : facade.parkSubscriberVehicle(vehicle, subscriptionId);
+                return parked ? GateProtocol.OK : GateProtocol.REJECTED;
+            }
+            case GateProtocol.EXIT: {
+                String licensePlate = GateProtocol.getString(in, scratch);
+                if (in.hasRemaining()) {
+                    return GateProtocol.BAD_REQUEST;
+                }
+                double fee = facade.removeVehicle(licensePlate);
+                if (fee < 0) {
+                    return GateProtocol.NOT_FOUND;
+                }
+                out.putDouble(fee);
+                return GateProtocol.OK;
+            }
+            case GateProtocol.STATUS:
+                out.putInt(facade.getAvailableSpots());
+                out.putDouble(facade.getOccupancyPercentage());
+                return GateProtocol.OK;
+            case GateProtocol.PING:
+                return GateProtocol.OK;
+            default:
+                return GateProtocol.BAD_REQUEST;
+        }
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        Connection connection = (Connection) key.attachment();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            ParkingLogger.getLogger(GateProtocolServer.class).warn("Cannot close gate connection: " + e.getMessage());
+        }
+        if (!connection.released) {
+            connection.released = true;
+            buffers.release(connection.in);
+            buffers.release(connection.out);
+            connections--;
+        }
+    }
+
+    private synchronized void closeAll() {
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            return;
+        }
+        if (selector.isOpen()) {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    close(key);
+                }
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            ParkingLogger.getLogger(GateProtocolServer.class).warn("Cannot close gate server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The state of one client connection.
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in;
+        private final ByteBuffer out;
+        private boolean released;
+
+        Connection(SocketChannel channel, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.in = in;
+            this.out = out;
+        }
+    }
+
+    /**
+     * Thrown when a client breaks the framing, after which its stream cannot be resynchronized.
+     */
+    private static final class ProtocolException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ProtocolException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package parking.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * The {@code CachedClock} class is a coarse-grained clock for hot paths.
+ * A background daemon thread refreshes a cached timestamp at a fixed resolution,
+ * so reading the time is a single volatile read instead of a system call.
+ *
+ * @author Smart Parking System Team
+ */
+public class CachedClock extends Clock implements AutoCloseable {
+
+    /** The shared tick source. */
+    private final Ticker ticker;
+
+    /** The time zone of this clock. */
+    private final ZoneId zone;
+
+    /**
+     * Constructs a new {@code CachedClock} in the system default time zone.
+     *
+     * @param resolutionMillis The refresh interval in milliseconds.
+     * @throws IllegalArgumentException if the resolution is not positive.
+     */
+    public CachedClock(long resolutionMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("Clock resolution must be positive");
+        }
+        this.ticker = new Ticker(resolutionMillis);
+        this.zone = ZoneId.systemDefault();
+    }
+
+    /**
+     * Constructs a view of an existing tick source in another time zone.
+     *
+     * @param ticker The tick source to share.
+     * @param zone The time zone.
+     */
+    private CachedClock(Ticker ticker, ZoneId zone) {
+        this.ticker = ticker;
+        this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new CachedClock(ticker, zone);
+    }
+
+    @Override
+    public long millis() {
+        return ticker.currentMillis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(ticker.currentMillis);
+    }
+
+    /**
+     * Gets the refresh interval of this clock.
+     *
+     * @return The resolution in milliseconds.
+     */
+    public long getResolutionMillis() {
+        return ticker.resolutionMillis;
+    }
+
+    /**
+     * Stops the background refresh. The clock keeps returning the last cached time.
+     */
+    @Override
+    public void close() {
+        ticker.running = false;
+        ticker.thread.interrupt();
+    }
+
+    /**
+     * The background thread that refreshes the cached time.
+     */
+    private static class Ticker implements Runnable {
+        private final long resolutionMillis;
+        private final Thread thread;
+        private volatile long currentMillis;
+        private volatile boolean running;
+
+        private Ticker(long resolutionMillis) {
+            this.resolutionMillis = resolutionMillis;
+            this.currentMillis = System.currentTimeMillis();
+            this.running = true;
+            this.thread = new Thread(this, "parking-cached-clock");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                currentMillis = System.currentTimeMillis();
+                try {
+                    Thread.sleep(resolutionMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
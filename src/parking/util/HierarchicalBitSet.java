@@ -0,0 +1,183 @@
+package parking.util;
+
+import java.util.Arrays;
+
+/**
+ * The {@code HierarchicalBitSet} class is a bit set of non-negative integers
+ * with fast search for the next set bit. Above the words holding the bits sit
+ * summary levels, where each bit records whether a word of the level below is
+ * non-empty, up to a single top word. Setting, clearing and finding the next
+ * set bit therefore touch one word per level: O(log<sub>64</sub> n), which is at
+ * most four levels for up to 16 million bits.
+ * This class is not thread-safe.
+ *
+ * @author Smart Parking System Team
+ */
+public class HierarchicalBitSet {
+    /** The words of each level; level 0 holds the bits, the last level a single word. */
+    private long[][] levels;
+
+    /** The number of set bits. */
+    private int cardinality;
+
+    /**
+     * Constructs a new, empty {@code HierarchicalBitSet}.
+     *
+     * @param capacity The number of bits to hold before growing.
+     */
+    public HierarchicalBitSet(int capacity) {
+        this.levels = buildLevels(new long[wordsFor(Math.max(capacity, 64))]);
+    }
+
+    /**
+     * Sets a bit.
+     *
+     * @param index The bit index.
+     * @return true if the bit was clear before.
+     * @throws IllegalArgumentException if the index is negative.
+     */
+    public boolean set(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Bit index cannot be negative: " + index);
+        }
+        if (index >= capacity()) {
+            grow(index + 1);
+        }
+        long[] words = levels[0];
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((words[word] & bit) != 0) {
+            return false;
+        }
+        boolean wasEmpty = words[word] == 0;
+        words[word] |= bit;
+        cardinality++;
+        for (int level = 1; wasEmpty && level < levels.length; level++) {
+            index = word;
+            word = index >>> 6;
+            wasEmpty = levels[level][word] == 0;
+            levels[level][word] |= 1L << index;
+        }
+        return true;
+    }
+
+    /**
+     * Clears a bit.
+     *
+     * @param index The bit index.
+     * @return true if the bit was set before.
+     */
+    public boolean clear(int index) {
+        if (!get(index)) {
+            return false;
+        }
+        long[] words = levels[0];
+        int word = index >>> 6;
+        words[word] &= ~(1L << index);
+        cardinality--;
+        boolean nowEmpty = words[word] == 0;
+        for (int level = 1; nowEmpty && level < levels.length; level++) {
+            index = word;
+            word = index >>> 6;
+            levels[level][word] &= ~(1L << index);
+            nowEmpty = levels[level][word] == 0;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a bit is set.
+     *
+     * @param index The bit index.
+     * @return true if the bit is set.
+     */
+    public boolean get(int index) {
+        return index >= 0 && index < capacity() && (levels[0][index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Finds the first set bit at or after an index.
+     *
+     * @param fromIndex The index to start from, inclusive.
+     * @return The index of the set bit, or -1 if there is none.
+     */
+    public int nextSetBit(int fromIndex) {
+        return next(0, Math.max(fromIndex, 0));
+    }
+
+    /**
+     * Gets the number of set bits.
+     *
+     * @return The number of set bits.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Clears all bits.
+     */
+    public void clear() {
+        for (long[] words : levels) {
+            Arrays.fill(words, 0L);
+        }
+        cardinality = 0;
+    }
+
+    private int next(int level, int fromIndex) {
+        long[] words = levels[level];
+        int word = fromIndex >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << fromIndex);
+        if (bits != 0) {
+            return (word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        if (level + 1 == levels.length) {
+            return -1;
+        }
+        int nextWord = next(level + 1, word + 1);
+        return nextWord < 0 ? -1 : (nextWord << 6) + Long.numberOfTrailingZeros(words[nextWord]);
+    }
+
+    private int capacity() {
+        return levels[0].length << 6;
+    }
+
+    private void grow(int minCapacity) {
+        int words = levels[0].length;
+        while ((words << 6) < minCapacity) {
+            words <<= 1;
+        }
+        levels = buildLevels(Arrays.copyOf(levels[0], words));
+    }
+
+    private static long[][] buildLevels(long[] bits) {
+        int depth = 1;
+        for (int words = bits.length; words > 1; words = wordsFor(words)) {
+            depth++;
+        }
+        long[][] result = new long[depth][];
+        result[0] = bits;
+        for (int level = 1; level < depth; level++) {
+            long[] below = result[level - 1];
+            long[] words = new long[wordsFor(below.length)];
+            for (int i = 0; i < below.length; i++) {
+                if (below[i] != 0) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+            result[level] = words;
+        }
+        return result;
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
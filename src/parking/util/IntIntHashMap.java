@@ -0,0 +1,183 @@
+package parking.util;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IntIntHashMap} class is a hash map from non-negative {@code int}
+ * keys to {@code int} values. It uses open addressing with linear probing, so
+ * lookups and updates neither box nor allocate.
+ * This class is not thread-safe.
+ *
+ * @author Smart Parking System Team
+ */
+public class IntIntHashMap {
+    /** The value returned for keys that are not in the map. */
+    public static final int NO_VALUE = -1;
+
+    /** Marks an empty bucket. */
+    private static final int EMPTY = -1;
+
+    /** The maximum fill ratio before the table grows. */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Constructs a new, empty {@code IntIntHashMap}.
+     */
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new, empty {@code IntIntHashMap} sized for the expected number of entries.
+     *
+     * @param expectedSize The expected number of entries.
+     */
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the value mapped to a key.
+     *
+     * @param key The key.
+     * @return The value, or {@link #NO_VALUE} if the key is absent.
+     */
+    public int get(int key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : NO_VALUE;
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     *
+     * @param key The key.
+     * @return true if the key is present.
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @param key The key, which must not be negative.
+     * @param value The value.
+     * @return The previous value, or {@link #NO_VALUE} if the key was absent.
+     * @throws IllegalArgumentException if the key is negative.
+     */
+    public int put(int key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key must not be negative: " + key);
+        }
+        int index = bucket(key);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param key The key.
+     * @return The removed value, or {@link #NO_VALUE} if the key was absent.
+     */
+    public int remove(int key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return NO_VALUE;
+        }
+        int removed = values[index];
+        keys[index] = EMPTY;
+        size--;
+
+        // Shift following entries back so that probe sequences stay unbroken
+        int next = (index + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = bucket(keys[next]);
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                keys[next] = EMPTY;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(int key) {
+        if (key < 0) {
+            return -1;
+        }
+        int index = bucket(key);
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int bucket(int key) {
+        return (key * 0x9E3779B9 >>> 16 ^ key * 0x9E3779B9) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = bucket(oldKeys[i]);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package parking.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ManualClock} class is a clock that only moves when told to.
+ * It is used to control time in tests and benchmarks.
+ *
+ * @author Smart Parking System Team
+ */
+public class ManualClock extends Clock {
+
+    /** The current time in epoch milliseconds, shared with zone views. */
+    private final AtomicLong currentMillis;
+
+    /** The time zone of this clock. */
+    private final ZoneId zone;
+
+    /**
+     * Constructs a new {@code ManualClock} starting at the current system time.
+     */
+    public ManualClock() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Constructs a new {@code ManualClock} starting at the specified time.
+     *
+     * @param startMillis The start time in epoch milliseconds.
+     */
+    public ManualClock(long startMillis) {
+        this(new AtomicLong(startMillis), ZoneId.systemDefault());
+    }
+
+    private ManualClock(AtomicLong currentMillis, ZoneId zone) {
+        this.currentMillis = currentMillis;
+        this.zone = zone;
+    }
+
+    /**
+     * Moves this clock forward.
+     *
+     * @param duration The amount of time to advance.
+     */
+    public void advance(Duration duration) {
+        currentMillis.addAndGet(duration.toMillis());
+    }
+
+    /**
+     * Sets this clock to the specified time.
+     *
+     * @param millis The new time in epoch milliseconds.
+     */
+    public void setMillis(long millis) {
+        currentMillis.set(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new ManualClock(currentMillis, zone);
+    }
+
+    @Override
+    public long millis() {
+        return currentMillis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(currentMillis.get());
+    }
+}
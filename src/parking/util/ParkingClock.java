@@ -0,0 +1,78 @@
+package parking.util;
+
+import java.time.Clock;
+
+/**
+ * The {@code ParkingClock} class holds the time source used by the parking system.
+ * Sessions, statistics and subscriptions read the time from here instead of
+ * calling {@code now()} directly, so the clock can be replaced in tests and
+ * benchmarks, or swapped for a coarse-grained {@link CachedClock} on hot paths.
+ *
+ * @author Smart Parking System Team
+ */
+public class ParkingClock {
+
+    /** The clock currently in use. */
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ParkingClock() {
+    }
+
+    /**
+     * Gets the clock currently in use.
+     *
+     * @return The current clock.
+     */
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replaces the clock used by the parking system.
+     * A previously installed {@link CachedClock} is stopped.
+     *
+     * @param newClock The clock to use.
+     * @throws IllegalArgumentException if the clock is null.
+     */
+    public static synchronized void setClock(Clock newClock) {
+        if (newClock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        Clock previous = clock;
+        clock = newClock;
+        if (previous instanceof CachedClock && previous != newClock) {
+            ((CachedClock) previous).close();
+        }
+    }
+
+    /**
+     * Restores the system clock.
+     */
+    public static void useSystemClock() {
+        setClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Installs a cached clock that refreshes at the specified resolution.
+     *
+     * @param resolutionMillis The refresh interval in milliseconds.
+     * @return The installed clock.
+     */
+    public static CachedClock useCachedClock(long resolutionMillis) {
+        CachedClock cachedClock = new CachedClock(resolutionMillis);
+        setClock(cachedClock);
+        return cachedClock;
+    }
+
+    /**
+     * Gets the current time of the clock in use.
+     *
+     * @return The current time in epoch milliseconds.
+     */
+    public static long currentTimeMillis() {
+        return clock.millis();
+    }
+}
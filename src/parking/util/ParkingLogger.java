@@ -1,7 +1,11 @@
 package parking.util;
 
+import parking.metrics.Counter;
+import parking.metrics.MetricsRegistry;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The {@code ParkingLogger} class provides logging functionality for the parking system.
@@ -46,6 +50,12 @@ public class ParkingLogger {
     
     /** The name of the logger (usually the class name). */
     private String loggerName;
+
+    /** The number of messages being written right now; writers wait on the console stream. */
+    private final AtomicInteger pending;
+
+    /** The number of messages written, per level. */
+    private final Counter[] messages;
     
     /**
      * Private constructor for singleton.
@@ -54,6 +64,16 @@ public class ParkingLogger {
         this.minLevel = Level.INFO;
         this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         this.loggerName = "ParkingSystem";
+        this.pending = new AtomicInteger();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("parking_logger_pending_messages",
+                "Log messages waiting for the console", pending::get);
+        Level[] levels = Level.values();
+        this.messages = new Counter[levels.length];
+        for (Level level : levels) {
+            messages[level.ordinal()] = metrics.counter("parking_logger_messages_total",
+                    "Log messages written", "level", level.getLabel());
+        }
     }
     
     /**
@@ -89,6 +109,17 @@ public class ParkingLogger {
         this.minLevel = level;
     }
     
+    /**
+     * Checks whether messages at a level are written, so that callers can skip
+     * building messages that would be dropped.
+     *
+     * @param level The log level.
+     * @return true if messages at the level are written.
+     */
+    public boolean isEnabled(Level level) {
+        return level.getPriority() >= minLevel.getPriority();
+    }
+    
     /**
      * Logs a message at the specified level.
      *
@@ -96,18 +127,28 @@ public class ParkingLogger {
      * @param message The message to log.
      */
     private void log(Level level, String message) {
-        if (level.getPriority() >= minLevel.getPriority()) {
-            String timestamp = LocalDateTime.now().format(formatter);
-            String logMessage = String.format("[%s] [%s] [%s] %s", 
-                    timestamp, level.getLabel(), loggerName, message);
-            
-            if (level == Level.ERROR || level == Level.WARN) {
-                System.err.println(logMessage);
-            } else {
-                System.out.println(logMessage);
+        if (isEnabled(level)) {
+            messages[level.ordinal()].increment();
+            pending.incrementAndGet();
+            try {
+                write(level, message);
+            } finally {
+                pending.decrementAndGet();
             }
         }
     }
+
+    private void write(Level level, String message) {
+        String timestamp = LocalDateTime.now().format(formatter);
+        String logMessage = String.format("[%s] [%s] [%s] %s", 
+                timestamp, level.getLabel(), loggerName, message);
+        
+        if (level == Level.ERROR || level == Level.WARN) {
+            System.err.println(logMessage);
+        } else {
+            System.out.println(logMessage);
+        }
+    }
     
     /**
      * Logs a message at the specified level with exception details.
@@ -117,6 +158,9 @@ public class ParkingLogger {
      * @param throwable The exception to log.
      */
     private void log(Level level, String message, Throwable throwable) {
+        if (!isEnabled(level)) {
+            return;
+        }
         log(level, message + " - " + throwable.getMessage());
         if (minLevel == Level.DEBUG) {
             throwable.printStackTrace();
@@ -179,7 +223,7 @@ public class ParkingLogger {
         log(Level.ERROR, message, throwable);
     }
     
-    // Convenience methods for formatted logging
+    // Convenience methods for formatted logging; they format only when INFO is enabled
     
     /**
      * Logs vehicle entry.
@@ -188,6 +232,9 @@ public class ParkingLogger {
      * @param spotId The spot ID.
      */
     public void logVehicleEntry(String licensePlate, int spotId) {
+        if (!isEnabled(Level.INFO)) {
+            return;
+        }
         info(String.format("Vehicle entered: %s -> Spot #%d", licensePlate, spotId));
     }
     
@@ -198,6 +245,9 @@ public class ParkingLogger {
      * @param payment The payment amount.
      */
     public void logVehicleExit(String licensePlate, double payment) {
+        if (!isEnabled(Level.INFO)) {
+            return;
+        }
         info(String.format("Vehicle exited: %s | Payment: $%.2f", licensePlate, payment));
     }
     
@@ -208,6 +258,9 @@ public class ParkingLogger {
      * @param total The total number of spots.
      */
     public void logStatus(int occupied, int total) {
+        if (!isEnabled(Level.INFO)) {
+            return;
+        }
         info(String.format("Parking status: %d/%d spots occupied (%.1f%%)", 
                 occupied, total, (double) occupied / total * 100));
     }
@@ -0,0 +1,169 @@
+package parking.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code Simulator} class runs a discrete-event simulation in virtual time.
+ * Actions are scheduled at points in time and kept in a priority queue; running
+ * the simulation takes them in time order, moves a {@link ManualClock} to each
+ * action's time and runs it. Time jumps straight from one action to the next, so
+ * weeks of simulated traffic take seconds, however sparse or dense the actions.
+ * <p>
+ * While it runs, the simulator installs its clock as the {@link ParkingClock},
+ * so sessions, statistics, subscriptions and pricing all see virtual time. The
+ * previous clock is restored afterwards; a cached clock, which cannot be
+ * restarted, is replaced by the system clock. Actions may schedule further
+ * actions. Actions at the same time run in the order they were scheduled.
+ * This class is not thread-safe, and only one simulation should run at a time.
+ *
+ * @author Smart Parking System Team
+ */
+public class Simulator {
+    /** The virtual clock. */
+    private final ManualClock clock;
+
+    /** The pending actions, earliest first. */
+    private final PriorityQueue<ScheduledAction> queue;
+
+    /** The number of actions scheduled so far, which orders actions at the same time. */
+    private long scheduled;
+
+    /** The number of actions run so far. */
+    private long executed;
+
+    /**
+     * Constructs a new {@code Simulator}.
+     *
+     * @param startMillis The virtual start time in epoch milliseconds.
+     */
+    public Simulator(long startMillis) {
+        this.clock = new ManualClock(startMillis);
+        this.queue = new PriorityQueue<>();
+    }
+
+    /**
+     * Gets the virtual clock.
+     *
+     * @return The clock.
+     */
+    public ManualClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the current virtual time.
+     *
+     * @return The time in epoch milliseconds.
+     */
+    public long now() {
+        return clock.millis();
+    }
+
+    /**
+     * Schedules an action at a point in time.
+     *
+     * @param timeMillis The time in epoch milliseconds.
+     * @param action The action.
+     * @throws IllegalArgumentException if the time is in the virtual past.
+     */
+    public void schedule(long timeMillis, Runnable action) {
+        if (timeMillis < clock.millis()) {
+            throw new IllegalArgumentException("Cannot schedule in the past: " + timeMillis);
+        }
+        queue.add(new ScheduledAction(timeMillis, scheduled++, action));
+    }
+
+    /**
+     * Schedules an action after a delay from the current virtual time.
+     *
+     * @param delay The delay.
+     * @param action The action.
+     */
+    public void scheduleAfter(Duration delay, Runnable action) {
+        schedule(clock.millis() + Math.max(delay.toMillis(), 0), action);
+    }
+
+    /**
+     * Gets the number of actions waiting to run.
+     *
+     * @return The number of pending actions.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of actions run so far.
+     *
+     * @return The number of actions.
+     */
+    public long getExecutedCount() {
+        return executed;
+    }
+
+    /**
+     * Runs the actions due up to a point in time, then leaves the clock there.
+     *
+     * @param untilMillis The time to run to, in epoch milliseconds.
+     * @return The number of actions run.
+     */
+    public long runUntil(long untilMillis) {
+        long count = runActions(untilMillis);
+        clock.setMillis(Math.max(untilMillis, clock.millis()));
+        return count;
+    }
+
+    /**
+     * Runs until no actions are left, leaving the clock at the time of the last one.
+     *
+     * @return The number of actions run.
+     */
+    public long run() {
+        return runActions(Long.MAX_VALUE);
+    }
+
+    private long runActions(long untilMillis) {
+        Clock previous = ParkingClock.getClock();
+        ParkingClock.setClock(clock);
+        long count = 0;
+        try {
+            while (!queue.isEmpty() && queue.peek().timeMillis <= untilMillis) {
+                ScheduledAction next = queue.poll();
+                clock.setMillis(next.timeMillis);
+                next.action.run();
+                count++;
+                executed++;
+            }
+        } finally {
+            if (previous instanceof CachedClock) {
+                ParkingClock.useSystemClock();
+            } else if (previous != clock) {
+                ParkingClock.setClock(previous);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * An action waiting in the queue.
+     */
+    private static final class ScheduledAction implements Comparable<ScheduledAction> {
+        private final long timeMillis;
+        private final long order;
+        private final Runnable action;
+
+        ScheduledAction(long timeMillis, long order, Runnable action) {
+            this.timeMillis = timeMillis;
+            this.order = order;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(ScheduledAction other) {
+            int byTime = Long.compare(timeMillis, other.timeMillis);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package parking.util;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@code TimerWheel} class keeps items until their deadlines pass, using a
+ * hashed timing wheel. Time is cut into ticks; each item goes into the slot of the
+ * tick of its deadline, modulo the number of slots. Scheduling and cancelling are
+ * O(1), and advancing the wheel only visits the slots of the ticks that have passed,
+ * so expiring items never requires sorting or scanning every pending item.
+ * Items more than one round ahead stay in their slot until their round comes.
+ * This class is not thread-safe.
+ *
+ * @param <T> The type of the items.
+ * @author Smart Parking System Team
+ */
+public class TimerWheel<T> {
+    /** The length of a tick in milliseconds. */
+    private final long tickMillis;
+
+    /** The first timeout of each slot's list, or null. */
+    private final Timeout<T>[] slots;
+
+    private final int mask;
+
+    /** The tick the wheel has advanced to. */
+    private long currentTick;
+
+    /** The number of pending timeouts. */
+    private int size;
+
+    /**
+     * Constructs a new, empty {@code TimerWheel}.
+     *
+     * @param tickMillis The length of a tick in milliseconds.
+     * @param slotCount The number of slots, rounded up to a power of two.
+     * @param startMillis The current time in epoch milliseconds.
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick length and slot count must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(slotCount - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = (Timeout<T>[]) new Timeout<?>[capacity];
+        this.mask = capacity - 1;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules an item. An item whose deadline has already passed expires
+     * on the next call to {@link #advance(long, Consumer)}.
+     *
+     * @param item The item.
+     * @param deadlineMillis The deadline in epoch milliseconds.
+     * @return The timeout, for cancelling.
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineMillis);
+        long tick = Math.max(Math.floorDiv(deadlineMillis, tickMillis), currentTick);
+        int slot = (int) (tick & mask);
+        timeout.slot = slot;
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        slots[slot] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timeout.
+     *
+     * @param timeout The timeout.
+     * @return true if the timeout was pending.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to a time and expires every item whose deadline is at
+     * or before it. Expired items are handed to the callback after they have all
+     * been removed, so the callback may schedule and cancel freely.
+     *
+     * @param nowMillis The current time in epoch milliseconds.
+     * @param onExpiry Receives each expired item.
+     * @return The number of expired items.
+     */
+    public int advance(long nowMillis, Consumer<? super T> onExpiry) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        long ticks = Math.min(Math.max(nowTick - currentTick, 0), mask);
+        Timeout<T> expired = null;
+        for (long tick = currentTick; tick <= currentTick + ticks; tick++) {
+            Timeout<T> timeout = slots[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineMillis <= nowMillis) {
+                    unlink(timeout);
+                    timeout.next = expired;
+                    expired = timeout;
+                }
+                timeout = next;
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+
+        int count = 0;
+        while (expired != null) {
+            Timeout<T> next = expired.next;
+            expired.next = null;
+            onExpiry.accept(expired.item);
+            expired = next;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of pending timeouts.
+     *
+     * @return The number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Cancels all pending timeouts.
+     */
+    public void clear() {
+        for (int slot = 0; slot < slots.length; slot++) {
+            while (slots[slot] != null) {
+                unlink(slots[slot]);
+            }
+        }
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.slot = -1;
+        size--;
+    }
+
+    /**
+     * The {@code Timeout} class is an item scheduled in a {@link TimerWheel}.
+     *
+     * @param <T> The type of the item.
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        /** The slot holding this timeout, or -1 once it has expired or been cancelled. */
+        private int slot;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Checks whether this timeout is still scheduled.
+         *
+         * @return true if it has neither expired nor been cancelled.
+         */
+        public boolean isPending() {
+            return slot >= 0;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.HeapSpotStore;
+import parking.core.SpotCategory;
+import parking.core.SpotLayout;
+import parking.core.SpotStore;
+import parking.management.AllocationPolicy;
+import parking.management.FirstFitStrategy;
+import parking.management.LeastRecentlyUsedStrategy;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.management.RoundRobinStrategy;
+import parking.management.SpotPools;
+import parking.management.ZoneBalancedStrategy;
+
+/**
+ * Tests for the pluggable spot allocation strategies.
+ */
+public class AllocationStrategyTest {
+
+    /**
+     * Parks a car in the spot chosen by the pools.
+     */
+    private static int park(SpotStore store, SpotPools pools, String plate) {
+        int spotId = pools.find(new Car(plate, "Owner", false, "Grey"));
+        assertTrue(store.tryOccupy(spotId, new Car(plate, "Owner", false, "Grey")));
+        pools.remove(spotId);
+        return spotId;
+    }
+
+    private static void leave(SpotStore store, SpotPools pools, int spotId) {
+        store.release(spotId);
+        pools.add(spotId);
+    }
+
+    /**
+     * Tests that first fit reuses the lowest free spot.
+     */
+    @Test
+    public void testFirstFit() {
+        SpotStore store = new HeapSpotStore(5, 0);
+        SpotPools pools = new SpotPools(store, new FirstFitStrategy());
+
+        assertEquals(1, park(store, pools, "FF1"));
+        assertEquals(2, park(store, pools, "FF2"));
+        leave(store, pools, 1);
+        assertEquals(1, park(store, pools, "FF3"));
+    }
+
+    /**
+     * Tests that round robin moves on past freed spots and wraps around.
+     */
+    @Test
+    public void testRoundRobin() {
+        SpotStore store = new HeapSpotStore(3, 0);
+        SpotPools pools = new SpotPools(store, new RoundRobinStrategy());
+
+        assertEquals(1, park(store, pools, "RR1"));
+        leave(store, pools, 1);
+        assertEquals(2, park(store, pools, "RR2"));
+        assertEquals(3, park(store, pools, "RR3"));
+        assertEquals(1, park(store, pools, "RR4"));
+    }
+
+    /**
+     * Tests that the least recently used strategy takes the spot free the longest.
+     */
+    @Test
+    public void testLeastRecentlyUsed() {
+        SpotStore store = new HeapSpotStore(3, 0);
+        SpotPools pools = new SpotPools(store, new LeastRecentlyUsedStrategy());
+
+        assertEquals(1, park(store, pools, "LRU1"));
+        assertEquals(2, park(store, pools, "LRU2"));
+        leave(store, pools, 2);
+        leave(store, pools, 1);
+        assertEquals(3, park(store, pools, "LRU3"));
+        assertEquals(2, park(store, pools, "LRU4"));
+        assertEquals(1, park(store, pools, "LRU5"));
+        assertEquals(-1, pools.find(new Car("LRU6", "Owner", false, "Grey")));
+    }
+
+    /**
+     * Tests that the zone-balanced strategy alternates between zones of a level.
+     */
+    @Test
+    public void testZoneBalanced() {
+        SpotStore store = new HeapSpotStore(SpotLayout.parse("0:0:STANDARD:3,0:1:STANDARD:3"));
+        SpotPools pools = new SpotPools(store, new ZoneBalancedStrategy());
+
+        assertEquals(0, store.getZone(park(store, pools, "ZB1")));
+        assertEquals(1, store.getZone(park(store, pools, "ZB2")));
+        assertEquals(0, store.getZone(park(store, pools, "ZB3")));
+        assertEquals(1, store.getZone(park(store, pools, "ZB4")));
+
+        pools.rebuild();
+        assertEquals(2, pools.getAvailable(SpotCategory.STANDARD, 0));
+        assertEquals(0, store.getZone(park(store, pools, "ZB5")));
+    }
+
+    /**
+     * Tests policy names and replacing a lot's strategy.
+     */
+    @Test
+    public void testLotStrategy() {
+        assertEquals(AllocationPolicy.LEAST_RECENTLY_USED, AllocationPolicy.fromName("lru"));
+        assertEquals(AllocationPolicy.ZONE_BALANCED, AllocationPolicy.fromName("ZONE_BALANCED"));
+        assertEquals(AllocationPolicy.FIRST_FIT, AllocationPolicy.fromName("unknown"));
+
+        ParkingLot lot = ParkingLotRegistry.getInstance().getOrCreateLot("ALLOCATION-LOT");
+        lot.reset();
+        assertTrue(lot.getAllocationStrategy() instanceof FirstFitStrategy);
+        lot.setAllocationStrategy(new RoundRobinStrategy());
+
+        assertEquals(1, lot.parkVehicle(new Car("ALC001", "Owner", false, "Red")).getParkingSpot().getSpotId());
+        lot.removeVehicle("ALC001");
+        assertEquals(2, lot.parkVehicle(new Car("ALC002", "Owner", false, "Red")).getParkingSpot().getSpotId());
+        assertThrows(IllegalArgumentException.class, () -> lot.setAllocationStrategy(null));
+        lot.reset();
+    }
+}
@@ -0,0 +1,78 @@
+package parking.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.ParkingSession;
+import parking.core.ParkingSpot;
+import parking.management.Subscription;
+import parking.util.CachedClock;
+import parking.util.ManualClock;
+import parking.util.ParkingClock;
+
+import java.time.Duration;
+
+/**
+ * Tests for the pluggable clock sources.
+ */
+public class ClockTest {
+
+    @AfterEach
+    public void tearDown() {
+        ParkingClock.useSystemClock();
+    }
+
+    /**
+     * Tests that new sessions use the installed clock.
+     */
+    @Test
+    public void testSessionsUseInstalledClock() {
+        ManualClock clock = new ManualClock(5_000_000L);
+        ParkingClock.setClock(clock);
+
+        ParkingSession session = new ParkingSession(new Car("CLK001", "Owner", false, "Blue"),
+                new ParkingSpot(1, false), false);
+        clock.advance(Duration.ofHours(2));
+
+        assertEquals(5_000_000L, session.getEntryTimeMillis());
+        assertEquals(2.0, session.getDurationHours());
+    }
+
+    /**
+     * Tests that subscriptions expire according to the installed clock.
+     */
+    @Test
+    public void testSubscriptionExpiresWithClock() {
+        ManualClock clock = new ManualClock();
+        ParkingClock.setClock(clock);
+
+        String subscriptionId = Subscription.createSubscription("CLK002", "Subscriber", 1);
+        assertTrue(Subscription.isValidSubscription(subscriptionId));
+
+        clock.advance(Duration.ofDays(40));
+        assertFalse(Subscription.isValidSubscription(subscriptionId));
+    }
+
+    /**
+     * Tests that the cached clock stays within its resolution of the system time.
+     */
+    @Test
+    public void testCachedClockResolution() throws InterruptedException {
+        CachedClock clock = ParkingClock.useCachedClock(5);
+        Thread.sleep(50);
+
+        long difference = System.currentTimeMillis() - clock.millis();
+        assertTrue(difference >= 0 && difference < 1000);
+        assertSame(clock, ParkingClock.getClock());
+    }
+
+    /**
+     * Tests that a null clock is rejected.
+     */
+    @Test
+    public void testNullClockRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ParkingClock.setClock(null));
+    }
+}
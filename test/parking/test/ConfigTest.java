@@ -1,10 +1,18 @@
 package parking.test;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import parking.config.ConfigSnapshot;
+import parking.config.ConfigWatcher;
 import parking.config.ParkingConfig;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 /**
  * Tests for the ParkingConfig configuration class.
  */
@@ -87,4 +95,102 @@ public class ConfigTest {
         assertTrue(str.contains("regularSpots"));
         assertTrue(str.contains("carHourlyRate"));
     }
+    
+    /**
+     * Tests that a reload publishes a new snapshot and leaves old ones untouched.
+     */
+    @Test
+    public void testReloadSwapsSnapshot(@TempDir Path dir) throws IOException {
+        ParkingConfig config = ParkingConfig.getInstance();
+        ConfigSnapshot before = config.getSnapshot();
+        Path file = dir.resolve("parking.properties");
+        Files.write(file, Arrays.asList("pricing.car.hourly=30.0", "pricing.free.hours=1.0"));
+        
+        try {
+            ConfigSnapshot after = config.reload(file);
+            assertSame(after, config.getSnapshot());
+            assertEquals(before.getVersion() + 1, after.getVersion());
+            assertEquals(30.0, config.getCarHourlyRate());
+            assertEquals(18.0, before.getCarHourlyRate());
+            assertEquals(100, after.getRegularSpots());
+        } finally {
+            config.reload();
+        }
+        assertEquals(18.0, config.getCarHourlyRate());
+    }
+    
+    /**
+     * Tests that a watched file is reloaded when it changes.
+     */
+    @Test
+    public void testWatchReloadsChangedFile(@TempDir Path dir) throws Exception {
+        ParkingConfig config = ParkingConfig.getInstance();
+        Path file = dir.resolve("parking.properties");
+        Files.write(file, Arrays.asList("pricing.free.hours=3.0"));
+        
+        try (ConfigWatcher watcher = config.watch(file)) {
+            assertEquals(file.toAbsolutePath(), watcher.getFile());
+            assertEquals(3.0, config.getFreeHours());
+            Files.write(file, Arrays.asList("pricing.free.hours=4.0"));
+            awaitFreeHours(config, 4.0);
+            assertEquals(4.0, config.getFreeHours());
+        } finally {
+            config.reload();
+        }
+    }
+    
+    /**
+     * Tests that a file with an invalid setting is rejected and the current snapshot kept.
+     */
+    @Test
+    public void testReloadRejectsInvalidFile(@TempDir Path dir) throws IOException {
+        ParkingConfig config = ParkingConfig.getInstance();
+        ConfigSnapshot before = config.getSnapshot();
+        Path file = dir.resolve("parking.properties");
+        
+        Files.write(file, Arrays.asList("pricing.free.hours=1.0", "pricing.car.hourly=abc"));
+        assertThrows(IllegalArgumentException.class, () -> config.reload(file));
+        Files.write(file, Arrays.asList("subscription.premium.discount=1.5"));
+        assertThrows(IllegalArgumentException.class, () -> config.reload(file));
+        Files.write(file, Arrays.asList("parking.spots.store=disk"));
+        assertThrows(IllegalArgumentException.class, () -> config.reload(file));
+        assertSame(before, config.getSnapshot());
+    }
+    
+    /**
+     * Tests that a watched file that turns invalid leaves the previous snapshot in
+     * effect until it is fixed.
+     */
+    @Test
+    public void testWatchKeepsSnapshotOfInvalidFile(@TempDir Path dir) throws Exception {
+        ParkingConfig config = ParkingConfig.getInstance();
+        Path file = dir.resolve("parking.properties");
+        Files.write(file, Arrays.asList("pricing.free.hours=3.0", "pricing.car.hourly=20.0"));
+        
+        ConfigWatcher watcher = config.watch(file);
+        try {
+            ConfigSnapshot loaded = config.getSnapshot();
+            assertEquals(3.0, loaded.getFreeHours());
+            Files.write(file, Arrays.asList("pricing.free.hours=-1"));
+            Files.write(file, Arrays.asList("pricing.free.hours=5.0"));
+            awaitFreeHours(config, 5.0);
+            assertEquals(5.0, config.getFreeHours());
+            assertEquals(18.0, config.getCarHourlyRate());
+            
+            ConfigSnapshot valid = config.getSnapshot();
+            Files.write(file, Arrays.asList("pricing.free.hours=-1"));
+            Thread.sleep(1000);
+            assertSame(valid, config.getSnapshot());
+        } finally {
+            watcher.close();
+            config.reload();
+        }
+    }
+    
+    private static void awaitFreeHours(ParkingConfig config, double freeHours) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (config.getFreeHours() != freeHours && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
 }
@@ -0,0 +1,307 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.patterns.observer.EventLogReader;
+import parking.patterns.observer.EventLogSink;
+import parking.patterns.observer.EventType;
+import parking.patterns.observer.ParkingEvent;
+import parking.patterns.observer.ParkingStatusEvent;
+import parking.patterns.observer.PaymentEvent;
+import parking.patterns.observer.VehicleEntryEvent;
+import parking.patterns.observer.VehicleExitEvent;
+import parking.util.ManualClock;
+import parking.util.ParkingClock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the durable event log and its reader.
+ */
+public class EventLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testWriteAndReplay() throws IOException {
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-LOT")) {
+            sink.onVehicleEntry("ABC-123", 7);
+            sink.onVehicleExit("ABC-123", 7, 3.0, 18.0);
+            sink.onParkingStatusChange(100, 1, 99);
+            assertTrue(sink.flush(5000));
+            assertEquals(3, sink.getNextSequence());
+        }
+
+        EventLogReader reader = new EventLogReader(directory);
+        List<ParkingEvent> events = reader.read(0, 10);
+        assertEquals(3, events.size());
+
+        VehicleEntryEvent entry = (VehicleEntryEvent) events.get(0);
+        assertEquals(0, entry.getSequence());
+        assertEquals("LOG-LOT", entry.getLotId());
+        assertEquals("ABC-123", entry.getLicensePlate());
+        assertEquals(7, entry.getSpotId());
+
+        VehicleExitEvent exit = (VehicleExitEvent) events.get(1);
+        assertEquals(3.0, exit.getDurationHours(), 0.001);
+        assertEquals(18.0, exit.getPayment(), 0.001);
+
+        ParkingStatusEvent status = (ParkingStatusEvent) events.get(2);
+        assertEquals(EventType.STATUS, status.getType());
+        assertEquals(99, status.getAvailableSpots());
+
+        List<ParkingEvent> tail = reader.read(1, 10);
+        assertEquals(2, tail.size());
+        assertEquals(1, tail.get(0).getSequence());
+        assertEquals(1, reader.read(0, 1).size());
+        assertTrue(reader.read(3, 10).isEmpty());
+    }
+
+    @Test
+    public void testSegmentsRollAndReopenContinuesSequence() throws IOException {
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-LOT", 256, 16, 10, 1024)) {
+            for (int i = 0; i < 20; i++) {
+                sink.onVehicleEntry("CAR-" + i, i + 1);
+            }
+            assertTrue(sink.flush(5000));
+        }
+        assertTrue(segments().size() > 1);
+
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-LOT", 256, 16, 10, 1024)) {
+            assertEquals(20, sink.getNextSequence());
+            sink.onVehicleEntry("CAR-20", 21);
+            assertTrue(sink.flush(5000));
+        }
+
+        EventLogReader reader = new EventLogReader(directory);
+        List<ParkingEvent> events = reader.read(0, 100);
+        assertEquals(21, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getSequence());
+            assertEquals("CAR-" + i, ((VehicleEntryEvent) events.get(i)).getLicensePlate());
+        }
+        List<ParkingEvent> fromMiddle = reader.read(8, 100);
+        assertEquals(13, fromMiddle.size());
+        assertEquals(8, fromMiddle.get(0).getSequence());
+    }
+
+    @Test
+    public void testTornTailIsCutOff() throws IOException {
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-LOT")) {
+            sink.onVehicleEntry("ABC-123", 1);
+            assertTrue(sink.flush(5000));
+        }
+        Path segment = segments().get(0);
+        long goodSize = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 60, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        EventLogReader reader = new EventLogReader(directory);
+        assertEquals(1, reader.read(0, 10).size());
+
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-LOT")) {
+            assertEquals(goodSize, Files.size(segment));
+            assertEquals(1, sink.getNextSequence());
+            sink.onVehicleEntry("XYZ-789", 2);
+            assertTrue(sink.flush(5000));
+        }
+        List<ParkingEvent> events = reader.read(0, 10);
+        assertEquals(2, events.size());
+        assertEquals("XYZ-789", ((VehicleEntryEvent) events.get(1)).getLicensePlate());
+    }
+
+    @Test
+    public void testFailedWriteIsRolledBack() throws IOException {
+        AtomicBoolean failWrites = new AtomicBoolean();
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-LOT") {
+            @Override
+            protected FileChannel openChannel(Path path, OpenOption... options) throws IOException {
+                return new FailingChannel(FileChannel.open(path, options), failWrites);
+            }
+        }) {
+            sink.onVehicleEntry("ABC-123", 1);
+            assertTrue(sink.flush(5000));
+            failWrites.set(true);
+            sink.onVehicleEntry("TORN-1", 2);
+            assertTrue(sink.flush(5000));
+            failWrites.set(false);
+            sink.onVehicleEntry("XYZ-789", 3);
+            assertTrue(sink.flush(5000));
+            assertEquals(1, sink.getWriteErrors());
+            assertEquals(2, sink.getNextSequence());
+        }
+
+        List<ParkingEvent> events = new EventLogReader(directory).read(0, 10);
+        assertEquals(2, events.size());
+        assertEquals("ABC-123", ((VehicleEntryEvent) events.get(0)).getLicensePlate());
+        assertEquals(1, events.get(1).getSequence());
+        assertEquals("XYZ-789", ((VehicleEntryEvent) events.get(1)).getLicensePlate());
+    }
+
+    @Test
+    public void testPaymentsAreLogged() throws IOException {
+        ManualClock clock = new ManualClock();
+        ParkingClock.setClock(clock);
+        try (EventLogSink sink = new EventLogSink(directory, "LOG-PAY-LOT")) {
+            ParkingSystemFacade facade = new ParkingSystemFacade("LOG-PAY-LOT");
+            ParkingLotRegistry.getInstance().getLot("LOG-PAY-LOT").addObserver(sink);
+            assertTrue(facade.parkVehicle(facade.createVehicle(VehicleType.CAR, "PAY001", "Owner", false)));
+            clock.advance(Duration.ofHours(5));
+            assertEquals(54.0, facade.removeVehicle("PAY001"), 0.001);
+            assertTrue(sink.flush(5000));
+        } finally {
+            ParkingClock.useSystemClock();
+        }
+
+        List<ParkingEvent> events = new EventLogReader(directory).read(0, 10);
+        VehicleExitEvent exit = (VehicleExitEvent) events.get(2);
+        assertEquals(54.0, exit.getPayment(), 0.001);
+        PaymentEvent payment = (PaymentEvent) events.get(events.size() - 1);
+        assertEquals("PAY001", payment.getLicensePlate());
+        assertEquals(54.0, payment.getAmount(), 0.001);
+    }
+
+    @Test
+    public void testConsumerOffsets() throws IOException {
+        EventLogReader reader = new EventLogReader(directory);
+        assertEquals(0, reader.getCommittedOffset("billing"));
+        reader.commitOffset("billing", 42);
+        reader.commitOffset("bi-export", 7);
+        reader.commitOffset("billing", 43);
+        assertEquals(43, new EventLogReader(directory).getCommittedOffset("billing"));
+        assertEquals(7, reader.getCommittedOffset("bi-export"));
+        assertThrows(IllegalArgumentException.class, () -> reader.commitOffset("../escape", 1));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * A channel that writes a few bytes of each write and then fails while the flag is set.
+     */
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel channel;
+        private final AtomicBoolean failWrites;
+
+        FailingChannel(FileChannel channel, AtomicBoolean failWrites) {
+            this.channel = channel;
+            this.failWrites = failWrites;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failWrites.get()) {
+                ByteBuffer part = src.duplicate();
+                part.limit(part.position() + Math.min(3, part.remaining()));
+                channel.write(part);
+                throw new IOException("Disk full");
+            }
+            return channel.write(src);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return channel.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return channel.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return channel.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
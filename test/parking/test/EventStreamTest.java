@@ -0,0 +1,174 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.patterns.observer.EventPublisher;
+import parking.patterns.observer.EventRingBuffer;
+import parking.patterns.observer.EventType;
+import parking.patterns.observer.Flow;
+import parking.patterns.observer.ParkingEvent;
+import parking.patterns.observer.ParkingEventManager;
+import parking.patterns.observer.PaymentEvent;
+import parking.patterns.observer.VehicleEntryEvent;
+import parking.patterns.observer.VehicleExitEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the reactive event streams of the event manager.
+ */
+public class EventStreamTest {
+
+    /**
+     * A subscriber recording everything it receives.
+     */
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Tests that items are only delivered on demand, and dropped when the buffer is full.
+     */
+    @Test
+    public void testDemandAndBackpressure() {
+        EventPublisher<Integer> publisher = new EventPublisher<>(Runnable::run, 2);
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+
+        for (int i = 1; i <= 5; i++) {
+            publisher.submit(i);
+        }
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(3, publisher.getDroppedCount());
+
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.items.size());
+        subscriber.subscription.request(10);
+        publisher.submit(6);
+        assertEquals(3, subscriber.items.size());
+        assertEquals(Integer.valueOf(6), subscriber.items.get(2));
+
+        publisher.close();
+        assertTrue(subscriber.completed);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    /**
+     * Tests cancelling and invalid requests.
+     */
+    @Test
+    public void testCancelAndInvalidRequest() {
+        EventPublisher<Integer> publisher = new EventPublisher<>(Runnable::run, 4);
+        RecordingSubscriber<Integer> cancelled = new RecordingSubscriber<>();
+        RecordingSubscriber<Integer> invalid = new RecordingSubscriber<>();
+        publisher.subscribe(cancelled);
+        publisher.subscribe(invalid);
+
+        cancelled.subscription.request(5);
+        cancelled.subscription.cancel();
+        invalid.subscription.request(0);
+        publisher.submit(1);
+
+        assertTrue(cancelled.items.isEmpty());
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    /**
+     * Tests that the event manager publishes typed events alongside the observers.
+     */
+    @Test
+    public void testEventManagerStreams() {
+        ParkingEventManager eventManager = new ParkingEventManager("STREAM-LOT", Runnable::run, 16);
+        RecordingSubscriber<VehicleEntryEvent> entries = new RecordingSubscriber<>();
+        RecordingSubscriber<VehicleExitEvent> exits = new RecordingSubscriber<>();
+        eventManager.getEntryEvents().subscribe(entries);
+        eventManager.getExitEvents().subscribe(exits);
+        entries.subscription.request(Long.MAX_VALUE);
+        exits.subscription.request(Long.MAX_VALUE);
+
+        eventManager.notifyVehicleEntry("STR001", 7);
+        eventManager.notifyVehicleExit("STR001", 7, 1.5, 12.0);
+
+        assertEquals("STR001", entries.items.get(0).getLicensePlate());
+        assertEquals(7, entries.items.get(0).getSpotId());
+        assertEquals(12.0, exits.items.get(0).getPayment());
+        assertTrue(exits.items.get(0).getTimestampMillis() > 0);
+    }
+
+    /**
+     * Tests that the ring buffer carries every event type with lot and sequence, and drops on overflow.
+     */
+    @Test
+    public void testRingBuffer() {
+        ParkingEventManager eventManager = new ParkingEventManager("RING-LOT", Runnable::run, 16);
+        EventRingBuffer ring = eventManager.enableRingBuffer(4);
+        eventManager.notifyVehicleEntry("RNG001", 3);
+        eventManager.notifyParkingStatusChange(10, 1, 9);
+        eventManager.notifyVehicleExit("RNG001", 3, 2.0, 0.0);
+        eventManager.notifyPayment("RNG001", 3, 18.0);
+        eventManager.notifyParkingStatusChange(10, 0, 10);
+
+        assertEquals(4, ring.getBacklog());
+        assertEquals(1, ring.getDroppedCount());
+        List<ParkingEvent> events = new ArrayList<>();
+        assertEquals(4, ring.drain(slot -> events.add(slot.toEvent()), 100));
+
+        assertEquals(EventType.ENTRY, events.get(0).getType());
+        assertEquals(EventType.PAYMENT, events.get(3).getType());
+        assertEquals(18.0, ((PaymentEvent) events.get(3)).getAmount());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals("RING-LOT", events.get(i).getLotId());
+            assertEquals(i + 1, events.get(i).getSequence());
+        }
+        assertEquals(5, eventManager.getLastSequence());
+    }
+
+    /**
+     * Tests the consumer thread of the ring buffer.
+     */
+    @Test
+    public void testRingBufferConsumerThread() {
+        ParkingEventManager eventManager = new ParkingEventManager("RING-LOT");
+        EventRingBuffer ring = eventManager.enableRingBuffer(64);
+        AtomicInteger entries = new AtomicInteger();
+        ring.startConsumer(slot -> {
+            if (slot.getType() == EventType.ENTRY) {
+                entries.incrementAndGet();
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            eventManager.notifyVehicleEntry("RNG" + i, i + 1);
+        }
+        ring.close();
+
+        assertEquals(20, entries.get());
+        assertEquals(0, ring.getBacklog());
+    }
+}
@@ -8,7 +8,16 @@ import parking.core.Vehicle;
 import parking.patterns.builder.ParkingReport;
 import parking.patterns.facade.ParkingSystemFacade;
 import parking.patterns.factory.VehicleType;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
 import parking.management.SubscriptionType;
+import parking.patterns.observer.ParkingObserver;
+import parking.reports.ParkingStatistics;
+import parking.util.ManualClock;
+import parking.util.ParkingClock;
+
+import java.time.Duration;
+import java.util.Arrays;
 
 /**
  * Tests for the Facade pattern implementation.
@@ -186,4 +195,101 @@ public class FacadeTest {
         
         assertEquals(0, payment);
     }
+
+    /**
+     * Tests batch entry and exit with a single status event per batch.
+     */
+    @Test
+    public void testBatchEntryAndExit() {
+        ParkingSystemFacade batchFacade = new ParkingSystemFacade("BATCH-LOT");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("BATCH-LOT");
+        lot.reset();
+        int[] statusEvents = new int[1];
+        lot.addObserver(new ParkingObserver() {
+            @Override
+            public void onVehicleEntry(String licensePlate, int spotId) {
+            }
+
+            @Override
+            public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+            }
+
+            @Override
+            public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+                statusEvents[0]++;
+            }
+        });
+        Vehicle first = batchFacade.createVehicle(VehicleType.CAR, "BAT001", "Owner", false);
+        Vehicle second = batchFacade.createVehicle(VehicleType.MOTORCYCLE, "BAT002", "Owner", false);
+
+        boolean[] parked = batchFacade.parkVehicles(Arrays.asList(first, second, first));
+        assertArrayEquals(new boolean[] {true, true, false}, parked);
+        assertEquals(1, statusEvents[0]);
+        assertEquals(2, lot.getOccupiedSpots());
+
+        double[] fees = batchFacade.removeVehicles(Arrays.asList("BAT001", "UNKNOWN", "BAT002"));
+        assertEquals(0.0, fees[0]);
+        assertEquals(-1.0, fees[1]);
+        assertEquals(0.0, fees[2]);
+        assertEquals(2, statusEvents[0]);
+        assertEquals(0, lot.getOccupiedSpots());
+    }
+
+    /**
+     * Tests that the exit event carries the fee charged for the session.
+     */
+    @Test
+    public void testExitEventCarriesFee() {
+        ManualClock clock = new ManualClock();
+        ParkingClock.setClock(clock);
+        try {
+            ParkingSystemFacade feeFacade = new ParkingSystemFacade("FEE-LOT");
+            ParkingLot lot = ParkingLotRegistry.getInstance().getLot("FEE-LOT");
+            double[] payments = new double[1];
+            lot.addObserver(new ParkingObserver() {
+                @Override
+                public void onVehicleEntry(String licensePlate, int spotId) {
+                }
+
+                @Override
+                public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+                    payments[0] = payment;
+                }
+
+                @Override
+                public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+                }
+            });
+            Vehicle car = feeFacade.createVehicle(VehicleType.CAR, "FEE001", "Owner", false);
+            assertTrue(feeFacade.parkVehicle(car));
+            clock.advance(Duration.ofHours(5));
+
+            double fee = feeFacade.removeVehicle("FEE001");
+            assertEquals(54.0, fee, 0.001);
+            assertEquals(fee, payments[0], 0.001);
+        } finally {
+            ParkingClock.useSystemClock();
+        }
+    }
+
+    /**
+     * Tests that facades sharing a lot share its statistics and observers.
+     */
+    @Test
+    public void testFacadesShareLotStatistics() {
+        ParkingSystemFacade first = new ParkingSystemFacade("SHARED-LOT");
+        ParkingSystemFacade second = new ParkingSystemFacade("SHARED-LOT");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("SHARED-LOT");
+        int observers = lot.getObserverGuards().size();
+        assertSame(lot.getStatistics(), lot.initialize(new ParkingStatistics()));
+        new ParkingSystemFacade("SHARED-LOT");
+        assertEquals(observers, lot.getObserverGuards().size());
+
+        assertTrue(first.parkVehicle(first.createVehicle(VehicleType.CAR, "SHR001", "Owner", false)));
+        assertEquals(1, first.generateDailyReport().getTotalEntries());
+        assertEquals(1, second.generateDailyReport().getTotalEntries());
+        synchronized (lot) {
+            assertEquals(1, lot.getStatistics().getDailyEntries());
+        }
+    }
 }
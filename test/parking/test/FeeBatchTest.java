@@ -0,0 +1,91 @@
+package parking.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.management.FeeBatch;
+import parking.management.FeeBatchResult;
+import parking.management.PricingCalculator;
+import parking.patterns.factory.VehicleType;
+
+import java.util.Arrays;
+
+/**
+ * Tests for batch fee recomputation in the PricingCalculator.
+ */
+public class FeeBatchTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private PricingCalculator calculator;
+
+    @BeforeEach
+    public void setUp() {
+        calculator = new PricingCalculator();
+    }
+
+    /**
+     * Tests that the batch fees follow the per-session pricing rules.
+     */
+    @Test
+    public void testBatchFees() {
+        long start = 1_000_000L;
+        FeeBatch batch = new FeeBatch(
+                new long[] {start, start, start, start, start},
+                new long[] {start + HOUR, start + 3 * HOUR, start + 4 * HOUR, start + 3 * HOUR, start + 5 * HOUR},
+                new VehicleType[] {VehicleType.CAR, VehicleType.CAR, VehicleType.CAR,
+                        VehicleType.MOTORCYCLE, VehicleType.CAR},
+                new boolean[] {false, false, true, false, false},
+                new boolean[] {false, false, false, false, true});
+
+        FeeBatchResult result = calculator.calculateFees(batch);
+
+        assertEquals(0.0, result.getFee(0));   // Within free period
+        assertEquals(18.0, result.getFee(1));  // Regular car, 1 chargeable hour
+        assertEquals(16.0, result.getFee(2));  // Disabled car, 2 chargeable hours
+        assertEquals(12.0, result.getFee(3));  // Motorcycle, 1 chargeable hour
+        assertEquals(0.0, result.getFee(4));   // Subscriber
+        assertEquals(46.0, result.getTotalRevenue(), 0.001);
+        assertEquals(3, result.getChargedSessions());
+        assertEquals(1, result.getFreeSessions());
+        assertEquals(1, result.getSubscriptionSessions());
+    }
+
+    /**
+     * Tests that the parallel computation matches the sequential one.
+     */
+    @Test
+    public void testParallelMatchesSequential() {
+        int size = 50_000;
+        long[] entries = new long[size];
+        long[] exits = new long[size];
+        VehicleType[] types = new VehicleType[size];
+        boolean[] disabled = new boolean[size];
+        boolean[] subscription = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = i * 1000L;
+            exits[i] = entries[i] + (i % 600) * 60_000L;
+            types[i] = i % 3 == 0 ? VehicleType.MOTORCYCLE : VehicleType.CAR;
+            disabled[i] = i % 7 == 0;
+            subscription[i] = i % 11 == 0;
+        }
+        FeeBatch batch = new FeeBatch(entries, exits, types, disabled, subscription);
+
+        FeeBatchResult sequential = calculator.calculateFees(batch, false);
+        FeeBatchResult parallel = calculator.calculateFees(batch, true);
+
+        assertTrue(Arrays.equals(sequential.getFees(), parallel.getFees()));
+        assertEquals(sequential.getChargedSessions(), parallel.getChargedSessions());
+        assertEquals(sequential.getTotalRevenue(), parallel.getTotalRevenue(), 0.001);
+    }
+
+    /**
+     * Tests that mismatched columns are rejected.
+     */
+    @Test
+    public void testMismatchedColumns() {
+        assertThrows(IllegalArgumentException.class, () -> new FeeBatch(
+                new long[2], new long[1], new VehicleType[2], new boolean[2], new boolean[2]));
+    }
+}
@@ -0,0 +1,173 @@
+package parking.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.server.GateApiServer;
+import parking.util.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the HTTP/JSON gate API.
+ */
+public class GateApiServerTest {
+    private ParkingSystemFacade facade;
+    private GateApiServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        facade = new ParkingSystemFacade("API-LOT");
+        server = new GateApiServer(facade, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 8);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testParkExitAndReport() throws IOException {
+        Reply parked = call("POST", "/park", "{\"licensePlate\":\"API1\",\"owner\":\"Dana\",\"color\":\"Blue\"}");
+        assertEquals(200, parked.status);
+        assertEquals(Boolean.TRUE, Json.parseObject(parked.body).get("parked"));
+        assertEquals(409, call("POST", "/park", "{\"licensePlate\":\"API1\"}").status);
+
+        Reply motorcycle = call("POST", "/park", "{\"licensePlate\":\"API2\",\"type\":\"motorcycle\",\"disabled\":true}");
+        assertEquals(200, motorcycle.status);
+
+        Reply exit = call("POST", "/exit", "{\"licensePlate\":\"API1\"}");
+        assertEquals(200, exit.status);
+        assertEquals(0.0, (Double) Json.parseObject(exit.body).get("fee"), 0.001);
+        assertEquals(404, call("POST", "/exit", "{\"licensePlate\":\"API1\"}").status);
+
+        Reply report = call("GET", "/reports/daily", null);
+        assertEquals(200, report.status);
+        Map<String, Object> daily = Json.parseObject(report.body);
+        assertEquals("Daily Parking Report", daily.get("title"));
+        assertEquals(2.0, (Double) daily.get("totalEntries"), 0.001);
+        assertEquals(2, ((List<?>) daily.get("vehicleStatistics")).size());
+        assertEquals(200, call("GET", "/reports/monthly", null).status);
+
+        Map<String, Object> status = Json.parseObject(call("GET", "/status", null).body);
+        assertEquals("API-LOT", status.get("lotId"));
+        assertEquals((double) facade.getAvailableSpots(), (Double) status.get("availableSpots"), 0.001);
+    }
+
+    @Test
+    public void testSubscriptions() throws IOException {
+        Reply created = call("POST", "/subscriptions",
+                "{\"licensePlate\":\"API-SUB\",\"owner\":\"Noa\",\"months\":3,\"type\":\"premium\"}");
+        assertEquals(201, created.status);
+        String subscriptionId = (String) Json.parseObject(created.body).get("subscriptionId");
+        assertNotNull(subscriptionId);
+
+        Reply check = call("GET", "/subscriptions/" + subscriptionId, null);
+        assertEquals(Boolean.TRUE, Json.parseObject(check.body).get("valid"));
+        assertEquals(Boolean.FALSE, Json.parseObject(call("GET", "/subscriptions/NONE", null).body).get("valid"));
+
+        Reply parked = call("POST", "/park",
+                "{\"licensePlate\":\"API-SUB\",\"subscriptionId\":\"" + subscriptionId + "\"}");
+        assertEquals(200, parked.status);
+        Reply exit = call("POST", "/exit", "{\"licensePlate\":\"API-SUB\"}");
+        assertEquals(0.0, (Double) Json.parseObject(exit.body).get("fee"), 0.001);
+    }
+
+    @Test
+    public void testBadRequests() throws IOException {
+        assertEquals(400, call("POST", "/park", "{\"owner\":\"Nobody\"}").status);
+        assertEquals(400, call("POST", "/park", "{\"licensePlate\":\"API-BAD\",\"type\":\"TRUCK\"}").status);
+        assertEquals(400, call("POST", "/park", "not json").status);
+        assertEquals(400, call("POST", "/subscriptions",
+                "{\"licensePlate\":\"API-BAD\",\"owner\":\"X\",\"months\":1.5}").status);
+        Reply wrongMethod = call("GET", "/park", null);
+        assertEquals(405, wrongMethod.status);
+        assertTrue(Json.parseObject(wrongMethod.body).containsKey("error"));
+    }
+
+    @Test
+    public void testConcurrentGates() throws Exception {
+        int gates = 32;
+        int perGate = 3;
+        int available = facade.getAvailableSpots();
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int g = 0; g < gates; g++) {
+                int gate = g;
+                results.add(pool.submit((Callable<Integer>) () -> {
+                    int ok = 0;
+                    for (int i = 0; i < perGate; i++) {
+                        String plate = "\"GATE-" + gate + "-" + i + "\"";
+                        ok += call("POST", "/park", "{\"licensePlate\":" + plate + "}").status == 200 ? 1 : 0;
+                        ok += call("POST", "/exit", "{\"licensePlate\":" + plate + "}").status == 200 ? 1 : 0;
+                    }
+                    return ok;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(2 * perGate, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(available, facade.getAvailableSpots());
+    }
+
+    private Reply call(String method, String path, String body) throws IOException {
+        URL url = new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress()
+                + ":" + server.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream stream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (stream != null) {
+            try (InputStream in = stream) {
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    content.write(buffer, 0, n);
+                }
+            }
+        }
+        return new Reply(status, new String(content.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static final class Reply {
+        private final int status;
+        private final String body;
+
+        Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
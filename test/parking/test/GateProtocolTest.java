@@ -0,0 +1,119 @@
+package parking.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.server.GateProtocol;
+import parking.server.GateProtocolClient;
+import parking.server.GateProtocolServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Tests for the binary gate protocol server and client.
+ */
+public class GateProtocolTest {
+    private ParkingSystemFacade facade;
+    private GateProtocolServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        facade = new ParkingSystemFacade("NIO-LOT");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("NIO-LOT");
+        lot.detachDisplays();
+        server = new GateProtocolServer(facade, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testParkExitAndStatus() throws IOException {
+        try (GateProtocolClient client = new GateProtocolClient(address)) {
+            int available = client.status().getAvailableSpots();
+            assertEquals(facade.getAvailableSpots(), available);
+
+            GateProtocolClient.Response parked = client.park("NIO1", VehicleType.CAR, false, null);
+            assertEquals(GateProtocol.OK, parked.getStatus());
+            assertEquals(GateProtocol.PARK, parked.getOpcode());
+            assertEquals(GateProtocol.REJECTED, client.park("NIO1", VehicleType.CAR, false, null).getStatus());
+            assertEquals(GateProtocol.REJECTED, client.park("NIO2", VehicleType.MOTORCYCLE, true, "NO-SUCH").getStatus());
+            assertEquals(available - 1, client.status().getAvailableSpots());
+
+            GateProtocolClient.Response exit = client.exit("NIO1");
+            assertEquals(GateProtocol.OK, exit.getStatus());
+            assertEquals(0.0, exit.getFee(), 0.001);
+            assertEquals(GateProtocol.NOT_FOUND, client.exit("NIO1").getStatus());
+            assertEquals(available, client.status().getAvailableSpots());
+        }
+    }
+
+    @Test
+    public void testPipelinedRequestsAnswerInOrder() throws IOException {
+        int batches = 10;
+        int perBatch = 1000;
+        try (GateProtocolClient client = new GateProtocolClient(address)) {
+            for (int b = 0; b < batches; b++) {
+                int[] ids = new int[2 * perBatch];
+                for (int i = 0; i < perBatch; i++) {
+                    String plate = "PIPE-" + b + "-" + i;
+                    ids[2 * i] = client.sendPark(plate, VehicleType.CAR, false, null);
+                    ids[2 * i + 1] = client.sendExit(plate);
+                }
+                client.flush();
+                for (int id : ids) {
+                    GateProtocolClient.Response response = client.receive();
+                    assertEquals(id, response.getRequestId());
+                    assertEquals(GateProtocol.OK, response.getStatus());
+                }
+            }
+        }
+        assertTrue(server.getMessageCount() >= 2L * batches * perBatch);
+    }
+
+    @Test
+    public void testMalformedRequests() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer request = ByteBuffer.allocate(64);
+            request.putInt(6).put((byte) 99).putInt(7).put((byte) 0);
+            request.putInt(7).put(GateProtocol.EXIT).putInt(8).put((byte) 20).put((byte) 'X');
+            request.flip();
+            channel.write(request);
+
+            ByteBuffer response = ByteBuffer.allocate(20);
+            while (response.position() < 20) {
+                assertTrue(channel.read(response) >= 0);
+            }
+            response.flip();
+            assertEquals(6, response.getInt());
+            assertEquals(99, response.get());
+            assertEquals(GateProtocol.BAD_REQUEST, response.get());
+            assertEquals(7, response.getInt());
+            assertEquals(6, response.getInt());
+            assertEquals(GateProtocol.EXIT, response.get());
+            assertEquals(GateProtocol.BAD_REQUEST, response.get());
+            assertEquals(8, response.getInt());
+
+            ByteBuffer oversized = ByteBuffer.allocate(4);
+            oversized.putInt(GateProtocol.MAX_FRAME_BYTES + 1);
+            oversized.flip();
+            channel.write(oversized);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+}
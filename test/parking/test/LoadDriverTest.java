@@ -0,0 +1,109 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.load.LoadDriver;
+import parking.load.LoadResult;
+import parking.load.TrafficEvent;
+import parking.load.TrafficGenerator;
+import parking.load.TrafficProfile;
+import parking.load.TrafficTrace;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for the traffic generator, trace files and the load driver.
+ */
+public class LoadDriverTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testGeneratorIsSeededAndConsistent() {
+        TrafficProfile profile = new TrafficProfile().setSeed(7).setBaseArrivalsPerHour(100);
+        List<TrafficEvent> trace = new TrafficGenerator(profile).generate();
+        List<TrafficEvent> again = new TrafficGenerator(profile).generate();
+        assertEquals(trace.size(), again.size());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(trace.get(i).toString(), again.get(i).toString());
+        }
+        assertNotEquals(trace.size(), new TrafficGenerator(profile.setSeed(8)).generate().size());
+
+        Map<String, Long> arrivals = new HashMap<>();
+        long previous = 0;
+        int morningPeak = 0;
+        int night = 0;
+        for (TrafficEvent event : trace) {
+            assertTrue(event.getTimeMillis() >= previous);
+            previous = event.getTimeMillis();
+            if (event.getKind() == TrafficEvent.Kind.ARRIVAL) {
+                arrivals.put(event.getLicensePlate(), event.getTimeMillis());
+                long hour = event.getTimeMillis() / 3_600_000L;
+                morningPeak += hour == 8 ? 1 : 0;
+                night += hour == 3 ? 1 : 0;
+            } else {
+                assertTrue(arrivals.get(event.getLicensePlate()) < event.getTimeMillis());
+            }
+        }
+        assertTrue(morningPeak > 2 * night, "Morning peak " + morningPeak + " vs night " + night);
+    }
+
+    @Test
+    public void testTraceRoundTrip() throws IOException {
+        List<TrafficEvent> trace = new TrafficGenerator(new TrafficProfile().setDurationHours(4)).generate();
+        Path file = directory.resolve("trace.csv");
+        TrafficTrace.write(file, trace);
+        List<TrafficEvent> loaded = TrafficTrace.read(file);
+        assertEquals(trace.size(), loaded.size());
+        for (int i = 0; i < trace.size(); i++) {
+            TrafficEvent expected = trace.get(i);
+            TrafficEvent actual = loaded.get(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getVehicleType(), actual.getVehicleType());
+            assertEquals(expected.isDisabled(), actual.isDisabled());
+            assertEquals(expected.isSubscriber(), actual.isSubscriber());
+        }
+    }
+
+    @Test
+    public void testDriverReplaysTrace() throws InterruptedException {
+        List<TrafficEvent> trace = new TrafficGenerator(new TrafficProfile()
+                .setSeed(3).setDurationHours(6).setBaseArrivalsPerHour(30)).generate();
+        long arrivals = trace.stream().filter(e -> e.getKind() == TrafficEvent.Kind.ARRIVAL).count();
+
+        ParkingSystemFacade facade = new ParkingSystemFacade("LOAD-LOT");
+        LoadResult result = new LoadDriver(facade, 3).run(trace);
+
+        assertEquals(0, result.getErrors());
+        assertEquals(arrivals, result.getParked() + result.getRejected());
+        assertEquals(trace.size() - arrivals, result.getDeparted() + result.getNotFound());
+        assertEquals(trace.size(), result.getOperations());
+        assertTrue(result.getThroughput() > 0);
+        assertTrue(result.getEntryLatency().getValueAtPercentile(99) > 0);
+    }
+
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 1);
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 17 / 16, "p50 " + p50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(p99 >= 9_900_000 && p99 <= 9_900_000 * 17 / 16, "p99 " + p99);
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+    }
+}
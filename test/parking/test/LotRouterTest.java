@@ -0,0 +1,121 @@
+package parking.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.Motorcycle;
+import parking.core.SpotCategory;
+import parking.management.LotRouter;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests for routing vehicles across lots.
+ */
+public class LotRouterTest {
+
+    private ParkingLot near;
+    private ParkingLot middle;
+    private ParkingLot far;
+
+    @BeforeEach
+    public void setUp() {
+        ParkingLotRegistry registry = ParkingLotRegistry.getInstance();
+        near = registry.getOrCreateLot("ROUTE-NEAR");
+        middle = registry.getOrCreateLot("ROUTE-MIDDLE");
+        far = registry.getOrCreateLot("ROUTE-FAR");
+        near.reset();
+        middle.reset();
+        far.reset();
+    }
+
+    /**
+     * Tests that lots are ranked by distance and the nearest free lot is chosen.
+     */
+    @Test
+    public void testRoutesToNearestLot() {
+        Map<ParkingLot, Double> distances = new HashMap<>();
+        distances.put(far, 9.0);
+        distances.put(near, 1.0);
+        distances.put(middle, 4.0);
+        LotRouter router = LotRouter.byDistance(distances);
+
+        assertEquals(Arrays.asList(near, middle, far), router.getLots());
+        assertSame(near, router.route(new Car("ROUTE001", "Owner", false, "Blue")));
+        router.detach();
+    }
+
+    /**
+     * Tests that full lots are skipped and freed lots are chosen again.
+     */
+    @Test
+    public void testSkipsFullLots() {
+        LotRouter router = new LotRouter(Arrays.asList(near, middle, far));
+        fillRegular(near, "RN");
+        fillRegular(middle, "RM");
+
+        assertEquals(0, router.getAvailableRegularSpots(0));
+        assertEquals(20, router.getAvailableDisabledSpots(0));
+        assertSame(far, router.route(false));
+        assertSame(near, router.route(true));
+
+        middle.removeVehicle("RM7");
+        assertSame(middle, router.route(false));
+        router.detach();
+    }
+
+    /**
+     * Tests that disabled vehicles fall back to regular spots.
+     */
+    @Test
+    public void testDisabledFallsBackToRegular() {
+        LotRouter router = new LotRouter(Arrays.asList(near, middle));
+        for (int i = 0; i < 20; i++) {
+            assertTrue(near.parkVehicle(new Car("RD" + i, "Owner", true, "Blue"), false));
+            assertTrue(middle.parkVehicle(new Car("RE" + i, "Owner", true, "Blue"), false));
+        }
+
+        assertSame(near, router.route(true));
+        fillRegular(near, "RF");
+        fillRegular(middle, "RG");
+        assertNull(router.route(true));
+        assertNull(router.route(false));
+        assertEquals(0, router.getTotalAvailableSpots());
+        router.detach();
+    }
+
+    /**
+     * Tests that cars are not sent to a lot whose only free bays are for motorcycles.
+     */
+    @Test
+    public void testRoutesByVehicleClass() {
+        ParkingLot bikes = ParkingLotRegistry.getInstance().getOrCreateLot("ROUTE-BIKES");
+        bikes.reset();
+        if (bikes.getAvailableSpots(SpotCategory.MOTORCYCLE) == 0) {
+            bikes.removeSpots(1, bikes.getTotalSpots());
+            bikes.addSpots(5, SpotCategory.MOTORCYCLE, 0, 0);
+        }
+        LotRouter router = new LotRouter(Arrays.asList(bikes, far));
+
+        assertEquals(0, bikes.getAvailableRegularSpots());
+        assertEquals(0, bikes.getAvailableSpots(new Car("ROUTE002", "Owner", false, "Blue")));
+        assertEquals(0, router.getAvailableRegularSpots(0));
+        assertSame(far, router.route(new Car("ROUTE002", "Owner", false, "Blue")));
+        assertSame(far, router.route(new Car("ROUTE003", "Owner", true, "Blue")));
+        assertSame(bikes, router.route(new Motorcycle("ROUTE004", "Rider", false, "Red")));
+        assertEquals(5 + far.getAvailableSpots(), router.getTotalAvailableSpots());
+        router.detach();
+    }
+
+    private static void fillRegular(ParkingLot lot, String prefix) {
+        while (lot.getAvailableRegularSpots() > 0) {
+            assertTrue(lot.parkVehicle(new Car(prefix + lot.getOccupiedSpots(), "Owner", false, "Blue"), false));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package parking.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.metrics.MetricsRegistry;
+import parking.metrics.MetricsServer;
+import parking.patterns.builder.ParkingReport;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.util.ManualClock;
+import parking.util.ParkingClock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Tests for the HTTP server exporting metrics and lot status.
+ */
+public class MetricsServerTest {
+
+    @AfterEach
+    public void tearDown() {
+        MetricsRegistry.setEnabled(false);
+    }
+
+    @Test
+    public void testServesPrometheusMetricsAndStatus() throws IOException {
+        try (MetricsServer server = new MetricsServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 60_000)) {
+            server.start();
+            assertTrue(MetricsRegistry.isEnabled());
+
+            ParkingSystemFacade facade = new ParkingSystemFacade("HTTP-LOT");
+            facade.parkVehicle(new Car("HTTP1", "Owner", false, "Blue"));
+            facade.parkVehicle(new Car("HTTP2", "Owner", false, "Red"));
+            facade.removeVehicle("HTTP1");
+            MetricsRegistry.getInstance().counter("test_http_total", "Quoted \"label\" test", "path", "a\"b");
+
+            HttpURLConnection stale = open(server, "/metrics");
+            assertEquals(200, stale.getResponseCode());
+            assertFalse(read(stale).contains("lot=\"HTTP-LOT\""));
+
+            server.refresh();
+            HttpURLConnection connection = open(server, "/metrics");
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+            String metrics = read(connection);
+            assertTrue(metrics.contains("# TYPE parking_lot_park_seconds summary\n"));
+            assertTrue(metrics.contains("parking_lot_park_seconds_count{lot=\"HTTP-LOT\"} 2\n"));
+            assertTrue(metrics.contains("parking_lot_park_seconds{lot=\"HTTP-LOT\",quantile=\"0.99\"} "));
+            assertTrue(metrics.contains("parking_lot_occupied_spots{lot=\"HTTP-LOT\"} 1\n"));
+            assertTrue(metrics.contains("test_http_total{path=\"a\\\"b\"} 0\n"));
+            assertEquals(metrics.indexOf("# HELP parking_lot_park_seconds "),
+                    metrics.lastIndexOf("# HELP parking_lot_park_seconds "));
+
+            connection = open(server, "/status");
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("application/json"));
+            String status = read(connection);
+            assertTrue(status.contains("{\"lotId\":\"HTTP-LOT\",\"totalSpots\":120,\"occupiedSpots\":1,"));
+            assertTrue(status.contains("\"dailyEntries\":2"));
+            assertTrue(status.contains("\"parkRequestsPerSecond\":"));
+
+            connection = open(server, "/metrics");
+            connection.setRequestMethod("POST");
+            assertEquals(405, connection.getResponseCode());
+            assertEquals(404, open(server, "/other").getResponseCode());
+        }
+    }
+
+    @Test
+    public void testStatusReportsRevenue() throws IOException {
+        ManualClock clock = new ManualClock();
+        ParkingClock.setClock(clock);
+        try (MetricsServer server = new MetricsServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 60_000)) {
+            server.start();
+            ParkingSystemFacade facade = new ParkingSystemFacade("HTTP-PAY-LOT");
+            facade.parkVehicle(new Car("HTTPPAY1", "Owner", false, "Blue"));
+            facade.parkVehicle(new Car("HTTPPAY2", "Owner", false, "Blue"));
+            clock.advance(Duration.ofHours(5));
+            assertEquals(54.0, facade.removeVehicle("HTTPPAY1"), 0.001);
+            assertArrayEquals(new double[] {54.0}, facade.removeVehicles(Arrays.asList("HTTPPAY2")), 0.001);
+
+            server.refresh();
+            String status = read(open(server, "/status"));
+            String lot = status.substring(status.indexOf("{\"lotId\":\"HTTP-PAY-LOT\""));
+            assertTrue(lot.contains("\"dailyRevenue\":108,\"monthlyRevenue\":108,"), lot);
+            ParkingReport report = facade.generateDailyReport();
+            assertEquals(108.0, report.getTotalRevenue(), 0.001);
+            assertEquals(108.0, report.getVehicleStatistics().get(0).getRevenue(), 0.001);
+        } finally {
+            ParkingClock.useSystemClock();
+        }
+    }
+
+    private static HttpURLConnection open(MetricsServer server, String path) throws IOException {
+        URL url = new URL("http://" + InetAddress.getLoopbackAddress().getHostAddress()
+                + ":" + server.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package parking.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.metrics.Counter;
+import parking.metrics.Gauge;
+import parking.metrics.Metric;
+import parking.metrics.MetricType;
+import parking.metrics.MetricsRegistry;
+import parking.metrics.Timer;
+import parking.util.ParkingLogger;
+
+/**
+ * Tests for the metrics registry and the instrumented parking operations.
+ */
+public class MetricsTest {
+
+    @AfterEach
+    public void tearDown() {
+        MetricsRegistry.setEnabled(false);
+    }
+
+    @Test
+    public void testDisabledMetricsRecordNothing() {
+        MetricsRegistry.setEnabled(false);
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        Counter counter = registry.counter("test_disabled_total", "Test counter");
+        Timer timer = registry.timer("test_disabled_seconds", "Test timer");
+
+        counter.increment();
+        long start = timer.start();
+        assertEquals(0, start);
+        timer.stop(start);
+        timer.record(1000);
+
+        assertEquals(0, counter.get());
+        assertEquals(0, timer.getHistogram().getCount());
+    }
+
+    @Test
+    public void testRegistryReturnsSameMetricPerNameAndLabels() {
+        MetricsRegistry.setEnabled(true);
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        Counter a = registry.counter("test_requests_total", "Requests", "gate", "north");
+        Counter b = registry.counter("test_requests_total", "Requests", "gate", "north");
+        Counter c = registry.counter("test_requests_total", "Requests", "gate", "south");
+        assertSame(a, b);
+        assertNotSame(a, c);
+        a.add(3);
+        assertEquals(3, registry.counter("test_requests_total", "Requests", "gate", "north").get());
+        assertEquals("test_requests_total{gate=north}", a.getKey());
+        assertEquals(MetricType.COUNTER, registry.get(a.getKey()).getType());
+
+        Gauge gauge = registry.gauge("test_level", "Level", () -> 42);
+        assertEquals(42, gauge.get(), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> registry.timer("test_level", "Level"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("test_odd", "Odd", "lot"));
+    }
+
+    @Test
+    public void testParkingOperationsAreInstrumented() {
+        MetricsRegistry.setEnabled(true);
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        ParkingLot lot = ParkingLotRegistry.getInstance().getOrCreateLot("METRICS-LOT");
+        int regularSpots = lot.getAvailableRegularSpots();
+        assertEquals(regularSpots, lot.getAvailableSpots(new Car("MET", "Owner", false, "Grey")));
+        for (int i = 0; i <= regularSpots; i++) {
+            lot.parkVehicle(new Car("MET" + i, "Owner", false, "Grey"), false);
+        }
+        assertEquals(0, lot.getAvailableRegularSpots());
+        lot.removeVehicle("MET0");
+        assertEquals(1, lot.getAvailableRegularSpots());
+
+        Timer park = (Timer) registry.get("parking_lot_park_seconds{lot=METRICS-LOT}");
+        Timer remove = (Timer) registry.get("parking_lot_remove_seconds{lot=METRICS-LOT}");
+        Counter failures = (Counter) registry.get("parking_lot_allocation_failures_total{lot=METRICS-LOT}");
+        Gauge occupied = (Gauge) registry.get("parking_lot_occupied_spots{lot=METRICS-LOT}");
+        assertEquals(regularSpots + 1, park.getHistogram().getCount());
+        assertEquals(1, remove.getHistogram().getCount());
+        assertEquals(1, failures.get());
+        assertEquals(regularSpots - 1, occupied.get(), 0.001);
+
+        Timer dispatch = (Timer) registry.get("parking_observer_dispatch_seconds{lot=METRICS-LOT,event=entry}");
+        assertEquals(regularSpots, dispatch.getHistogram().getCount());
+
+        Counter warnings = registry.counter("parking_logger_messages_total", "Log messages written", "level", "WARN");
+        long before = warnings.get();
+        ParkingLogger.getLogger(MetricsTest.class).warn("Metrics test warning");
+        assertEquals(before + 1, warnings.get());
+        assertEquals(0, ((Gauge) registry.get("parking_logger_pending_messages")).get(), 0.001);
+    }
+
+    @Test
+    public void testRemovedLotUnregistersItsMetrics() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        ParkingLotRegistry lots = ParkingLotRegistry.getInstance();
+        lots.getOrCreateLot("METRICS-GONE");
+        lots.getOrCreateLot("METRICS-KEPT");
+        assertNotNull(registry.get("parking_lot_occupied_spots{lot=METRICS-GONE}"));
+
+        lots.removeLot("METRICS-GONE");
+        for (Metric metric : registry.getMetrics()) {
+            assertFalse(metric.hasLabel("lot", "METRICS-GONE"), metric.getKey());
+        }
+        assertNotNull(registry.get("parking_lot_occupied_spots{lot=METRICS-KEPT}"));
+        assertNotNull(registry.get("parking_observer_dispatch_seconds{lot=METRICS-KEPT,event=exit}"));
+        assertEquals(0, registry.removeByLabel("lot", "METRICS-GONE"));
+    }
+}
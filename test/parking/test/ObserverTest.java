@@ -4,11 +4,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import parking.core.Car;
+import parking.patterns.observer.ObserverGuard;
 import parking.patterns.observer.ParkingObserver;
 import parking.patterns.observer.ParkingEventManager;
 import parking.patterns.observer.StatisticsObserver;
 import parking.reports.ParkingStatistics;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Tests for the Observer pattern implementation.
  */
@@ -162,4 +168,174 @@ public class ObserverTest {
         // The statistics should have recorded the entry
         assertTrue(statistics.getDailyEntries() >= 1);
     }
+
+    /**
+     * Tests that statistics forget the per-vehicle data of vehicles that left.
+     */
+    @Test
+    public void testStatisticsReleaseExitedVehicles() {
+        ParkingStatistics statistics = new ParkingStatistics();
+        for (int i = 0; i < 1000; i++) {
+            String plate = "TRACK" + i;
+            statistics.recordVehicleType(new Car(plate, "Owner", false, "Blue"));
+            statistics.recordEntry(plate);
+            assertEquals(1, statistics.getTrackedVehicleCount());
+            statistics.recordExit(plate, 2.0, 0.0);
+        }
+
+        assertEquals(0, statistics.getTrackedVehicleCount());
+        assertEquals(2.0, statistics.getAverageCarDuration(), 0.001);
+        assertEquals(1000, statistics.getDailyEntries());
+    }
+
+    /**
+     * An observer that fails on every entry.
+     */
+    private static class FailingObserver extends TestObserver {
+        @Override
+        public void onVehicleEntry(String licensePlate, int spotId) {
+            super.onVehicleEntry(licensePlate, spotId);
+            throw new IllegalStateException("Observer failure");
+        }
+    }
+
+    /**
+     * Tests that a failing observer neither stops the others nor keeps being called.
+     */
+    @Test
+    public void testFailingObserverIsIsolated() {
+        FailingObserver failing = new FailingObserver();
+        eventManager.addObserver(failing);
+        eventManager.addObserver(testObserver);
+
+        for (int i = 0; i < ObserverGuard.FAILURE_THRESHOLD + 3; i++) {
+            eventManager.notifyVehicleEntry("ISO" + i, i + 1);
+        }
+
+        assertEquals(ObserverGuard.FAILURE_THRESHOLD + 3, testObserver.entryCount);
+        assertEquals(ObserverGuard.FAILURE_THRESHOLD, failing.entryCount);
+        ObserverGuard guard = eventManager.getObserverGuards().get(0);
+        assertSame(failing, guard.getObserver());
+        assertTrue(guard.isOpen());
+        assertEquals(ObserverGuard.FAILURE_THRESHOLD, guard.getFailures());
+        assertEquals(3, guard.getSkipped());
+        assertEquals(0, eventManager.getObserverGuards().get(1).getFailures());
+    }
+
+    /**
+     * Tests that errors thrown by an observer are contained, but a virtual machine error is not.
+     */
+    @Test
+    public void testObserverErrorsAreContained() {
+        eventManager.addObserver(new TestObserver() {
+            @Override
+            public void onVehicleEntry(String licensePlate, int spotId) {
+                throw new AssertionError("Observer error");
+            }
+
+            @Override
+            public void onVehicleExit(String licensePlate, int spotId, double durationHours, double payment) {
+                throw new OutOfMemoryError("Simulated");
+            }
+        });
+        eventManager.addObserver(testObserver);
+
+        eventManager.notifyVehicleEntry("ERR001", 1);
+        assertEquals(1, testObserver.entryCount);
+        assertEquals(1, eventManager.getObserverGuards().get(0).getFailures());
+        assertThrows(OutOfMemoryError.class, () -> eventManager.notifyVehicleExit("ERR001", 1, 1.0, 0.0));
+    }
+
+    /**
+     * Tests that an observer running on the caller's thread is switched off
+     * when it keeps taking too long.
+     */
+    @Test
+    public void testSlowInlineObserverOpensCircuit() {
+        eventManager.addObserver(new TestObserver() {
+            @Override
+            public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+                try {
+                    Thread.sleep(ObserverGuard.SLOW_CALL_MILLIS + 50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        for (int i = 0; i < ObserverGuard.FAILURE_THRESHOLD + 1; i++) {
+            eventManager.notifyParkingStatusChange(10, 5, 5);
+        }
+        ObserverGuard guard = eventManager.getObserverGuards().get(0);
+        assertTrue(guard.isOpen());
+        assertEquals(ObserverGuard.FAILURE_THRESHOLD, guard.getSlowCalls());
+        assertEquals(ObserverGuard.FAILURE_THRESHOLD, guard.getFailures());
+        assertEquals(1, guard.getSkipped());
+    }
+
+    /**
+     * Tests that a hung observer is abandoned after its timeout.
+     */
+    @Test
+    public void testHungObserverTimesOut() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        eventManager.addObserver(new TestObserver() {
+            @Override
+            public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 20);
+        eventManager.addObserver(testObserver);
+
+        long start = System.nanoTime();
+        eventManager.notifyParkingStatusChange(10, 5, 5);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+
+        assertTrue(elapsedMillis < 5_000);
+        assertEquals(1, testObserver.statusChangeCount);
+        ObserverGuard guard = eventManager.getObserverGuards().get(0);
+        assertEquals(1, guard.getTimeouts());
+        assertTrue(guard.getMaxNanos() >= 20_000_000L);
+        eventManager.removeObserver(guard.getObserver());
+        assertEquals(1, eventManager.getObserverGuards().size());
+    }
+
+    /**
+     * Tests that calls do not queue up behind an observer that ignores the timeout.
+     */
+    @Test
+    public void testStuckObserverRejectsCalls() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        eventManager.addObserver(new TestObserver() {
+            @Override
+            public void onParkingStatusChange(int totalSpots, int occupiedSpots, int availableSpots) {
+                started.incrementAndGet();
+                boolean released = false;
+                while (!released) {
+                    try {
+                        released = release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        // Ignore the cancellation, like a stuck observer would
+                    }
+                }
+            }
+        }, 20);
+
+        for (int i = 0; i < 3; i++) {
+            eventManager.notifyParkingStatusChange(10, 5, 5);
+        }
+        ObserverGuard guard = eventManager.getObserverGuards().get(0);
+        release.countDown();
+
+        assertEquals(1, started.get());
+        assertEquals(1, guard.getTimeouts());
+        assertEquals(3, guard.getFailures());
+        eventManager.removeObserver(guard.getObserver());
+    }
 }
@@ -0,0 +1,141 @@
+package parking.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.HeapSpotStore;
+import parking.core.OffHeapSpotStore;
+import parking.core.ParkingSpot;
+import parking.core.SpotStore;
+import parking.core.Vehicle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests for the off-heap spot state table.
+ */
+public class OffHeapSpotStoreTest {
+
+    private Map<Long, Vehicle> occupants;
+    private OffHeapSpotStore store;
+
+    @BeforeEach
+    public void setUp() {
+        occupants = new HashMap<>();
+        store = new OffHeapSpotStore(8, 2, vehicle -> {
+            long id = occupants.size() + 100;
+            occupants.put(id, vehicle);
+            return id;
+        }, occupants::get);
+    }
+
+    /**
+     * Tests occupying and releasing spots, and the occupied count.
+     */
+    @Test
+    public void testOccupyAndRelease() {
+        Car car = new Car("OFF001", "Owner", false, "Blue");
+
+        assertEquals(10, store.getSpotCount());
+        assertTrue(store.tryOccupy(3, car));
+        assertFalse(store.tryOccupy(3, new Car("OFF002", "Other", false, "Red")));
+        assertTrue(store.isOccupied(3));
+        assertEquals(1, store.getOccupiedCount());
+        assertEquals(100L, store.getOccupantId(3));
+
+        assertSame(car, store.release(3));
+        assertNull(store.release(3));
+        assertEquals(0, store.getOccupiedCount());
+        assertEquals(OffHeapSpotStore.NO_OCCUPANT, store.getOccupantId(3));
+    }
+
+    /**
+     * Tests that disabled spots only accept disabled vehicles.
+     */
+    @Test
+    public void testDisabledSpotPolicy() {
+        assertFalse(store.isDisabledSpot(8));
+        assertTrue(store.isDisabledSpot(9));
+        assertFalse(store.tryOccupy(9, new Car("OFF003", "Owner", false, "Blue")));
+        assertTrue(store.tryOccupy(9, new Car("OFF004", "Owner", true, "Blue")));
+    }
+
+    /**
+     * Tests that the state bits and occupant ID change only through occupying and releasing.
+     */
+    @Test
+    public void testStateFollowsOccupancy() {
+        Car car = new Car("OFF006", "Owner", false, "Blue");
+        assertTrue(store.tryOccupy(1, car));
+        assertFalse(store.tryOccupy(1, new Car("OFF007", "Owner", false, "Blue")));
+        assertEquals(OffHeapSpotStore.STATE_OCCUPIED, store.getState(1) & OffHeapSpotStore.STATE_OCCUPIED);
+        assertSame(car, occupants.get(store.getOccupantId(1)));
+        assertEquals(1, store.getOccupiedCount());
+
+        assertSame(car, store.release(1));
+        assertEquals(0, store.getState(1) & OffHeapSpotStore.STATE_OCCUPIED);
+        assertEquals(OffHeapSpotStore.NO_OCCUPANT, store.getOccupantId(1));
+        assertEquals(0, store.getOccupiedCount());
+    }
+
+    /**
+     * Tests that spot views behave like heap spots.
+     */
+    @Test
+    public void testSpotViewMatchesHeapSpot() {
+        SpotStore heap = new HeapSpotStore(8, 2);
+        Car car = new Car("OFF005", "Owner", false, "Blue");
+
+        for (SpotStore spots : new SpotStore[] {heap, store}) {
+            ParkingSpot spot = spots.getSpot(5);
+            assertEquals(5, spot.getSpotId());
+            assertTrue(spots.tryOccupy(5, car));
+            assertThrows(IllegalStateException.class, () -> spot.parkVehicle(car));
+            assertSame(car, spot.getOccupyingVehicle());
+            assertEquals(1, spots.getOccupiedCount());
+
+            spots.vacateAll();
+            assertFalse(spot.isOccupied());
+            assertEquals(0, spots.getOccupiedCount());
+        }
+    }
+
+    /**
+     * Tests rejection of invalid spot IDs.
+     */
+    @Test
+    public void testInvalidSpotId() {
+        assertThrows(IllegalArgumentException.class, () -> store.isOccupied(0));
+        assertThrows(IllegalArgumentException.class, () -> store.getSpot(11));
+    }
+
+    /**
+     * Tests adding and closing spot ranges in both stores.
+     */
+    @Test
+    public void testSpotRanges() {
+        SpotStore heap = new HeapSpotStore(8, 2);
+        for (SpotStore spots : new SpotStore[] {heap, store}) {
+            assertEquals(11, spots.addSpots(5000, false));
+            assertEquals(5010, spots.getSpotCount());
+            assertEquals(5010, spots.getAvailableCount());
+
+            Car car = new Car("OFF006", "Owner", true, "Blue");
+            assertTrue(spots.tryOccupy(9, car));
+            assertEquals(1, spots.getAvailableDisabledCount());
+            assertEquals(2, spots.closeSpots(9, 10));
+            assertEquals(0, spots.getAvailableDisabledCount());
+            assertFalse(spots.tryOccupy(10, car));
+
+            assertSame(car, spots.release(9));
+            assertEquals(5008, spots.getAvailableCount());
+            assertEquals(2, spots.openSpots(9, 10));
+            assertEquals(2, spots.getAvailableDisabledCount());
+            assertEquals(5010, spots.getAvailableCount());
+            assertThrows(IllegalArgumentException.class, () -> spots.closeSpots(10, 9));
+        }
+    }
+}
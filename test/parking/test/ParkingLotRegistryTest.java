@@ -0,0 +1,94 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.reports.ParkingStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the multi-lot registry.
+ */
+public class ParkingLotRegistryTest {
+
+    /**
+     * Tests that lots are created once and looked up by ID.
+     */
+    @Test
+    public void testLotsAreKeyedById() {
+        ParkingLotRegistry registry = ParkingLotRegistry.getInstance();
+        ParkingLot lot = registry.getOrCreateLot("REG-A");
+
+        assertSame(lot, registry.getOrCreateLot("REG-A"));
+        assertSame(lot, registry.getLot("REG-A"));
+        assertEquals("REG-A", lot.getLotId());
+        assertTrue(registry.getLotIds().contains("REG-A"));
+        assertSame(ParkingLot.getInstance(), registry.getLot(ParkingLot.DEFAULT_LOT_ID));
+        assertNull(registry.getLot("REG-UNKNOWN"));
+        assertThrows(IllegalArgumentException.class, () -> registry.getOrCreateLot(" "));
+    }
+
+    /**
+     * Tests that spots and sessions of different lots are isolated.
+     */
+    @Test
+    public void testLotsAreIsolated() {
+        ParkingLotRegistry registry = ParkingLotRegistry.getInstance();
+        ParkingLot first = registry.getOrCreateLot("REG-B1");
+        ParkingLot second = registry.getOrCreateLot("REG-B2");
+        first.initialize(new ParkingStatistics());
+        second.initialize(new ParkingStatistics());
+
+        assertTrue(first.parkVehicle(new Car("REGB001", "Owner", false, "Blue"), false));
+        assertTrue(second.parkVehicle(new Car("REGB001", "Owner", false, "Blue"), false));
+
+        assertEquals(1, first.getOccupiedSpots());
+        assertNotNull(first.removeVehicle("REGB001"));
+        assertEquals(0, first.getOccupiedSpots());
+        assertEquals(1, second.getOccupiedSpots());
+        assertEquals(1, second.getCurrentSessions().size());
+
+        assertSame(second, registry.removeLot("REG-B2"));
+        assertNull(registry.getLot("REG-B2"));
+    }
+
+    /**
+     * Tests parking in many lots from many threads at once.
+     */
+    @Test
+    public void testConcurrentTrafficAcrossLots() throws InterruptedException {
+        ParkingLotRegistry registry = ParkingLotRegistry.getInstance();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final String lotId = "REG-C" + t;
+            threads.add(new Thread(() -> {
+                ParkingLot lot = registry.getOrCreateLot(lotId);
+                for (int round = 0; round < 50; round++) {
+                    for (int i = 0; i < 100; i++) {
+                        lot.parkVehicle(new Car(lotId + "-" + i, "Owner", false, "Blue"), false);
+                    }
+                    for (int i = 0; i < 100; i += 2) {
+                        lot.removeVehicle(lotId + "-" + i);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            ParkingLot lot = registry.getLot("REG-C" + t);
+            assertEquals(50, lot.getOccupiedSpots());
+            assertEquals(50, lot.getCurrentSessions().size());
+        }
+    }
+}
@@ -7,9 +7,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import parking.core.Car;
 import parking.core.Motorcycle;
 import parking.core.ParkingSession;
+import parking.config.ParkingConfig;
 import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
 import parking.reports.ParkingStatistics;
 
+import java.util.List;
+
 /**
  * Tests for the ParkingLot management functionality.
  */
@@ -106,4 +110,51 @@ public class ParkingLotTest {
         double newOccupancy = parkingLot.getOccupancyPercentage();
         assertTrue(newOccupancy > initialOccupancy);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test sizing from configuration and runtime capacity changes.
+     */
+    @Test
+    public void testRuntimeCapacityChanges() {
+        ParkingLot lot = ParkingLotRegistry.getInstance().getOrCreateLot("CAPACITY-LOT");
+        ParkingConfig config = ParkingConfig.getInstance();
+        assertEquals(config.getTotalSpots(), lot.getTotalSpots());
+        assertEquals(config.getDisabledSpots(), lot.getAvailableDisabledSpots());
+
+        int firstSpotId = lot.addSpots(50, false);
+        assertEquals(config.getTotalSpots() + 1, firstSpotId);
+        assertEquals(config.getTotalSpots() + 50, lot.getAvailableSpots());
+
+        assertTrue(lot.parkVehicle(new Car("LEVEL1", "Test Owner", false, "Blue"), false));
+        assertEquals(config.getRegularSpots(), lot.removeSpots(1, config.getRegularSpots()));
+        assertEquals(50 + config.getDisabledSpots(), lot.getAvailableSpots());
+        assertEquals(1, lot.getOccupiedSpots());
+
+        assertNotNull(lot.removeVehicle("LEVEL1"));
+        assertEquals(50 + config.getDisabledSpots(), lot.getAvailableSpots());
+        ParkingSession session = lot.parkVehicle(new Car("LEVEL2", "Test Owner", false, "Blue"));
+        assertEquals(firstSpotId, session.getParkingSpot().getSpotId());
+
+        assertEquals(config.getRegularSpots(), lot.restoreSpots(1, config.getRegularSpots()));
+        assertEquals(config.getTotalSpots() + 49, lot.getAvailableSpots());
+        assertThrows(IllegalArgumentException.class, () -> lot.removeSpots(0, 5));
+    }
+
+    /**
+     * Test that sessions handed out stay readable after the vehicle leaves.
+     */
+    @Test
+    public void testSessionsOutliveExit() {
+        ParkingSession parked = parkingLot.parkVehicle(new Car("SNAP1", "Test Owner", false, "Blue"));
+        List<ParkingSession> current = parkingLot.getCurrentSessions();
+        assertEquals(1, current.size());
+
+        assertNotNull(parkingLot.removeVehicle("SNAP1"));
+        assertNotNull(parkingLot.parkVehicle(new Car("SNAP2", "Test Owner", false, "Red")));
+
+        assertEquals("SNAP1", parked.getVehicle().getLicensePlate());
+        assertEquals("SNAP1", current.get(0).getVehicle().getLicensePlate());
+        assertEquals(parked.getParkingSpot().getSpotId(), current.get(0).getParkingSpot().getSpotId());
+        assertTrue(current.get(0).getDurationHours() >= 0);
+    }
+}
@@ -6,10 +6,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import parking.core.Car;
 import parking.core.ParkingSession;
 import parking.core.ParkingSpot;
+import parking.util.ManualClock;
 
-import java.time.LocalDateTime;
-
-import java.lang.reflect.Field;
+import java.time.Duration;
 
 /**
  * Tests for the ParkingSession functionality.
@@ -57,32 +56,49 @@ public class ParkingSessionTest {
      * Tests calculating the duration of a parking session.
      */
     @Test
-    public void testGetDurationHours() throws Exception {
+    public void testGetDurationHours() {
         Car car = new Car("123456", "Test Owner", false, "Green");
         ParkingSpot spot = new ParkingSpot(1, false);
+        ManualClock clock = new ManualClock();
 
-        ParkingSession session = new ParkingSession(car, spot, false);
+        ParkingSession session = new ParkingSession(car, spot, false, clock);
 
-        // Set entry time to 3 hours ago
-        LocalDateTime entryTime = LocalDateTime.now().minusHours(3);
-        setEntryTime(session, entryTime);
-        car.setEntryTime(entryTime);
+        // Move the clock 3 hours past the entry time
+        clock.advance(Duration.ofHours(3));
 
-        // Calculate duration (should be close to 3 hours)
+        // Calculate duration (should be exactly 3 hours)
         double duration = session.getDurationHours();
-        assertTrue(Math.abs(duration - 3.0) < 0.1); // Allow small difference due to execution time
+        assertEquals(3.0, duration);
 
-        // End the session
+        // End the session 4 hours after entry time
+        clock.advance(Duration.ofHours(1));
         session.endSession();
-
-        // Set exit time to 4 hours after entry time
-        setExitTime(session, entryTime.plusHours(4));
+        clock.advance(Duration.ofHours(2));
 
         // Calculate duration (should now be exactly 4 hours)
         duration = session.getDurationHours();
         assertEquals(4.0, duration);
     }
 
+    /**
+     * Tests that session times are taken from the session clock.
+     */
+    @Test
+    public void testSessionTimesFollowClock() {
+        Car car = new Car("123456", "Test Owner", false, "Silver");
+        ParkingSpot spot = new ParkingSpot(1, false);
+        ManualClock clock = new ManualClock(1_000_000L);
+
+        ParkingSession session = new ParkingSession(car, spot, false, clock);
+        assertEquals(1_000_000L, session.getEntryTimeMillis());
+        assertEquals(ParkingSession.NO_EXIT_TIME, session.getExitTimeMillis());
+
+        clock.advance(Duration.ofMinutes(90));
+        session.endSession();
+        assertEquals(1_000_000L + 90 * 60_000L, session.getExitTimeMillis());
+        assertEquals(1.5, session.getDurationHours());
+    }
+
     /**
      * Tests recording payment for a parking session.
      */
@@ -130,22 +146,4 @@ public class ParkingSessionTest {
         assertTrue(session.getVehicle().isDisabled());
         assertTrue(session.getParkingSpot().isDisabledSpot());
     }
-
-    /**
-     * Helper method to set the entry time using reflection.
-     */
-    private void setEntryTime(ParkingSession session, LocalDateTime time) throws Exception {
-        Field entryTimeField = ParkingSession.class.getDeclaredField("entryTime");
-        entryTimeField.setAccessible(true);
-        entryTimeField.set(session, time);
-    }
-
-    /**
-     * Helper method to set the exit time using reflection.
-     */
-    private void setExitTime(ParkingSession session, LocalDateTime time) throws Exception {
-        Field exitTimeField = ParkingSession.class.getDeclaredField("exitTime");
-        exitTimeField.setAccessible(true);
-        exitTimeField.set(session, time);
-    }
 }
@@ -0,0 +1,140 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.PlateRegistry;
+import parking.core.SpotCategory;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.util.IntIntHashMap;
+
+/**
+ * Tests for license plate interning and the primitive plate indexes.
+ */
+public class PlateRegistryTest {
+
+    /**
+     * Tests plate normalization.
+     */
+    @Test
+    public void testNormalize() {
+        assertEquals("12345AB", PlateRegistry.normalize(" 123-45 ab "));
+        String normalized = "7654321";
+        assertSame(normalized, PlateRegistry.normalize(normalized));
+    }
+
+    /**
+     * Tests that equivalent plates share one ID.
+     */
+    @Test
+    public void testInternReturnsStableIds() {
+        PlateRegistry registry = PlateRegistry.getInstance();
+        int id = registry.intern("INT-001");
+
+        assertEquals(id, registry.intern("int001"));
+        assertEquals(id, registry.lookup("INT 001"));
+        assertNotEquals(id, registry.intern("INT002"));
+    }
+
+    /**
+     * Tests that a plate is dropped with its last reference and its ID reused.
+     */
+    @Test
+    public void testReleasedIdsAreReused() {
+        PlateRegistry registry = PlateRegistry.getInstance();
+        int size = registry.size();
+        int id = registry.intern("REL-001");
+        assertEquals(id, registry.intern("REL001"));
+        assertEquals(size + 1, registry.size());
+
+        registry.release(id);
+        assertEquals(id, registry.lookup("REL001"));
+        registry.release(id);
+        assertEquals(PlateRegistry.NO_ID, registry.lookup("REL001"));
+        assertEquals(size, registry.size());
+        assertThrows(IllegalStateException.class, () -> registry.release(id));
+
+        int reused = registry.intern("REL002");
+        assertEquals(id, reused);
+        assertEquals(reused, registry.lookup("REL002"));
+        registry.release(reused);
+    }
+
+    /**
+     * Tests that vehicles a lot turns away, and reservation probes, leave no
+     * plates behind, and that a plate is dropped when its vehicle leaves.
+     */
+    @Test
+    public void testOnlyParkedPlatesAreInterned() {
+        ParkingLot lot = ParkingLotRegistry.getInstance().getOrCreateLot("PLATE-LOT");
+        lot.reset();
+        if (lot.getTotalSpots() != 1) {
+            lot.removeSpots(1, lot.getTotalSpots());
+            lot.addSpots(1, SpotCategory.STANDARD, 0, 0);
+        }
+        PlateRegistry registry = PlateRegistry.getInstance();
+        int size = registry.size();
+
+        assertTrue(lot.parkVehicle(new Car("PLATE001", "Owner", false, "Blue"), false));
+        assertEquals(size + 1, registry.size());
+        assertFalse(lot.parkVehicle(new Car("PLATE001", "Owner", false, "Blue"), false));
+        for (int i = 0; i < 100; i++) {
+            assertFalse(lot.parkVehicle(new Car("FULL" + i, "Owner", false, "Blue"), false));
+            assertNull(lot.reserve("PROBE" + i, SpotCategory.STANDARD, Long.MAX_VALUE));
+        }
+        assertEquals(size + 1, registry.size());
+        assertEquals(PlateRegistry.NO_ID, registry.lookup("FULL0"));
+
+        assertNotNull(lot.removeVehicle("PLATE001"));
+        assertEquals(size, registry.size());
+        assertEquals(PlateRegistry.NO_ID, registry.lookup("PLATE001"));
+    }
+
+    /**
+     * Tests lookups of unknown plates.
+     */
+    @Test
+    public void testLookupUnknownPlate() {
+        PlateRegistry registry = PlateRegistry.getInstance();
+        assertEquals(PlateRegistry.NO_ID, registry.lookup("NEVER-SEEN-PLATE"));
+        assertEquals(PlateRegistry.NO_ID, registry.lookup(null));
+        assertThrows(IllegalArgumentException.class, () -> registry.intern(null));
+    }
+
+    /**
+     * Tests that the registry grows past its initial capacity.
+     */
+    @Test
+    public void testRegistryGrowth() {
+        PlateRegistry registry = PlateRegistry.getInstance();
+        int[] ids = new int[5000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = registry.intern("GROWTH" + i);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(ids[i], registry.lookup("GROWTH" + i));
+        }
+    }
+
+    /**
+     * Tests the primitive int-to-int map, including removal inside probe chains.
+     */
+    @Test
+    public void testIntIntHashMap() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(IntIntHashMap.NO_VALUE, map.put(i, i * 2));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i * 2, map.remove(i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? IntIntHashMap.NO_VALUE : i * 2, map.get(i));
+        }
+        assertEquals(2, map.put(1, 5));
+        assertEquals(5, map.get(1));
+    }
+}
@@ -128,12 +128,13 @@ public class PricingCalculatorTest {
      * Helper method to set the entry time to a specific number of hours ago.
      */
     private void setEntryTimeHoursAgo(ParkingSession session, double hoursAgo) throws Exception {
+        long entryMillis = System.currentTimeMillis() - (long) (hoursAgo * 60) * 60_000L;
         LocalDateTime entryTime = LocalDateTime.now().minusMinutes((long)(hoursAgo * 60));
 
-        // Update entryTime in ParkingSession
-        Field entryTimeField = ParkingSession.class.getDeclaredField("entryTime");
+        // Update entryMillis in ParkingSession
+        Field entryTimeField = ParkingSession.class.getDeclaredField("entryMillis");
         entryTimeField.setAccessible(true);
-        entryTimeField.set(session, entryTime);
+        entryTimeField.setLong(session, entryMillis);
 
         // Update entryTime in the vehicle, whether it's Car or Motorcycle
         Field vehicleField = ParkingSession.class.getDeclaredField("vehicle");
@@ -0,0 +1,187 @@
+package parking.test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.ParkingSession;
+import parking.core.SpotCategory;
+import parking.management.FirstFitStrategy;
+import parking.management.LotRouter;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.management.Reservation;
+import parking.management.RoundRobinStrategy;
+import parking.util.ManualClock;
+import parking.util.ParkingClock;
+import parking.util.TimerWheel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for spot reservations and their timed expiry.
+ */
+public class ReservationTest {
+    private ManualClock clock;
+    private ParkingLot lot;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new ManualClock();
+        ParkingClock.setClock(clock);
+        lot = ParkingLotRegistry.getInstance().getOrCreateLot("RESERVATION-LOT");
+        lot.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lot.reset();
+        ParkingClock.useSystemClock();
+    }
+
+    private long inHours(int hours) {
+        return clock.millis() + Duration.ofHours(hours).toMillis();
+    }
+
+    /**
+     * Tests that a held spot is counted as unavailable and taken on arrival.
+     */
+    @Test
+    public void testHoldConvertsToSession() {
+        int available = lot.getAvailableSpots();
+        int availableDisabled = lot.getAvailableDisabledSpots();
+        Reservation reservation = lot.reserve("RES001", SpotCategory.DISABLED, inHours(2));
+
+        assertNotNull(reservation);
+        assertEquals(available - 1, lot.getAvailableSpots());
+        assertEquals(availableDisabled - 1, lot.getAvailableDisabledSpots());
+        assertEquals(availableDisabled - 1, lot.getAvailableSpots(SpotCategory.DISABLED));
+        assertNull(lot.reserve("RES001", SpotCategory.STANDARD, inHours(2)));
+
+        ParkingSession session = lot.parkVehicle(new Car("RES001", "Owner", true, "Blue"));
+        assertEquals(reservation.getSpotId(), session.getParkingSpot().getSpotId());
+        assertEquals(0, lot.getHeldSpots());
+        assertNull(lot.getReservation("RES001"));
+        assertEquals(available - 1, lot.getAvailableSpots());
+    }
+
+    /**
+     * Tests that a held spot is not given to other vehicles.
+     */
+    @Test
+    public void testHeldSpotIsSkipped() {
+        assertNotNull(lot.reserveSpot("RES002", 1, inHours(1)));
+        assertNull(lot.reserveSpot("RES003", 1, inHours(1)));
+
+        assertEquals(2, lot.parkVehicle(new Car("RES004", "Owner", false, "Red")).getParkingSpot().getSpotId());
+        assertTrue(lot.cancelReservation("RES002"));
+        assertFalse(lot.cancelReservation("RES002"));
+        assertEquals(1, lot.parkVehicle(new Car("RES005", "Owner", false, "Red")).getParkingSpot().getSpotId());
+    }
+
+    /**
+     * Tests that changing the allocation strategy does not free a held spot.
+     */
+    @Test
+    public void testStrategyChangeKeepsHold() {
+        Reservation reservation = lot.reserveSpot("RES010", 1, inHours(1));
+        assertNotNull(reservation);
+        int available = lot.getAvailableSpots();
+
+        try {
+            lot.setAllocationStrategy(new RoundRobinStrategy());
+            assertEquals(available, lot.getAvailableSpots());
+            assertEquals(1, lot.getHeldSpots());
+            assertNotEquals(1, lot.parkVehicle(new Car("RES011", "Owner", false, "Red")).getParkingSpot().getSpotId());
+            assertEquals(1, lot.parkVehicle(new Car("RES010", "Owner", false, "Red")).getParkingSpot().getSpotId());
+            assertEquals(0, lot.getHeldSpots());
+        } finally {
+            lot.setAllocationStrategy(new FirstFitStrategy());
+        }
+    }
+
+    /**
+     * Tests that holds expire at their deadline.
+     */
+    @Test
+    public void testHoldsExpire() {
+        int available = lot.getAvailableSpots();
+        lot.reserve("RES006", SpotCategory.STANDARD, inHours(1));
+        lot.reserve("RES007", SpotCategory.STANDARD, inHours(3));
+
+        clock.advance(Duration.ofHours(2));
+        lot.expireReservations();
+        assertEquals(1, lot.getHeldSpots());
+        assertEquals(available - 1, lot.getAvailableSpots());
+        assertNull(lot.getReservation("RES006"));
+
+        clock.advance(Duration.ofHours(2));
+        lot.parkVehicle(new Car("RES008", "Owner", false, "Red"));
+        assertEquals(0, lot.getHeldSpots());
+        assertEquals(available - 1, lot.getAvailableSpots());
+    }
+
+    /**
+     * Tests that a hold lapses on a lot that sees no traffic, and that the
+     * router hears of the freed spot.
+     */
+    @Test
+    public void testIdleHoldLapses() throws InterruptedException {
+        int available = lot.getAvailableSpots();
+        LotRouter router = new LotRouter(Collections.singletonList(lot));
+        assertNotNull(lot.reserve("RES011", SpotCategory.STANDARD, inHours(1)));
+        assertEquals(available - 1, router.getTotalAvailableSpots());
+
+        clock.advance(Duration.ofHours(2));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((lot.getHeldSpots() > 0 || router.getTotalAvailableSpots() != available)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, lot.getHeldSpots());
+        assertEquals(available, lot.getAvailableSpots());
+        assertEquals(available, router.getTotalAvailableSpots());
+        router.detach();
+    }
+
+    /**
+     * Tests that removing a spot ends its hold.
+     */
+    @Test
+    public void testRemovedSpotEndsHold() {
+        lot.reserveSpot("RES009", 3, inHours(1));
+        lot.removeSpots(3, 3);
+
+        assertEquals(0, lot.getHeldSpots());
+        assertNull(lot.getReservation("RES009"));
+        lot.restoreSpots(3, 3);
+    }
+
+    /**
+     * Tests the timer wheel across several rounds.
+     */
+    @Test
+    public void testTimerWheel() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 4, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("late", 1000);
+        TimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 15);
+        wheel.schedule("early", 25);
+        wheel.schedule("past", -5);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(1, wheel.advance(0, expired::add));
+        assertEquals(1, wheel.advance(30, expired::add));
+        assertEquals(0, wheel.advance(999, expired::add));
+        assertEquals(1, wheel.advance(5000, expired::add));
+        assertEquals(0, wheel.size());
+        assertEquals(3, expired.size());
+        assertEquals("late", expired.get(2));
+    }
+}
@@ -0,0 +1,97 @@
+package parking.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.Motorcycle;
+import parking.core.ParkingSession;
+import parking.core.ParkingSpot;
+import parking.core.SessionTable;
+import parking.util.ManualClock;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests for the struct-of-arrays session table.
+ */
+public class SessionTableTest {
+
+    private ParkingSpot[] spots;
+    private ManualClock clock;
+    private SessionTable table;
+
+    @BeforeEach
+    public void setUp() {
+        spots = new ParkingSpot[10];
+        for (int i = 0; i < spots.length; i++) {
+            spots[i] = new ParkingSpot(i + 1, false);
+        }
+        clock = new ManualClock(0L);
+        table = new SessionTable(spotId -> spots[spotId - 1], clock, 2);
+    }
+
+    /**
+     * Tests that a view reflects the state stored in the table.
+     */
+    @Test
+    public void testViewReadsTable() {
+        Car car = new Car("SOA001", "Owner", false, "Blue");
+        int slot = table.open(car, 0, 3, true);
+        ParkingSession view = table.view(slot);
+
+        assertSame(car, view.getVehicle());
+        assertSame(spots[2], view.getParkingSpot());
+        assertTrue(view.isSubscription());
+        assertTrue(view.isActive());
+        assertEquals(0, table.getPlateId(slot));
+        assertEquals(0L, car.getEntryTimeMillis());
+
+        clock.advance(Duration.ofHours(2));
+        assertEquals(2.0, view.getDurationHours());
+
+        view.recordPayment(12.0);
+        assertEquals(12.0, table.getFee(slot));
+    }
+
+    /**
+     * Tests that releasing a slot detaches a copy and makes views stale.
+     */
+    @Test
+    public void testReleaseDetachesSession() {
+        int slot = table.open(new Motorcycle("SOA002", "Rider", false, "Black"), 1, 1, false);
+        ParkingSession view = table.view(slot);
+
+        clock.advance(Duration.ofHours(3));
+        table.end(slot);
+        ParkingSession detached = table.release(slot);
+
+        assertFalse(detached.isActive());
+        assertEquals(3.0, detached.getDurationHours());
+        assertFalse(view.isActive());
+        assertThrows(IllegalStateException.class, view::getVehicle);
+        assertEquals(0, table.size());
+    }
+
+    /**
+     * Tests that released slots are reused and the table grows when full.
+     */
+    @Test
+    public void testSlotReuseAndGrowth() {
+        int first = table.open(new Car("SOA003", "A", false, "Red"), 2, 1, false);
+        table.release(first);
+        int reused = table.open(new Car("SOA004", "B", false, "Red"), 3, 2, false);
+        assertEquals(first, reused);
+
+        for (int i = 0; i < 5; i++) {
+            table.open(new Car("GROW" + i, "C", false, "Red"), i + 4, i + 3, false);
+        }
+
+        List<ParkingSession> views = table.views();
+        assertEquals(6, table.size());
+        assertEquals(6, views.size());
+        assertEquals("SOA004", views.get(0).getVehicle().getLicensePlate());
+    }
+}
@@ -0,0 +1,101 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.config.ParkingConfig;
+import parking.load.SimulationResult;
+import parking.load.TrafficEvent;
+import parking.load.TrafficProfile;
+import parking.load.TrafficSimulation;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.util.ParkingClock;
+import parking.util.Simulator;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the discrete-event simulator and traffic simulations in virtual time.
+ */
+public class SimulationTest {
+    private static final long START = LocalDateTime.of(2024, 3, 4, 0, 0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    public void testSimulatorRunsActionsInTimeOrder() {
+        Simulator simulator = new Simulator(START);
+        List<String> order = new ArrayList<>();
+        List<Long> seenTimes = new ArrayList<>();
+        simulator.schedule(START + 3 * HOUR, () -> order.add("c"));
+        simulator.schedule(START + HOUR, () -> {
+            order.add("a");
+            seenTimes.add(ParkingClock.currentTimeMillis());
+            simulator.schedule(START + 2 * HOUR, () -> order.add("b"));
+        });
+        simulator.schedule(START + 3 * HOUR, () -> order.add("d"));
+        simulator.schedule(START + 10 * HOUR, () -> order.add("late"));
+
+        Clock before = ParkingClock.getClock();
+        assertEquals(4, simulator.runUntil(START + 5 * HOUR));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), order);
+        assertEquals(Arrays.asList(START + HOUR), seenTimes);
+        assertEquals(START + 5 * HOUR, simulator.now());
+        assertSame(before, ParkingClock.getClock());
+        assertEquals(1, simulator.getPendingCount());
+        assertThrows(IllegalArgumentException.class, () -> simulator.schedule(START, () -> { }));
+
+        assertEquals(1, simulator.run());
+        assertEquals(START + 10 * HOUR, simulator.now());
+    }
+
+    @Test
+    public void testSessionsAreChargedInVirtualTime() {
+        ParkingSystemFacade facade = new ParkingSystemFacade("SIM-FEE-LOT");
+        List<TrafficEvent> trace = Arrays.asList(
+                new TrafficEvent(HOUR, TrafficEvent.Kind.ARRIVAL, "SIM-FEE", VehicleType.CAR, false, false),
+                new TrafficEvent(6 * HOUR, TrafficEvent.Kind.DEPARTURE, "SIM-FEE", VehicleType.CAR, false, false));
+
+        long before = System.nanoTime();
+        SimulationResult result = new TrafficSimulation(facade, START).run(trace, 24 * HOUR);
+        assertTrue(System.nanoTime() - before < 5_000_000_000L);
+
+        ParkingConfig config = ParkingConfig.getInstance();
+        double expected = Math.ceil(5 - config.getFreeHours()) * config.getCarHourlyRate();
+        assertEquals(1, result.getParked());
+        assertEquals(1, result.getDeparted());
+        assertEquals(expected, result.getRevenue(), 0.001);
+        assertEquals(24 * HOUR, result.getSimulatedMillis());
+        assertEquals(5.0 / 24, result.getAverageOccupied(), 0.001);
+    }
+
+    @Test
+    public void testCapacityComparisonOverFourWeeks() {
+        TrafficProfile profile = new TrafficProfile()
+                .setSeed(11).setDurationHours(24 * 28).setBaseArrivalsPerHour(20).setSubscriberShare(0.1);
+
+        ParkingSystemFacade small = new ParkingSystemFacade("SIM-SMALL-LOT");
+        SimulationResult smallResult = new TrafficSimulation(small, START).run(profile);
+
+        ParkingSystemFacade large = new ParkingSystemFacade("SIM-LARGE-LOT");
+        ParkingLot largeLot = ParkingLotRegistry.getInstance().getLot("SIM-LARGE-LOT");
+        largeLot.addSpots(400, false);
+        SimulationResult largeResult = new TrafficSimulation(large, START).run(profile);
+
+        assertEquals(28 * 24 * HOUR, smallResult.getSimulatedMillis());
+        assertEquals(smallResult.getParked() + smallResult.getRejected(),
+                largeResult.getParked() + largeResult.getRejected());
+        assertTrue(smallResult.getRejected() > largeResult.getRejected());
+        assertTrue(largeResult.getRevenue() > smallResult.getRevenue());
+        assertTrue(smallResult.getPeakOccupied() <= smallResult.getTotalSpots());
+        assertTrue(Arrays.stream(smallResult.getRejectedByHour()).sum() == smallResult.getRejected());
+    }
+}
@@ -0,0 +1,125 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import parking.core.Car;
+import parking.core.HeapSpotStore;
+import parking.core.Motorcycle;
+import parking.core.SpotCategory;
+import parking.core.SpotLayout;
+import parking.core.SpotStore;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.management.SpotPools;
+import parking.util.HierarchicalBitSet;
+
+/**
+ * Tests for the level- and zone-aware spot model and the per-category free pools.
+ */
+public class SpotLayoutTest {
+
+    /**
+     * Tests parsing a layout.
+     */
+    @Test
+    public void testParseLayout() {
+        SpotLayout layout = SpotLayout.parse("0:0:STANDARD:10, -1:2:ev_charging:4");
+
+        assertEquals(2, layout.getRanges().size());
+        assertEquals(14, layout.getSpotCount());
+        assertEquals(-1, layout.getRanges().get(1).getLevel());
+        assertEquals(2, layout.getRanges().get(1).getZone());
+        assertEquals(SpotCategory.EV_CHARGING, layout.getRanges().get(1).getCategory());
+        assertThrows(IllegalArgumentException.class, () -> SpotLayout.parse("0:0:VALET:10"));
+        assertThrows(IllegalArgumentException.class, () -> SpotLayout.parse("0:0:10"));
+    }
+
+    /**
+     * Tests that vehicles get the category they prefer on the nearest level.
+     */
+    @Test
+    public void testAllocationHonorsPreferences() {
+        SpotStore store = new HeapSpotStore(SpotLayout.parse(
+                "2:0:STANDARD:5,-1:0:STANDARD:5,0:1:MOTORCYCLE:2,1:0:EV_CHARGING:2,0:0:COMPACT:2"));
+        SpotPools pools = new SpotPools(store);
+
+        assertArrayEquals(new int[] {0, 1, -1, 2}, pools.getLevels());
+
+        Car car = new Car("LAY001", "Owner", false, "Blue");
+        int carSpot = pools.find(car);
+        assertEquals(SpotCategory.STANDARD, store.getCategory(carSpot));
+        assertEquals(-1, store.getLevel(carSpot));
+
+        Motorcycle motorcycle = new Motorcycle("LAY002", "Rider", false, "Black");
+        assertEquals(SpotCategory.MOTORCYCLE, store.getCategory(pools.find(motorcycle)));
+
+        Car electric = new Car("LAY003", "Owner", false, "White");
+        electric.setElectric(true);
+        assertEquals(SpotCategory.EV_CHARGING, store.getCategory(pools.find(electric)));
+        assertFalse(store.tryOccupy(pools.findIn(SpotCategory.EV_CHARGING), car));
+    }
+
+    /**
+     * Tests that the pools fall back through the preferred categories as they fill up.
+     */
+    @Test
+    public void testPoolsFallBack() {
+        SpotStore store = new HeapSpotStore(SpotLayout.parse("0:0:MOTORCYCLE:1,0:0:COMPACT:1,0:0:OVERSIZED:1"));
+        SpotPools pools = new SpotPools(store);
+        Motorcycle motorcycle = new Motorcycle("LAY004", "Rider", false, "Black");
+
+        for (SpotCategory expected : new SpotCategory[] {SpotCategory.MOTORCYCLE, SpotCategory.COMPACT,
+                SpotCategory.OVERSIZED}) {
+            int spotId = pools.find(motorcycle);
+            assertEquals(expected, store.getCategory(spotId));
+            assertTrue(store.tryOccupy(spotId, motorcycle.clone()));
+            pools.remove(spotId);
+        }
+        assertEquals(-1, pools.find(motorcycle));
+
+        store.release(2);
+        pools.add(2);
+        assertEquals(1, pools.getAvailable(SpotCategory.COMPACT));
+        assertEquals(2, pools.find(motorcycle));
+    }
+
+    /**
+     * Tests parking by category in a lot with a new level.
+     */
+    @Test
+    public void testLotAllocatesByCategory() {
+        ParkingLot lot = ParkingLotRegistry.getInstance().getOrCreateLot("LAYOUT-LOT");
+        lot.reset();
+        int firstBay = lot.addSpots(3, SpotCategory.MOTORCYCLE, 1, 0);
+
+        assertEquals(3, lot.getAvailableSpots(SpotCategory.MOTORCYCLE));
+        assertEquals(firstBay, lot.parkVehicle(new Motorcycle("LAY005", "Rider", false, "Red"))
+                .getParkingSpot().getSpotId());
+        assertEquals(2, lot.getAvailableSpots(SpotCategory.MOTORCYCLE, 1));
+        assertEquals(1, lot.parkVehicle(new Car("LAY006", "Owner", false, "Red")).getParkingSpot().getSpotId());
+    }
+
+    /**
+     * Tests the hierarchical bit set across several summary levels.
+     */
+    @Test
+    public void testHierarchicalBitSet() {
+        HierarchicalBitSet bits = new HierarchicalBitSet(64);
+        assertEquals(-1, bits.nextSetBit(0));
+        assertTrue(bits.set(5));
+        assertTrue(bits.set(300_000));
+        assertFalse(bits.set(5));
+
+        assertEquals(5, bits.nextSetBit(0));
+        assertEquals(300_000, bits.nextSetBit(6));
+        assertEquals(-1, bits.nextSetBit(300_001));
+        assertEquals(2, bits.cardinality());
+
+        assertTrue(bits.clear(5));
+        assertEquals(300_000, bits.nextSetBit(0));
+        assertTrue(bits.clear(300_000));
+        assertTrue(bits.isEmpty());
+        assertEquals(-1, bits.nextSetBit(0));
+    }
+}
@@ -0,0 +1,166 @@
+package parking.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import parking.config.ParkingConfig;
+import parking.core.Vehicle;
+import parking.management.ParkingLot;
+import parking.management.ParkingLotRegistry;
+import parking.patterns.facade.ParkingSystemFacade;
+import parking.patterns.factory.VehicleType;
+import parking.patterns.observer.DisplayObserver;
+import parking.patterns.observer.ObserverGuard;
+import parking.reports.ParkingStatistics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Profiles the allocations of the park and exit path of the facade.
+ */
+public class ZeroAllocationTest {
+    private static final int VEHICLES = 50;
+    private static final int WARMUP_ROUNDS = 2000;
+    private static final int MEASURED_ROUNDS = 1000;
+
+    /**
+     * Tests that a warmed-up garbage-free lot parks and removes vehicles without allocating.
+     */
+    @Test
+    public void testGarbageFreeParkAndExitAllocateNothing(@TempDir Path dir) throws IOException {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        ParkingSystemFacade facade = garbageFreeFacade(dir, "ZERO-GC-LOT");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("ZERO-GC-LOT");
+        assertTrue(lot.isGarbageFree());
+        Vehicle[] vehicles = createVehicles(facade, "ZGC");
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(VEHICLES, cycle(facade, vehicles));
+        }
+
+        long thread = Thread.currentThread().getId();
+        long overhead = threads.getThreadAllocatedBytes(thread);
+        overhead = threads.getThreadAllocatedBytes(thread) - overhead;
+        long before = threads.getThreadAllocatedBytes(thread);
+        int parked = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            parked += cycle(facade, vehicles);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+        assertEquals(VEHICLES * MEASURED_ROUNDS, parked);
+        assertTrue(allocated < MEASURED_ROUNDS, "Allocated " + allocated + " bytes over "
+                + (2L * VEHICLES * MEASURED_ROUNDS) + " operations");
+    }
+
+    /**
+     * Tests that a garbage-free lot still charges, counts and publishes like any other lot.
+     */
+    @Test
+    public void testGarbageFreeLotKeepsStatistics(@TempDir Path dir) throws IOException {
+        ParkingSystemFacade facade = garbageFreeFacade(dir, "ZERO-GC-STATS");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("ZERO-GC-STATS");
+        for (ObserverGuard guard : lot.getObserverGuards()) {
+            assertFalse(guard.getObserver() instanceof DisplayObserver);
+        }
+        int available = facade.getAvailableSpots();
+
+        Vehicle car = facade.createVehicle(VehicleType.CAR, "ZGS1", "Owner", false, "Red");
+        Vehicle motorcycle = facade.createVehicle(VehicleType.MOTORCYCLE, "ZGS2", "Owner", false, "Red");
+        assertTrue(facade.parkVehicle(car));
+        assertTrue(facade.parkVehicle(motorcycle));
+        assertFalse(facade.parkVehicle(car));
+        assertEquals(available - 2, facade.getAvailableSpots());
+
+        assertEquals(0.0, facade.removeVehicle("ZGS1"), 0.001);
+        assertEquals(0.0, facade.removeVehicle("ZGS2"), 0.001);
+        assertEquals(-1.0, facade.removeVehicle("ZGS1"), 0.001);
+        assertEquals(available, facade.getAvailableSpots());
+        assertTrue(lot.getSessionHistory().isEmpty());
+
+        ParkingStatistics statistics = lot.getStatistics();
+        synchronized (lot) {
+            assertEquals(2, statistics.getDailyEntries());
+            assertEquals(1, statistics.getDailyCarCount());
+            assertEquals(1, statistics.getDailyMotorcycleCount());
+            assertEquals(2, statistics.getColorCount("Red"));
+            assertEquals("Red", statistics.getMostPopularColor());
+        }
+    }
+
+    /**
+     * Tests that the allocation probe sees the garbage of a lot in the default mode,
+     * whose completed sessions are copied into its history.
+     */
+    @Test
+    public void testDefaultModeKeepsHistory() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        ParkingSystemFacade facade = new ParkingSystemFacade("ALLOC-LOT");
+        ParkingLot lot = ParkingLotRegistry.getInstance().getLot("ALLOC-LOT");
+        lot.detachDisplays();
+        assertFalse(lot.isGarbageFree());
+        Vehicle[] vehicles = createVehicles(facade, "ALC");
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        cycle(facade, vehicles);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated >= VEHICLES * 16L, "Allocated " + allocated + " bytes");
+        assertEquals(VEHICLES, lot.getSessionHistory().size());
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Creates a facade for a lot that is created while garbage-free mode is configured.
+     */
+    private static ParkingSystemFacade garbageFreeFacade(Path dir, String lotId) throws IOException {
+        ParkingConfig config = ParkingConfig.getInstance();
+        Path file = dir.resolve("parking.properties");
+        Files.write(file, Arrays.asList("parking.garbage.free=true"));
+        try {
+            config.reload(file);
+            return new ParkingSystemFacade(lotId);
+        } finally {
+            config.reload();
+        }
+    }
+
+    private static Vehicle[] createVehicles(ParkingSystemFacade facade, String prefix) {
+        Vehicle[] vehicles = new Vehicle[VEHICLES];
+        for (int i = 0; i < VEHICLES; i++) {
+            VehicleType type = i % 5 == 0 ? VehicleType.MOTORCYCLE : VehicleType.CAR;
+            vehicles[i] = facade.createVehicle(type, prefix + i, "Owner", i % 7 == 0, "Blue");
+        }
+        return vehicles;
+    }
+
+    /**
+     * Parks every vehicle and removes them again.
+     *
+     * @return The number of vehicles parked.
+     */
+    private static int cycle(ParkingSystemFacade facade, Vehicle[] vehicles) {
+        int parked = 0;
+        for (Vehicle vehicle : vehicles) {
+            parked += facade.parkVehicle(vehicle) ? 1 : 0;
+        }
+        for (Vehicle vehicle : vehicles) {
+            facade.removeVehicle(vehicle.getLicensePlate());
+        }
+        return parked;
+    }
+}